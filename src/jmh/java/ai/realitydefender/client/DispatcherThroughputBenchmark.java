@@ -0,0 +1,96 @@
+package ai.realitydefender.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+import ai.realitydefender.core.RealityDefenderConfig;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures status-check throughput against a single host with a fixed server latency, comparing
+ * OkHttp's default per-host limit with a raised one.
+ *
+ * <p>Each invocation issues {@value #BATCH_SIZE} concurrent {@link HttpClient#getResultsAsync}
+ * calls and waits for all of them, so the reported score is requests per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class DispatcherThroughputBenchmark {
+
+  private static final int BATCH_SIZE = 200;
+  private static final int SERVER_LATENCY_MILLIS = 20;
+
+  @Param({"5", "32", "128"})
+  public int maxRequestsPerHost;
+
+  private WireMockServer server;
+  private HttpClient httpClient;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server =
+        new WireMockServer(
+            WireMockConfiguration.options()
+                .dynamicPort()
+                .containerThreads(300)
+                .disableRequestJournal());
+    server.start();
+    server.stubFor(
+        get(urlMatching("/api/media/users/.*"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withFixedDelay(SERVER_LATENCY_MILLIS)
+                    .withBody("{\"requestId\": \"req\", \"overallStatus\": \"AUTHENTIC\"}")));
+
+    httpClient =
+        new HttpClient(
+            RealityDefenderConfig.builder()
+                .apiKey("benchmark-key")
+                .baseUrl("http://localhost:" + server.port())
+                .timeout(Duration.ofSeconds(30))
+                .maxIdleConnections(maxRequestsPerHost)
+                .maxRequests(
+                    Math.max(RealityDefenderConfig.DEFAULT_MAX_REQUESTS, maxRequestsPerHost))
+                .maxRequestsPerHost(maxRequestsPerHost)
+                .build());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    httpClient.close();
+    server.stop();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void statusChecks() {
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH_SIZE];
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      futures[i] = httpClient.getResultsAsync("req-" + i);
+    }
+    CompletableFuture.allOf(futures).join();
+  }
+}
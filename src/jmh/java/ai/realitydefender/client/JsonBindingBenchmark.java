@@ -0,0 +1,95 @@
+package ai.realitydefender.client;
+
+import ai.realitydefender.core.RealityDefenderRuntime;
+import ai.realitydefender.models.DetectionResultList;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the two ways a {@link DetectionResultList} page can be read from a response body: the
+ * original path (body to {@code String}, {@code readTree}, then {@code treeToValue}) and the
+ * single-pass path used by {@link HttpClient#getDetectionResultList} (byte stream straight into a
+ * {@link JsonParser} and {@code readValue}).
+ *
+ * <p>Run with {@code -prof gc} to compare allocation per page as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBindingBenchmark {
+
+  @Param({"100", "1000"})
+  public int items;
+
+  private ObjectMapper objectMapper;
+  private byte[] body;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    objectMapper = RealityDefenderRuntime.defaultObjectMapper();
+    body = page(items).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public DetectionResultList stringTreeValue() throws IOException {
+    String text = new String(body, StandardCharsets.UTF_8);
+    JsonNode tree = objectMapper.readTree(text);
+    return objectMapper.treeToValue(tree, DetectionResultList.class);
+  }
+
+  @Benchmark
+  public DetectionResultList streamingValue() throws IOException {
+    try (InputStream in = new ByteArrayInputStream(body);
+        JsonParser parser = objectMapper.getFactory().createParser(in)) {
+      return objectMapper.readValue(parser, DetectionResultList.class);
+    }
+  }
+
+  private static String page(int items) {
+    StringBuilder json = new StringBuilder();
+    json.append("{\"totalItems\": ")
+        .append(items)
+        .append(", \"totalPages\": 1, \"currentPage\": 0, \"currentPageItemsCount\": ")
+        .append(items)
+        .append(", \"mediaList\": [");
+    for (int i = 0; i < items; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"requestId\": \"req-")
+          .append(i)
+          .append("\", \"mediaType\": \"IMAGE\", \"originalFileName\": \"file-")
+          .append(i)
+          .append(".jpg\", \"resultsSummary\": {\"status\": \"FAKE\", \"metadata\":")
+          .append(" {\"finalScore\": 87.5}}, \"models\": [")
+          .append("{\"name\": \"rd-img-ensemble\", \"status\": \"FAKE\", \"finalScore\": 87.5},")
+          .append("{\"name\": \"rd-context-img\", \"status\": \"FAKE\", \"finalScore\": 91.2},")
+          .append("{\"name\": \"rd-pine-img\", \"status\": \"AUTHENTIC\", \"finalScore\": 12.0}")
+          .append("], \"heatmaps\": {\"rd-context-img\": \"https://example.com/h/")
+          .append(i)
+          .append(".png\"}}");
+    }
+    return json.append("]}").toString();
+  }
+}
@@ -1,11 +1,28 @@
 package ai.realitydefender;
 
+import ai.realitydefender.client.BulkheadPolicy;
+import ai.realitydefender.client.CircuitBreakerPolicy;
 import ai.realitydefender.client.HttpClient;
+import ai.realitydefender.client.RateLimiter;
+import ai.realitydefender.client.RetryPolicy;
+import ai.realitydefender.client.UploadProgressListener;
+import ai.realitydefender.client.UploadSource;
 import ai.realitydefender.core.RealityDefenderConfig;
+import ai.realitydefender.core.RealityDefenderRuntime;
+import ai.realitydefender.detection.BatchDetection;
 import ai.realitydefender.detection.DetectionService;
+import ai.realitydefender.detection.PollingPolicy;
+import ai.realitydefender.detection.ResultCache;
+import ai.realitydefender.detection.ResultSink;
+import ai.realitydefender.detection.ResultStore;
+import ai.realitydefender.detection.UploadIndex;
 import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.BatchDetectionOptions;
+import ai.realitydefender.models.DetectionOutcome;
 import ai.realitydefender.models.DetectionResult;
 import ai.realitydefender.models.DetectionResultList;
+import ai.realitydefender.models.ExportOptions;
+import ai.realitydefender.models.ExportSummary;
 import ai.realitydefender.models.GetResultsOptions;
 import ai.realitydefender.models.UploadResponse;
 import ai.realitydefender.models.UserFeedbackRequest;
@@ -13,9 +30,18 @@ import ai.realitydefender.models.UserFeedbackResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.Closeable;
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Main SDK client for Reality Defender API.
@@ -45,6 +71,7 @@ import java.util.function.Consumer;
  */
 public class RealityDefender implements Closeable {
 
+  private final RealityDefenderConfig config;
   private final HttpClient httpClient;
   private final DetectionService detectionService;
 
@@ -52,14 +79,27 @@ public class RealityDefender implements Closeable {
    * Creates a new RealityDefender client with the specified configuration.
    *
    * @param config the configuration for the client
+   * @throws IllegalArgumentException if the result cache or result store belongs to another API key
    */
   public RealityDefender(RealityDefenderConfig config) {
-    this.httpClient = new HttpClient(config);
-    this.detectionService = new DetectionService(httpClient, config.getTimeout());
+    this(config, new HttpClient(config));
+  }
+
+  /** Takes over the HTTP client, closing it if the client cannot be created. */
+  private RealityDefender(RealityDefenderConfig config, HttpClient httpClient) {
+    this.config = config;
+    this.httpClient = httpClient;
+    try {
+      this.detectionService = new DetectionService(httpClient, config, httpClient.getRuntime());
+    } catch (RuntimeException e) {
+      httpClient.close();
+      throw e;
+    }
   }
 
   /** Package-private constructor for testing. */
   RealityDefender(RealityDefenderConfig config, DetectionService detectionService) {
+    this.config = config;
     this.httpClient = null; // Will be null in tests
     this.detectionService = detectionService;
   }
@@ -73,6 +113,41 @@ public class RealityDefender implements Closeable {
     return new Builder();
   }
 
+  /**
+   * Creates a builder pre-populated with this client's configuration that shares its runtime, so
+   * derived clients (for example one per tenant API key) reuse the same connection pool, dispatcher
+   * threads, polling scheduler and JSON mapper.
+   *
+   * <p>State that belongs to one API key is only carried over while the key stays the same. A
+   * derived client with a different key starts without this client's result cache, result store and
+   * rate limiter, unless it is given its own. The upload index is shared, since it only reuses an
+   * upload for the key it was made with.
+   *
+   * @return a new builder sharing this client's runtime
+   */
+  public Builder newBuilder() {
+    Builder builder = new Builder(config);
+    if (httpClient != null) {
+      builder.runtime(httpClient.getRuntime());
+    }
+    return builder;
+  }
+
+  /** Package-private accessor for testing. */
+  RealityDefenderConfig getConfig() {
+    return config;
+  }
+
+  /**
+   * Gets the runtime (connection pool, dispatcher, polling scheduler and JSON mapper) this client
+   * is built on.
+   *
+   * @return the runtime, or null if this client was created without an HTTP client
+   */
+  public RealityDefenderRuntime getRuntime() {
+    return httpClient != null ? httpClient.getRuntime() : null;
+  }
+
   /**
    * Uploads a file for analysis.
    *
@@ -94,6 +169,207 @@ public class RealityDefender implements Closeable {
     return detectionService.uploadAsync(file);
   }
 
+  /**
+   * Uploads a file for analysis, streaming it from disk and reporting progress.
+   *
+   * @param file the file to upload
+   * @param listener listener notified as bytes are written
+   * @return the upload response containing request and media IDs and the SHA-256 of the upload
+   * @throws RealityDefenderException if an error occurs during upload
+   */
+  public UploadResponse upload(File file, UploadProgressListener listener)
+      throws RealityDefenderException {
+    return detectionService.upload(file, listener);
+  }
+
+  /**
+   * Uploads a file for analysis asynchronously, reporting progress.
+   *
+   * @param file the file to upload
+   * @param listener listener notified as bytes are written, on an HTTP dispatcher thread
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(File file, UploadProgressListener listener) {
+    return detectionService.uploadAsync(file, listener);
+  }
+
+  /**
+   * Uploads a file from a path for analysis.
+   *
+   * @param path the file to upload
+   * @return the upload response containing request and media IDs
+   * @throws RealityDefenderException if an error occurs during upload
+   */
+  public UploadResponse upload(Path path) throws RealityDefenderException {
+    return detectionService.upload(path);
+  }
+
+  /**
+   * Uploads in-memory media for analysis without writing it to disk.
+   *
+   * @param data the media bytes
+   * @param fileName the media file name, used for type and size validation
+   * @return the upload response containing request and media IDs
+   * @throws RealityDefenderException if an error occurs during upload
+   */
+  public UploadResponse upload(byte[] data, String fileName) throws RealityDefenderException {
+    return detectionService.upload(data, fileName);
+  }
+
+  /**
+   * Uploads the remaining bytes of a (possibly direct) buffer for analysis.
+   *
+   * @param data the media bytes
+   * @param fileName the media file name, used for type and size validation
+   * @return the upload response containing request and media IDs
+   * @throws RealityDefenderException if an error occurs during upload
+   */
+  public UploadResponse upload(ByteBuffer data, String fileName) throws RealityDefenderException {
+    return detectionService.upload(data, fileName);
+  }
+
+  /**
+   * Uploads media read from a stream for analysis.
+   *
+   * @param stream the stream to read exactly {@code length} bytes from; it is not closed
+   * @param length the number of bytes to upload
+   * @param fileName the media file name, used for type and size validation
+   * @return the upload response containing request and media IDs
+   * @throws RealityDefenderException if an error occurs during upload
+   */
+  public UploadResponse upload(InputStream stream, long length, String fileName)
+      throws RealityDefenderException {
+    return detectionService.upload(stream, length, fileName);
+  }
+
+  /**
+   * Uploads media from any supported source for analysis, reporting progress.
+   *
+   * @param source the media to upload
+   * @param listener optional listener notified as bytes are written
+   * @return the upload response containing request and media IDs and the SHA-256 of the upload
+   * @throws RealityDefenderException if an error occurs during upload
+   */
+  public UploadResponse upload(UploadSource source, UploadProgressListener listener)
+      throws RealityDefenderException {
+    return detectionService.upload(source, listener);
+  }
+
+  /**
+   * Uploads a file from a path for analysis asynchronously.
+   *
+   * @param path the file to upload
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(Path path) {
+    return detectionService.uploadAsync(path);
+  }
+
+  /**
+   * Uploads in-memory media for analysis asynchronously.
+   *
+   * @param data the media bytes; must not be modified until the future completes
+   * @param fileName the media file name, used for type and size validation
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(byte[] data, String fileName) {
+    return detectionService.uploadAsync(data, fileName);
+  }
+
+  /**
+   * Uploads the remaining bytes of a buffer for analysis asynchronously.
+   *
+   * @param data the media bytes; must not be modified until the future completes
+   * @param fileName the media file name, used for type and size validation
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(ByteBuffer data, String fileName) {
+    return detectionService.uploadAsync(data, fileName);
+  }
+
+  /**
+   * Uploads media read from a stream for analysis asynchronously.
+   *
+   * @param stream the stream to read exactly {@code length} bytes from; it is not closed
+   * @param length the number of bytes to upload
+   * @param fileName the media file name, used for type and size validation
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(
+      InputStream stream, long length, String fileName) {
+    return detectionService.uploadAsync(stream, length, fileName);
+  }
+
+  /**
+   * Uploads media from any supported source for analysis asynchronously, reporting progress.
+   *
+   * @param source the media to upload
+   * @param listener optional listener notified as bytes are written, on an HTTP dispatcher thread
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(
+      UploadSource source, UploadProgressListener listener) {
+    return detectionService.uploadAsync(source, listener);
+  }
+
+  /**
+   * Uploads a batch of media asynchronously. Signed upload URLs are requested ahead of the uploads
+   * with bounded concurrency (see {@link Builder#presignConcurrency(int)}), so each upload starts
+   * as soon as its URL is available.
+   *
+   * @param sources the media to upload
+   * @return one future per source, in the same order; each fails independently
+   */
+  public List<CompletableFuture<UploadResponse>> uploadAllAsync(List<UploadSource> sources) {
+    return detectionService.uploadAllAsync(sources);
+  }
+
+  /**
+   * Uploads and analyzes a batch of files with the default limits. Outcomes are returned in
+   * completion order and a failed file does not stop the rest of the batch.
+   *
+   * @param paths the files to analyze
+   * @return the running batch; close it to cancel the files that have not finished
+   */
+  public BatchDetection detectFiles(Collection<Path> paths) {
+    return detectionService.detectFiles(paths);
+  }
+
+  /**
+   * Uploads and analyzes a batch of files, bounding the uploads and status requests in flight.
+   *
+   * @param paths the files to analyze
+   * @param options limits and polling settings
+   * @return the running batch; close it to cancel the files that have not finished
+   */
+  public BatchDetection detectFiles(Collection<Path> paths, BatchDetectionOptions options) {
+    return detectionService.detectFiles(paths, options);
+  }
+
+  /**
+   * Publishes the outcomes of a batch of detections to a backpressured subscriber. Files are only
+   * uploaded as the subscriber requests outcomes, so a slow subscriber throttles the batch.
+   *
+   * @param paths the files to analyze
+   * @return a publisher of outcomes in completion order; each subscription runs the batch
+   */
+  public Flow.Publisher<DetectionOutcome> publishDetections(Collection<Path> paths) {
+    return detectionService.publishDetections(paths);
+  }
+
+  /**
+   * Publishes the outcomes of a batch of detections, bounding the uploads and status requests in
+   * flight.
+   *
+   * @param paths the files to analyze
+   * @param options limits and polling settings
+   * @return a publisher of outcomes in completion order; each subscription runs the batch
+   */
+  public Flow.Publisher<DetectionOutcome> publishDetections(
+      Collection<Path> paths, BatchDetectionOptions options) {
+    return detectionService.publishDetections(paths, options);
+  }
+
   /**
    * Uploads a social media link for analysis.
    *
@@ -154,6 +430,21 @@ public class RealityDefender implements Closeable {
     return detectionService.getResult(requestId, pollingInterval, maxAttempts);
   }
 
+  /**
+   * Returns the summarized detection result for a request ID, spacing status checks with a polling
+   * policy.
+   *
+   * @param requestId the request ID from the upload response
+   * @param policy decides the delay between status checks
+   * @param timeout the maximum time to wait
+   * @return the detection result
+   * @throws RealityDefenderException if an error occurs while getting results
+   */
+  public DetectionResult getResult(String requestId, PollingPolicy policy, Duration timeout)
+      throws RealityDefenderException {
+    return detectionService.getResult(requestId, policy, timeout);
+  }
+
   /**
    * Returns the summarized detection result for a request ID asynchronously.
    *
@@ -177,6 +468,17 @@ public class RealityDefender implements Closeable {
     return detectionService.getResultAsync(requestId, pollingInterval, maxAttempts);
   }
 
+  /**
+   * Resumes polling the requests that the configured {@link ResultStore} recorded as uploaded but
+   * not finished, typically after a restart. Finished requests are not polled again: their results
+   * are served from the store.
+   *
+   * @return a future per pending request ID, in upload order; empty if no store is configured
+   */
+  public Map<String, CompletableFuture<DetectionResult>> resumePending() {
+    return detectionService.resumePending();
+  }
+
   /**
    * Detects a file in one step (upload and wait for results).
    *
@@ -239,6 +541,24 @@ public class RealityDefender implements Closeable {
     detectionService.pollForResults(requestId, pollingInterval, timeout, onResult, onError);
   }
 
+  /**
+   * Polls for results with callbacks, spacing status checks with a polling policy.
+   *
+   * @param requestId the request ID to poll for
+   * @param policy decides the delay between status checks
+   * @param timeout the maximum time to wait
+   * @param onResult callback for when results are available
+   * @param onError callback for when an error occurs
+   */
+  public void pollForResults(
+      String requestId,
+      PollingPolicy policy,
+      Duration timeout,
+      Consumer<DetectionResult> onResult,
+      Consumer<RealityDefenderException> onError) {
+    detectionService.pollForResults(requestId, policy, timeout, onResult, onError);
+  }
+
   /**
    * Polls for results asynchronously.
    *
@@ -252,6 +572,29 @@ public class RealityDefender implements Closeable {
     return detectionService.pollForResultsAsync(requestId, pollingInterval, timeout);
   }
 
+  /**
+   * Polls for results asynchronously, spacing status checks with a polling policy.
+   *
+   * @param requestId the request ID to poll for
+   * @param policy decides the delay between status checks
+   * @param timeout the maximum time to wait
+   * @return a CompletableFuture that completes when results are available
+   */
+  public CompletableFuture<DetectionResult> pollForResultsAsync(
+      String requestId, PollingPolicy policy, Duration timeout) {
+    return detectionService.pollForResultsAsync(requestId, policy, timeout);
+  }
+
+  /**
+   * Gets the policy used to wait for results when no polling interval is given. Its metrics cover
+   * every such wait made by this client.
+   *
+   * @return the polling policy
+   */
+  public PollingPolicy getPollingPolicy() {
+    return detectionService.getPollingPolicy();
+  }
+
   /**
    * Gets paginated detection results with optional filters.
    *
@@ -300,6 +643,73 @@ public class RealityDefender implements Closeable {
     return detectionService.getResultsAsync(null);
   }
 
+  /**
+   * Publishes every detection result matching the filters across all pages, fetching the next page
+   * only as the subscriber requests more results.
+   *
+   * @param options options for filtering and the first page
+   * @return a publisher of summarized detection results
+   */
+  public Flow.Publisher<DetectionResult> publishResults(GetResultsOptions options) {
+    return detectionService.publishResults(options);
+  }
+
+  /**
+   * Streams every detection result matching the filters across all pages. Pages are fetched lazily
+   * with a few pages prefetched; close the stream to cancel pages still in flight after an early
+   * exit.
+   *
+   * @param options options for filtering and the first page
+   * @return a lazy stream of summarized detection results
+   */
+  public Stream<DetectionResult> streamResults(GetResultsOptions options) {
+    return detectionService.streamResults(options);
+  }
+
+  /**
+   * Streams every detection result matching the filters across all pages, keeping the given number
+   * of pages in flight while the current one is consumed.
+   *
+   * @param options options for filtering and the first page
+   * @param prefetchPages the number of pages kept in flight, at least 1
+   * @return a lazy stream of summarized detection results
+   */
+  public Stream<DetectionResult> streamResults(GetResultsOptions options, int prefetchPages) {
+    return detectionService.streamResults(options, prefetchPages);
+  }
+
+  /**
+   * Exports every result of a date range to a sink, walking day shards concurrently under a shared
+   * request budget and skipping duplicate request IDs.
+   *
+   * <pre>{@code
+   * try (Writer out = Files.newBufferedWriter(path)) {
+   *   client.exportResults(options, ResultSink.ndjson(out));
+   * }
+   * }</pre>
+   *
+   * @param options the date range, filters and request budget
+   * @param sink receives the results as they are fetched
+   * @return the export totals
+   * @throws RealityDefenderException if a page cannot be fetched or the sink fails
+   */
+  public ExportSummary exportResults(ExportOptions options, ResultSink sink)
+      throws RealityDefenderException {
+    return detectionService.exportResults(options, sink);
+  }
+
+  /**
+   * Exports every result of a date range to a sink asynchronously.
+   *
+   * @param options the date range, filters and request budget
+   * @param sink receives the results as they are fetched
+   * @return a future completed with the export totals; cancelling it stops the export
+   */
+  public CompletableFuture<ExportSummary> exportResultsAsync(
+      ExportOptions options, ResultSink sink) {
+    return detectionService.exportResultsAsync(options, sink);
+  }
+
   @Override
   public void close() {
     if (detectionService != null) {
@@ -314,7 +724,32 @@ public class RealityDefender implements Closeable {
   public static class Builder {
     private String apiKey;
     private String baseUrl = "https://api.prd.realitydefender.xyz";
-    private Duration timeout = Duration.ofSeconds(60);
+    private final RealityDefenderConfig.Builder configBuilder;
+    private RealityDefenderRuntime runtime;
+
+    /** The configuration this builder was derived from, or null. */
+    private final RealityDefenderConfig parent;
+
+    /** Whether the result cache was set on this builder rather than inherited from the parent. */
+    private boolean resultCacheSet;
+
+    /** Whether the result store was set on this builder rather than inherited from the parent. */
+    private boolean resultStoreSet;
+
+    /** Whether the rate limiter was set on this builder rather than inherited from the parent. */
+    private boolean rateLimiterSet;
+
+    Builder() {
+      this.configBuilder = RealityDefenderConfig.builder().timeout(Duration.ofSeconds(60));
+      this.parent = null;
+    }
+
+    private Builder(RealityDefenderConfig config) {
+      this.apiKey = config.getApiKey();
+      this.baseUrl = config.getBaseUrl();
+      this.configBuilder = config.toBuilder();
+      this.parent = config;
+    }
 
     /**
      * Sets the API key.
@@ -339,13 +774,300 @@ public class RealityDefender implements Closeable {
     }
 
     /**
-     * Sets the request timeout.
+     * Sets the request timeout. Used for connect, read and write timeouts unless they are set
+     * individually.
      *
      * @param timeout the timeout duration
      * @return this builder
      */
     public Builder timeout(Duration timeout) {
-      this.timeout = timeout;
+      configBuilder.timeout(timeout);
+      return this;
+    }
+
+    /**
+     * Sets the connect timeout.
+     *
+     * @param connectTimeout the connect timeout
+     * @return this builder
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      configBuilder.connectTimeout(connectTimeout);
+      return this;
+    }
+
+    /**
+     * Sets the socket read timeout.
+     *
+     * @param readTimeout the read timeout
+     * @return this builder
+     */
+    public Builder readTimeout(Duration readTimeout) {
+      configBuilder.readTimeout(readTimeout);
+      return this;
+    }
+
+    /**
+     * Sets the socket write timeout.
+     *
+     * @param writeTimeout the write timeout
+     * @return this builder
+     */
+    public Builder writeTimeout(Duration writeTimeout) {
+      configBuilder.writeTimeout(writeTimeout);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of idle connections kept in the connection pool.
+     *
+     * @param maxIdleConnections the maximum number of idle connections
+     * @return this builder
+     */
+    public Builder maxIdleConnections(int maxIdleConnections) {
+      configBuilder.maxIdleConnections(maxIdleConnections);
+      return this;
+    }
+
+    /**
+     * Sets how long idle pooled connections are kept alive.
+     *
+     * @param keepAliveDuration the keep-alive duration
+     * @return this builder
+     */
+    public Builder keepAliveDuration(Duration keepAliveDuration) {
+      configBuilder.keepAliveDuration(keepAliveDuration);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrent asynchronous requests.
+     *
+     * @param maxRequests the maximum number of concurrent requests
+     * @return this builder
+     */
+    public Builder maxRequests(int maxRequests) {
+      configBuilder.maxRequests(maxRequests);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrent asynchronous requests to a single host.
+     *
+     * @param maxRequestsPerHost the maximum number of concurrent requests per host
+     * @return this builder
+     */
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      configBuilder.maxRequestsPerHost(maxRequestsPerHost);
+      return this;
+    }
+
+    /**
+     * Sets the HTTP protocol preference.
+     *
+     * @param protocol the protocol preference
+     * @return this builder
+     */
+    public Builder protocol(RealityDefenderConfig.Protocol protocol) {
+      configBuilder.protocol(protocol);
+      return this;
+    }
+
+    /**
+     * Sets the file size from which uploads are sent from a memory-mapped region of the file. Use
+     * this for large videos to avoid copying them through a read buffer.
+     *
+     * @param memoryMapThreshold the threshold in bytes
+     * @return this builder
+     */
+    public Builder memoryMapThreshold(long memoryMapThreshold) {
+      configBuilder.memoryMapThreshold(memoryMapThreshold);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of signed URL requests in flight during a batch upload.
+     *
+     * @param presignConcurrency the maximum number of concurrent signed URL requests
+     * @return this builder
+     */
+    public Builder presignConcurrency(int presignConcurrency) {
+      configBuilder.presignConcurrency(presignConcurrency);
+      return this;
+    }
+
+    /**
+     * Sets how long a signed upload URL is assumed to stay valid when the URL does not carry its
+     * own expiry.
+     *
+     * @param signedUrlTtl the signed URL lifetime
+     * @return this builder
+     */
+    public Builder signedUrlTtl(Duration signedUrlTtl) {
+      configBuilder.signedUrlTtl(signedUrlTtl);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of result status requests in flight while waiting for detections.
+     *
+     * @param pollConcurrency the maximum number of concurrent status polls
+     * @return this builder
+     */
+    public Builder pollConcurrency(int pollConcurrency) {
+      configBuilder.pollConcurrency(pollConcurrency);
+      return this;
+    }
+
+    /**
+     * Sets the policy that spaces status checks while waiting for results, for example {@code
+     * PollingPolicy.adaptive().build()} to start fast and learn how long each kind of media takes.
+     * Defaults to a fixed two second interval.
+     *
+     * @param pollingPolicy the polling policy
+     * @return this builder
+     */
+    public Builder pollingPolicy(PollingPolicy pollingPolicy) {
+      configBuilder.pollingPolicy(pollingPolicy);
+      return this;
+    }
+
+    /**
+     * Caches terminal detection results in process, so that repeated status checks and result
+     * lookups for finished requests skip the API. The cache belongs to the first API key that uses
+     * it: it can be shared by several clients with that key, and building a client with another key
+     * fails. Read its hit and miss counters from {@link ResultCache#getMetrics()}. Disabled by
+     * default.
+     *
+     * @param resultCache the result cache
+     * @return this builder
+     */
+    public Builder resultCache(ResultCache resultCache) {
+      configBuilder.resultCache(resultCache);
+      resultCacheSet = true;
+      return this;
+    }
+
+    /**
+     * Records uploads and terminal detection results in a file, so that after a restart finished
+     * requests are answered locally and {@link RealityDefender#resumePending()} polls only the
+     * unfinished ones. The store belongs to the first API key that uses it, and building a client
+     * with another key fails. The store is not closed with the client. Disabled by default.
+     *
+     * @param resultStore the result store
+     * @return this builder
+     */
+    public Builder resultStore(ResultStore resultStore) {
+      configBuilder.resultStore(resultStore);
+      resultStoreSet = true;
+      return this;
+    }
+
+    /**
+     * Hashes media before uploading it and reuses an earlier upload of the same content within the
+     * index's freshness window, instead of uploading and analyzing it again. Stream sources, which
+     * can only be read once, are always uploaded. An upload is only reused for the API key it was
+     * made with, so the index can be shared by clients with different keys. Disabled by default.
+     *
+     * @param uploadIndex the upload index
+     * @return this builder
+     */
+    public Builder uploadIndex(UploadIndex uploadIndex) {
+      configBuilder.uploadIndex(uploadIndex);
+      return this;
+    }
+
+    /**
+     * Paces signed URL requests, uploads, status checks, result pages and social media links so
+     * that bursts stay within the account's quota, adapting how many run at once to throttling and
+     * latency. Disabled by default.
+     *
+     * @param rateLimiter the rate limiter, which may be shared by clients using the same API key
+     * @return this builder
+     */
+    public Builder rateLimiter(RateLimiter rateLimiter) {
+      configBuilder.rateLimiter(rateLimiter);
+      rateLimiterSet = true;
+      return this;
+    }
+
+    /**
+     * Retries lookups, signed URL requests and uploads that fail with a connection error or a
+     * transient HTTP status, with exponential backoff, and optionally hedges slow status checks.
+     * Disabled by default, so every call is made once.
+     *
+     * @param retryPolicy the retry policy
+     * @return this builder
+     */
+    public Builder retryPolicy(RetryPolicy retryPolicy) {
+      configBuilder.retryPolicy(retryPolicy);
+      return this;
+    }
+
+    /**
+     * Fails calls to an endpoint at once, with code {@code CIRCUIT_OPEN}, while most recent calls
+     * to it failed with a connection error, a timeout or a server error, and probes it again after
+     * a pause. Each endpoint has its own breaker. Disabled by default.
+     *
+     * @param circuitBreakerPolicy the circuit breaker policy
+     * @return this builder
+     */
+    public Builder circuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+      configBuilder.circuitBreakerPolicy(circuitBreakerPolicy);
+      return this;
+    }
+
+    /**
+     * Caps the calls in flight at once to each endpoint, so that slow uploads cannot starve status
+     * checks. Calls beyond a cap wait for a slot and fail with code {@code BULKHEAD_FULL} if none
+     * frees up in time. Disabled by default.
+     *
+     * @param bulkheadPolicy the bulkhead policy
+     * @return this builder
+     */
+    public Builder bulkheadPolicy(BulkheadPolicy bulkheadPolicy) {
+      configBuilder.bulkheadPolicy(bulkheadPolicy);
+      return this;
+    }
+
+    /**
+     * Sets the executor that completes the futures returned by the asynchronous methods, so that
+     * callbacks attached to them run there. By default they complete on the HTTP dispatcher
+     * threads, which callbacks should not block. The executor is not shut down when the client is
+     * closed.
+     *
+     * @param executor the executor for asynchronous results
+     * @return this builder
+     */
+    public Builder executor(Executor executor) {
+      configBuilder.executor(executor);
+      return this;
+    }
+
+    /**
+     * Completes asynchronous results on a new virtual thread per task, so that callbacks may block
+     * freely. Requires Java 21 or later; on older JVMs the default is kept and a warning is logged.
+     * Applies to the runtime this builder creates, and is ignored when an {@link
+     * #executor(Executor) executor} is set.
+     *
+     * @param virtualThreads true to use virtual threads
+     * @return this builder
+     */
+    public Builder virtualThreads(boolean virtualThreads) {
+      configBuilder.virtualThreads(virtualThreads);
+      return this;
+    }
+
+    /**
+     * Shares an existing runtime (connection pool, dispatcher, polling scheduler and JSON mapper)
+     * instead of creating a new one. When set, the connection pool and dispatcher options of this
+     * builder are ignored in favour of the runtime's.
+     *
+     * @param runtime the runtime to share
+     * @return this builder
+     */
+    public Builder runtime(RealityDefenderRuntime runtime) {
+      this.runtime = runtime;
       return this;
     }
 
@@ -359,7 +1081,33 @@ public class RealityDefender implements Closeable {
       if (apiKey == null || apiKey.trim().isEmpty()) {
         throw new IllegalArgumentException("API key is required");
       }
-      return new RealityDefender(new RealityDefenderConfig(apiKey, baseUrl, timeout));
+      RealityDefenderConfig config = configBuilder.apiKey(apiKey).baseUrl(baseUrl).build();
+      if (parent != null && !apiKey.equals(parent.getApiKey())) {
+        config = withoutParentKeyState(config);
+      }
+      return runtime != null
+          ? new RealityDefender(config, new HttpClient(config, runtime))
+          : new RealityDefender(config);
+    }
+
+    /**
+     * Drops the state inherited from the parent client that belongs to its API key, so that a
+     * client derived for another key cannot read the parent's results or spend its quota.
+     * Components set on this builder are kept, and checked against the new key when the client is
+     * built.
+     */
+    private RealityDefenderConfig withoutParentKeyState(RealityDefenderConfig config) {
+      RealityDefenderConfig.Builder scoped = config.toBuilder();
+      if (!resultCacheSet) {
+        scoped.resultCache(null);
+      }
+      if (!resultStoreSet) {
+        scoped.resultStore(null);
+      }
+      if (!rateLimiterSet) {
+        scoped.rateLimiter(null);
+      }
+      return scoped.build();
     }
   }
 }
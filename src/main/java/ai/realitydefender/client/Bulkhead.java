@@ -0,0 +1,217 @@
+package ai.realitydefender.client;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caps the calls to one {@link Endpoint} in flight at once, as described by {@link BulkheadPolicy}.
+ * Calls beyond the cap wait for a slot in order, and fail with code {@code BULKHEAD_FULL} if none
+ * frees up in time.
+ */
+final class Bulkhead {
+
+  private final Endpoint endpoint;
+  private final int maxConcurrentCalls;
+  private final long maxWaitNanos;
+  private final ScheduledExecutorService scheduler;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+  private int inFlight;
+
+  Bulkhead(
+      Endpoint endpoint,
+      int maxConcurrentCalls,
+      Duration maxWait,
+      ScheduledExecutorService scheduler) {
+    this.endpoint = endpoint;
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Takes a slot, waiting for one if the endpoint is at its cap. Cancelling the returned future
+   * gives up the wait. Once it completes normally, the slot must be given back with {@link
+   * #release()}.
+   *
+   * @return a future that completes once the slot is taken
+   */
+  CompletableFuture<Void> acquire() {
+    CompletableFuture<Void> slot = new CompletableFuture<>();
+    lock.lock();
+    try {
+      if (inFlight < maxConcurrentCalls && waiting.isEmpty()) {
+        inFlight++;
+        slot.complete(null);
+        return slot;
+      }
+      if (maxWaitNanos == 0) {
+        slot.completeExceptionally(full());
+        return slot;
+      }
+      waiting.add(slot);
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      ScheduledFuture<?> timeout =
+          scheduler.schedule(
+              () -> slot.completeExceptionally(full()), maxWaitNanos, TimeUnit.NANOSECONDS);
+      slot.whenComplete(
+          (granted, error) -> {
+            timeout.cancel(false);
+            if (error != null) {
+              remove(slot);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      slot.completeExceptionally(
+          new RealityDefenderException("Failed to schedule bulkhead wait", "REQUEST_FAILED", e));
+      remove(slot);
+    }
+    return slot;
+  }
+
+  /**
+   * Takes a slot on the calling thread, waiting for one if the endpoint is at its cap.
+   *
+   * @throws RealityDefenderException if no slot frees up in time, or the wait is interrupted
+   */
+  void enter() throws RealityDefenderException {
+    CompletableFuture<Void> slot = acquire();
+    try {
+      slot.get();
+    } catch (InterruptedException e) {
+      if (!slot.cancel(false) && !slot.isCompletedExceptionally()) {
+        release();
+      }
+      Thread.currentThread().interrupt();
+      throw new RealityDefenderException("Interrupted waiting for bulkhead", "INTERRUPTED", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RealityDefenderException) {
+        throw (RealityDefenderException) e.getCause();
+      }
+      throw new RealityDefenderException("Request failed", "REQUEST_FAILED", e.getCause());
+    }
+  }
+
+  /** Gives a slot back, handing it to the longest waiting call if there is one. */
+  void release() {
+    while (true) {
+      CompletableFuture<Void> next;
+      lock.lock();
+      try {
+        next = waiting.poll();
+        if (next == null) {
+          inFlight--;
+          return;
+        }
+      } finally {
+        lock.unlock();
+      }
+      // Completed outside the lock; a waiter that timed out or was cancelled passes the slot on.
+      if (next.complete(null)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Starts an asynchronous call once a slot is free, and gives the slot back when it completes.
+   * Cancelling the returned future gives up the wait or cancels the call.
+   *
+   * @param call starts the call
+   * @return the outcome of the call
+   */
+  <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    CompletableFuture<Void> slot = acquire();
+    slot.whenComplete(
+        (granted, error) -> {
+          if (error != null) {
+            result.completeExceptionally(error);
+            return;
+          }
+          if (result.isDone()) {
+            release();
+            return;
+          }
+          CompletableFuture<T> sent;
+          try {
+            sent = call.get();
+          } catch (RuntimeException e) {
+            release();
+            result.completeExceptionally(e);
+            return;
+          }
+          result.whenComplete(
+              (value, failure) -> {
+                if (result.isCancelled()) {
+                  sent.cancel(true);
+                }
+              });
+          sent.whenComplete(
+              (value, failure) -> {
+                release();
+                if (failure != null) {
+                  result.completeExceptionally(unwrap(failure));
+                } else {
+                  result.complete(value);
+                }
+              });
+        });
+    result.whenComplete(
+        (value, error) -> {
+          if (result.isCancelled()) {
+            slot.cancel(false);
+          }
+        });
+    return result;
+  }
+
+  int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void remove(CompletableFuture<Void> slot) {
+    lock.lock();
+    try {
+      waiting.remove(slot);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private RealityDefenderException full() {
+    return new RealityDefenderException(
+        "Too many concurrent "
+            + endpoint
+            + " calls, no slot freed up within "
+            + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)
+            + " ms",
+        "BULKHEAD_FULL");
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+}
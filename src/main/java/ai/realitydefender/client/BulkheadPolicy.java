@@ -0,0 +1,133 @@
+package ai.realitydefender.client;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caps the number of calls to each {@link Endpoint} in flight at once, so that one kind of call
+ * cannot take every connection and thread from the others: slow uploads cannot starve status polls,
+ * for example.
+ *
+ * <p>A call beyond its endpoint's cap waits for a slot, without holding a thread unless the call
+ * itself is blocking. If no slot frees up within {@code maxWait}, the call fails with code {@code
+ * BULKHEAD_FULL}. Endpoints without a cap are not limited.
+ *
+ * <pre>{@code
+ * BulkheadPolicy bulkheads =
+ *     BulkheadPolicy.builder()
+ *         .maxConcurrentCalls(Endpoint.UPLOAD, 3)
+ *         .maxConcurrentCalls(Endpoint.STATUS, 8)
+ *         .build();
+ * RealityDefender client =
+ *     RealityDefender.builder().apiKey(apiKey).bulkheadPolicy(bulkheads).build();
+ * }</pre>
+ *
+ * <p>Caps are per client. Keep the sum of the caps that matter within {@link
+ * ai.realitydefender.core.RealityDefenderConfig#getMaxRequestsPerHost() maxRequestsPerHost}, since
+ * asynchronous calls beyond that limit queue in the HTTP dispatcher regardless of their endpoint.
+ */
+public final class BulkheadPolicy {
+
+  public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(10);
+
+  private final Map<Endpoint, Integer> maxConcurrentCalls;
+  private final Duration maxWait;
+
+  private BulkheadPolicy(Builder builder) {
+    this.maxConcurrentCalls = new EnumMap<>(builder.maxConcurrentCalls);
+    this.maxWait = builder.maxWait;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the number of calls to an endpoint allowed in flight at once.
+   *
+   * @param endpoint the endpoint
+   * @return the cap, or 0 if the endpoint is not limited
+   */
+  public int getMaxConcurrentCalls(Endpoint endpoint) {
+    return maxConcurrentCalls.getOrDefault(endpoint, 0);
+  }
+
+  /**
+   * Gets how long a call waits for a slot before it fails.
+   *
+   * @return the maximum wait
+   */
+  public Duration getMaxWait() {
+    return maxWait;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    BulkheadPolicy that = (BulkheadPolicy) o;
+    return Objects.equals(maxConcurrentCalls, that.maxConcurrentCalls)
+        && Objects.equals(maxWait, that.maxWait);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(maxConcurrentCalls, maxWait);
+  }
+
+  @Override
+  public String toString() {
+    return "BulkheadPolicy{"
+        + "maxConcurrentCalls="
+        + maxConcurrentCalls
+        + ", maxWait="
+        + maxWait
+        + '}';
+  }
+
+  public static final class Builder {
+    private final Map<Endpoint, Integer> maxConcurrentCalls = new EnumMap<>(Endpoint.class);
+    private Duration maxWait = DEFAULT_MAX_WAIT;
+
+    private Builder() {}
+
+    /**
+     * Caps the number of calls to an endpoint in flight at once.
+     *
+     * @param endpoint the endpoint
+     * @param maxConcurrentCalls the cap, at least 1
+     * @return this builder
+     */
+    public Builder maxConcurrentCalls(Endpoint endpoint, int maxConcurrentCalls) {
+      Objects.requireNonNull(endpoint, "Endpoint cannot be null");
+      if (maxConcurrentCalls < 1) {
+        throw new IllegalArgumentException(
+            "maxConcurrentCalls must be at least 1: " + maxConcurrentCalls);
+      }
+      this.maxConcurrentCalls.put(endpoint, maxConcurrentCalls);
+      return this;
+    }
+
+    /**
+     * Sets how long a call waits for a slot before it fails. Zero fails a call at once when its
+     * endpoint is at its cap.
+     *
+     * @param maxWait the maximum wait, not negative
+     * @return this builder
+     */
+    public Builder maxWait(Duration maxWait) {
+      Objects.requireNonNull(maxWait, "Max wait cannot be null");
+      if (maxWait.isNegative()) {
+        throw new IllegalArgumentException("Max wait cannot be negative: " + maxWait);
+      }
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    public BulkheadPolicy build() {
+      return new BulkheadPolicy(this);
+    }
+  }
+}
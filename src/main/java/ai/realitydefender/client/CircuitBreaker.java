@@ -0,0 +1,224 @@
+package ai.realitydefender.client;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the health of one {@link Endpoint} and fails calls to it fast while it is degraded, as
+ * described by {@link CircuitBreakerPolicy}.
+ *
+ * <p>Outcomes are only counted against the state they were admitted in: a slow call that started
+ * before the breaker opened cannot reopen it while it is probing, or close it while it is open.
+ */
+final class CircuitBreaker {
+
+  private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final Endpoint endpoint;
+  private final CircuitBreakerPolicy policy;
+  private final LongSupplier clock;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /** Outcomes of the most recent calls while closed, true for a failure. */
+  private final boolean[] window;
+
+  private int next;
+  private int recorded;
+  private int failures;
+  private State state = State.CLOSED;
+  private long openedAt;
+  private int probesInFlight;
+  private int probesSucceeded;
+
+  /** Bumped on every transition, so that outcomes of calls admitted earlier are ignored. */
+  private long generation;
+
+  CircuitBreaker(Endpoint endpoint, CircuitBreakerPolicy policy, LongSupplier clock) {
+    this.endpoint = endpoint;
+    this.policy = policy;
+    this.clock = clock;
+    this.window = new boolean[policy.getSlidingWindowSize()];
+  }
+
+  /**
+   * Admits a call, or fails it while the breaker is open or already probing.
+   *
+   * @return the admitted call, whose outcome must be recorded
+   * @throws RealityDefenderException with code {@code CIRCUIT_OPEN} if the call is not admitted
+   */
+  Attempt acquire() throws RealityDefenderException {
+    lock.lock();
+    try {
+      if (state == State.OPEN) {
+        if (clock.getAsLong() - openedAt < policy.getOpenDuration().toNanos()) {
+          throw open();
+        }
+        transition(State.HALF_OPEN);
+        logger.info("Circuit for {} is half-open, probing", endpoint);
+      }
+      if (state == State.HALF_OPEN) {
+        if (probesInFlight >= policy.getHalfOpenProbes()) {
+          throw open();
+        }
+        probesInFlight++;
+        return new Attempt(generation, true);
+      }
+      return new Attempt(generation, false);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  State getState() {
+    lock.lock();
+    try {
+      return state;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void record(Attempt attempt, Throwable error) {
+    boolean ignored = isIgnored(error);
+    boolean failed = !ignored && isFailure(error);
+    lock.lock();
+    try {
+      if (attempt.generation != generation) {
+        return;
+      }
+      if (attempt.probe) {
+        probesInFlight--;
+      }
+      if (ignored) {
+        return;
+      }
+      if (state == State.HALF_OPEN) {
+        if (failed) {
+          trip("probe failed");
+        } else if (++probesSucceeded >= policy.getHalfOpenProbes()) {
+          transition(State.CLOSED);
+          logger.info("Circuit for {} closed", endpoint);
+        }
+        return;
+      }
+
+      if (recorded == window.length && window[next]) {
+        failures--;
+      }
+      window[next] = failed;
+      next = (next + 1) % window.length;
+      recorded = Math.min(recorded + 1, window.length);
+      if (failed) {
+        failures++;
+      }
+      if (recorded >= policy.getMinimumCalls()
+          && failures >= policy.getFailureRateThreshold() * recorded) {
+        trip(failures + " of the last " + recorded + " calls failed");
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void trip(String reason) {
+    transition(State.OPEN);
+    openedAt = clock.getAsLong();
+    logger.warn(
+        "Circuit for {} opened, {}; failing calls fast for {} ms",
+        endpoint,
+        reason,
+        policy.getOpenDuration().toMillis());
+  }
+
+  private void transition(State to) {
+    state = to;
+    generation++;
+    next = 0;
+    recorded = 0;
+    failures = 0;
+    probesInFlight = 0;
+    probesSucceeded = 0;
+  }
+
+  private RealityDefenderException open() {
+    long remaining = policy.getOpenDuration().toNanos() - (clock.getAsLong() - openedAt);
+    return new RealityDefenderException(
+        "Circuit breaker for "
+            + endpoint
+            + " is open after repeated failures, retry in "
+            + Math.max(0, TimeUnit.NANOSECONDS.toMillis(remaining))
+            + " ms",
+        "CIRCUIT_OPEN");
+  }
+
+  /**
+   * Checks whether a call ended without telling anything about the endpoint's health, because it
+   * was cancelled, interrupted or never sent.
+   */
+  private static boolean isIgnored(Throwable error) {
+    if (error == null) {
+      return false;
+    }
+    if (error instanceof CancellationException) {
+      return true;
+    }
+    if (!(error instanceof RealityDefenderException)) {
+      return true;
+    }
+    String code = ((RealityDefenderException) error).getCode();
+    return "CIRCUIT_OPEN".equals(code)
+        || "BULKHEAD_FULL".equals(code)
+        || "INTERRUPTED".equals(code);
+  }
+
+  /**
+   * Checks whether a call failed because the endpoint is unreachable, slow or erroring: a
+   * connection failure, or an HTTP 408 or any 5xx answer, whether or not the {@link Retrier} would
+   * retry it.
+   */
+  private static boolean isFailure(Throwable error) {
+    if (!(error instanceof RealityDefenderException)) {
+      return false;
+    }
+    int statusCode = ((RealityDefenderException) error).getStatusCode();
+    if (statusCode == 0) {
+      return Retrier.isRetryable(error);
+    }
+    return statusCode == 408 || (statusCode >= 500 && statusCode < 600);
+  }
+
+  /** A call admitted by the breaker. */
+  final class Attempt {
+    private final long generation;
+    private final boolean probe;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    private Attempt(long generation, boolean probe) {
+      this.generation = generation;
+      this.probe = probe;
+    }
+
+    /**
+     * Records the outcome of the call. Only the first outcome recorded counts.
+     *
+     * @param error the error the call failed with, or null if it succeeded
+     */
+    void record(Throwable error) {
+      if (recorded.compareAndSet(false, true)) {
+        CircuitBreaker.this.record(this, error);
+      }
+    }
+  }
+}
@@ -0,0 +1,238 @@
+package ai.realitydefender.client;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides when calls to a degraded {@link Endpoint} stop being sent, so that callers fail fast
+ * instead of each waiting out the full timeout.
+ *
+ * <p>Every endpoint has its own breaker. While closed, a breaker tracks the outcome of the last
+ * {@code slidingWindowSize} calls. Once at least {@code minimumCalls} have been seen and the share
+ * of failures reaches {@code failureRateThreshold}, it opens: calls fail at once with code {@code
+ * CIRCUIT_OPEN} for {@code openDuration}. It then turns half-open and lets {@code halfOpenProbes}
+ * calls through. If they all succeed the breaker closes again; if one fails it opens again.
+ *
+ * <p>Connection failures, timeouts and HTTP 408 or 5xx answers count as failures, including 5xx
+ * answers such as 501 that are not retried. Other errors, such as a missing request or an invalid
+ * API key, show the endpoint is answering and count as successes, and throttling is left to the
+ * {@link RateLimiter}.
+ *
+ * <pre>{@code
+ * CircuitBreakerPolicy breakers =
+ *     CircuitBreakerPolicy.builder().openDuration(Duration.ofSeconds(10)).build();
+ * RealityDefender client =
+ *     RealityDefender.builder().apiKey(apiKey).circuitBreakerPolicy(breakers).build();
+ * }</pre>
+ */
+public final class CircuitBreakerPolicy {
+
+  /** The default share of failed calls at which a breaker opens. */
+  public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+
+  /** The default number of most recent calls the failure rate is computed over. */
+  public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+
+  /** The default number of calls a breaker must see before it can open. */
+  public static final int DEFAULT_MINIMUM_CALLS = 10;
+
+  /** The default time an open breaker fails calls before letting probes through. */
+  public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+  /** The default number of probe calls a half-open breaker lets through. */
+  public static final int DEFAULT_HALF_OPEN_PROBES = 1;
+
+  private final double failureRateThreshold;
+  private final int slidingWindowSize;
+  private final int minimumCalls;
+  private final Duration openDuration;
+  private final int halfOpenProbes;
+
+  private CircuitBreakerPolicy(Builder builder) {
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.slidingWindowSize = builder.slidingWindowSize;
+    this.minimumCalls = builder.minimumCalls;
+    this.openDuration = builder.openDuration;
+    this.halfOpenProbes = builder.halfOpenProbes;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the share of failed calls at which a breaker opens.
+   *
+   * @return the failure rate threshold, between 0 exclusive and 1 inclusive
+   */
+  public double getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  /**
+   * Gets the number of most recent calls the failure rate is computed over.
+   *
+   * @return the sliding window size
+   */
+  public int getSlidingWindowSize() {
+    return slidingWindowSize;
+  }
+
+  /**
+   * Gets the number of calls a breaker must see before it can open.
+   *
+   * @return the minimum number of calls
+   */
+  public int getMinimumCalls() {
+    return minimumCalls;
+  }
+
+  /**
+   * Gets how long an open breaker fails calls before letting probes through.
+   *
+   * @return the open duration
+   */
+  public Duration getOpenDuration() {
+    return openDuration;
+  }
+
+  /**
+   * Gets the number of probe calls a half-open breaker lets through.
+   *
+   * @return the number of probes
+   */
+  public int getHalfOpenProbes() {
+    return halfOpenProbes;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    CircuitBreakerPolicy that = (CircuitBreakerPolicy) o;
+    return Double.compare(failureRateThreshold, that.failureRateThreshold) == 0
+        && slidingWindowSize == that.slidingWindowSize
+        && minimumCalls == that.minimumCalls
+        && halfOpenProbes == that.halfOpenProbes
+        && Objects.equals(openDuration, that.openDuration);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        failureRateThreshold, slidingWindowSize, minimumCalls, openDuration, halfOpenProbes);
+  }
+
+  @Override
+  public String toString() {
+    return "CircuitBreakerPolicy{"
+        + "failureRateThreshold="
+        + failureRateThreshold
+        + ", slidingWindowSize="
+        + slidingWindowSize
+        + ", minimumCalls="
+        + minimumCalls
+        + ", openDuration="
+        + openDuration
+        + ", halfOpenProbes="
+        + halfOpenProbes
+        + '}';
+  }
+
+  public static final class Builder {
+    private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+    private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+    private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+    private Duration openDuration = DEFAULT_OPEN_DURATION;
+    private int halfOpenProbes = DEFAULT_HALF_OPEN_PROBES;
+
+    private Builder() {}
+
+    /**
+     * Sets the share of failed calls at which a breaker opens.
+     *
+     * @param failureRateThreshold the threshold, above 0 and at most 1
+     * @return this builder
+     */
+    public Builder failureRateThreshold(double failureRateThreshold) {
+      if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+        throw new IllegalArgumentException(
+            "Failure rate threshold must be in (0, 1]: " + failureRateThreshold);
+      }
+      this.failureRateThreshold = failureRateThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the number of most recent calls the failure rate is computed over.
+     *
+     * @param slidingWindowSize the window size, at least 1
+     * @return this builder
+     */
+    public Builder slidingWindowSize(int slidingWindowSize) {
+      if (slidingWindowSize < 1) {
+        throw new IllegalArgumentException(
+            "slidingWindowSize must be at least 1: " + slidingWindowSize);
+      }
+      this.slidingWindowSize = slidingWindowSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of calls a breaker must see before it can open.
+     *
+     * @param minimumCalls the minimum number of calls, at least 1
+     * @return this builder
+     */
+    public Builder minimumCalls(int minimumCalls) {
+      if (minimumCalls < 1) {
+        throw new IllegalArgumentException("minimumCalls must be at least 1: " + minimumCalls);
+      }
+      this.minimumCalls = minimumCalls;
+      return this;
+    }
+
+    /**
+     * Sets how long an open breaker fails calls before letting probes through.
+     *
+     * @param openDuration the open duration, positive
+     * @return this builder
+     */
+    public Builder openDuration(Duration openDuration) {
+      Objects.requireNonNull(openDuration, "Open duration cannot be null");
+      if (openDuration.isNegative() || openDuration.isZero()) {
+        throw new IllegalArgumentException("Open duration must be positive: " + openDuration);
+      }
+      this.openDuration = openDuration;
+      return this;
+    }
+
+    /**
+     * Sets the number of probe calls a half-open breaker lets through.
+     *
+     * @param halfOpenProbes the number of probes, at least 1
+     * @return this builder
+     */
+    public Builder halfOpenProbes(int halfOpenProbes) {
+      if (halfOpenProbes < 1) {
+        throw new IllegalArgumentException("halfOpenProbes must be at least 1: " + halfOpenProbes);
+      }
+      this.halfOpenProbes = halfOpenProbes;
+      return this;
+    }
+
+    /**
+     * Builds the policy.
+     *
+     * @return the new policy
+     * @throws IllegalArgumentException if the minimum number of calls exceeds the window size
+     */
+    public CircuitBreakerPolicy build() {
+      if (minimumCalls > slidingWindowSize) {
+        throw new IllegalArgumentException(
+            "minimumCalls " + minimumCalls + " exceeds slidingWindowSize " + slidingWindowSize);
+      }
+      return new CircuitBreakerPolicy(this);
+    }
+  }
+}
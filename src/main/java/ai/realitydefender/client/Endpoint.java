@@ -0,0 +1,46 @@
+package ai.realitydefender.client;
+
+import okhttp3.Request;
+
+/**
+ * The API calls that are paced, guarded and isolated separately by the {@link RateLimiter}, {@link
+ * CircuitBreakerPolicy circuit breakers} and {@link BulkheadPolicy bulkheads}.
+ */
+public enum Endpoint {
+  /** Signed URL requests to {@code /api/files/aws-presigned}. */
+  PRESIGN,
+  /** Media uploads to a signed URL. */
+  UPLOAD,
+  /** Result lookups of one request, under {@code /api/media/users/}. */
+  STATUS,
+  /** Result pages, under {@code /api/v2/media/users/pages/}. */
+  LIST,
+  /** Social media links posted to {@code /api/files/social}. */
+  SOCIAL;
+
+  /**
+   * Classifies a request.
+   *
+   * @param request the request
+   * @return the endpoint, or null if the request is not one of the classified calls
+   */
+  static Endpoint of(Request request) {
+    if ("PUT".equals(request.method())) {
+      return UPLOAD;
+    }
+    String path = request.url().encodedPath();
+    if (path.endsWith("/api/files/aws-presigned")) {
+      return PRESIGN;
+    }
+    if (path.endsWith("/api/files/social")) {
+      return SOCIAL;
+    }
+    if (path.contains("/api/v2/media/users/pages/")) {
+      return LIST;
+    }
+    if (path.contains("/api/media/users/")) {
+      return STATUS;
+    }
+    return null;
+  }
+}
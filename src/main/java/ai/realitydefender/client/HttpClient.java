@@ -1,24 +1,36 @@
 package ai.realitydefender.client;
 
 import ai.realitydefender.core.RealityDefenderConfig;
+import ai.realitydefender.core.RealityDefenderRuntime;
 import ai.realitydefender.exceptions.RealityDefenderException;
 import ai.realitydefender.models.*;
 import ai.realitydefender.utils.Url;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,23 +43,82 @@ public class HttpClient implements Closeable {
   private final OkHttpClient client;
   private final ObjectMapper objectMapper;
   private final RealityDefenderConfig config;
+  private final RealityDefenderRuntime runtime;
+  private final RateLimiter rateLimiter;
+  private final Retrier retrier;
+  private final Map<Endpoint, CircuitBreaker> breakers = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, Bulkhead> bulkheads = new EnumMap<>(Endpoint.class);
+  private final AtomicBoolean closed = new AtomicBoolean();
 
+  /**
+   * Creates a client with its own runtime, configured from {@code config}.
+   *
+   * @param config the SDK configuration
+   */
   public HttpClient(RealityDefenderConfig config) {
-    this.config = config;
-    this.objectMapper = new ObjectMapper();
-    this.objectMapper.registerModule(new JavaTimeModule());
-    this.objectMapper.configure(
-        com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    this.objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    this(config, RealityDefenderRuntime.create(config), false);
+  }
+
+  /**
+   * Creates a client on a shared runtime. The client's timeouts and protocol preference come from
+   * {@code config}; the connection pool, dispatcher and object mapper come from the runtime.
+   *
+   * @param config the SDK configuration
+   * @param runtime the shared runtime, retained until this client is closed
+   */
+  public HttpClient(RealityDefenderConfig config, RealityDefenderRuntime runtime) {
+    this(config, runtime, true);
+  }
 
+  private HttpClient(RealityDefenderConfig config, RealityDefenderRuntime runtime, boolean retain) {
+    this.config = config;
+    this.runtime = retain ? runtime.retain() : runtime;
+    this.objectMapper = runtime.getObjectMapper();
+    this.rateLimiter = config.getRateLimiter();
+    this.retrier = new Retrier(config.getRetryPolicy(), this.runtime.getScheduler());
+    CircuitBreakerPolicy breakerPolicy = config.getCircuitBreakerPolicy();
+    BulkheadPolicy bulkheadPolicy = config.getBulkheadPolicy();
+    for (Endpoint endpoint : Endpoint.values()) {
+      if (breakerPolicy != null) {
+        breakers.put(endpoint, new CircuitBreaker(endpoint, breakerPolicy, System::nanoTime));
+      }
+      int maxConcurrentCalls =
+          bulkheadPolicy != null ? bulkheadPolicy.getMaxConcurrentCalls(endpoint) : 0;
+      if (maxConcurrentCalls > 0) {
+        bulkheads.put(
+            endpoint,
+            new Bulkhead(
+                endpoint,
+                maxConcurrentCalls,
+                bulkheadPolicy.getMaxWait(),
+                this.runtime.getScheduler()));
+      }
+    }
     this.client =
-        new OkHttpClient.Builder()
-            .connectTimeout(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
-            .readTimeout(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
-            .writeTimeout(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        RealityDefenderRuntime.applyClientSettings(runtime.getOkHttpClient().newBuilder(), config)
             .build();
   }
 
+  /**
+   * Gets the runtime this client is built on.
+   *
+   * @return the runtime
+   */
+  public RealityDefenderRuntime getRuntime() {
+    return runtime;
+  }
+
+  /** Package-private accessor for testing. */
+  OkHttpClient getOkHttpClient() {
+    return client;
+  }
+
+  /** Package-private accessor for testing. */
+  CircuitBreaker.State getCircuitState(Endpoint endpoint) {
+    CircuitBreaker breaker = breakers.get(endpoint);
+    return breaker != null ? breaker.getState() : null;
+  }
+
   /**
    * Gets a signed URL for file upload.
    *
@@ -77,6 +148,35 @@ public class HttpClient implements Closeable {
     }
   }
 
+  /**
+   * Gets a signed URL for file upload without blocking the calling thread.
+   *
+   * @param fileName the name of the file to get signed URL for
+   * @return a CompletableFuture containing the signed URL response
+   */
+  private CompletableFuture<SignedUrlResponse> getSignedUrlAsync(String fileName) {
+    String body;
+    try {
+      body = objectMapper.writeValueAsString(new SignedUrlRequest(fileName));
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(
+          new RealityDefenderException(
+              "Failed to get signed URL: " + e.getMessage(), "UNKNOWN_ERROR", e));
+    }
+
+    return postAsync("/api/files/aws-presigned", body)
+        .thenApply(
+            response -> {
+              try {
+                return objectMapper.treeToValue(response, SignedUrlResponse.class);
+              } catch (IOException e) {
+                throw new CompletionException(
+                    new RealityDefenderException(
+                        "Failed to get signed URL: " + e.getMessage(), "UNKNOWN_ERROR", e));
+              }
+            });
+  }
+
   /**
    * Uploads a file to the Reality Defender API.
    *
@@ -85,61 +185,299 @@ public class HttpClient implements Closeable {
    * @throws RealityDefenderException if upload fails
    */
   public JsonNode uploadFile(File file) throws RealityDefenderException {
-    if (!file.exists()) {
-      throw new RealityDefenderException(
-          "File not found: " + file.getAbsolutePath(), "INVALID_FILE");
+    return uploadFile(file, null);
+  }
+
+  /**
+   * Uploads a file to the Reality Defender API, streaming it from disk and reporting progress.
+   *
+   * <p>The returned JSON includes a {@code sha256} field with the digest of the bytes that were
+   * sent, computed while the file was streamed.
+   *
+   * @param file the file to upload
+   * @param listener optional listener notified as bytes are written
+   * @return JSON response as JsonNode
+   * @throws RealityDefenderException if upload fails
+   */
+  public JsonNode uploadFile(File file, UploadProgressListener listener)
+      throws RealityDefenderException {
+    return upload(UploadSource.of(file), listener);
+  }
+
+  /**
+   * Uploads media from a file, memory or a stream to the Reality Defender API.
+   *
+   * <p>The returned JSON includes a {@code sha256} field with the digest of the bytes that were
+   * sent, computed while the media was streamed.
+   *
+   * @param source the media to upload
+   * @param listener optional listener notified as bytes are written
+   * @return JSON response as JsonNode
+   * @throws RealityDefenderException if upload fails
+   */
+  public JsonNode upload(UploadSource source, UploadProgressListener listener)
+      throws RealityDefenderException {
+    long size = validateUpload(source);
+
+    SignedUrl[] signedUrl = {
+      SignedUrl.of(getSignedUrl(source.getFileName()), Instant.now(), config.getSignedUrlTtl())
+    };
+    Retrier.Call<JsonNode> put =
+        () -> {
+          if (!signedUrl[0].isUsableAt(Instant.now())) {
+            signedUrl[0] =
+                SignedUrl.of(
+                    getSignedUrl(source.getFileName()), Instant.now(), config.getSignedUrlTtl());
+          }
+          SignedUrlResponse signedUrlResponse = signedUrl[0].getResponse();
+          UploadRequestBody body =
+              source.newRequestBody(size, config.getMemoryMapThreshold(), listener);
+          execute(
+              buildUploadRequest(body, signedUrlResponse),
+              "Failed to upload file",
+              "UPLOAD_FAILED");
+          return toUploadResponse(signedUrlResponse, body);
+        };
+    return source.isRepeatable() ? retrier.call(put) : put.call();
+  }
+
+  /**
+   * Uploads a file to the Reality Defender API asynchronously.
+   *
+   * <p>Both the signed URL request and the upload itself are enqueued on OkHttp's dispatcher, so no
+   * caller thread is blocked while the request is in flight.
+   *
+   * @param file the file to upload
+   * @return a CompletableFuture containing the JSON response
+   */
+  public CompletableFuture<JsonNode> uploadFileAsync(File file) {
+    return uploadFileAsync(file, null);
+  }
+
+  /**
+   * Uploads a file to the Reality Defender API asynchronously, reporting progress.
+   *
+   * @param file the file to upload
+   * @param listener optional listener notified as bytes are written, on a dispatcher thread
+   * @return a CompletableFuture containing the JSON response
+   */
+  public CompletableFuture<JsonNode> uploadFileAsync(File file, UploadProgressListener listener) {
+    return uploadAsync(UploadSource.of(file), listener);
+  }
+
+  /**
+   * Uploads media from a file, memory or a stream to the Reality Defender API asynchronously.
+   *
+   * @param source the media to upload
+   * @param listener optional listener notified as bytes are written, on a dispatcher thread
+   * @return a CompletableFuture containing the JSON response
+   */
+  public CompletableFuture<JsonNode> uploadAsync(
+      UploadSource source, UploadProgressListener listener) {
+    long size;
+    try {
+      size = validateUpload(source);
+    } catch (RealityDefenderException e) {
+      return CompletableFuture.failedFuture(e);
     }
 
-    if (!file.canRead()) {
-      throw new RealityDefenderException(
-          "Cannot read file: " + file.getAbsolutePath(), "INVALID_FILE");
+    return fetchSignedUrlAsync(source.getFileName())
+        .thenCompose(signedUrl -> uploadWithSignedUrl(source, size, signedUrl, listener));
+  }
+
+  /**
+   * Uploads a batch of media asynchronously, pipelining the signed URL requests.
+   *
+   * <p>Instead of paying the signed URL round-trip and the upload round-trip in series for every
+   * item, up to {@link RealityDefenderConfig#getPresignConcurrency()} signed URL requests are kept
+   * in flight and each upload starts as soon as its URL arrives. Uploads are then bounded by the
+   * dispatcher's per-host limit. A URL that is about to expire by the time its upload starts is
+   * replaced with a fresh one.
+   *
+   * <p>Each item fails independently: invalid media or a failed request completes only that item's
+   * future exceptionally.
+   *
+   * @param sources the media to upload
+   * @return one future per source, in the same order, containing the JSON response
+   */
+  public List<CompletableFuture<JsonNode>> uploadAllAsync(List<UploadSource> sources) {
+    List<CompletableFuture<JsonNode>> results = new ArrayList<>(sources.size());
+    List<Integer> pending = new ArrayList<>(sources.size());
+    long[] sizes = new long[sources.size()];
+
+    for (int i = 0; i < sources.size(); i++) {
+      results.add(new CompletableFuture<>());
+      try {
+        sizes[i] = validateUpload(sources.get(i));
+        pending.add(i);
+      } catch (RealityDefenderException e) {
+        results.get(i).completeExceptionally(e);
+      }
     }
 
-    // Get file size
-    long fileSize;
-    try {
-      fileSize = Files.size(file.toPath());
-    } catch (IOException e) {
-      throw new RealityDefenderException(
-          "Unable to read file size: " + file.getName(), "INVALID_FILE", e);
+    new PresignPipeline(sources, sizes, pending, results).pump();
+    return results;
+  }
+
+  /**
+   * Keeps a bounded number of signed URL requests in flight for a batch, starting each upload as
+   * soon as its URL arrives. The number of items that hold a URL but have not finished uploading is
+   * also bounded, so URLs are not fetched long before the dispatcher can use them.
+   */
+  private final class PresignPipeline {
+    private final List<UploadSource> sources;
+    private final long[] sizes;
+    private final List<Integer> pending;
+    private final List<CompletableFuture<JsonNode>> results;
+    private final int maxPresigning = config.getPresignConcurrency();
+    private final int maxOutstanding = maxPresigning + config.getMaxRequestsPerHost();
+    private int next;
+    private int presigning;
+    private int outstanding;
+
+    PresignPipeline(
+        List<UploadSource> sources,
+        long[] sizes,
+        List<Integer> pending,
+        List<CompletableFuture<JsonNode>> results) {
+      this.sources = sources;
+      this.sizes = sizes;
+      this.pending = pending;
+      this.results = results;
     }
 
-    // Get supported file info.
-    FileTypeInfo fileTypeInfo = SupportedFileTypes.getFileTypeInfo(file.getName());
+    void pump() {
+      while (true) {
+        int index;
+        synchronized (this) {
+          if (next >= pending.size()
+              || presigning >= maxPresigning
+              || outstanding >= maxOutstanding) {
+            return;
+          }
+          index = pending.get(next++);
+          presigning++;
+          outstanding++;
+        }
+        start(index);
+      }
+    }
 
-    if (fileSize > fileTypeInfo.getSizeLimit()) {
-      throw new RealityDefenderException(
-          "File too large to upload: " + file.getName(), "file_too_large");
+    private void start(int index) {
+      UploadSource source = sources.get(index);
+      CompletableFuture<JsonNode> result = results.get(index);
+      CompletableFuture<SignedUrl> signedUrl = fetchSignedUrlAsync(source.getFileName());
+
+      signedUrl.whenComplete(
+          (ignored, error) -> {
+            synchronized (this) {
+              presigning--;
+            }
+            pump();
+          });
+
+      signedUrl
+          .thenCompose(url -> uploadWithSignedUrl(source, sizes[index], url, null))
+          .whenComplete(
+              (response, error) -> {
+                synchronized (this) {
+                  outstanding--;
+                }
+                if (error != null) {
+                  result.completeExceptionally(unwrap(error));
+                } else {
+                  result.complete(response);
+                }
+                pump();
+              });
     }
+  }
+
+  private CompletableFuture<SignedUrl> fetchSignedUrlAsync(String fileName) {
+    return getSignedUrlAsync(fileName)
+        .thenApply(response -> SignedUrl.of(response, Instant.now(), config.getSignedUrlTtl()));
+  }
+
+  /**
+   * Uploads media to a previously fetched signed URL, restarting the upload from the first byte if
+   * it fails and the {@link RetryPolicy} allows another attempt. Each attempt reuses the latest URL
+   * while it is usable and fetches a fresh one first otherwise.
+   */
+  private CompletableFuture<JsonNode> uploadWithSignedUrl(
+      UploadSource source, long size, SignedUrl signedUrl, UploadProgressListener listener) {
+    AtomicReference<SignedUrl> current = new AtomicReference<>(signedUrl);
+    Supplier<CompletableFuture<JsonNode>> put =
+        () -> putWithSignedUrl(source, size, current, listener, true);
+    return source.isRepeatable() ? retrier.callAsync(put) : put.get();
+  }
 
-    SignedUrlResponse signedUrlResponse = getSignedUrl(file.getName());
+  /**
+   * Sends one upload, fetching a fresh URL first if the current one is about to expire. A fresh URL
+   * is only requested once per attempt, so clock skew cannot cause a loop.
+   */
+  private CompletableFuture<JsonNode> putWithSignedUrl(
+      UploadSource source,
+      long size,
+      AtomicReference<SignedUrl> current,
+      UploadProgressListener listener,
+      boolean mayRefresh) {
+    SignedUrl signedUrl = current.get();
+    if (mayRefresh && !signedUrl.isUsableAt(Instant.now())) {
+      logger.debug(
+          "Signed URL for {} expires at {}, requesting a new one",
+          source.getFileName(),
+          signedUrl.getExpiresAt());
+      return fetchSignedUrlAsync(source.getFileName())
+          .thenCompose(
+              fresh -> {
+                current.set(fresh);
+                return putWithSignedUrl(source, size, current, listener, false);
+              });
+    }
 
-    RequestBody fileBody = RequestBody.create(file, MediaType.parse("application/octet-stream"));
+    SignedUrlResponse signedUrlResponse = signedUrl.getResponse();
+    UploadRequestBody body = source.newRequestBody(size, config.getMemoryMapThreshold(), listener);
+    return enqueue(
+            buildUploadRequest(body, signedUrlResponse), "Failed to upload file", "UPLOAD_FAILED")
+        .thenApply(ignored -> toUploadResponse(signedUrlResponse, body));
+  }
 
-    Request request =
-        new Request.Builder()
-            .url(signedUrlResponse.getSignedUrl())
-            .addHeader("X-API-KEY", config.getApiKey())
-            .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
-            .addHeader("Content-Type", "application/octet-stream")
-            .put(fileBody)
-            .build();
+  /**
+   * Validates that media can be uploaded.
+   *
+   * @param source the media to check
+   * @return the media size in bytes
+   * @throws RealityDefenderException if the media is missing, unreadable, unsupported or too large
+   */
+  private long validateUpload(UploadSource source) throws RealityDefenderException {
+    long size = source.validate();
 
-    try (Response response = client.newCall(request).execute()) {
-      handleResponse(response);
-      String uploadResponseJson =
-          "{\n"
-              + "    \"request_id\": \""
-              + signedUrlResponse.getRequestId()
-              + "\",\n"
-              + "    \"media_id\": \""
-              + signedUrlResponse.getMediaId()
-              + "\"\n"
-              + "}";
-      return objectMapper.readTree(uploadResponseJson);
-    } catch (IOException e) {
-      throw new RealityDefenderException("Failed to upload file", "UPLOAD_FAILED", e);
+    // Get supported file info.
+    FileTypeInfo fileTypeInfo = SupportedFileTypes.getFileTypeInfo(source.getFileName());
+
+    if (size > fileTypeInfo.getSizeLimit()) {
+      throw new RealityDefenderException(
+          "File too large to upload: " + source.getFileName(), "file_too_large");
     }
+    return size;
+  }
+
+  private Request buildUploadRequest(RequestBody body, SignedUrlResponse signedUrlResponse) {
+    return new Request.Builder()
+        .url(signedUrlResponse.getSignedUrl())
+        .addHeader("X-API-KEY", config.getApiKey())
+        .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
+        .addHeader("Content-Type", "application/octet-stream")
+        .put(body)
+        .build();
+  }
+
+  private JsonNode toUploadResponse(SignedUrlResponse signedUrlResponse, UploadRequestBody body) {
+    return objectMapper
+        .createObjectNode()
+        .put("request_id", signedUrlResponse.getRequestId())
+        .put("media_id", signedUrlResponse.getMediaId())
+        .put("sha256", body.getSha256());
   }
 
   /**
@@ -163,6 +501,39 @@ public class HttpClient implements Closeable {
     }
   }
 
+  /**
+   * Uploads a social media link for analysis asynchronously.
+   *
+   * @param url the URL to upload
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<JsonNode> postSocialMediaAsync(String url) {
+    if (!Url.isValidHttpUrl(url)) {
+      return CompletableFuture.failedFuture(
+          new RealityDefenderException("Invalid social media link: " + url, "INVALID_REQUEST"));
+    }
+
+    String body;
+    try {
+      body = objectMapper.writeValueAsString(new SocialMediaRequest(url));
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(
+          new RealityDefenderException("Upload failed: " + e.getMessage(), "UPLOAD_FAILED", e));
+    }
+
+    return postAsync("/api/files/social", body)
+        .handle(
+            (response, error) -> {
+              if (error != null) {
+                Throwable cause = unwrap(error);
+                throw new CompletionException(
+                    new RealityDefenderException(
+                        "Upload failed: " + cause.getMessage(), "UPLOAD_FAILED", cause));
+              }
+              return response;
+            });
+  }
+
   /**
    * Posts user scan feedback JSON to {@code /api/v2/user-feedback} (same pattern as {@link
    * #postSocialMedia(String)}).
@@ -187,6 +558,30 @@ public class HttpClient implements Closeable {
     }
   }
 
+  /**
+   * Posts user scan feedback asynchronously.
+   *
+   * @param request feedback payload
+   * @return a CompletableFuture containing the parsed JSON body
+   */
+  public CompletableFuture<JsonNode> postUserFeedbackAsync(UserFeedbackRequest request) {
+    if (request == null
+        || isBlank(request.getRequestId())
+        || isBlank(request.getLabel())
+        || isBlank(request.getFeedbackCategory())) {
+      return CompletableFuture.failedFuture(
+          new RealityDefenderException(
+              "requestId, label, and feedbackCategory are required", "INVALID_REQUEST"));
+    }
+
+    try {
+      return postAsync("/api/v2/user-feedback", objectMapper.writeValueAsString(request));
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(
+          new RealityDefenderException("Failed to post user feedback", "SERVER_ERROR", e));
+    }
+  }
+
   private static boolean isBlank(String value) {
     return value == null || value.trim().isEmpty();
   }
@@ -199,22 +594,74 @@ public class HttpClient implements Closeable {
    * @throws RealityDefenderException if request fails
    */
   public JsonNode getResults(String requestId) throws RealityDefenderException {
-    Request request =
-        new Request.Builder()
-            .url(config.getBaseUrl() + "/api/media/users/" + requestId)
-            .addHeader("X-API-KEY", config.getApiKey())
-            .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
-            .addHeader("Content-Type", "application/json")
-            .get()
-            .build();
-
     logger.debug("Getting results for request ID: {}", requestId);
 
-    try (Response response = client.newCall(request).execute()) {
-      return handleResponse(response);
-    } catch (IOException e) {
-      throw new RealityDefenderException("Failed to get results", "SERVER_ERROR", e);
+    return executeStatus(buildResultRequest(requestId), this::handleResponse);
+  }
+
+  /**
+   * Gets detection results for a request ID asynchronously.
+   *
+   * @param requestId the request ID to check
+   * @return a CompletableFuture containing the JSON response
+   */
+  public CompletableFuture<JsonNode> getResultsAsync(String requestId) {
+    logger.debug("Getting results asynchronously for request ID: {}", requestId);
+
+    return enqueueStatus(buildResultRequest(requestId), this::handleResponse);
+  }
+
+  /**
+   * Gets the detection result for a request ID, binding the response body straight into a {@link
+   * DetectionResult} in a single streaming pass.
+   *
+   * @param requestId the request ID to check
+   * @return the detection result
+   * @throws RealityDefenderException if the request fails or the body cannot be parsed
+   */
+  public DetectionResult getDetectionResult(String requestId) throws RealityDefenderException {
+    logger.debug("Getting detection result for request ID: {}", requestId);
+
+    return executeStatus(
+        buildResultRequest(requestId), response -> readResponse(response, DetectionResult.class));
+  }
+
+  /**
+   * Gets the detection result for a request ID asynchronously, binding the response body straight
+   * into a {@link DetectionResult}.
+   *
+   * @param requestId the request ID to check
+   * @return a CompletableFuture containing the detection result
+   */
+  public CompletableFuture<DetectionResult> getDetectionResultAsync(String requestId) {
+    logger.debug("Getting detection result asynchronously for request ID: {}", requestId);
+
+    return enqueueStatus(
+        buildResultRequest(requestId), response -> readResponse(response, DetectionResult.class));
+  }
+
+  /** Looks up the status of one request on the calling thread, hedged if the policy asks for it. */
+  private <T> T executeStatus(Request request, ResponseReader<T> reader)
+      throws RealityDefenderException {
+    if (retrier.isHedging()) {
+      return Retrier.await(enqueueStatus(request, reader));
     }
+    return execute(request, reader, "Failed to get results", "SERVER_ERROR");
+  }
+
+  /** Looks up the status of one request asynchronously, hedged if the policy asks for it. */
+  private <T> CompletableFuture<T> enqueueStatus(Request request, ResponseReader<T> reader) {
+    return retrier.hedge(() -> enqueue(request, reader, "Failed to get results", "SERVER_ERROR"));
+  }
+
+  private Request buildResultRequest(String requestId) {
+    return new Request.Builder()
+        .url(config.getBaseUrl() + "/api/media/users/" + requestId)
+        .addHeader("X-API-KEY", config.getApiKey())
+        .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
+        .addHeader("Content-Type", "application/json")
+        .get()
+        .build();
   }
 
   /**
@@ -235,7 +682,104 @@ public class HttpClient implements Closeable {
       java.time.LocalDate startDate,
       java.time.LocalDate endDate)
       throws RealityDefenderException {
+    Request request = buildResultsPageRequest(pageNumber, size, name, startDate, endDate);
+
+    logger.debug("Getting paginated results for page: {}, URL: {}", pageNumber, request.url());
 
+    return execute(request, "Failed to get results", "SERVER_ERROR");
+  }
+
+  /**
+   * Gets paginated detection results with optional filters asynchronously.
+   *
+   * @param pageNumber the page number (0-based)
+   * @param size the number of results per page
+   * @param name optional name filter
+   * @param startDate optional start date filter
+   * @param endDate optional end date filter
+   * @return a CompletableFuture containing the JSON response
+   */
+  public CompletableFuture<JsonNode> getResultsAsync(
+      int pageNumber,
+      Integer size,
+      String name,
+      java.time.LocalDate startDate,
+      java.time.LocalDate endDate) {
+    Request request = buildResultsPageRequest(pageNumber, size, name, startDate, endDate);
+
+    logger.debug(
+        "Getting paginated results asynchronously for page: {}, URL: {}",
+        pageNumber,
+        request.url());
+
+    return enqueue(request, "Failed to get results", "SERVER_ERROR");
+  }
+
+  /**
+   * Gets a page of detection results, binding the response body straight into a {@link
+   * DetectionResultList} in a single streaming pass.
+   *
+   * @param pageNumber the page number (0-based)
+   * @param size the number of results per page
+   * @param name optional name filter
+   * @param startDate optional start date filter
+   * @param endDate optional end date filter
+   * @return the page of detection results
+   * @throws RealityDefenderException if the request fails or the body cannot be parsed
+   */
+  public DetectionResultList getDetectionResultList(
+      int pageNumber,
+      Integer size,
+      String name,
+      java.time.LocalDate startDate,
+      java.time.LocalDate endDate)
+      throws RealityDefenderException {
+    Request request = buildResultsPageRequest(pageNumber, size, name, startDate, endDate);
+
+    logger.debug("Getting detection result page: {}, URL: {}", pageNumber, request.url());
+
+    return execute(
+        request,
+        response -> readResponse(response, DetectionResultList.class),
+        "Failed to get results",
+        "SERVER_ERROR");
+  }
+
+  /**
+   * Gets a page of detection results asynchronously, binding the response body straight into a
+   * {@link DetectionResultList}.
+   *
+   * @param pageNumber the page number (0-based)
+   * @param size the number of results per page
+   * @param name optional name filter
+   * @param startDate optional start date filter
+   * @param endDate optional end date filter
+   * @return a CompletableFuture containing the page of detection results
+   */
+  public CompletableFuture<DetectionResultList> getDetectionResultListAsync(
+      int pageNumber,
+      Integer size,
+      String name,
+      java.time.LocalDate startDate,
+      java.time.LocalDate endDate) {
+    Request request = buildResultsPageRequest(pageNumber, size, name, startDate, endDate);
+
+    logger.debug(
+        "Getting detection result page asynchronously: {}, URL: {}", pageNumber, request.url());
+
+    return enqueue(
+        request,
+        response -> readResponse(response, DetectionResultList.class),
+        "Failed to get results",
+        "SERVER_ERROR");
+  }
+
+  private Request buildResultsPageRequest(
+      int pageNumber,
+      Integer size,
+      String name,
+      java.time.LocalDate startDate,
+      java.time.LocalDate endDate) {
     // Use OkHttp's HttpUrl.Builder for proper URL construction
     okhttp3.HttpUrl.Builder urlBuilder =
         okhttp3.HttpUrl.parse(config.getBaseUrl() + "/api/v2/media/users/pages/" + pageNumber)
@@ -255,25 +799,13 @@ public class HttpClient implements Closeable {
       urlBuilder.addQueryParameter("endDate", endDate.toString());
     }
 
-    String finalUrl = urlBuilder.build().toString();
-    Request request =
-        new Request.Builder()
-            .url(finalUrl)
-            .addHeader("X-API-KEY", config.getApiKey())
-            .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
-            .addHeader("Content-Type", "application/json")
-            .get()
-            .build();
-
-    logger.debug("Getting paginated results for page: {}, URL: {}", pageNumber, finalUrl);
-
-    try (Response response = client.newCall(request).execute()) {
-      logger.debug("Response code: {}, isSuccessful: {}", response.code(), response.isSuccessful());
-      return handleResponse(response);
-    } catch (IOException e) {
-      logger.error("IOException in getResults: {}", e.getMessage());
-      throw new RealityDefenderException("Failed to get results", "SERVER_ERROR", e);
-    }
+    return new Request.Builder()
+        .url(urlBuilder.build())
+        .addHeader("X-API-KEY", config.getApiKey())
+        .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
+        .addHeader("Content-Type", "application/json")
+        .get()
+        .build();
   }
 
   /**
@@ -285,23 +817,323 @@ public class HttpClient implements Closeable {
    * @throws RealityDefenderException if request fails
    */
   public JsonNode post(String endpoint, String jsonBody) throws RealityDefenderException {
+    logger.debug("POST request to: {}", endpoint);
+
+    return execute(buildPostRequest(endpoint, jsonBody), "Request failed", "REQUEST_FAILED");
+  }
+
+  /**
+   * Makes a generic POST request with JSON body asynchronously.
+   *
+   * @param endpoint the API endpoint
+   * @param jsonBody the JSON request body
+   * @return a CompletableFuture containing the JSON response
+   */
+  public CompletableFuture<JsonNode> postAsync(String endpoint, String jsonBody) {
+    logger.debug("Async POST request to: {}", endpoint);
+
+    return enqueue(buildPostRequest(endpoint, jsonBody), "Request failed", "REQUEST_FAILED");
+  }
+
+  private Request buildPostRequest(String endpoint, String jsonBody) {
     RequestBody body = RequestBody.create(jsonBody, JSON);
-    Request request =
-        new Request.Builder()
-            .url(config.getBaseUrl() + endpoint)
-            .addHeader("X-API-KEY", config.getApiKey())
-            .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
-            .addHeader("Content-Type", "application/json; charset=UTF-8")
-            .post(body)
-            .build();
+    return new Request.Builder()
+        .url(config.getBaseUrl() + endpoint)
+        .addHeader("X-API-KEY", config.getApiKey())
+        .addHeader("User-Agent", "RealityDefender-Java-SDK/1.0.0")
+        .addHeader("Content-Type", "application/json; charset=UTF-8")
+        .post(body)
+        .build();
+  }
 
-    logger.debug("POST request to: {}", endpoint);
+  /** Reads a completed response into a result. */
+  @FunctionalInterface
+  private interface ResponseReader<T> {
+    T read(Response response) throws RealityDefenderException;
+  }
+
+  /**
+   * Executes a request on the calling thread. The request fails at once while its endpoint's
+   * circuit breaker is open, and otherwise first waits for a bulkhead slot and for the {@link
+   * RateLimiter} to allow it, if either is configured. Requests that are safe to repeat are retried
+   * as the {@link RetryPolicy} allows.
+   *
+   * @param request the request to execute
+   * @param failureMessage message used when the call fails with an I/O error
+   * @param failureCode error code used when the call fails with an I/O error
+   * @return JSON response as JsonNode
+   * @throws RealityDefenderException if the request fails
+   */
+  private JsonNode execute(Request request, String failureMessage, String failureCode)
+      throws RealityDefenderException {
+    return execute(request, this::handleResponse, failureMessage, failureCode);
+  }
+
+  private <T> T execute(
+      Request request, ResponseReader<T> reader, String failureMessage, String failureCode)
+      throws RealityDefenderException {
+    if (isRepeatable(request)) {
+      return retrier.call(() -> executeOnce(request, reader, failureMessage, failureCode));
+    }
+    return executeOnce(request, reader, failureMessage, failureCode);
+  }
+
+  private <T> T executeOnce(
+      Request request, ResponseReader<T> reader, String failureMessage, String failureCode)
+      throws RealityDefenderException {
+    Endpoint endpoint = Endpoint.of(request);
+    CircuitBreaker.Attempt attempt = admit(endpoint);
+    Throwable failure = null;
+    try {
+      return executeIsolated(endpoint, request, reader, failureMessage, failureCode);
+    } catch (Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      // Recorded for every outcome, Errors included, so a half-open probe never stays taken.
+      if (attempt != null) {
+        attempt.record(failure);
+      }
+    }
+  }
 
-    try (Response response = client.newCall(request).execute()) {
-      return handleResponse(response);
+  /** Waits for a slot if the endpoint has a bulkhead, then executes the request. */
+  private <T> T executeIsolated(
+      Endpoint endpoint,
+      Request request,
+      ResponseReader<T> reader,
+      String failureMessage,
+      String failureCode)
+      throws RealityDefenderException {
+    Bulkhead bulkhead = endpoint != null ? bulkheads.get(endpoint) : null;
+    if (bulkhead == null) {
+      return executeLimited(endpoint, request, reader, failureMessage, failureCode);
+    }
+    bulkhead.enter();
+    try {
+      return executeLimited(endpoint, request, reader, failureMessage, failureCode);
+    } finally {
+      bulkhead.release();
+    }
+  }
+
+  private <T> T executeLimited(
+      Endpoint endpoint,
+      Request request,
+      ResponseReader<T> reader,
+      String failureMessage,
+      String failureCode)
+      throws RealityDefenderException {
+    RateLimiter.Permit permit = acquire(endpoint);
+    try (Response response = client.newCall(withPermit(request, permit)).execute()) {
+      if (permit != null) {
+        permit.responded();
+      }
+      return reader.read(response);
     } catch (IOException e) {
-      throw new RealityDefenderException("Request failed", "REQUEST_FAILED", e);
+      throw new RealityDefenderException(failureMessage, failureCode, e);
+    } finally {
+      if (permit != null) {
+        permit.release();
+      }
+    }
+  }
+
+  /**
+   * Admits a call through the endpoint's circuit breaker, if there is one.
+   *
+   * @return the admitted call, or null if the endpoint has no breaker
+   * @throws RealityDefenderException with code {@code CIRCUIT_OPEN} if the breaker is open
+   */
+  private CircuitBreaker.Attempt admit(Endpoint endpoint) throws RealityDefenderException {
+    CircuitBreaker breaker = endpoint != null ? breakers.get(endpoint) : null;
+    return breaker != null ? breaker.acquire() : null;
+  }
+
+  /** Waits for the rate limiter to allow a request, if the request is budgeted. */
+  private RateLimiter.Permit acquire(Endpoint endpoint) throws RealityDefenderException {
+    if (rateLimiter == null || endpoint == null) {
+      return null;
+    }
+    CompletableFuture<RateLimiter.Permit> permit =
+        rateLimiter.acquire(endpoint, runtime.getScheduler());
+    try {
+      return permit.get();
+    } catch (InterruptedException e) {
+      permit.cancel(false);
+      permit.thenAccept(RateLimiter.Permit::release);
+      Thread.currentThread().interrupt();
+      throw new RealityDefenderException("Interrupted waiting for rate limiter", "INTERRUPTED", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RealityDefenderException) {
+        throw (RealityDefenderException) e.getCause();
+      }
+      throw new RealityDefenderException("Request failed", "REQUEST_FAILED", e.getCause());
+    }
+  }
+
+  private static Request withPermit(Request request, RateLimiter.Permit permit) {
+    return permit != null
+        ? request.newBuilder().tag(RateLimiter.Permit.class, permit).build()
+        : request;
+  }
+
+  /**
+   * Enqueues a request on OkHttp's dispatcher and completes the returned future from its callback.
+   * The request fails at once while its endpoint's circuit breaker is open, and otherwise is only
+   * enqueued once a bulkhead slot is free and the {@link RateLimiter} allows it, if either is
+   * configured. Requests that are safe to repeat are retried as the {@link RetryPolicy} allows.
+   * Cancelling the future gives up the wait or cancels the underlying call.
+   *
+   * @param request the request to enqueue
+   * @param failureMessage message used when the call fails with an I/O error
+   * @param failureCode error code used when the call fails with an I/O error
+   * @return a CompletableFuture containing the JSON response
+   */
+  private CompletableFuture<JsonNode> enqueue(
+      Request request, String failureMessage, String failureCode) {
+    return enqueue(request, this::handleResponse, failureMessage, failureCode);
+  }
+
+  private <T> CompletableFuture<T> enqueue(
+      Request request, ResponseReader<T> reader, String failureMessage, String failureCode) {
+    if (isRepeatable(request)) {
+      return retrier.callAsync(() -> enqueueOnce(request, reader, failureMessage, failureCode));
+    }
+    return enqueueOnce(request, reader, failureMessage, failureCode);
+  }
+
+  /**
+   * Checks whether a request may be sent again after a failure: lookups, and signed URL requests,
+   * whose unused URLs simply expire. Uploads are restarted with a fresh body by their callers.
+   */
+  private static boolean isRepeatable(Request request) {
+    return "GET".equals(request.method())
+        || request.url().encodedPath().endsWith("/api/files/aws-presigned");
+  }
+
+  private <T> CompletableFuture<T> enqueueOnce(
+      Request request, ResponseReader<T> reader, String failureMessage, String failureCode) {
+    Endpoint endpoint = Endpoint.of(request);
+    CircuitBreaker.Attempt attempt;
+    try {
+      attempt = admit(endpoint);
+    } catch (RealityDefenderException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    Bulkhead bulkhead = endpoint != null ? bulkheads.get(endpoint) : null;
+    CompletableFuture<T> future;
+    try {
+      future =
+          bulkhead != null
+              ? bulkhead.submit(
+                  () -> enqueueLimited(endpoint, request, reader, failureMessage, failureCode))
+              : enqueueLimited(endpoint, request, reader, failureMessage, failureCode);
+    } catch (Throwable e) {
+      if (attempt != null) {
+        attempt.record(e);
+      }
+      throw e;
+    }
+    if (attempt != null) {
+      future.whenComplete((result, error) -> attempt.record(error != null ? unwrap(error) : null));
+    }
+    return future;
+  }
+
+  private <T> CompletableFuture<T> enqueueLimited(
+      Endpoint endpoint,
+      Request request,
+      ResponseReader<T> reader,
+      String failureMessage,
+      String failureCode) {
+    if (rateLimiter == null || endpoint == null) {
+      return send(request, reader, failureMessage, failureCode);
     }
+
+    CompletableFuture<T> future = new CompletableFuture<>();
+    CompletableFuture<RateLimiter.Permit> permit =
+        rateLimiter.acquire(endpoint, runtime.getScheduler());
+    permit.whenComplete(
+        (granted, error) -> {
+          if (error != null) {
+            future.completeExceptionally(unwrap(error));
+            return;
+          }
+          if (future.isDone()) {
+            granted.release();
+            return;
+          }
+          CompletableFuture<T> sent =
+              send(withPermit(request, granted), reader, failureMessage, failureCode);
+          future.whenComplete(
+              (result, failure) -> {
+                if (future.isCancelled()) {
+                  sent.cancel(true);
+                }
+              });
+          sent.whenComplete(
+              (result, failure) -> {
+                granted.release();
+                if (failure != null) {
+                  future.completeExceptionally(failure);
+                } else {
+                  future.complete(result);
+                }
+              });
+        });
+    future.whenComplete(
+        (result, error) -> {
+          if (future.isCancelled()) {
+            permit.cancel(false);
+          }
+        });
+    return future;
+  }
+
+  private <T> CompletableFuture<T> send(
+      Request request, ResponseReader<T> reader, String failureMessage, String failureCode) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Call call = client.newCall(request);
+
+    call.enqueue(
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            future.completeExceptionally(
+                new RealityDefenderException(failureMessage, failureCode, e));
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) {
+            RateLimiter.Permit permit = call.request().tag(RateLimiter.Permit.class);
+            if (permit != null) {
+              permit.responded();
+            }
+            try (response) {
+              future.complete(reader.read(response));
+            } catch (RealityDefenderException e) {
+              future.completeExceptionally(e);
+            } catch (RuntimeException e) {
+              future.completeExceptionally(
+                  new RealityDefenderException(failureMessage, failureCode, e));
+            }
+          }
+        });
+
+    future.whenComplete(
+        (result, error) -> {
+          if (future.isCancelled()) {
+            call.cancel();
+          }
+        });
+    return future;
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
   }
 
   private JsonNode handleResponse(Response response) throws RealityDefenderException {
@@ -310,27 +1142,7 @@ public class HttpClient implements Closeable {
       logger.debug("Response body length: {}", responseBody.length());
 
       if (!response.isSuccessful()) {
-        BasicResponse basicResponse;
-        try {
-          basicResponse =
-              !responseBody.isBlank()
-                  ? objectMapper.readValue(responseBody, BasicResponse.class)
-                  : new BasicResponse();
-        } catch (IOException e) {
-          // Ignore.
-          basicResponse = new BasicResponse();
-        }
-        String errorCode = mapStatusCodeToErrorCode(response.code(), basicResponse);
-        String errorMessage = getDefaultErrorMessage(response.code(), basicResponse);
-
-        // Log the detailed error for debugging
-        logger.error(
-            "HTTP {} error for URL {}: {}",
-            response.code(),
-            response.request().url(),
-            responseBody);
-
-        throw new RealityDefenderException(errorMessage, errorCode, response.code());
+        throw toHttpError(response, responseBody);
       }
 
       logger.debug("Parsing JSON response body...");
@@ -344,6 +1156,79 @@ public class HttpClient implements Closeable {
     }
   }
 
+  /**
+   * Binds a successful response body directly into {@code type}, streaming from the body's byte
+   * stream through a single {@link JsonParser} instead of materializing a {@code String} and a
+   * {@link JsonNode} tree first.
+   *
+   * @param response the HTTP response
+   * @param type the class to bind to
+   * @return the bound value
+   * @throws RealityDefenderException if the response is an error or cannot be parsed
+   */
+  private <T> T readResponse(Response response, Class<T> type) throws RealityDefenderException {
+    ResponseBody body = response.body();
+    try {
+      if (!response.isSuccessful()) {
+        throw toHttpError(response, body != null ? body.string() : "");
+      }
+      if (body == null) {
+        throw new RealityDefenderException("Empty response body", "PARSE_ERROR");
+      }
+
+      try (JsonParser parser = objectMapper.getFactory().createParser(body.byteStream())) {
+        return objectMapper.readValue(parser, type);
+      }
+    } catch (IOException e) {
+      logger.error("JSON parsing error: {}", e.getMessage());
+      throw new RealityDefenderException("Failed to parse response", "PARSE_ERROR", e);
+    }
+  }
+
+  private RealityDefenderException toHttpError(Response response, String responseBody) {
+    BasicResponse basicResponse;
+    try {
+      basicResponse =
+          !responseBody.isBlank()
+              ? objectMapper.readValue(responseBody, BasicResponse.class)
+              : new BasicResponse();
+    } catch (IOException e) {
+      // Ignore.
+      basicResponse = new BasicResponse();
+    }
+    RateLimiter.Permit permit = response.request().tag(RateLimiter.Permit.class);
+    if (permit != null && isThrottled(response.code(), basicResponse)) {
+      permit.throttled(retryAfter(response));
+    }
+    String errorCode = mapStatusCodeToErrorCode(response.code(), basicResponse);
+    String errorMessage = getDefaultErrorMessage(response.code(), basicResponse);
+
+    // Log the detailed error for debugging
+    logger.error(
+        "HTTP {} error for URL {}: {}", response.code(), response.request().url(), responseBody);
+
+    return new RealityDefenderException(errorMessage, errorCode, response.code());
+  }
+
+  /** Checks whether the API turned a request down because the account is over its quota. */
+  private static boolean isThrottled(int statusCode, BasicResponse basicResponse) {
+    return statusCode == 429
+        || (statusCode == 400 && basicResponse.getCode().equals("upload-limit-reached"));
+  }
+
+  /** Reads a {@code Retry-After} header given in seconds; HTTP dates are not honored. */
+  private static Duration retryAfter(Response response) {
+    String value = response.header("Retry-After");
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Duration.ofSeconds(Long.parseLong(value.trim()));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
   private String mapStatusCodeToErrorCode(int statusCode, BasicResponse basicResponse) {
     switch (statusCode) {
       case 400:
@@ -380,28 +1265,11 @@ public class HttpClient implements Closeable {
     }
   }
 
+  /** Releases this client's reference to its runtime. */
   @Override
   public void close() {
-    if (client != null) {
-      ExecutorService executor = client.dispatcher().executorService();
-      executor.shutdown();
-      try {
-        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-          executor.shutdownNow();
-        }
-      } catch (InterruptedException e) {
-        logger.warn("Interrupted while waiting for executor to terminate", e);
-        executor.shutdownNow();
-        Thread.currentThread().interrupt();
-      } finally {
-        // Always try to evict connections
-        try {
-          client.connectionPool().evictAll();
-        } catch (Exception e) {
-          // Log but don't rethrow to avoid masking shutdown issues
-          logger.warn("Error evicting connections during close", e);
-        }
-      }
+    if (closed.compareAndSet(false, true)) {
+      runtime.close();
     }
   }
 }
@@ -0,0 +1,502 @@
+package ai.realitydefender.client;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces requests to the API so that bursts stay within the account's quota instead of running into
+ * throttling errors.
+ *
+ * <p>Each {@link Endpoint} has its own budget. An optional token bucket bounds the request rate,
+ * and an adaptive concurrency limit bounds the requests in flight. The limit is adjusted AIMD
+ * style: it grows by one per limit's worth of successful requests and is halved when the API
+ * throttles a request (HTTP 429, or HTTP 400 with code {@code upload-limit-reached}), or cut by a
+ * tenth when a request takes longer than the endpoint's latency target. A {@code Retry-After}
+ * header on a throttling response holds the endpoint back for that long. Requests that do not fit
+ * the budget wait in order without blocking a thread, unless the call itself is blocking.
+ *
+ * <p>One limiter can be shared by several clients that use the same API key.
+ *
+ * <pre>{@code
+ * RateLimiter limiter =
+ *     RateLimiter.builder()
+ *         .rate(Endpoint.PRESIGN, 5, 10)
+ *         .rate(Endpoint.STATUS, 20, 20)
+ *         .latencyTarget(Endpoint.STATUS, Duration.ofSeconds(2))
+ *         .build();
+ * RealityDefender client = RealityDefender.builder().apiKey(apiKey).rateLimiter(limiter).build();
+ * }</pre>
+ */
+public final class RateLimiter {
+
+  /** The default ceiling of the adaptive concurrency limit of each endpoint. */
+  public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+  private final Map<Endpoint, Budget> budgets = new EnumMap<>(Endpoint.class);
+  private final LongSupplier clock;
+
+  private RateLimiter(Builder builder) {
+    this.clock = builder.clock;
+    for (Endpoint endpoint : Endpoint.values()) {
+      Double rate = builder.rates.get(endpoint);
+      Integer burst = builder.bursts.get(endpoint);
+      Duration latencyTarget = builder.latencyTargets.get(endpoint);
+      budgets.put(
+          endpoint,
+          new Budget(
+              endpoint,
+              rate != null ? rate / TimeUnit.SECONDS.toNanos(1) : 0,
+              burst != null ? burst : 0,
+              builder.minConcurrency,
+              builder.maxConcurrency,
+              latencyTarget != null ? latencyTarget.toNanos() : 0));
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the current concurrency limit of an endpoint.
+   *
+   * @param endpoint the endpoint
+   * @return the number of requests allowed in flight
+   */
+  public int getConcurrencyLimit(Endpoint endpoint) {
+    return budgets.get(endpoint).concurrencyLimit();
+  }
+
+  /**
+   * Gets the number of requests to an endpoint currently in flight.
+   *
+   * @param endpoint the endpoint
+   * @return the number of requests in flight
+   */
+  public int getInFlight(Endpoint endpoint) {
+    return budgets.get(endpoint).inFlight();
+  }
+
+  /**
+   * Gets the number of requests to an endpoint the API has throttled.
+   *
+   * @param endpoint the endpoint
+   * @return the number of throttled requests
+   */
+  public long getThrottledCount(Endpoint endpoint) {
+    return budgets.get(endpoint).throttled.sum();
+  }
+
+  /**
+   * Waits for the budget of an endpoint to allow one more request.
+   *
+   * @param endpoint the endpoint
+   * @param scheduler schedules the wait for tokens to refill
+   * @return a future completed with the permit once the request may be sent; cancelling it gives up
+   *     the place in the queue
+   */
+  CompletableFuture<Permit> acquire(Endpoint endpoint, ScheduledExecutorService scheduler) {
+    return budgets.get(endpoint).acquire(scheduler);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("RateLimiter{");
+    for (Budget budget : budgets.values()) {
+      if (builder.length() > "RateLimiter{".length()) {
+        builder.append(", ");
+      }
+      builder.append(budget);
+    }
+    return builder.append('}').toString();
+  }
+
+  /**
+   * The right to send one request. The client reports how the request went and then releases the
+   * permit, which feeds the outcome back into the endpoint's concurrency limit.
+   */
+  final class Permit {
+    private final Budget budget;
+    private final long startedAt;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean responded;
+    private volatile boolean throttled;
+    private volatile long retryAfterNanos;
+
+    private Permit(Budget budget, long startedAt) {
+      this.budget = budget;
+      this.startedAt = startedAt;
+    }
+
+    /** Records that the API answered the request. */
+    void responded() {
+      responded = true;
+    }
+
+    /**
+     * Records that the API throttled the request.
+     *
+     * @param retryAfter how long the API asked to wait, or null if it did not say
+     */
+    void throttled(Duration retryAfter) {
+      responded = true;
+      throttled = true;
+      retryAfterNanos = retryAfter != null ? retryAfter.toNanos() : 0;
+    }
+
+    /** Frees the permit's slot. Only the first call has an effect. */
+    void release() {
+      if (released.compareAndSet(false, true)) {
+        budget.release(this);
+      }
+    }
+  }
+
+  /** The token bucket, concurrency limit and queue of one endpoint. */
+  private final class Budget {
+    private final Endpoint endpoint;
+    private final double tokensPerNano;
+    private final int burst;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long latencyTargetNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<Waiter> waiting = new ArrayDeque<>();
+    private final LongAdder throttled = new LongAdder();
+    private double tokens;
+    private long refilledAt;
+    private double limit;
+    private int inFlight;
+    private long blockedUntil;
+    private long decreasedAt;
+    private boolean drainScheduled;
+
+    Budget(
+        Endpoint endpoint,
+        double tokensPerNano,
+        int burst,
+        int minConcurrency,
+        int maxConcurrency,
+        long latencyTargetNanos) {
+      this.endpoint = endpoint;
+      this.tokensPerNano = tokensPerNano;
+      this.burst = burst;
+      this.minConcurrency = minConcurrency;
+      this.maxConcurrency = maxConcurrency;
+      this.latencyTargetNanos = latencyTargetNanos;
+      this.tokens = burst;
+      this.limit = maxConcurrency;
+      long now = clock.getAsLong();
+      this.refilledAt = now;
+      this.blockedUntil = now;
+      this.decreasedAt = now;
+    }
+
+    CompletableFuture<Permit> acquire(ScheduledExecutorService scheduler) {
+      CompletableFuture<Permit> permit = new CompletableFuture<>();
+      lock.lock();
+      try {
+        waiting.add(new Waiter(permit, scheduler));
+      } finally {
+        lock.unlock();
+      }
+      drain();
+      return permit;
+    }
+
+    void release(Permit permit) {
+      long now = clock.getAsLong();
+      lock.lock();
+      try {
+        inFlight--;
+        if (permit.throttled) {
+          throttled.increment();
+          tokens = Math.min(tokens, 0);
+          blockedUntil = Math.max(blockedUntil, now + permit.retryAfterNanos);
+          decrease(permit, now, 0.5);
+        } else if (permit.responded) {
+          if (latencyTargetNanos > 0 && now - permit.startedAt > latencyTargetNanos) {
+            decrease(permit, now, 0.9);
+          } else {
+            limit = Math.min(maxConcurrency, limit + 1 / limit);
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+      drain();
+    }
+
+    /**
+     * Shrinks the limit, unless it already shrank since the request started: the requests of one
+     * round trip all see the same congestion and should only count once. Must hold the lock.
+     */
+    private void decrease(Permit permit, long now, double factor) {
+      if (permit.startedAt - decreasedAt >= 0) {
+        limit = Math.max(minConcurrency, limit * factor);
+        decreasedAt = now;
+      }
+    }
+
+    /** Grants permits to waiters in order while the budget allows. */
+    private void drain() {
+      List<Waiter> granted = new ArrayList<>();
+      Waiter scheduleFor = null;
+      long delay = 0;
+      long now = clock.getAsLong();
+      lock.lock();
+      try {
+        refill(now);
+        while (!waiting.isEmpty()) {
+          if (waiting.peek().permit.isDone()) {
+            // Cancelled while waiting.
+            waiting.poll();
+            continue;
+          }
+          if (inFlight >= (int) limit) {
+            break;
+          }
+          if (blockedUntil - now > 0) {
+            delay = blockedUntil - now;
+          } else if (tokensPerNano > 0 && tokens < 1) {
+            delay = (long) Math.ceil((1 - tokens) / tokensPerNano);
+          } else {
+            if (tokensPerNano > 0) {
+              tokens--;
+            }
+            inFlight++;
+            granted.add(waiting.poll());
+            continue;
+          }
+          if (!drainScheduled) {
+            drainScheduled = true;
+            scheduleFor = waiting.peek();
+          }
+          break;
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      for (Waiter waiter : granted) {
+        Permit permit = new Permit(this, now);
+        if (!waiter.permit.complete(permit)) {
+          refund();
+        }
+      }
+      if (scheduleFor != null) {
+        schedule(scheduleFor, delay);
+      }
+    }
+
+    private void schedule(Waiter waiter, long delay) {
+      try {
+        waiter.scheduler.schedule(
+            () -> {
+              lock.lock();
+              try {
+                drainScheduled = false;
+              } finally {
+                lock.unlock();
+              }
+              drain();
+            },
+            delay,
+            TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        lock.lock();
+        try {
+          drainScheduled = false;
+          waiting.remove(waiter);
+        } finally {
+          lock.unlock();
+        }
+        waiter.permit.completeExceptionally(
+            new RealityDefenderException(
+                "Failed to schedule rate-limited request", "REQUEST_FAILED", e));
+        drain();
+      }
+    }
+
+    /** Returns the slot and token of a permit nobody took. */
+    private void refund() {
+      lock.lock();
+      try {
+        inFlight--;
+        if (tokensPerNano > 0) {
+          tokens = Math.min(burst, tokens + 1);
+        }
+      } finally {
+        lock.unlock();
+      }
+      drain();
+    }
+
+    /** Adds the tokens earned since the last refill. Must hold the lock. */
+    private void refill(long now) {
+      if (tokensPerNano > 0) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+      }
+      refilledAt = now;
+    }
+
+    int concurrencyLimit() {
+      lock.lock();
+      try {
+        return (int) limit;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int inFlight() {
+      lock.lock();
+      try {
+        return inFlight;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return endpoint
+          + "={rate="
+          + tokensPerNano * TimeUnit.SECONDS.toNanos(1)
+          + "/s, burst="
+          + burst
+          + ", limit="
+          + concurrencyLimit()
+          + ", inFlight="
+          + inFlight()
+          + ", throttled="
+          + throttled.sum()
+          + '}';
+    }
+  }
+
+  private static final class Waiter {
+    final CompletableFuture<Permit> permit;
+    final ScheduledExecutorService scheduler;
+
+    Waiter(CompletableFuture<Permit> permit, ScheduledExecutorService scheduler) {
+      this.permit = permit;
+      this.scheduler = scheduler;
+    }
+  }
+
+  public static final class Builder {
+    private final Map<Endpoint, Double> rates = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Integer> bursts = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Duration> latencyTargets = new EnumMap<>(Endpoint.class);
+    private int minConcurrency = 1;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private LongSupplier clock = System::nanoTime;
+
+    private Builder() {}
+
+    /**
+     * Bounds the request rate of an endpoint with a token bucket. Endpoints without a rate are only
+     * bounded by their concurrency limit.
+     *
+     * @param endpoint the endpoint
+     * @param permitsPerSecond the sustained rate, positive
+     * @param burst the number of requests that may be sent at once after a quiet period, at least 1
+     * @return this builder
+     */
+    public Builder rate(Endpoint endpoint, double permitsPerSecond, int burst) {
+      Objects.requireNonNull(endpoint, "Endpoint cannot be null");
+      if (!(permitsPerSecond > 0)) {
+        throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+      }
+      if (burst < 1) {
+        throw new IllegalArgumentException("Burst must be at least 1: " + burst);
+      }
+      rates.put(endpoint, permitsPerSecond);
+      bursts.put(endpoint, burst);
+      return this;
+    }
+
+    /**
+     * Sets the latency above which an endpoint's concurrency limit is reduced. Without a target
+     * only throttling reduces the limit, which suits uploads, whose latency depends on the media
+     * size.
+     *
+     * @param endpoint the endpoint
+     * @param latencyTarget the latency target, positive
+     * @return this builder
+     */
+    public Builder latencyTarget(Endpoint endpoint, Duration latencyTarget) {
+      Objects.requireNonNull(endpoint, "Endpoint cannot be null");
+      Objects.requireNonNull(latencyTarget, "Latency target cannot be null");
+      if (latencyTarget.isNegative() || latencyTarget.isZero()) {
+        throw new IllegalArgumentException("Latency target must be positive: " + latencyTarget);
+      }
+      latencyTargets.put(endpoint, latencyTarget);
+      return this;
+    }
+
+    /**
+     * Sets the floor of every endpoint's concurrency limit.
+     *
+     * @param minConcurrency the floor, at least 1
+     * @return this builder
+     */
+    public Builder minConcurrency(int minConcurrency) {
+      if (minConcurrency < 1) {
+        throw new IllegalArgumentException("minConcurrency must be at least 1: " + minConcurrency);
+      }
+      this.minConcurrency = minConcurrency;
+      return this;
+    }
+
+    /**
+     * Sets the ceiling, and starting value, of every endpoint's concurrency limit.
+     *
+     * @param maxConcurrency the ceiling, at least 1
+     * @return this builder
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      if (maxConcurrency < 1) {
+        throw new IllegalArgumentException("maxConcurrency must be at least 1: " + maxConcurrency);
+      }
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /** Sets the monotonic clock in nanoseconds, for tests. */
+    Builder clock(LongSupplier clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    /**
+     * Builds the limiter.
+     *
+     * @return the new limiter
+     * @throws IllegalArgumentException if the floor is above the ceiling
+     */
+    public RateLimiter build() {
+      if (minConcurrency > maxConcurrency) {
+        throw new IllegalArgumentException(
+            "minConcurrency " + minConcurrency + " exceeds maxConcurrency " + maxConcurrency);
+      }
+      return new RateLimiter(this);
+    }
+  }
+}
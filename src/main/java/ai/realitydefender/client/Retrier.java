@@ -0,0 +1,343 @@
+package ai.realitydefender.client;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Carries out a {@link RetryPolicy}: retries failed calls after a backoff, on the calling thread
+ * for blocking calls and on the scheduler for asynchronous ones, and hedges slow status lookups.
+ * Without a policy every call is made exactly once.
+ */
+final class Retrier {
+
+  private static final Logger logger = LoggerFactory.getLogger(Retrier.class);
+
+  /** Number of recent status lookup latencies the hedge delay is computed from. */
+  static final int LATENCY_WINDOW = 128;
+
+  /** Number of latencies needed before lookups are hedged. */
+  static final int MIN_LATENCY_SAMPLES = 20;
+
+  /** A blocking call. */
+  interface Call<T> {
+    T call() throws RealityDefenderException;
+  }
+
+  private final RetryPolicy policy;
+  private final ScheduledExecutorService scheduler;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final long[] latencies = new long[LATENCY_WINDOW];
+  private int next;
+  private int recorded;
+
+  Retrier(RetryPolicy policy, ScheduledExecutorService scheduler) {
+    this.policy = policy;
+    this.scheduler = scheduler;
+  }
+
+  /** Checks whether status lookups are hedged. */
+  boolean isHedging() {
+    return policy != null && policy.isHedgeStatusChecks();
+  }
+
+  /**
+   * Makes a blocking call, retrying it on the calling thread while it fails with a retryable error
+   * and attempts remain.
+   *
+   * @param call the call
+   * @return the outcome of the first successful attempt
+   * @throws RealityDefenderException the error of the last attempt, or if the wait is interrupted
+   */
+  <T> T call(Call<T> call) throws RealityDefenderException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return call.call();
+      } catch (RealityDefenderException e) {
+        if (policy == null || attempt >= policy.getMaxAttempts() || !isRetryable(e)) {
+          throw e;
+        }
+        long delay = policy.backoffMillis(attempt);
+        logger.debug("Attempt {} failed with {}, retrying in {} ms", attempt, e.getCode(), delay);
+        try {
+          Thread.sleep(delay);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          RealityDefenderException error =
+              new RealityDefenderException(
+                  "Interrupted waiting to retry", "INTERRUPTED", interrupted);
+          error.addSuppressed(e);
+          throw error;
+        }
+      }
+    }
+  }
+
+  /**
+   * Makes an asynchronous call, starting it again on the scheduler while it fails with a retryable
+   * error and attempts remain. Cancelling the returned future cancels the attempt in flight and
+   * stops further ones.
+   *
+   * @param call starts one attempt
+   * @return a future completed with the outcome of the first successful attempt, or the error of
+   *     the last one
+   */
+  <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+    if (policy == null || policy.getMaxAttempts() == 1) {
+      return call.get();
+    }
+    CompletableFuture<T> result = new CompletableFuture<>();
+    attempt(call, 1, result);
+    return result;
+  }
+
+  private <T> void attempt(
+      Supplier<CompletableFuture<T>> call, int attempt, CompletableFuture<T> result) {
+    if (result.isDone()) {
+      return;
+    }
+    CompletableFuture<T> started = start(call);
+    result.whenComplete(
+        (ignored, error) -> {
+          if (result.isCancelled()) {
+            started.cancel(true);
+          }
+        });
+    started.whenComplete(
+        (value, error) -> {
+          if (error == null) {
+            result.complete(value);
+            return;
+          }
+          Throwable cause = unwrap(error);
+          if (attempt >= policy.getMaxAttempts() || !isRetryable(cause) || result.isDone()) {
+            result.completeExceptionally(cause);
+            return;
+          }
+          long delay = policy.backoffMillis(attempt);
+          logger.debug(
+              "Attempt {} failed with {}, retrying in {} ms",
+              attempt,
+              ((RealityDefenderException) cause).getCode(),
+              delay);
+          try {
+            scheduler.schedule(
+                () -> attempt(call, attempt + 1, result), delay, TimeUnit.MILLISECONDS);
+          } catch (RejectedExecutionException e) {
+            result.completeExceptionally(cause);
+          }
+        });
+  }
+
+  /**
+   * Makes an asynchronous status lookup, sending a duplicate if it has not answered after the 95th
+   * percentile of recent lookup latencies, and completes with whichever answers first. The other
+   * lookup is cancelled. The lookup fails once every lookup sent has failed; a hedge is not sent
+   * after the first lookup failed, since that lookup was already retried.
+   *
+   * @param call starts one lookup
+   * @return a future completed with the first answer
+   */
+  <T> CompletableFuture<T> hedge(Supplier<CompletableFuture<T>> call) {
+    if (!isHedging()) {
+      return call.get();
+    }
+    Hedge<T> hedge = new Hedge<>(call);
+    hedge.send(false);
+    long delay = hedgeDelayNanos();
+    if (delay >= 0) {
+      try {
+        scheduler.schedule(() -> hedge.send(true), delay, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // Closing: let the first lookup answer alone.
+      }
+    }
+    return hedge.result;
+  }
+
+  /** Records the latency of a status lookup. */
+  void recordLatency(long nanos) {
+    lock.lock();
+    try {
+      latencies[next] = nanos;
+      next = (next + 1) % LATENCY_WINDOW;
+      recorded = Math.min(recorded + 1, LATENCY_WINDOW);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the time a lookup runs alone before it is hedged.
+   *
+   * @return the delay in nanoseconds, or -1 while too few latencies have been recorded
+   */
+  long hedgeDelayNanos() {
+    long[] window;
+    lock.lock();
+    try {
+      if (recorded < MIN_LATENCY_SAMPLES) {
+        return -1;
+      }
+      window = Arrays.copyOf(latencies, recorded);
+    } finally {
+      lock.unlock();
+    }
+    Arrays.sort(window);
+    long p95 = window[(int) Math.ceil(window.length * 0.95) - 1];
+    return Math.max(policy.getMinHedgeDelay().toNanos(), p95);
+  }
+
+  /** The lookups sent for one hedged status check. */
+  private final class Hedge<T> {
+    private final Supplier<CompletableFuture<T>> call;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final List<CompletableFuture<T>> sent = new ArrayList<>(2);
+    private final ReentrantLock lock = new ReentrantLock();
+    private int failed;
+    private Throwable firstError;
+
+    Hedge(Supplier<CompletableFuture<T>> call) {
+      this.call = call;
+      result.whenComplete(
+          (ignored, error) -> {
+            if (result.isCancelled()) {
+              cancelAll();
+            }
+          });
+    }
+
+    void send(boolean duplicate) {
+      if (result.isDone()) {
+        return;
+      }
+      if (duplicate) {
+        logger.debug("Status lookup is slow, sending a hedged request");
+      }
+      long startedAt = System.nanoTime();
+      CompletableFuture<T> lookup = start(call);
+      lock.lock();
+      try {
+        sent.add(lookup);
+      } finally {
+        lock.unlock();
+      }
+      lookup.whenComplete(
+          (value, error) -> {
+            if (error == null) {
+              recordLatency(System.nanoTime() - startedAt);
+              if (!result.isDone()) {
+                // Cancel the other lookup before answering, so it never outlives the answer.
+                cancelAll();
+                result.complete(value);
+              }
+              return;
+            }
+            boolean last;
+            lock.lock();
+            try {
+              failed++;
+              if (firstError == null) {
+                firstError = unwrap(error);
+              }
+              last = failed == sent.size();
+            } finally {
+              lock.unlock();
+            }
+            if (last) {
+              result.completeExceptionally(firstError);
+            }
+          });
+    }
+
+    private void cancelAll() {
+      List<CompletableFuture<T>> lookups;
+      lock.lock();
+      try {
+        lookups = new ArrayList<>(sent);
+      } finally {
+        lock.unlock();
+      }
+      for (CompletableFuture<T> lookup : lookups) {
+        lookup.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a failed call may succeed if it is made again: it failed to connect, timed out
+   * or lost its connection, or the API answered that it is busy or briefly unavailable.
+   */
+  static boolean isRetryable(Throwable error) {
+    if (!(error instanceof RealityDefenderException)) {
+      return false;
+    }
+    switch (((RealityDefenderException) error).getStatusCode()) {
+      case 408:
+      case 429:
+      case 500:
+      case 502:
+      case 503:
+      case 504:
+        return true;
+      case 0:
+        Throwable cause = error.getCause();
+        return cause instanceof IOException && !(cause instanceof JsonProcessingException);
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Waits for an asynchronous call on the calling thread.
+   *
+   * @param future the call
+   * @return its outcome
+   * @throws RealityDefenderException if the call fails, or the wait is interrupted
+   */
+  static <T> T await(CompletableFuture<T> future) throws RealityDefenderException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RealityDefenderException("Interrupted waiting for request", "INTERRUPTED", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RealityDefenderException) {
+        throw (RealityDefenderException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RealityDefenderException("Request failed", "REQUEST_FAILED", cause);
+    }
+  }
+
+  private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+    try {
+      return call.get();
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+}
@@ -0,0 +1,239 @@
+package ai.realitydefender.client;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how often, and how far apart, failed API calls are tried again.
+ *
+ * <p>Only calls that are safe to repeat are retried: status and result page lookups, signed URL
+ * requests, and uploads to a signed URL, which are restarted from the first byte with the same URL
+ * while it is still valid and with a fresh one otherwise, reporting progress from zero again.
+ * Stream sources can only be read once, so their uploads are not restarted. Social media links,
+ * feedback and other posts are never retried.
+ *
+ * <p>A call is retried after a connection failure or timeout, or when the API answers with HTTP
+ * 408, 429, 500, 502, 503 or 504. The wait before retry {@code n} is drawn at random between half
+ * and all of {@code initialBackoff * 2^(n - 1)}, capped at {@code maxBackoff}, so that clients that
+ * failed together do not retry together.
+ *
+ * <p>Status checks can also be hedged: if a status lookup has not answered after the 95th
+ * percentile of recent lookup latencies, a duplicate is sent and whichever answers first wins. This
+ * trims the tail latency of {@code checkStatus} and polling at the cost of a few extra requests.
+ *
+ * <pre>{@code
+ * RetryPolicy retries = RetryPolicy.builder().maxAttempts(4).hedgeStatusChecks(true).build();
+ * RealityDefender client = RealityDefender.builder().apiKey(apiKey).retryPolicy(retries).build();
+ * }</pre>
+ */
+public final class RetryPolicy {
+
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+  public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(200);
+  public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+  public static final Duration DEFAULT_MIN_HEDGE_DELAY = Duration.ofMillis(50);
+
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final boolean hedgeStatusChecks;
+  private final Duration minHedgeDelay;
+
+  private RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.hedgeStatusChecks = builder.hedgeStatusChecks;
+    this.minHedgeDelay = builder.minHedgeDelay;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the number of times a call is tried in total, including the first attempt.
+   *
+   * @return the maximum number of attempts
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Gets the wait before the first retry, which doubles with every further retry.
+   *
+   * @return the initial backoff
+   */
+  public Duration getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  /**
+   * Gets the longest wait between two attempts.
+   *
+   * @return the maximum backoff
+   */
+  public Duration getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  /**
+   * Checks whether slow status lookups are hedged with a duplicate request.
+   *
+   * @return true if status lookups are hedged
+   */
+  public boolean isHedgeStatusChecks() {
+    return hedgeStatusChecks;
+  }
+
+  /**
+   * Gets the shortest time a status lookup runs alone before it is hedged, however fast recent
+   * lookups were.
+   *
+   * @return the minimum hedge delay
+   */
+  public Duration getMinHedgeDelay() {
+    return minHedgeDelay;
+  }
+
+  /**
+   * Draws the wait before a retry.
+   *
+   * @param retry the retry number, starting at 1
+   * @return the wait in milliseconds
+   */
+  long backoffMillis(int retry) {
+    long cap = maxBackoff.toMillis();
+    long base = initialBackoff.toMillis() << Math.min(retry - 1, 30);
+    if (base < 0 || base > cap) {
+      base = cap;
+    }
+    return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    RetryPolicy that = (RetryPolicy) o;
+    return maxAttempts == that.maxAttempts
+        && hedgeStatusChecks == that.hedgeStatusChecks
+        && Objects.equals(initialBackoff, that.initialBackoff)
+        && Objects.equals(maxBackoff, that.maxBackoff)
+        && Objects.equals(minHedgeDelay, that.minHedgeDelay);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(maxAttempts, initialBackoff, maxBackoff, hedgeStatusChecks, minHedgeDelay);
+  }
+
+  @Override
+  public String toString() {
+    return "RetryPolicy{"
+        + "maxAttempts="
+        + maxAttempts
+        + ", initialBackoff="
+        + initialBackoff
+        + ", maxBackoff="
+        + maxBackoff
+        + ", hedgeStatusChecks="
+        + hedgeStatusChecks
+        + ", minHedgeDelay="
+        + minHedgeDelay
+        + '}';
+  }
+
+  public static final class Builder {
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+    private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+    private boolean hedgeStatusChecks;
+    private Duration minHedgeDelay = DEFAULT_MIN_HEDGE_DELAY;
+
+    private Builder() {}
+
+    /**
+     * Sets the number of times a call is tried in total.
+     *
+     * @param maxAttempts the maximum number of attempts, at least 1
+     * @return this builder
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+      }
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Sets the wait before the first retry.
+     *
+     * @param initialBackoff the initial backoff, positive
+     * @return this builder
+     */
+    public Builder initialBackoff(Duration initialBackoff) {
+      this.initialBackoff = requirePositive(initialBackoff, "Initial backoff");
+      return this;
+    }
+
+    /**
+     * Sets the longest wait between two attempts.
+     *
+     * @param maxBackoff the maximum backoff, positive
+     * @return this builder
+     */
+    public Builder maxBackoff(Duration maxBackoff) {
+      this.maxBackoff = requirePositive(maxBackoff, "Max backoff");
+      return this;
+    }
+
+    /**
+     * Sends a duplicate status lookup when one is slower than the 95th percentile of recent
+     * lookups, and takes whichever answers first. Disabled by default.
+     *
+     * @param hedgeStatusChecks true to hedge status lookups
+     * @return this builder
+     */
+    public Builder hedgeStatusChecks(boolean hedgeStatusChecks) {
+      this.hedgeStatusChecks = hedgeStatusChecks;
+      return this;
+    }
+
+    /**
+     * Sets the shortest time a status lookup runs alone before it is hedged.
+     *
+     * @param minHedgeDelay the minimum hedge delay, positive
+     * @return this builder
+     */
+    public Builder minHedgeDelay(Duration minHedgeDelay) {
+      this.minHedgeDelay = requirePositive(minHedgeDelay, "Min hedge delay");
+      return this;
+    }
+
+    private static Duration requirePositive(Duration value, String name) {
+      Objects.requireNonNull(value, name + " cannot be null");
+      if (value.isNegative() || value.isZero()) {
+        throw new IllegalArgumentException(name + " must be positive: " + value);
+      }
+      return value;
+    }
+
+    /**
+     * Builds the policy.
+     *
+     * @return the new policy
+     * @throws IllegalArgumentException if the initial backoff exceeds the maximum backoff
+     */
+    public RetryPolicy build() {
+      if (initialBackoff.compareTo(maxBackoff) > 0) {
+        throw new IllegalArgumentException(
+            "Initial backoff " + initialBackoff + " exceeds max backoff " + maxBackoff);
+      }
+      return new RetryPolicy(this);
+    }
+  }
+}
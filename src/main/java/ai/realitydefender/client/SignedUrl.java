@@ -0,0 +1,85 @@
+package ai.realitydefender.client;
+
+import ai.realitydefender.models.SignedUrlResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import okhttp3.HttpUrl;
+
+/**
+ * A signed upload URL together with the time it stops being accepted.
+ *
+ * <p>The expiry is taken from the URL's own signing parameters ({@code X-Amz-Date} and {@code
+ * X-Amz-Expires}, or their {@code X-Goog-} equivalents) when present, and otherwise assumed to be a
+ * fixed lifetime after the URL was fetched.
+ */
+final class SignedUrl {
+
+  /** Minimum validity left for a URL to still be used for a new upload. */
+  static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+  private static final DateTimeFormatter SIGNING_DATE =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+  private final SignedUrlResponse response;
+  private final Instant expiresAt;
+
+  private SignedUrl(SignedUrlResponse response, Instant expiresAt) {
+    this.response = response;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Wraps a signed URL response.
+   *
+   * @param response the signed URL response
+   * @param fetchedAt when the response was received
+   * @param fallbackTtl lifetime assumed when the URL does not carry its own expiry
+   * @return the signed URL
+   */
+  static SignedUrl of(SignedUrlResponse response, Instant fetchedAt, Duration fallbackTtl) {
+    Instant signedExpiry = parseExpiry(response.getSignedUrl());
+    return new SignedUrl(
+        response, signedExpiry != null ? signedExpiry : fetchedAt.plus(fallbackTtl));
+  }
+
+  private static Instant parseExpiry(String url) {
+    HttpUrl httpUrl = url != null ? HttpUrl.parse(url) : null;
+    if (httpUrl == null) {
+      return null;
+    }
+    for (String prefix : new String[] {"X-Amz-", "X-Goog-"}) {
+      String date = httpUrl.queryParameter(prefix + "Date");
+      String expires = httpUrl.queryParameter(prefix + "Expires");
+      if (date != null && expires != null) {
+        try {
+          return Instant.from(SIGNING_DATE.parse(date)).plusSeconds(Long.parseLong(expires));
+        } catch (DateTimeParseException | NumberFormatException e) {
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  SignedUrlResponse getResponse() {
+    return response;
+  }
+
+  Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Checks whether an upload started now would still be accepted, keeping {@link #EXPIRY_MARGIN} in
+   * reserve.
+   *
+   * @param now the current time
+   * @return true if the URL can still be used
+   */
+  boolean isUsableAt(Instant now) {
+    return now.plus(EXPIRY_MARGIN).isBefore(expiresAt);
+  }
+}
@@ -0,0 +1,19 @@
+package ai.realitydefender.client;
+
+/**
+ * Receives progress notifications while media is written to the upload request.
+ *
+ * <p>Callbacks run on the thread that writes the request body (an OkHttp dispatcher thread for
+ * asynchronous uploads), so implementations should return quickly and must not throw.
+ */
+@FunctionalInterface
+public interface UploadProgressListener {
+
+  /**
+   * Called after each chunk of the media has been handed to the connection.
+   *
+   * @param bytesWritten total number of bytes written so far
+   * @param contentLength total number of bytes to upload
+   */
+  void onProgress(long bytesWritten, long contentLength);
+}
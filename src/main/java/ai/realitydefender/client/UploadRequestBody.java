@@ -0,0 +1,330 @@
+package ai.realitydefender.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams upload media to the connection in large chunks, computing a SHA-256 digest of the bytes
+ * as they are written and reporting progress after every chunk.
+ *
+ * <p>Files and streams are read through a {@link ReadableByteChannel} into a single direct buffer
+ * and copied from there straight into the connection's sink; in-memory media is written from its
+ * own buffer. Either way the only heap copy is the one OkHttp needs to frame the request.
+ */
+final class UploadRequestBody extends RequestBody {
+
+  private static final Logger logger = LoggerFactory.getLogger(UploadRequestBody.class);
+
+  static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+
+  /** Size of the read buffer; large enough to amortize syscalls, small enough to stay cheap. */
+  static final int CHUNK_SIZE = 64 * 1024;
+
+  /**
+   * Size of the file regions mapped one at a time. Each region is unmapped once written, so a
+   * multi-gigabyte upload only holds one window of address space.
+   */
+  static final long MAP_WINDOW = 4L * 1024 * 1024;
+
+  /** Unmaps a mapped buffer at once, or null if the JDK does not allow it. */
+  private static final Unmapper UNMAPPER = Unmapper.lookup();
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /** Opens a fresh channel over the media for each attempt to write the body. */
+  @FunctionalInterface
+  interface ChannelSource {
+    ReadableByteChannel open() throws IOException;
+  }
+
+  private final ChannelSource source;
+  private final ByteBuffer data;
+  private final long contentLength;
+  private final boolean oneShot;
+  private final boolean mapped;
+  private final UploadProgressListener listener;
+  private volatile String sha256;
+
+  private UploadRequestBody(
+      ChannelSource source,
+      ByteBuffer data,
+      long contentLength,
+      boolean oneShot,
+      boolean mapped,
+      UploadProgressListener listener) {
+    this.source = source;
+    this.data = data;
+    this.contentLength = contentLength;
+    this.oneShot = oneShot;
+    this.mapped = mapped;
+    this.listener = listener;
+  }
+
+  /**
+   * Creates a body that streams a file.
+   *
+   * @param path the file to upload
+   * @param size the file size, as validated before the upload
+   * @param listener optional progress listener
+   * @return a new request body
+   */
+  static UploadRequestBody ofFile(Path path, long size, UploadProgressListener listener) {
+    return new UploadRequestBody(
+        () -> FileChannel.open(path, StandardOpenOption.READ), null, size, false, false, listener);
+  }
+
+  /**
+   * Creates a body that sends a file from memory-mapped regions of at most {@link #MAP_WINDOW}
+   * bytes. This is a reduced-copy path, not a zero-copy one: the bytes skip the read buffer of
+   * {@link #ofFile}, but are still copied into OkHttp's heap segments on their way to the socket.
+   *
+   * @param path the file to upload
+   * @param size the file size, as validated before the upload
+   * @param listener optional progress listener
+   * @return a new request body
+   */
+  static UploadRequestBody ofMappedFile(Path path, long size, UploadProgressListener listener) {
+    return new UploadRequestBody(
+        () -> FileChannel.open(path, StandardOpenOption.READ), null, size, false, true, listener);
+  }
+
+  /**
+   * Creates a body that writes the remaining bytes of a buffer without copying them first.
+   *
+   * @param data the media bytes; its position and limit are not modified
+   * @param listener optional progress listener
+   * @return a new request body
+   */
+  static UploadRequestBody ofBuffer(ByteBuffer data, UploadProgressListener listener) {
+    return new UploadRequestBody(null, data, data.remaining(), false, false, listener);
+  }
+
+  /**
+   * Creates a one-shot body that reads {@code length} bytes from a stream. The stream is not
+   * closed.
+   *
+   * @param stream the stream to read from
+   * @param length the number of bytes to send
+   * @param listener optional progress listener
+   * @return a new request body
+   */
+  static UploadRequestBody ofStream(
+      InputStream stream, long length, UploadProgressListener listener) {
+    ReadableByteChannel channel = Channels.newChannel(stream);
+    ChannelSource source =
+        () ->
+            new ReadableByteChannel() {
+              @Override
+              public int read(ByteBuffer dst) throws IOException {
+                return channel.read(dst);
+              }
+
+              @Override
+              public boolean isOpen() {
+                return channel.isOpen();
+              }
+
+              @Override
+              public void close() {
+                // The caller owns the stream.
+              }
+            };
+    return new UploadRequestBody(source, null, length, true, false, listener);
+  }
+
+  @Override
+  public MediaType contentType() {
+    return OCTET_STREAM;
+  }
+
+  @Override
+  public long contentLength() {
+    return contentLength;
+  }
+
+  @Override
+  public boolean isOneShot() {
+    return oneShot;
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    MessageDigest digest = newDigest();
+    if (data != null) {
+      writeBuffer(sink, digest, data.duplicate(), 0);
+    } else if (mapped) {
+      writeMapped(sink, digest);
+    } else {
+      writeChannel(sink, digest);
+    }
+    sha256 = toHex(digest.digest());
+  }
+
+  /**
+   * Writes the remaining bytes of {@code chunk} in {@link #CHUNK_SIZE} slices.
+   *
+   * @return the total number of bytes written, including {@code written}
+   */
+  private long writeBuffer(BufferedSink sink, MessageDigest digest, ByteBuffer chunk, long written)
+      throws IOException {
+    int end = chunk.limit();
+    while (chunk.position() < end) {
+      int size = Math.min(CHUNK_SIZE, end - chunk.position());
+      chunk.limit(chunk.position() + size);
+      chunk.mark();
+      digest.update(chunk);
+      chunk.reset();
+      sink.write(chunk);
+
+      written += size;
+      notifyProgress(written);
+    }
+    return written;
+  }
+
+  private void writeMapped(BufferedSink sink, MessageDigest digest) throws IOException {
+    long written = 0;
+    try (FileChannel channel = (FileChannel) source.open()) {
+      if (channel.size() < contentLength) {
+        throw new IOException(
+            "Upload size changed: expected "
+                + contentLength
+                + " bytes but found "
+                + channel.size());
+      }
+      while (written < contentLength) {
+        long window = Math.min(MAP_WINDOW, contentLength - written);
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, written, window);
+        try {
+          written = writeBuffer(sink, digest, region, written);
+        } finally {
+          // The sink has copied the bytes, so nothing refers to the mapping any more.
+          unmap(region);
+        }
+      }
+    }
+  }
+
+  /**
+   * Releases a mapping without waiting for the buffer to be garbage collected. Where the JDK does
+   * not allow this, the mapping is released with the buffer as usual.
+   */
+  static void unmap(MappedByteBuffer region) {
+    if (UNMAPPER != null) {
+      UNMAPPER.unmap(region);
+    }
+  }
+
+  private void writeChannel(BufferedSink sink, MessageDigest digest) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    long written = 0;
+
+    try (ReadableByteChannel channel = source.open()) {
+      while (written < contentLength) {
+        buffer.limit((int) Math.min(CHUNK_SIZE, contentLength - written));
+        int read = channel.read(buffer);
+        if (read == -1) {
+          break;
+        }
+        if (read == 0) {
+          continue;
+        }
+        buffer.flip();
+        buffer.mark();
+        digest.update(buffer);
+        buffer.reset();
+        sink.write(buffer);
+        buffer.clear();
+
+        written += read;
+        notifyProgress(written);
+      }
+    }
+
+    if (written != contentLength) {
+      throw new IOException(
+          "Upload size changed: expected " + contentLength + " bytes but read " + written);
+    }
+  }
+
+  private void notifyProgress(long written) {
+    if (listener != null) {
+      listener.onProgress(written, contentLength);
+    }
+  }
+
+  /**
+   * Gets the SHA-256 digest of the bytes sent by the last completed write.
+   *
+   * @return the lowercase hex digest, or null if the body has not been written yet
+   */
+  String getSha256() {
+    return sha256;
+  }
+
+  /** Calls {@code sun.misc.Unsafe.invokeCleaner}, which exists on Java 9 and later. */
+  private static final class Unmapper {
+    private final Object unsafe;
+    private final Method invokeCleaner;
+
+    private Unmapper(Object unsafe, Method invokeCleaner) {
+      this.unsafe = unsafe;
+      this.invokeCleaner = invokeCleaner;
+    }
+
+    static Unmapper lookup() {
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field field = unsafeClass.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return new Unmapper(
+            field.get(null), unsafeClass.getMethod("invokeCleaner", ByteBuffer.class));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        logger.debug("Mapped uploads are unmapped by the garbage collector: {}", e.toString());
+        return null;
+      }
+    }
+
+    void unmap(MappedByteBuffer region) {
+      try {
+        invokeCleaner.invoke(unsafe, region);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        logger.debug("Failed to unmap upload region: {}", e.toString());
+      }
+    }
+  }
+
+  static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static String toHex(byte[] bytes) {
+    char[] chars = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+      chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,210 @@
+package ai.realitydefender.client;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+/**
+ * Media to upload, together with the file name used to pick its {@link
+ * ai.realitydefender.models.SupportedFileTypes supported type} and size limit.
+ *
+ * <p>Besides files on disk, media can be uploaded straight from memory or from a stream, so callers
+ * that receive media from a queue or an object store don't need to stage it in a temporary file
+ * first.
+ */
+public final class UploadSource {
+
+  private final String fileName;
+  private final Path path;
+  private final ByteBuffer data;
+  private final InputStream stream;
+  private final long length;
+
+  private UploadSource(
+      String fileName, Path path, ByteBuffer data, InputStream stream, long length) {
+    this.fileName = Objects.requireNonNull(fileName, "File name cannot be null");
+    this.path = path;
+    this.data = data;
+    this.stream = stream;
+    this.length = length;
+  }
+
+  /**
+   * Creates a source that streams a file from disk.
+   *
+   * @param path the file to upload
+   * @return a new upload source
+   */
+  public static UploadSource of(Path path) {
+    Objects.requireNonNull(path, "Path cannot be null");
+    Path name = path.getFileName();
+    return new UploadSource(name != null ? name.toString() : "", path, null, null, -1);
+  }
+
+  /**
+   * Creates a source that streams a file from disk.
+   *
+   * @param file the file to upload
+   * @return a new upload source
+   */
+  public static UploadSource of(File file) {
+    return of(Objects.requireNonNull(file, "File cannot be null").toPath());
+  }
+
+  /**
+   * Creates a source over an in-memory array. The array is not copied and must not be modified
+   * until the upload has completed.
+   *
+   * @param data the media bytes
+   * @param fileName the media file name, used for type and size validation
+   * @return a new upload source
+   */
+  public static UploadSource of(byte[] data, String fileName) {
+    return of(ByteBuffer.wrap(Objects.requireNonNull(data, "Data cannot be null")), fileName);
+  }
+
+  /**
+   * Creates a source over the remaining bytes of a buffer, which may be direct. The buffer's
+   * position and limit are left untouched, and its contents must not be modified until the upload
+   * has completed.
+   *
+   * @param data the media bytes
+   * @param fileName the media file name, used for type and size validation
+   * @return a new upload source
+   */
+  public static UploadSource of(ByteBuffer data, String fileName) {
+    ByteBuffer slice = Objects.requireNonNull(data, "Data cannot be null").slice();
+    return new UploadSource(fileName, null, slice, null, slice.remaining());
+  }
+
+  /**
+   * Creates a source that reads exactly {@code length} bytes from a stream. The stream can only be
+   * sent once, so the upload is not retried on connection failures, and it is not closed by the
+   * SDK.
+   *
+   * @param stream the stream to read the media from
+   * @param length the number of bytes to read
+   * @param fileName the media file name, used for type and size validation
+   * @return a new upload source
+   */
+  public static UploadSource of(InputStream stream, long length, String fileName) {
+    Objects.requireNonNull(stream, "Stream cannot be null");
+    if (length < 0) {
+      throw new IllegalArgumentException("Length cannot be negative: " + length);
+    }
+    return new UploadSource(fileName, null, null, stream, length);
+  }
+
+  /**
+   * Gets the file name the media is uploaded under.
+   *
+   * @return the file name
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * Checks that the media can be read and returns its size.
+   *
+   * @return the media size in bytes
+   * @throws RealityDefenderException if a file source is missing or unreadable
+   */
+  long validate() throws RealityDefenderException {
+    if (path == null) {
+      return length;
+    }
+
+    if (!Files.exists(path)) {
+      throw new RealityDefenderException(
+          "File not found: " + path.toAbsolutePath(), "INVALID_FILE");
+    }
+
+    if (!Files.isReadable(path)) {
+      throw new RealityDefenderException(
+          "Cannot read file: " + path.toAbsolutePath(), "INVALID_FILE");
+    }
+
+    try {
+      return Files.size(path);
+    } catch (IOException e) {
+      throw new RealityDefenderException(
+          "Unable to read file size: " + fileName, "INVALID_FILE", e);
+    }
+  }
+
+  /**
+   * Checks whether the media can be sent again, which is the case for every source except streams.
+   *
+   * @return true if a failed upload can be restarted
+   */
+  boolean isRepeatable() {
+    return stream == null;
+  }
+
+  /**
+   * Computes the SHA-256 digest of the media without uploading it, reading files in chunks rather
+   * than loading them whole. The digest matches {@link
+   * ai.realitydefender.models.UploadResponse#getSha256()} for the same content. Streams can only be
+   * read once, so they have no digest until they are uploaded.
+   *
+   * @return the lowercase hex digest, or null for a stream source
+   * @throws RealityDefenderException if a file source is missing or unreadable
+   */
+  public String computeSha256() throws RealityDefenderException {
+    if (stream != null) {
+      return null;
+    }
+    MessageDigest digest = UploadRequestBody.newDigest();
+    if (data != null) {
+      digest.update(data.duplicate());
+    } else {
+      validate();
+      ByteBuffer buffer = ByteBuffer.allocateDirect(UploadRequestBody.CHUNK_SIZE);
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        while (channel.read(buffer) != -1) {
+          buffer.flip();
+          digest.update(buffer);
+          buffer.clear();
+        }
+      } catch (IOException e) {
+        throw new RealityDefenderException("Unable to read file: " + fileName, "INVALID_FILE", e);
+      }
+    }
+    return UploadRequestBody.toHex(digest.digest());
+  }
+
+  /**
+   * Creates a request body that streams this media.
+   *
+   * @param size the size returned by {@link #validate()}
+   * @param memoryMapThreshold file size from which files are sent from a memory-mapped region
+   * @param listener optional progress listener
+   * @return a new request body
+   */
+  UploadRequestBody newRequestBody(
+      long size, long memoryMapThreshold, UploadProgressListener listener) {
+    if (path != null) {
+      return size >= memoryMapThreshold
+          ? UploadRequestBody.ofMappedFile(path, size, listener)
+          : UploadRequestBody.ofFile(path, size, listener);
+    }
+    if (data != null) {
+      return UploadRequestBody.ofBuffer(data, listener);
+    }
+    return UploadRequestBody.ofStream(stream, size, listener);
+  }
+
+  @Override
+  public String toString() {
+    return "UploadSource{fileName='" + fileName + "'}";
+  }
+}
@@ -1,19 +1,144 @@
 package ai.realitydefender.core;
 
+import ai.realitydefender.client.BulkheadPolicy;
+import ai.realitydefender.client.CircuitBreakerPolicy;
+import ai.realitydefender.client.RateLimiter;
+import ai.realitydefender.client.RetryPolicy;
+import ai.realitydefender.detection.PollingPolicy;
+import ai.realitydefender.detection.ResultCache;
+import ai.realitydefender.detection.ResultStore;
+import ai.realitydefender.detection.UploadIndex;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /** Configuration class for Reality Defender SDK. */
 public class RealityDefenderConfig {
 
+  /** HTTP protocol preference used when negotiating connections with the API. */
+  public enum Protocol {
+    /** Prefer HTTP/2 when the server supports it, falling back to HTTP/1.1. */
+    HTTP_2,
+    /** Only use HTTP/1.1. */
+    HTTP_1_1
+  }
+
+  public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+  public static final Duration DEFAULT_KEEP_ALIVE_DURATION = Duration.ofMinutes(5);
+  public static final int DEFAULT_MAX_REQUESTS = 64;
+  public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+  public static final long DEFAULT_MEMORY_MAP_THRESHOLD = Long.MAX_VALUE;
+  public static final int DEFAULT_PRESIGN_CONCURRENCY = 4;
+  public static final Duration DEFAULT_SIGNED_URL_TTL = Duration.ofMinutes(5);
+  public static final int DEFAULT_POLL_CONCURRENCY = 8;
+
   private final String apiKey;
   private final String baseUrl;
   private final Duration timeout;
+  private final Duration connectTimeout;
+  private final Duration readTimeout;
+  private final Duration writeTimeout;
+  private final int maxIdleConnections;
+  private final Duration keepAliveDuration;
+  private final int maxRequests;
+  private final int maxRequestsPerHost;
+  private final Protocol protocol;
+  private final long memoryMapThreshold;
+  private final int presignConcurrency;
+  private final Duration signedUrlTtl;
+  private final int pollConcurrency;
+  private final PollingPolicy pollingPolicy;
+  private final ResultCache resultCache;
+  private final ResultStore resultStore;
+  private final UploadIndex uploadIndex;
+  private final RateLimiter rateLimiter;
+  private final RetryPolicy retryPolicy;
+  private final CircuitBreakerPolicy circuitBreakerPolicy;
+  private final BulkheadPolicy bulkheadPolicy;
+  private final Executor executor;
+  private final boolean virtualThreads;
 
   public RealityDefenderConfig(String apiKey, String baseUrl, Duration timeout) {
-    this.apiKey = Objects.requireNonNull(apiKey, "API key cannot be null");
-    this.baseUrl = Objects.requireNonNull(baseUrl, "Base URL cannot be null");
-    this.timeout = Objects.requireNonNull(timeout, "Timeout cannot be null");
+    this(builder().apiKey(apiKey).baseUrl(baseUrl).timeout(timeout));
+  }
+
+  private RealityDefenderConfig(Builder builder) {
+    this.apiKey = Objects.requireNonNull(builder.apiKey, "API key cannot be null");
+    this.baseUrl = Objects.requireNonNull(builder.baseUrl, "Base URL cannot be null");
+    this.timeout = Objects.requireNonNull(builder.timeout, "Timeout cannot be null");
+    this.connectTimeout = builder.connectTimeout;
+    this.readTimeout = builder.readTimeout;
+    this.writeTimeout = builder.writeTimeout;
+    this.maxIdleConnections = requirePositive(builder.maxIdleConnections, "maxIdleConnections");
+    this.keepAliveDuration =
+        Objects.requireNonNull(builder.keepAliveDuration, "Keep-alive duration cannot be null");
+    this.maxRequests = requirePositive(builder.maxRequests, "maxRequests");
+    this.maxRequestsPerHost = requirePositive(builder.maxRequestsPerHost, "maxRequestsPerHost");
+    this.protocol = Objects.requireNonNull(builder.protocol, "Protocol cannot be null");
+    if (builder.memoryMapThreshold < 0) {
+      throw new IllegalArgumentException(
+          "memoryMapThreshold cannot be negative: " + builder.memoryMapThreshold);
+    }
+    this.memoryMapThreshold = builder.memoryMapThreshold;
+    this.presignConcurrency = requirePositive(builder.presignConcurrency, "presignConcurrency");
+    this.signedUrlTtl =
+        Objects.requireNonNull(builder.signedUrlTtl, "Signed URL TTL cannot be null");
+    this.pollConcurrency = requirePositive(builder.pollConcurrency, "pollConcurrency");
+    this.pollingPolicy = builder.pollingPolicy;
+    this.resultCache = builder.resultCache;
+    this.resultStore = builder.resultStore;
+    this.uploadIndex = builder.uploadIndex;
+    this.rateLimiter = builder.rateLimiter;
+    this.retryPolicy = builder.retryPolicy;
+    this.circuitBreakerPolicy = builder.circuitBreakerPolicy;
+    this.bulkheadPolicy = builder.bulkheadPolicy;
+    this.executor = builder.executor;
+    this.virtualThreads = builder.virtualThreads;
+  }
+
+  private static int requirePositive(int value, String name) {
+    if (value < 1) {
+      throw new IllegalArgumentException(name + " must be at least 1: " + value);
+    }
+    return value;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Creates a builder pre-populated with this configuration's values.
+   *
+   * @return a new builder
+   */
+  public Builder toBuilder() {
+    return builder()
+        .apiKey(apiKey)
+        .baseUrl(baseUrl)
+        .timeout(timeout)
+        .connectTimeout(connectTimeout)
+        .readTimeout(readTimeout)
+        .writeTimeout(writeTimeout)
+        .maxIdleConnections(maxIdleConnections)
+        .keepAliveDuration(keepAliveDuration)
+        .maxRequests(maxRequests)
+        .maxRequestsPerHost(maxRequestsPerHost)
+        .protocol(protocol)
+        .memoryMapThreshold(memoryMapThreshold)
+        .presignConcurrency(presignConcurrency)
+        .signedUrlTtl(signedUrlTtl)
+        .pollConcurrency(pollConcurrency)
+        .pollingPolicy(pollingPolicy)
+        .resultCache(resultCache)
+        .resultStore(resultStore)
+        .uploadIndex(uploadIndex)
+        .rateLimiter(rateLimiter)
+        .retryPolicy(retryPolicy)
+        .circuitBreakerPolicy(circuitBreakerPolicy)
+        .bulkheadPolicy(bulkheadPolicy)
+        .executor(executor)
+        .virtualThreads(virtualThreads);
   }
 
   public String getApiKey() {
@@ -28,23 +153,476 @@ public class RealityDefenderConfig {
     return timeout;
   }
 
+  /**
+   * Gets the connect timeout.
+   *
+   * @return the connect timeout, or {@link #getTimeout()} if none was set
+   */
+  public Duration getConnectTimeout() {
+    return connectTimeout != null ? connectTimeout : timeout;
+  }
+
+  /**
+   * Gets the socket read timeout.
+   *
+   * @return the read timeout, or {@link #getTimeout()} if none was set
+   */
+  public Duration getReadTimeout() {
+    return readTimeout != null ? readTimeout : timeout;
+  }
+
+  /**
+   * Gets the socket write timeout.
+   *
+   * @return the write timeout, or {@link #getTimeout()} if none was set
+   */
+  public Duration getWriteTimeout() {
+    return writeTimeout != null ? writeTimeout : timeout;
+  }
+
+  /**
+   * Gets the maximum number of idle connections kept in the connection pool.
+   *
+   * @return the maximum number of idle connections
+   */
+  public int getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  /**
+   * Gets how long an idle connection is kept in the pool before it is evicted.
+   *
+   * @return the keep-alive duration
+   */
+  public Duration getKeepAliveDuration() {
+    return keepAliveDuration;
+  }
+
+  /**
+   * Gets the maximum number of requests executed concurrently by the async dispatcher.
+   *
+   * @return the maximum number of concurrent requests
+   */
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  /**
+   * Gets the maximum number of requests to a single host executed concurrently by the async
+   * dispatcher.
+   *
+   * @return the maximum number of concurrent requests per host
+   */
+  public int getMaxRequestsPerHost() {
+    return maxRequestsPerHost;
+  }
+
+  public Protocol getProtocol() {
+    return protocol;
+  }
+
+  /**
+   * Gets the file size from which uploads are sent from a memory-mapped region of the file instead
+   * of being read through a buffer.
+   *
+   * @return the threshold in bytes; {@link #DEFAULT_MEMORY_MAP_THRESHOLD} disables mapping
+   */
+  public long getMemoryMapThreshold() {
+    return memoryMapThreshold;
+  }
+
+  /**
+   * Gets the maximum number of signed URL requests in flight during a batch upload.
+   *
+   * @return the maximum number of concurrent signed URL requests
+   */
+  public int getPresignConcurrency() {
+    return presignConcurrency;
+  }
+
+  /**
+   * Gets how long a signed upload URL is assumed to stay valid when the URL itself does not say.
+   *
+   * @return the signed URL lifetime
+   */
+  public Duration getSignedUrlTtl() {
+    return signedUrlTtl;
+  }
+
+  /**
+   * Gets the maximum number of result status requests in flight while waiting for detections.
+   *
+   * @return the maximum number of concurrent status polls
+   */
+  public int getPollConcurrency() {
+    return pollConcurrency;
+  }
+
+  /**
+   * Gets the policy that spaces status checks while waiting for a result without an explicit
+   * polling interval.
+   *
+   * @return the polling policy, or null for a fixed two second interval
+   */
+  public PollingPolicy getPollingPolicy() {
+    return pollingPolicy;
+  }
+
+  /**
+   * Gets the cache of terminal detection results consulted before status requests.
+   *
+   * @return the result cache, or null if results are not cached
+   */
+  public ResultCache getResultCache() {
+    return resultCache;
+  }
+
+  /**
+   * Gets the on-disk store that records uploads and terminal results across restarts.
+   *
+   * @return the result store, or null if nothing is persisted
+   */
+  public ResultStore getResultStore() {
+    return resultStore;
+  }
+
+  /**
+   * Gets the index of recently uploaded content consulted before uploads.
+   *
+   * @return the upload index, or null if every upload is sent
+   */
+  public UploadIndex getUploadIndex() {
+    return uploadIndex;
+  }
+
+  /**
+   * Gets the limiter that paces requests to the API.
+   *
+   * @return the rate limiter, or null if requests are sent as soon as they are made
+   */
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * Gets the policy for retrying failed calls and hedging status lookups.
+   *
+   * @return the retry policy, or null if every call is made once
+   */
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Gets the policy for failing calls fast to an endpoint that keeps failing.
+   *
+   * @return the circuit breaker policy, or null if calls are always sent
+   */
+  public CircuitBreakerPolicy getCircuitBreakerPolicy() {
+    return circuitBreakerPolicy;
+  }
+
+  /**
+   * Gets the caps on concurrent calls to each endpoint.
+   *
+   * @return the bulkhead policy, or null if endpoints only share the dispatcher's limits
+   */
+  public BulkheadPolicy getBulkheadPolicy() {
+    return bulkheadPolicy;
+  }
+
+  /**
+   * Gets the executor that completes the futures returned by asynchronous methods, and so runs the
+   * callbacks attached to them.
+   *
+   * @return the executor, or null to use the runtime's executor
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Checks whether a runtime created from this configuration should complete asynchronous results
+   * on virtual threads, one per task. Only honored on Java 21 and later, and only when no {@link
+   * #getExecutor() executor} is set.
+   *
+   * @return true if virtual threads were requested
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     RealityDefenderConfig that = (RealityDefenderConfig) o;
-    return Objects.equals(apiKey, that.apiKey)
+    return maxIdleConnections == that.maxIdleConnections
+        && maxRequests == that.maxRequests
+        && maxRequestsPerHost == that.maxRequestsPerHost
+        && Objects.equals(apiKey, that.apiKey)
         && Objects.equals(baseUrl, that.baseUrl)
-        && Objects.equals(timeout, that.timeout);
+        && Objects.equals(timeout, that.timeout)
+        && Objects.equals(connectTimeout, that.connectTimeout)
+        && Objects.equals(readTimeout, that.readTimeout)
+        && Objects.equals(writeTimeout, that.writeTimeout)
+        && Objects.equals(keepAliveDuration, that.keepAliveDuration)
+        && protocol == that.protocol
+        && memoryMapThreshold == that.memoryMapThreshold
+        && presignConcurrency == that.presignConcurrency
+        && Objects.equals(signedUrlTtl, that.signedUrlTtl)
+        && pollConcurrency == that.pollConcurrency
+        && Objects.equals(pollingPolicy, that.pollingPolicy)
+        && Objects.equals(resultCache, that.resultCache)
+        && Objects.equals(resultStore, that.resultStore)
+        && Objects.equals(uploadIndex, that.uploadIndex)
+        && Objects.equals(rateLimiter, that.rateLimiter)
+        && Objects.equals(retryPolicy, that.retryPolicy)
+        && Objects.equals(circuitBreakerPolicy, that.circuitBreakerPolicy)
+        && Objects.equals(bulkheadPolicy, that.bulkheadPolicy)
+        && Objects.equals(executor, that.executor)
+        && virtualThreads == that.virtualThreads;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(apiKey, baseUrl, timeout);
+    return Objects.hash(
+        apiKey,
+        baseUrl,
+        timeout,
+        connectTimeout,
+        readTimeout,
+        writeTimeout,
+        maxIdleConnections,
+        keepAliveDuration,
+        maxRequests,
+        maxRequestsPerHost,
+        protocol,
+        memoryMapThreshold,
+        presignConcurrency,
+        signedUrlTtl,
+        pollConcurrency,
+        pollingPolicy,
+        resultCache,
+        resultStore,
+        uploadIndex,
+        rateLimiter,
+        retryPolicy,
+        circuitBreakerPolicy,
+        bulkheadPolicy,
+        executor,
+        virtualThreads);
   }
 
   @Override
   public String toString() {
-    return "RealityDefenderConfig{" + "baseUrl='" + baseUrl + '\'' + ", timeout=" + timeout + '}';
+    return "RealityDefenderConfig{"
+        + "baseUrl='"
+        + baseUrl
+        + '\''
+        + ", timeout="
+        + timeout
+        + ", connectTimeout="
+        + getConnectTimeout()
+        + ", readTimeout="
+        + getReadTimeout()
+        + ", writeTimeout="
+        + getWriteTimeout()
+        + ", maxIdleConnections="
+        + maxIdleConnections
+        + ", keepAliveDuration="
+        + keepAliveDuration
+        + ", maxRequests="
+        + maxRequests
+        + ", maxRequestsPerHost="
+        + maxRequestsPerHost
+        + ", protocol="
+        + protocol
+        + ", memoryMapThreshold="
+        + memoryMapThreshold
+        + ", presignConcurrency="
+        + presignConcurrency
+        + ", signedUrlTtl="
+        + signedUrlTtl
+        + ", pollConcurrency="
+        + pollConcurrency
+        + ", pollingPolicy="
+        + pollingPolicy
+        + ", resultCache="
+        + resultCache
+        + ", resultStore="
+        + resultStore
+        + ", uploadIndex="
+        + uploadIndex
+        + ", rateLimiter="
+        + rateLimiter
+        + ", retryPolicy="
+        + retryPolicy
+        + ", circuitBreakerPolicy="
+        + circuitBreakerPolicy
+        + ", bulkheadPolicy="
+        + bulkheadPolicy
+        + ", executor="
+        + executor
+        + ", virtualThreads="
+        + virtualThreads
+        + '}';
+  }
+
+  public static class Builder {
+    private String apiKey;
+    private String baseUrl;
+    private Duration timeout;
+    private Duration connectTimeout;
+    private Duration readTimeout;
+    private Duration writeTimeout;
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+    private Duration keepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+    private Protocol protocol = Protocol.HTTP_2;
+    private long memoryMapThreshold = DEFAULT_MEMORY_MAP_THRESHOLD;
+    private int presignConcurrency = DEFAULT_PRESIGN_CONCURRENCY;
+    private Duration signedUrlTtl = DEFAULT_SIGNED_URL_TTL;
+    private int pollConcurrency = DEFAULT_POLL_CONCURRENCY;
+    private PollingPolicy pollingPolicy;
+    private ResultCache resultCache;
+    private ResultStore resultStore;
+    private UploadIndex uploadIndex;
+    private RateLimiter rateLimiter;
+    private RetryPolicy retryPolicy;
+    private CircuitBreakerPolicy circuitBreakerPolicy;
+    private BulkheadPolicy bulkheadPolicy;
+    private Executor executor;
+    private boolean virtualThreads;
+
+    public Builder apiKey(String apiKey) {
+      this.apiKey = apiKey;
+      return this;
+    }
+
+    public Builder baseUrl(String baseUrl) {
+      this.baseUrl = baseUrl;
+      return this;
+    }
+
+    public Builder timeout(Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    public Builder readTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+      return this;
+    }
+
+    public Builder writeTimeout(Duration writeTimeout) {
+      this.writeTimeout = writeTimeout;
+      return this;
+    }
+
+    public Builder maxIdleConnections(int maxIdleConnections) {
+      this.maxIdleConnections = maxIdleConnections;
+      return this;
+    }
+
+    public Builder keepAliveDuration(Duration keepAliveDuration) {
+      this.keepAliveDuration = keepAliveDuration;
+      return this;
+    }
+
+    public Builder maxRequests(int maxRequests) {
+      this.maxRequests = maxRequests;
+      return this;
+    }
+
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      this.maxRequestsPerHost = maxRequestsPerHost;
+      return this;
+    }
+
+    public Builder protocol(Protocol protocol) {
+      this.protocol = protocol;
+      return this;
+    }
+
+    public Builder memoryMapThreshold(long memoryMapThreshold) {
+      this.memoryMapThreshold = memoryMapThreshold;
+      return this;
+    }
+
+    public Builder presignConcurrency(int presignConcurrency) {
+      this.presignConcurrency = presignConcurrency;
+      return this;
+    }
+
+    public Builder signedUrlTtl(Duration signedUrlTtl) {
+      this.signedUrlTtl = signedUrlTtl;
+      return this;
+    }
+
+    public Builder pollConcurrency(int pollConcurrency) {
+      this.pollConcurrency = pollConcurrency;
+      return this;
+    }
+
+    public Builder pollingPolicy(PollingPolicy pollingPolicy) {
+      this.pollingPolicy = pollingPolicy;
+      return this;
+    }
+
+    public Builder resultCache(ResultCache resultCache) {
+      this.resultCache = resultCache;
+      return this;
+    }
+
+    public Builder resultStore(ResultStore resultStore) {
+      this.resultStore = resultStore;
+      return this;
+    }
+
+    public Builder uploadIndex(UploadIndex uploadIndex) {
+      this.uploadIndex = uploadIndex;
+      return this;
+    }
+
+    public Builder rateLimiter(RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
+    public Builder retryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    public Builder circuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+      this.circuitBreakerPolicy = circuitBreakerPolicy;
+      return this;
+    }
+
+    public Builder bulkheadPolicy(BulkheadPolicy bulkheadPolicy) {
+      this.bulkheadPolicy = bulkheadPolicy;
+      return this;
+    }
+
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    public Builder virtualThreads(boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+      return this;
+    }
+
+    public RealityDefenderConfig build() {
+      return new RealityDefenderConfig(this);
+    }
   }
 }
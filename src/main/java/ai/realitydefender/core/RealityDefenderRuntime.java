@@ -0,0 +1,291 @@
+package ai.realitydefender.core;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.Closeable;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Heavyweight resources shared by Reality Defender clients: the OkHttp connection pool and
+ * dispatcher, the Jackson {@link ObjectMapper}, the polling scheduler and the executor that
+ * completes asynchronous results.
+ *
+ * <p>A runtime is reference counted. Every client built on it calls {@link #retain()} and releases
+ * its reference on close; the creator of the runtime holds the initial reference and releases it
+ * with {@link #close()}. The underlying threads and sockets are shut down once the last reference
+ * is released.
+ *
+ * <pre>{@code
+ * try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config)) {
+ *   RealityDefender tenantA = RealityDefender.builder().apiKey(keyA).runtime(runtime).build();
+ *   RealityDefender tenantB = tenantA.newBuilder().apiKey(keyB).build();
+ *   ...
+ * }
+ * }</pre>
+ */
+public final class RealityDefenderRuntime implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(RealityDefenderRuntime.class);
+  private static final AtomicInteger SCHEDULER_THREAD_COUNT = new AtomicInteger();
+
+  private final OkHttpClient okHttpClient;
+  private final ObjectMapper objectMapper;
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+  private final boolean ownsExecutor;
+  private final AtomicInteger references = new AtomicInteger(1);
+
+  private RealityDefenderRuntime(
+      OkHttpClient okHttpClient,
+      ObjectMapper objectMapper,
+      ScheduledExecutorService scheduler,
+      Executor executor,
+      boolean ownsExecutor) {
+    this.okHttpClient = Objects.requireNonNull(okHttpClient, "OkHttp client cannot be null");
+    this.objectMapper = Objects.requireNonNull(objectMapper, "Object mapper cannot be null");
+    this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null");
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /**
+   * Creates a runtime whose connection pool, dispatcher, protocols, timeouts and executor follow
+   * the given configuration. A configured executor is used as is and left running on close.
+   *
+   * <p>When virtual threads are requested and the JVM supports them, the HTTP dispatcher and the
+   * polling scheduler run on virtual threads, and unless an executor is configured, asynchronous
+   * results are completed on a virtual-thread-per-task executor owned by the runtime. On JVMs older
+   * than Java 21 the request is ignored with a warning.
+   *
+   * @param config the SDK configuration
+   * @return a new runtime holding one reference
+   */
+  public static RealityDefenderRuntime create(RealityDefenderConfig config) {
+    boolean virtual = useVirtualThreads(config);
+    Executor executor = config.getExecutor();
+    boolean ownsExecutor = false;
+    if (executor == null && virtual) {
+      executor = VirtualThreads.newThreadPerTaskExecutor("realitydefender-async-");
+      ownsExecutor = true;
+    }
+    return new RealityDefenderRuntime(
+        buildOkHttpClient(config, virtual),
+        defaultObjectMapper(),
+        newScheduler(virtual),
+        executor,
+        ownsExecutor);
+  }
+
+  /**
+   * Creates a runtime on top of an existing OkHttp client, for applications that already manage
+   * one. The client's dispatcher and pool are shut down when the runtime is released.
+   *
+   * @param okHttpClient the OkHttp client to share
+   * @return a new runtime holding one reference
+   */
+  public static RealityDefenderRuntime create(OkHttpClient okHttpClient) {
+    return new RealityDefenderRuntime(
+        okHttpClient, defaultObjectMapper(), newScheduler(false), null, false);
+  }
+
+  /**
+   * Builds an OkHttp client whose timeouts, connection pool, dispatcher limits and protocol
+   * preference follow the given configuration. The dispatcher runs calls on virtual threads when
+   * they are requested and supported.
+   *
+   * @param config the SDK configuration
+   * @return a new OkHttp client
+   */
+  public static OkHttpClient buildOkHttpClient(RealityDefenderConfig config) {
+    return buildOkHttpClient(config, useVirtualThreads(config));
+  }
+
+  private static OkHttpClient buildOkHttpClient(RealityDefenderConfig config, boolean virtual) {
+    Dispatcher dispatcher =
+        virtual
+            ? new Dispatcher(VirtualThreads.newThreadPerTaskExecutor("realitydefender-http-"))
+            : new Dispatcher();
+    dispatcher.setMaxRequests(config.getMaxRequests());
+    dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+    return applyClientSettings(new OkHttpClient.Builder(), config)
+        .connectionPool(
+            new ConnectionPool(
+                config.getMaxIdleConnections(),
+                config.getKeepAliveDuration().toMillis(),
+                TimeUnit.MILLISECONDS))
+        .dispatcher(dispatcher)
+        .build();
+  }
+
+  /**
+   * Applies the per-client settings (timeouts and protocols) of a configuration to an OkHttp
+   * builder. Builders obtained from {@link OkHttpClient#newBuilder()} keep sharing the pool and
+   * dispatcher of the client they were derived from.
+   *
+   * @param builder the OkHttp builder
+   * @param config the SDK configuration
+   * @return the same builder
+   */
+  public static OkHttpClient.Builder applyClientSettings(
+      OkHttpClient.Builder builder, RealityDefenderConfig config) {
+    List<Protocol> protocols =
+        config.getProtocol() == RealityDefenderConfig.Protocol.HTTP_1_1
+            ? List.of(Protocol.HTTP_1_1)
+            : List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+
+    return builder
+        .connectTimeout(config.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        .readTimeout(config.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        .writeTimeout(config.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        .protocols(protocols);
+  }
+
+  /**
+   * Creates the object mapper used for all API requests and responses.
+   *
+   * @return a new object mapper
+   */
+  public static ObjectMapper defaultObjectMapper() {
+    return JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+        .build();
+  }
+
+  /**
+   * Decides whether to run on virtual threads. This is the only place that does: the {@link
+   * VirtualThreads} factories below are only reached when it returns true, because on JVMs older
+   * than Java 21 they throw.
+   */
+  private static boolean useVirtualThreads(RealityDefenderConfig config) {
+    if (!config.isVirtualThreads()) {
+      return false;
+    }
+    if (!VirtualThreads.isSupported()) {
+      logger.warn("Virtual threads require Java 21 or later, using platform threads instead");
+      return false;
+    }
+    return true;
+  }
+
+  private static ScheduledExecutorService newScheduler(boolean virtual) {
+    if (virtual) {
+      return Executors.newScheduledThreadPool(
+          2, VirtualThreads.newThreadFactory("realitydefender-scheduler-"));
+    }
+    ThreadFactory threadFactory =
+        runnable -> {
+          Thread thread =
+              new Thread(
+                  runnable,
+                  "realitydefender-scheduler-" + SCHEDULER_THREAD_COUNT.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        };
+    return Executors.newScheduledThreadPool(2, threadFactory);
+  }
+
+  public OkHttpClient getOkHttpClient() {
+    return okHttpClient;
+  }
+
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  public ScheduledExecutorService getScheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Gets the executor that completes the futures returned by asynchronous methods.
+   *
+   * @return the executor, or null if results are completed on the HTTP dispatcher threads
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Adds a reference to this runtime.
+   *
+   * @return this runtime
+   * @throws IllegalStateException if the runtime has already been shut down
+   */
+  public RealityDefenderRuntime retain() {
+    int current;
+    do {
+      current = references.get();
+      if (current <= 0) {
+        throw new IllegalStateException("Runtime has already been closed");
+      }
+    } while (!references.compareAndSet(current, current + 1));
+    return this;
+  }
+
+  /**
+   * Checks whether the runtime has been shut down.
+   *
+   * @return true once the last reference has been released
+   */
+  public boolean isClosed() {
+    return references.get() <= 0;
+  }
+
+  /** Releases one reference, shutting the runtime down when it was the last one. */
+  @Override
+  public void close() {
+    int remaining = references.decrementAndGet();
+    if (remaining == 0) {
+      shutdown();
+    } else if (remaining < 0) {
+      references.set(0);
+    }
+  }
+
+  private void shutdown() {
+    shutdownExecutor(scheduler);
+    if (ownsExecutor) {
+      shutdownExecutor((ExecutorService) executor);
+    }
+    shutdownExecutor(okHttpClient.dispatcher().executorService());
+    try {
+      okHttpClient.connectionPool().evictAll();
+    } catch (Exception e) {
+      // Log but don't rethrow to avoid masking shutdown issues
+      logger.warn("Error evicting connections during close", e);
+    }
+  }
+
+  private static void shutdownExecutor(ExecutorService executor) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      logger.warn("Interrupted while waiting for executor to terminate", e);
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package ai.realitydefender.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads, which only exist from Java 21.
+ *
+ * <p>This is the Java 11 implementation, which reports them as unsupported. The SDK jar is a
+ * multi-release jar whose {@code META-INF/versions/21} layer replaces this class with one backed by
+ * {@code Thread.ofVirtual()}, so the same artifact uses virtual threads wherever the JVM has them.
+ */
+public final class VirtualThreads {
+
+  private VirtualThreads() {}
+
+  /**
+   * Checks whether virtual threads are available on this JVM.
+   *
+   * @return true on Java 21 and later
+   */
+  public static boolean isSupported() {
+    return false;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @param namePrefix the prefix of the thread names, followed by a counter
+   * @return a new executor
+   * @throws UnsupportedOperationException if virtual threads are not available
+   */
+  public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+    throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+  }
+
+  /**
+   * Creates a factory of virtual threads, for executors that keep a fixed set of threads.
+   *
+   * @param namePrefix the prefix of the thread names, followed by a counter
+   * @return a new thread factory
+   * @throws UnsupportedOperationException if virtual threads are not available
+   */
+  public static ThreadFactory newThreadFactory(String namePrefix) {
+    throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+  }
+
+  /**
+   * Checks whether a thread is a virtual thread.
+   *
+   * @param thread the thread to check
+   * @return true if the thread is virtual
+   */
+  public static boolean isVirtual(Thread thread) {
+    return false;
+  }
+}
@@ -0,0 +1,181 @@
+package ai.realitydefender.detection;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A polling policy that starts fast, backs off exponentially with jitter, and learns how long
+ * detections take.
+ *
+ * <p>Completion times are tracked per media type and file size class (powers of two in megabytes)
+ * as an exponentially weighted moving average. While a detection is younger than the expected time
+ * for its class, the next check is scheduled for when it is expected to finish. Before anything is
+ * known, and once a detection is overdue, the delay grows in proportion to the time already waited
+ * ({@code multiplier - 1} times it), which spaces checks geometrically between {@code initialDelay}
+ * and {@code maxDelay}. Every delay is then spread by up to {@code jitter} either way so that
+ * detections started together do not poll in lockstep.
+ */
+public final class AdaptivePollingPolicy extends PollingPolicy {
+
+  public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(500);
+  public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(30);
+  public static final double DEFAULT_MULTIPLIER = 2.0;
+  public static final double DEFAULT_JITTER = 0.2;
+  public static final double DEFAULT_SMOOTHING = 0.3;
+
+  private final long initialDelayNanos;
+  private final long maxDelayNanos;
+  private final double multiplier;
+  private final double jitter;
+  private final double smoothing;
+  private final Map<String, Double> expectedNanos = new ConcurrentHashMap<>();
+
+  private AdaptivePollingPolicy(Builder builder) {
+    this.initialDelayNanos = builder.initialDelay.toNanos();
+    this.maxDelayNanos = builder.maxDelay.toNanos();
+    this.multiplier = builder.multiplier;
+    this.jitter = builder.jitter;
+    this.smoothing = builder.smoothing;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public Duration nextDelay(PollState state) {
+    long elapsed = state.getElapsed().toNanos();
+    Double expected = expectedNanos.get(key(state.getMediaType(), state.getFileSize()));
+    long delay;
+    if (expected != null && elapsed < expected) {
+      delay = (long) (expected - elapsed);
+    } else {
+      long waited = expected != null ? elapsed - expected.longValue() : elapsed;
+      delay = (long) (waited * (multiplier - 1));
+    }
+    delay = Math.max(initialDelayNanos, Math.min(maxDelayNanos, delay));
+    if (jitter > 0) {
+      delay = (long) (delay * (1 + jitter * ThreadLocalRandom.current().nextDouble(-1, 1)));
+    }
+    return Duration.ofNanos(delay);
+  }
+
+  @Override
+  public void onCompleted(PollState state) {
+    double observed = state.getElapsed().toNanos();
+    expectedNanos.merge(
+        key(state.getMediaType(), state.getFileSize()),
+        observed,
+        (previous, sample) -> previous + smoothing * (sample - previous));
+  }
+
+  /**
+   * Gets the learned completion time for a kind of media.
+   *
+   * @param mediaType the media type, such as {@code IMAGE} or {@code VIDEO}
+   * @param fileSize the file size in bytes, or -1 if unknown
+   * @return the expected time from the first status check to the result, or null if nothing was
+   *     observed yet
+   */
+  public Duration getExpectedDuration(String mediaType, long fileSize) {
+    Double expected = expectedNanos.get(key(mediaType, fileSize));
+    return expected != null ? Duration.ofNanos(expected.longValue()) : null;
+  }
+
+  private static String key(String mediaType, long fileSize) {
+    String type = mediaType != null ? mediaType.toUpperCase(Locale.ROOT) : "UNKNOWN";
+    int sizeClass = fileSize < 0 ? -1 : 64 - Long.numberOfLeadingZeros(fileSize >> 20);
+    return type + '/' + sizeClass;
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptivePollingPolicy{"
+        + "initialDelay="
+        + Duration.ofNanos(initialDelayNanos)
+        + ", maxDelay="
+        + Duration.ofNanos(maxDelayNanos)
+        + ", multiplier="
+        + multiplier
+        + ", jitter="
+        + jitter
+        + ", smoothing="
+        + smoothing
+        + '}';
+  }
+
+  public static class Builder {
+    private Duration initialDelay = DEFAULT_INITIAL_DELAY;
+    private Duration maxDelay = DEFAULT_MAX_DELAY;
+    private double multiplier = DEFAULT_MULTIPLIER;
+    private double jitter = DEFAULT_JITTER;
+    private double smoothing = DEFAULT_SMOOTHING;
+
+    public Builder initialDelay(Duration initialDelay) {
+      this.initialDelay = initialDelay;
+      return this;
+    }
+
+    public Builder maxDelay(Duration maxDelay) {
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * Sets how fast delays grow: each delay is {@code multiplier - 1} times the time already
+     * waited.
+     *
+     * @param multiplier the growth factor, greater than 1
+     * @return this builder
+     */
+    public Builder multiplier(double multiplier) {
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    /**
+     * Sets the fraction by which each delay is randomly lengthened or shortened.
+     *
+     * @param jitter the jitter, from 0 (none) to 1
+     * @return this builder
+     */
+    public Builder jitter(double jitter) {
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * Sets the weight of the newest observation in the learned completion times.
+     *
+     * @param smoothing the weight, greater than 0 and at most 1
+     * @return this builder
+     */
+    public Builder smoothing(double smoothing) {
+      this.smoothing = smoothing;
+      return this;
+    }
+
+    public AdaptivePollingPolicy build() {
+      Objects.requireNonNull(initialDelay, "Initial delay cannot be null");
+      Objects.requireNonNull(maxDelay, "Max delay cannot be null");
+      if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0) {
+        throw new IllegalArgumentException(
+            "Delays must satisfy 0 <= initialDelay <= maxDelay: " + initialDelay + ", " + maxDelay);
+      }
+      if (!(multiplier > 1)) {
+        throw new IllegalArgumentException("multiplier must be greater than 1: " + multiplier);
+      }
+      if (!(jitter >= 0 && jitter <= 1)) {
+        throw new IllegalArgumentException("jitter must be between 0 and 1: " + jitter);
+      }
+      if (!(smoothing > 0 && smoothing <= 1)) {
+        throw new IllegalArgumentException("smoothing must be in (0, 1]: " + smoothing);
+      }
+      return new AdaptivePollingPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package ai.realitydefender.detection;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/** Derives the digest that ties local state to an API key without writing the key itself. */
+final class ApiKeyHash {
+
+  private ApiKeyHash() {}
+
+  /**
+   * Hashes an API key.
+   *
+   * @param apiKey the API key
+   * @return the hex SHA-256 digest of the key
+   */
+  static String of(String apiKey) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+    byte[] bytes = digest.digest(apiKey.getBytes(StandardCharsets.UTF_8));
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+}
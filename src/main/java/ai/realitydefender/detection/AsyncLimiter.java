@@ -0,0 +1,120 @@
+package ai.realitydefender.detection;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of asynchronous operations in flight without blocking any thread: operations
+ * submitted beyond the limit are queued and started as earlier ones complete.
+ *
+ * <p>State is guarded by a {@link ReentrantLock} rather than a monitor: on Java 21 a virtual thread
+ * waiting to enter a monitor pins its carrier thread, and every waiter of a client contends here.
+ */
+final class AsyncLimiter {
+
+  private final int limit;
+  private final Queue<Runnable> waiting = new ArrayDeque<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private int running;
+  private boolean draining;
+
+  AsyncLimiter(int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1: " + limit);
+    }
+    this.limit = limit;
+  }
+
+  /**
+   * Starts an operation now if a slot is free, or once one frees up.
+   *
+   * @param operation starts the operation and returns its future
+   * @return a future completed with the operation's outcome
+   */
+  <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> operation) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Runnable start =
+        () -> {
+          if (result.isDone()) {
+            // Cancelled while waiting for a slot.
+            release();
+            return;
+          }
+          CompletableFuture<T> started;
+          try {
+            started = operation.get();
+          } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+          }
+          CompletableFuture<T> inFlight = started;
+          result.whenComplete(
+              (ignored, error) -> {
+                if (result.isCancelled()) {
+                  inFlight.cancel(true);
+                }
+              });
+          inFlight.whenComplete(
+              (value, error) -> {
+                release();
+                if (error != null) {
+                  result.completeExceptionally(error);
+                } else {
+                  result.complete(value);
+                }
+              });
+        };
+
+    lock.lock();
+    try {
+      waiting.add(start);
+    } finally {
+      lock.unlock();
+    }
+    drain();
+    return result;
+  }
+
+  private void release() {
+    lock.lock();
+    try {
+      running--;
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  /**
+   * Starts queued operations while slots are free. Only one thread drains at a time, so operations
+   * that complete synchronously hand their slot back to the loop instead of recursing into it.
+   */
+  private void drain() {
+    lock.lock();
+    try {
+      if (draining) {
+        return;
+      }
+      draining = true;
+    } finally {
+      lock.unlock();
+    }
+    while (true) {
+      Runnable next;
+      lock.lock();
+      try {
+        if (running >= limit || waiting.isEmpty()) {
+          draining = false;
+          return;
+        }
+        next = waiting.poll();
+        running++;
+      } finally {
+        lock.unlock();
+      }
+      next.run();
+    }
+  }
+}
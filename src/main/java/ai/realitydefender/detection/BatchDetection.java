@@ -0,0 +1,125 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionOutcome;
+import ai.realitydefender.models.DetectionResult;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A running batch of detections whose outcomes are delivered in completion order.
+ *
+ * <p>{@link #next()} blocks until the next file finishes, successfully or not; a failure of one
+ * file never stops the others. Closing the batch cancels every file that has not finished yet,
+ * which then surfaces with the {@code CANCELLED} error code.
+ *
+ * <pre>{@code
+ * try (BatchDetection batch = client.detectFiles(paths)) {
+ *   batch.stream().filter(DetectionOutcome::isSuccess).forEach(this::store);
+ * }
+ * }</pre>
+ */
+public final class BatchDetection implements Iterator<DetectionOutcome>, AutoCloseable {
+
+  private final BlockingQueue<DetectionOutcome> completed = new LinkedBlockingQueue<>();
+  private final CancellationScope scope = new CancellationScope();
+  private final int size;
+  private int returned;
+
+  BatchDetection(int size) {
+    this.size = size;
+  }
+
+  /** Gets the scope in which the batch's futures are registered, so that closing cancels them. */
+  CancellationScope scope() {
+    return scope;
+  }
+
+  /** Records the outcome of one file once its detection completes. */
+  void track(Path path, CompletableFuture<DetectionResult> detection) {
+    scope.register(detection);
+    detection.whenComplete((result, error) -> completed.add(toOutcome(path, result, error)));
+  }
+
+  /**
+   * Gets the number of files in the batch.
+   *
+   * @return the batch size
+   */
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return returned < size;
+  }
+
+  /**
+   * Waits for the next file to finish.
+   *
+   * @return the outcome of the next file to complete
+   * @throws NoSuchElementException if every outcome has already been returned
+   * @throws CompletionException wrapping a {@link RealityDefenderException} if interrupted
+   */
+  @Override
+  public DetectionOutcome next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    try {
+      DetectionOutcome outcome = completed.take();
+      returned++;
+      return outcome;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(
+          new RealityDefenderException("Interrupted waiting for batch results", "INTERRUPTED", e));
+    }
+  }
+
+  /**
+   * Returns the remaining outcomes as a sequential stream in completion order.
+   *
+   * @return a stream of outcomes
+   */
+  public Stream<DetectionOutcome> stream() {
+    return StreamSupport.stream(
+        Spliterators.spliterator(this, size - returned, Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  /** Cancels every detection of the batch that has not finished yet. */
+  @Override
+  public void close() {
+    scope.close();
+  }
+
+  /** Turns the completion of one file's detection into its outcome. */
+  static DetectionOutcome toOutcome(Path path, DetectionResult result, Throwable error) {
+    return error == null
+        ? DetectionOutcome.success(path, result)
+        : DetectionOutcome.failure(path, toException(error));
+  }
+
+  private static RealityDefenderException toException(Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    if (cause instanceof RealityDefenderException) {
+      return (RealityDefenderException) cause;
+    }
+    if (cause instanceof CancellationException) {
+      return new RealityDefenderException("Detection cancelled", "CANCELLED", cause);
+    }
+    return new RealityDefenderException("Detection failed", "DETECTION_FAILED", cause);
+  }
+}
@@ -0,0 +1,79 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.models.DetectionOutcome;
+import ai.realitydefender.models.DetectionResult;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Publishes the outcomes of a batch of detections in completion order, starting a file only when
+ * the subscriber has demand for its outcome. A subscriber that falls behind therefore holds back
+ * uploads and polls instead of letting outcomes pile up. Every subscription runs its own batch.
+ */
+final class BatchPublisher implements Flow.Publisher<DetectionOutcome> {
+
+  private final List<Path> paths;
+  private final Function<CancellationScope, Function<Path, CompletableFuture<DetectionResult>>>
+      detectors;
+
+  /**
+   * @param paths the files to analyze
+   * @param detectors creates, for each subscription, the function that detects one file with its
+   *     futures registered in the given scope
+   */
+  BatchPublisher(
+      Collection<Path> paths,
+      Function<CancellationScope, Function<Path, CompletableFuture<DetectionResult>>> detectors) {
+    this.paths = new ArrayList<>(paths);
+    this.detectors = detectors;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super DetectionOutcome> subscriber) {
+    Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+    new Subscription(subscriber).start();
+  }
+
+  private final class Subscription extends DemandSubscription<DetectionOutcome> {
+
+    private final Iterator<Path> remaining = paths.iterator();
+    private final CancellationScope scope = new CancellationScope();
+    private final Function<Path, CompletableFuture<DetectionResult>> detector =
+        detectors.apply(scope);
+
+    Subscription(Flow.Subscriber<? super DetectionOutcome> subscriber) {
+      super(subscriber);
+    }
+
+    @Override
+    void produce() {
+      while (remaining.hasNext()) {
+        if (!reserve(Integer.MAX_VALUE)) {
+          return;
+        }
+        Path path = remaining.next();
+        detector
+            .apply(path)
+            .whenComplete(
+                (result, error) ->
+                    complete(
+                        Collections.singletonList(BatchDetection.toOutcome(path, result, error)),
+                        false));
+      }
+      finish();
+    }
+
+    @Override
+    void onCancel() {
+      scope.close();
+    }
+  }
+}
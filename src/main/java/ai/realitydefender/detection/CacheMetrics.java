@@ -0,0 +1,96 @@
+package ai.realitydefender.detection;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing how well a {@link ResultCache} or {@link UploadIndex} is doing. Safe to read
+ * at any time.
+ */
+public final class CacheMetrics {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  CacheMetrics() {}
+
+  void recordHit() {
+    hits.increment();
+  }
+
+  void recordMiss() {
+    misses.increment();
+  }
+
+  void recordEviction() {
+    evictions.increment();
+  }
+
+  void recordInvalidations(int count) {
+    invalidations.add(count);
+  }
+
+  /**
+   * Gets the number of lookups answered from the cache.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of lookups that had to go to the API.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the number of results dropped because the cache was full or they had expired.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * Gets the number of results removed explicitly, for example after feedback was posted.
+   *
+   * @return the number of invalidations
+   */
+  public long getInvalidations() {
+    return invalidations.sum();
+  }
+
+  /**
+   * Gets the share of lookups answered from the cache.
+   *
+   * @return the hit rate between 0 and 1, or 0 if there were no lookups yet
+   */
+  public double getHitRate() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheMetrics{"
+        + "hits="
+        + getHits()
+        + ", misses="
+        + getMisses()
+        + ", evictions="
+        + getEvictions()
+        + ", invalidations="
+        + getInvalidations()
+        + ", hitRate="
+        + getHitRate()
+        + '}';
+  }
+}
@@ -0,0 +1,75 @@
+package ai.realitydefender.detection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the futures of a group of detections so that they can all be cancelled at once. Futures
+ * registered after the scope is closed are cancelled straight away.
+ */
+final class CancellationScope {
+
+  private final Set<CompletableFuture<?>> pending = new HashSet<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private boolean closed;
+
+  /** Registers a future to cancel when the scope is closed. */
+  <T> CompletableFuture<T> register(CompletableFuture<T> future) {
+    boolean cancel;
+    lock.lock();
+    try {
+      cancel = closed;
+      if (!cancel) {
+        pending.add(future);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (cancel) {
+      future.cancel(false);
+    } else {
+      future.whenComplete(
+          (ignored, error) -> {
+            lock.lock();
+            try {
+              pending.remove(future);
+            } finally {
+              lock.unlock();
+            }
+          });
+    }
+    return future;
+  }
+
+  boolean isClosed() {
+    lock.lock();
+    try {
+      return closed;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Cancels every registered future that has not completed yet. */
+  void close() {
+    List<CompletableFuture<?>> toCancel;
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      toCancel = new ArrayList<>(pending);
+      pending.clear();
+    } finally {
+      lock.unlock();
+    }
+    for (CompletableFuture<?> future : toCancel) {
+      future.cancel(false);
+    }
+  }
+}
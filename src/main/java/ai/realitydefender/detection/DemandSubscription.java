@@ -0,0 +1,220 @@
+package ai.realitydefender.detection;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A subscription that only produces what its subscriber has asked for. Subclasses start work from
+ * {@link #produce()} after {@link #reserve(int) reserving} part of the outstanding demand, and hand
+ * the items back through {@link #complete(Collection, boolean)}; items are buffered only until the
+ * subscriber requests them, so the buffer never outgrows the demand.
+ *
+ * <p>Signals are serialized by a single drain loop, in the same way as {@link AsyncLimiter}: work
+ * that completes synchronously hands its items to the running loop instead of recursing into it.
+ */
+abstract class DemandSubscription<T> implements Flow.Subscription {
+
+  private static final Logger logger = LoggerFactory.getLogger(DemandSubscription.class);
+
+  private final Flow.Subscriber<? super T> subscriber;
+  private final Queue<T> queue = new ArrayDeque<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private long requested;
+  private int pending;
+  private boolean finished;
+  private Throwable failure;
+  private boolean done;
+  private boolean draining;
+  private boolean missed;
+
+  DemandSubscription(Flow.Subscriber<? super T> subscriber) {
+    this.subscriber = subscriber;
+  }
+
+  /** Hands this subscription to the subscriber, which starts work once it requests items. */
+  void start() {
+    subscriber.onSubscribe(this);
+  }
+
+  @Override
+  public void request(long n) {
+    if (n <= 0) {
+      fail(new IllegalArgumentException("Request must be positive: " + n));
+      return;
+    }
+    lock.lock();
+    try {
+      requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  @Override
+  public void cancel() {
+    lock.lock();
+    try {
+      if (done) {
+        return;
+      }
+      done = true;
+    } finally {
+      lock.unlock();
+    }
+    onCancel();
+    drain();
+  }
+
+  /**
+   * Starts work for outstanding demand. Called from the drain loop only, so never concurrently.
+   * Implementations reserve demand before starting each unit of work.
+   */
+  abstract void produce();
+
+  /** Stops work in flight once the subscription is cancelled or has failed. */
+  abstract void onCancel();
+
+  /**
+   * Reserves demand for one unit of work, if the subscriber has requested more items than are
+   * buffered or already being produced.
+   *
+   * @param maxPending the number of units of work allowed in flight at once
+   * @return true if the work may start; it must then end with {@link #complete}
+   */
+  boolean reserve(int maxPending) {
+    lock.lock();
+    try {
+      if (done || finished || pending >= maxPending || requested <= queue.size() + pending) {
+        return false;
+      }
+      pending++;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Ends a unit of work started after {@link #reserve(int)}, buffering the items it produced.
+   *
+   * @param items the items to deliver, in order
+   * @param last whether no work will follow, so the subscriber completes once these are delivered
+   */
+  void complete(Collection<? extends T> items, boolean last) {
+    lock.lock();
+    try {
+      pending--;
+      if (!done) {
+        queue.addAll(items);
+        finished |= last;
+      }
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  /** Completes the subscriber once the work in flight and the buffered items are delivered. */
+  void finish() {
+    lock.lock();
+    try {
+      if (finished) {
+        return;
+      }
+      finished = true;
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  /** Stops the work in flight and signals an error to the subscriber, dropping buffered items. */
+  void fail(Throwable error) {
+    lock.lock();
+    try {
+      if (done || failure != null) {
+        return;
+      }
+      failure = error;
+      queue.clear();
+    } finally {
+      lock.unlock();
+    }
+    onCancel();
+    drain();
+  }
+
+  private void drain() {
+    lock.lock();
+    try {
+      if (draining) {
+        missed = true;
+        return;
+      }
+      draining = true;
+    } finally {
+      lock.unlock();
+    }
+    while (true) {
+      T next = null;
+      boolean terminate = false;
+      Throwable error = null;
+      lock.lock();
+      try {
+        missed = false;
+        if (done) {
+          queue.clear();
+          draining = false;
+          return;
+        }
+        if (failure != null || (finished && pending == 0 && queue.isEmpty())) {
+          done = true;
+          terminate = true;
+          error = failure;
+        } else if (requested > 0 && !queue.isEmpty()) {
+          next = queue.poll();
+          if (requested != Long.MAX_VALUE) {
+            requested--;
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      if (terminate) {
+        if (error != null) {
+          subscriber.onError(error);
+        } else {
+          subscriber.onComplete();
+        }
+        return;
+      }
+      if (next != null) {
+        try {
+          subscriber.onNext(next);
+        } catch (RuntimeException e) {
+          logger.warn("Subscriber failed to handle an item, cancelling", e);
+          cancel();
+        }
+        continue;
+      }
+
+      produce();
+      lock.lock();
+      try {
+        if (!missed) {
+          draining = false;
+          return;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
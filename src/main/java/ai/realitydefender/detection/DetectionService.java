@@ -1,21 +1,48 @@
 package ai.realitydefender.detection;
 
 import ai.realitydefender.client.HttpClient;
+import ai.realitydefender.client.UploadProgressListener;
+import ai.realitydefender.client.UploadSource;
+import ai.realitydefender.core.RealityDefenderConfig;
+import ai.realitydefender.core.RealityDefenderRuntime;
+import ai.realitydefender.core.VirtualThreads;
 import ai.realitydefender.exceptions.RealityDefenderException;
 import ai.realitydefender.models.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,27 +56,153 @@ public class DetectionService implements Closeable {
   private static final String STATUS_QUEUED = "QUEUED";
 
   private static final Duration DEFAULT_POLLING_INTERVAL = Duration.ofSeconds(2);
+  private static final int DEFAULT_BATCH_UPLOADS = 4;
+  private static final int DEFAULT_BATCH_POLLS = 8;
+  private static final int DEFAULT_PREFETCH_PAGES = 4;
+  private static final int DEFAULT_EXPORT_REQUESTS = 8;
 
   private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
   private final ScheduledExecutorService scheduler;
 
-  private final int maxAttempts;
+  private final boolean ownsScheduler;
+  private final StatusPoller statusPoller;
+
+  private final Duration timeout;
+  private final PollingPolicy pollingPolicy;
+  private final ResultCache resultCache;
+  private final ResultStore resultStore;
+  private final UploadIndex uploadIndex;
+
+  /** The hashed API key that scopes this service's entries in the upload index. */
+  private final String keyHash;
+
+  private final Executor executor;
+  private final Executor hashExecutor;
+  private final SingleFlight<String, DetectionResult> statusRequests = new SingleFlight<>();
+  private final SingleFlight<String, UploadResponse> contentUploads = new SingleFlight<>();
 
   public DetectionService(HttpClient httpClient, Duration timeout) {
+    this(
+        httpClient,
+        timeout,
+        RealityDefenderRuntime.defaultObjectMapper(),
+        Executors.newScheduledThreadPool(2),
+        true,
+        RealityDefenderConfig.DEFAULT_POLL_CONCURRENCY,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a service that reuses the object mapper, polling scheduler and executor of a shared
+   * runtime. The scheduler is left running when this service is closed.
+   *
+   * @param httpClient the HTTP client
+   * @param timeout the overall time to wait for a result
+   * @param runtime the shared runtime
+   */
+  public DetectionService(HttpClient httpClient, Duration timeout, RealityDefenderRuntime runtime) {
+    this(
+        httpClient,
+        timeout,
+        runtime.getObjectMapper(),
+        runtime.getScheduler(),
+        false,
+        RealityDefenderConfig.DEFAULT_POLL_CONCURRENCY,
+        null,
+        null,
+        null,
+        null,
+        null,
+        runtime.getExecutor(),
+        runtime.getOkHttpClient().dispatcher().executorService());
+  }
+
+  /**
+   * Creates a service that reuses a shared runtime and takes its timeout, status poll concurrency,
+   * polling policy, result cache, result store and upload index from a configuration. An executor
+   * set in the configuration takes precedence over the runtime's. The result cache and result store
+   * are tied to the configuration's API key.
+   *
+   * @param httpClient the HTTP client
+   * @param config the client configuration
+   * @param runtime the shared runtime
+   * @throws IllegalArgumentException if the result cache or result store belongs to another API key
+   * @throws UncheckedIOException if the API key cannot be recorded in the result store
+   */
+  public DetectionService(
+      HttpClient httpClient, RealityDefenderConfig config, RealityDefenderRuntime runtime) {
+    this(
+        httpClient,
+        config.getTimeout(),
+        runtime.getObjectMapper(),
+        runtime.getScheduler(),
+        false,
+        config.getPollConcurrency(),
+        config.getPollingPolicy(),
+        config.getResultCache(),
+        config.getResultStore(),
+        config.getUploadIndex(),
+        config.getApiKey(),
+        config.getExecutor() != null ? config.getExecutor() : runtime.getExecutor(),
+        runtime.getOkHttpClient().dispatcher().executorService());
+    if (resultCache != null) {
+      resultCache.bind(config.getApiKey());
+    }
+    if (resultStore != null) {
+      try {
+        resultStore.bind(config.getApiKey());
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to record API key in result store", e);
+      }
+    }
+  }
+
+  private DetectionService(
+      HttpClient httpClient,
+      Duration timeout,
+      ObjectMapper objectMapper,
+      ScheduledExecutorService scheduler,
+      boolean ownsScheduler,
+      int pollConcurrency,
+      PollingPolicy pollingPolicy,
+      ResultCache resultCache,
+      ResultStore resultStore,
+      UploadIndex uploadIndex,
+      String apiKey,
+      Executor executor,
+      Executor hashExecutor) {
     this.httpClient = httpClient;
-    this.objectMapper =
-        JsonMapper.builder()
-            .addModule(new JavaTimeModule())
-            .configure(
-                com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                false)
-            .build();
-    this.scheduler = Executors.newScheduledThreadPool(2);
-    this.maxAttempts =
-        timeout.toSeconds() > 0
-            ? (int) (timeout.toSeconds() / DEFAULT_POLLING_INTERVAL.toSeconds())
-            : 1;
+    this.objectMapper = objectMapper;
+    this.scheduler = scheduler;
+    this.ownsScheduler = ownsScheduler;
+    this.statusPoller =
+        new StatusPoller(
+            httpClient, this::fetchStatusAsync, scheduler, pollConcurrency, this::isProcessed);
+    this.timeout = timeout;
+    this.pollingPolicy =
+        pollingPolicy != null ? pollingPolicy : PollingPolicy.fixed(DEFAULT_POLLING_INTERVAL);
+    this.resultCache = resultCache;
+    this.resultStore = resultStore;
+    this.uploadIndex = uploadIndex;
+    this.keyHash = apiKey != null ? ApiKeyHash.of(apiKey) : null;
+    this.executor = executor;
+    this.hashExecutor = hashExecutor;
+  }
+
+  /**
+   * Gets the policy that spaces status checks when no polling interval is given.
+   *
+   * @return the polling policy, whose metrics cover every such wait
+   */
+  public PollingPolicy getPollingPolicy() {
+    return pollingPolicy;
   }
 
   /**
@@ -62,18 +215,183 @@ public class DetectionService implements Closeable {
   public UploadResponse upload(File file) throws RealityDefenderException {
     logger.info("Uploading file: {}", file.getName());
 
-    JsonNode response = httpClient.uploadFile(file);
+    return uploadOnce(
+        UploadSource.of(file),
+        () -> parseUploadResponse(httpClient.uploadFile(file), file.getName()));
+  }
+
+  /**
+   * Uploads a file for analysis, reporting progress as it is streamed.
+   *
+   * @param file the file to upload
+   * @param listener listener notified as bytes are written
+   * @return the upload response
+   * @throws RealityDefenderException if upload fails
+   */
+  public UploadResponse upload(File file, UploadProgressListener listener)
+      throws RealityDefenderException {
+    logger.info("Uploading file: {}", file.getName());
+
+    return uploadOnce(
+        UploadSource.of(file),
+        () -> parseUploadResponse(httpClient.uploadFile(file, listener), file.getName()));
+  }
+
+  /**
+   * Uploads a file from a path for analysis.
+   *
+   * @param path the file to upload
+   * @return the upload response
+   * @throws RealityDefenderException if upload fails
+   */
+  public UploadResponse upload(Path path) throws RealityDefenderException {
+    return upload(UploadSource.of(path), null);
+  }
+
+  /**
+   * Uploads in-memory media for analysis.
+   *
+   * @param data the media bytes
+   * @param fileName the media file name, used for type and size validation
+   * @return the upload response
+   * @throws RealityDefenderException if upload fails
+   */
+  public UploadResponse upload(byte[] data, String fileName) throws RealityDefenderException {
+    return upload(UploadSource.of(data, fileName), null);
+  }
 
+  /**
+   * Uploads the remaining bytes of a buffer for analysis.
+   *
+   * @param data the media bytes
+   * @param fileName the media file name, used for type and size validation
+   * @return the upload response
+   * @throws RealityDefenderException if upload fails
+   */
+  public UploadResponse upload(ByteBuffer data, String fileName) throws RealityDefenderException {
+    return upload(UploadSource.of(data, fileName), null);
+  }
+
+  /**
+   * Uploads media read from a stream for analysis.
+   *
+   * @param stream the stream to read exactly {@code length} bytes from; it is not closed
+   * @param length the number of bytes to upload
+   * @param fileName the media file name, used for type and size validation
+   * @return the upload response
+   * @throws RealityDefenderException if upload fails
+   */
+  public UploadResponse upload(InputStream stream, long length, String fileName)
+      throws RealityDefenderException {
+    return upload(UploadSource.of(stream, length, fileName), null);
+  }
+
+  /**
+   * Uploads media from any supported source for analysis, reporting progress.
+   *
+   * @param source the media to upload
+   * @param listener optional listener notified as bytes are written
+   * @return the upload response
+   * @throws RealityDefenderException if upload fails
+   */
+  public UploadResponse upload(UploadSource source, UploadProgressListener listener)
+      throws RealityDefenderException {
+    logger.info("Uploading media: {}", source.getFileName());
+
+    return uploadOnce(
+        source,
+        () -> parseUploadResponse(httpClient.upload(source, listener), source.getFileName()));
+  }
+
+  private UploadResponse parseUploadResponse(JsonNode response, String fileName)
+      throws RealityDefenderException {
+    UploadResponse uploadResponse;
     try {
-      UploadResponse uploadResponse = objectMapper.treeToValue(response, UploadResponse.class);
+      uploadResponse = objectMapper.treeToValue(response, UploadResponse.class);
       logger.info(
           "File uploaded successfully. Request ID: {}, Media ID: {}",
           uploadResponse.getRequestId(),
           uploadResponse.getMediaId());
-      return uploadResponse;
     } catch (Exception e) {
       throw new RealityDefenderException("Failed to parse upload response", "PARSE_ERROR", e);
     }
+    recordUpload(uploadResponse, fileName);
+    return uploadResponse;
+  }
+
+  /**
+   * Hashes media for the upload index, if there is one.
+   *
+   * @return the digest, or null if there is no index or the source is a stream
+   */
+  private String digest(UploadSource source) throws RealityDefenderException {
+    return uploadIndex != null ? source.computeSha256() : null;
+  }
+
+  /**
+   * Looks content up in the upload index.
+   *
+   * @return the earlier upload of the same content, or null if it has to be uploaded
+   */
+  private UploadResponse findUpload(UploadSource source, String sha256) {
+    UploadResponse previous = uploadIndex.find(keyHash, sha256);
+    if (previous != null) {
+      logger.info(
+          "Reusing upload of identical content {}. Request ID: {}",
+          source.getFileName(),
+          previous.getRequestId());
+    }
+    return previous;
+  }
+
+  /**
+   * Uploads media unless the upload index knows its content. Concurrent uploads of the same content
+   * share one upload, since none of them is in the index yet.
+   */
+  private UploadResponse uploadOnce(UploadSource source, SingleFlight.Call<UploadResponse> upload)
+      throws RealityDefenderException {
+    String sha256 = digest(source);
+    if (sha256 == null) {
+      return upload.call();
+    }
+    UploadResponse previous = findUpload(source, sha256);
+    return previous != null ? previous : contentUploads.join(sha256, upload);
+  }
+
+  /**
+   * Uploads media asynchronously unless the upload index knows its content, sharing the upload with
+   * concurrent uploads of the same content. The media is hashed on the HTTP dispatcher, which runs
+   * blocking work, before anything is sent.
+   */
+  private CompletableFuture<UploadResponse> uploadOnceAsync(
+      UploadSource source, Supplier<CompletableFuture<JsonNode>> upload) {
+    Supplier<CompletableFuture<UploadResponse>> send =
+        () ->
+            upload
+                .get()
+                .thenApply(response -> convertUploadResponse(response, source.getFileName()));
+    if (uploadIndex == null) {
+      return send.get();
+    }
+    return CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return digest(source);
+              } catch (RealityDefenderException e) {
+                throw new CompletionException(e);
+              }
+            },
+            hashExecutor)
+        .thenCompose(
+            sha256 -> {
+              if (sha256 == null) {
+                return send.get();
+              }
+              UploadResponse previous = findUpload(source, sha256);
+              return previous != null
+                  ? CompletableFuture.completedFuture(previous)
+                  : contentUploads.submit(sha256, send);
+            });
   }
 
   /**
@@ -83,14 +401,177 @@ public class DetectionService implements Closeable {
    * @return a CompletableFuture containing the upload response
    */
   public CompletableFuture<UploadResponse> uploadAsync(File file) {
-    return CompletableFuture.supplyAsync(
+    logger.info("Uploading file asynchronously: {}", file.getName());
+
+    return deliver(uploadOnceAsync(UploadSource.of(file), () -> httpClient.uploadFileAsync(file)));
+  }
+
+  /**
+   * Uploads a file for analysis asynchronously, reporting progress as it is streamed.
+   *
+   * @param file the file to upload
+   * @param listener listener notified as bytes are written
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(File file, UploadProgressListener listener) {
+    logger.info("Uploading file asynchronously: {}", file.getName());
+
+    return deliver(
+        uploadOnceAsync(UploadSource.of(file), () -> httpClient.uploadFileAsync(file, listener)));
+  }
+
+  /**
+   * Uploads a file from a path for analysis asynchronously.
+   *
+   * @param path the file to upload
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(Path path) {
+    return uploadAsync(UploadSource.of(path), null);
+  }
+
+  /**
+   * Uploads in-memory media for analysis asynchronously.
+   *
+   * @param data the media bytes; must not be modified until the future completes
+   * @param fileName the media file name, used for type and size validation
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(byte[] data, String fileName) {
+    return uploadAsync(UploadSource.of(data, fileName), null);
+  }
+
+  /**
+   * Uploads the remaining bytes of a buffer for analysis asynchronously.
+   *
+   * @param data the media bytes; must not be modified until the future completes
+   * @param fileName the media file name, used for type and size validation
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(ByteBuffer data, String fileName) {
+    return uploadAsync(UploadSource.of(data, fileName), null);
+  }
+
+  /**
+   * Uploads media read from a stream for analysis asynchronously.
+   *
+   * @param stream the stream to read exactly {@code length} bytes from; it is not closed
+   * @param length the number of bytes to upload
+   * @param fileName the media file name, used for type and size validation
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(
+      InputStream stream, long length, String fileName) {
+    return uploadAsync(UploadSource.of(stream, length, fileName), null);
+  }
+
+  /**
+   * Uploads media from any supported source for analysis asynchronously, reporting progress.
+   *
+   * @param source the media to upload
+   * @param listener optional listener notified as bytes are written
+   * @return a CompletableFuture containing the upload response
+   */
+  public CompletableFuture<UploadResponse> uploadAsync(
+      UploadSource source, UploadProgressListener listener) {
+    logger.info("Uploading media asynchronously: {}", source.getFileName());
+
+    return deliver(uploadOnceAsync(source, () -> httpClient.uploadAsync(source, listener)));
+  }
+
+  /**
+   * Uploads a batch of media asynchronously, requesting signed URLs ahead of the uploads so the
+   * items don't pay both round-trips in series. With an upload index, the batch is hashed first and
+   * only content the index does not know is uploaded.
+   *
+   * @param sources the media to upload
+   * @return one future per source, in the same order; each fails independently
+   */
+  public List<CompletableFuture<UploadResponse>> uploadAllAsync(List<UploadSource> sources) {
+    logger.info("Uploading batch of {} items asynchronously", sources.size());
+
+    if (uploadIndex == null) {
+      return uploadAll(sources).stream().map(this::deliver).collect(Collectors.toList());
+    }
+    List<CompletableFuture<UploadResponse>> responses = new ArrayList<>(sources.size());
+    for (int i = 0; i < sources.size(); i++) {
+      responses.add(new CompletableFuture<>());
+    }
+    CompletableFuture.runAsync(
         () -> {
+          List<UploadSource> missed = new ArrayList<>();
+          List<CompletableFuture<UploadResponse>> pending = new ArrayList<>();
+          for (int i = 0; i < sources.size(); i++) {
+            try {
+              String sha256 = digest(sources.get(i));
+              UploadResponse previous = sha256 != null ? findUpload(sources.get(i), sha256) : null;
+              if (previous != null) {
+                responses.get(i).complete(previous);
+                continue;
+              }
+            } catch (RealityDefenderException e) {
+              responses.get(i).completeExceptionally(e);
+              continue;
+            }
+            missed.add(sources.get(i));
+            pending.add(responses.get(i));
+          }
+          if (missed.isEmpty()) {
+            return;
+          }
+          List<CompletableFuture<UploadResponse>> uploads;
           try {
-            return upload(file);
-          } catch (RealityDefenderException e) {
-            throw new RuntimeException(e);
+            uploads = uploadAll(missed);
+          } catch (RuntimeException e) {
+            pending.forEach(response -> response.completeExceptionally(e));
+            return;
           }
-        });
+          for (int i = 0; i < uploads.size(); i++) {
+            CompletableFuture<UploadResponse> response = pending.get(i);
+            uploads
+                .get(i)
+                .whenComplete(
+                    (value, error) -> {
+                      if (error != null) {
+                        response.completeExceptionally(error);
+                      } else {
+                        response.complete(value);
+                      }
+                    });
+          }
+        },
+        hashExecutor);
+    return responses.stream().map(this::deliver).collect(Collectors.toList());
+  }
+
+  private List<CompletableFuture<UploadResponse>> uploadAll(List<UploadSource> sources) {
+    List<CompletableFuture<JsonNode>> uploads = httpClient.uploadAllAsync(sources);
+    List<CompletableFuture<UploadResponse>> responses = new ArrayList<>(uploads.size());
+    for (int i = 0; i < uploads.size(); i++) {
+      String fileName = sources.get(i).getFileName();
+      responses.add(
+          uploads.get(i).thenApply(response -> convertUploadResponse(response, fileName)));
+    }
+    return responses;
+  }
+
+  private UploadResponse convertUploadResponse(JsonNode response, String fileName) {
+    UploadResponse uploadResponse =
+        convert(response, UploadResponse.class, "Failed to parse upload response", "PARSE_ERROR");
+    logger.info(
+        "File uploaded successfully. Request ID: {}, Media ID: {}",
+        uploadResponse.getRequestId(),
+        uploadResponse.getMediaId());
+    recordUpload(uploadResponse, fileName);
+    return uploadResponse;
+  }
+
+  /** Records a new upload in the upload index and result store, if there are any. */
+  private void recordUpload(UploadResponse uploadResponse, String fileName) {
+    if (uploadIndex != null) {
+      uploadIndex.put(keyHash, uploadResponse);
+    }
+    storeUpload(uploadResponse.getRequestId(), fileName);
   }
 
   /**
@@ -109,6 +590,7 @@ public class DetectionService implements Closeable {
       logger.info(
           "Social media link uploaded successfully. Request ID: {}", uploadResponse.getRequestId());
 
+      storeUpload(uploadResponse.getRequestId(), url);
       return new UploadResponse(uploadResponse.getRequestId(), null);
     } catch (Exception e) {
       throw new RealityDefenderException("Failed to parse upload response", "server_error", e);
@@ -126,6 +608,7 @@ public class DetectionService implements Closeable {
       throws RealityDefenderException {
     try {
       JsonNode response = httpClient.postUserFeedback(request);
+      invalidateCachedResult(request.getRequestId());
       return objectMapper.treeToValue(response, UserFeedbackResponse.class);
     } catch (RealityDefenderException e) {
       throw e;
@@ -143,18 +626,27 @@ public class DetectionService implements Closeable {
    */
   public CompletableFuture<UserFeedbackResponse> createUserFeedbackAsync(
       UserFeedbackRequest request) {
-    return CompletableFuture.supplyAsync(
-        () -> {
-          try {
-            return createUserFeedback(request);
-          } catch (RealityDefenderException e) {
-            throw new RuntimeException(e);
-          }
-        });
+    return deliver(
+        httpClient
+            .postUserFeedbackAsync(request)
+            .thenApply(
+                response -> {
+                  invalidateCachedResult(request.getRequestId());
+                  return response;
+                })
+            .thenApply(
+                response ->
+                    convert(
+                        response,
+                        UserFeedbackResponse.class,
+                        "Failed to parse user feedback response",
+                        "PARSE_ERROR")));
   }
 
   /**
-   * Returns the summarized detection result for a request ID, polling until complete.
+   * Returns the summarized detection result for a request ID, polling until complete. Checks are
+   * spaced by the service's {@link #getPollingPolicy() polling policy} for up to the configured
+   * timeout.
    *
    * @param requestId the request ID from upload
    * @return the detection result
@@ -162,8 +654,7 @@ public class DetectionService implements Closeable {
    */
   public DetectionResult getResult(String requestId)
       throws RealityDefenderException, JsonProcessingException {
-    // The polling overload already calls summarize() when a terminal status is reached.
-    return getResult(requestId, DEFAULT_POLLING_INTERVAL, this.maxAttempts);
+    return pollUntilProcessed(requestId, pollingPolicy, -1, Integer.MAX_VALUE, timeout);
   }
 
   /**
@@ -177,48 +668,128 @@ public class DetectionService implements Closeable {
    */
   public DetectionResult getResult(String requestId, Duration pollingInterval, Integer maxAttempts)
       throws RealityDefenderException, JsonProcessingException {
+    return pollUntilProcessed(
+        requestId, PollingPolicy.fixed(pollingInterval), -1, maxAttempts, null);
+  }
+
+  /**
+   * Gets the detection result for a request ID, spacing status checks with a polling policy.
+   *
+   * @param requestId the request ID from upload
+   * @param policy decides the delay between status checks
+   * @param timeout the maximum time to wait
+   * @return the detection result
+   * @throws RealityDefenderException if getting results fails or the timeout is reached
+   */
+  public DetectionResult getResult(String requestId, PollingPolicy policy, Duration timeout)
+      throws RealityDefenderException {
+    return pollUntilProcessed(requestId, policy, -1, Integer.MAX_VALUE, timeout);
+  }
+
+  /**
+   * Polls a request until it reaches a terminal status, blocking the calling thread between polls.
+   * Gives up after {@code maxAttempts} polls, or as soon as the next poll would come after {@code
+   * timeout} when one is given.
+   *
+   * <p>Virtual threads make it cheap to have many such callers at once, so on a virtual thread the
+   * request joins the shared status poller instead, which bounds the status requests in flight and
+   * coalesces them, and the caller just parks until the result arrives.
+   */
+  private DetectionResult pollUntilProcessed(
+      String requestId, PollingPolicy policy, long fileSize, int maxAttempts, Duration timeout)
+      throws RealityDefenderException {
     logger.info("Getting results for request ID: {}", requestId);
 
-    for (int i = 0; i < maxAttempts; i++) {
+    DetectionResult cached = cachedResult(requestId);
+    if (cached != null) {
+      return cached;
+    }
+    if (VirtualThreads.isVirtual(Thread.currentThread())) {
+      return await(
+          cacheResult(
+              requestId,
+              statusPoller.poll(requestId, policy, fileSize, maxAttempts, timeout, null)));
+    }
+
+    PollingMetrics metrics = policy.getMetrics();
+    long startedAt = System.nanoTime();
+    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
       try {
-        JsonNode response = httpClient.getResults(requestId);
-        DetectionResult result = objectMapper.treeToValue(response, DetectionResult.class);
+        DetectionResult result = fetchStatus(requestId);
+        metrics.recordPoll();
 
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        PollState state =
+            new PollState(
+                requestId, attempt, elapsed, result.getMediaType(), fileSize, result.getStatus());
         if (isProcessed(result.getStatus())) {
           logger.info(
               "Detection completed for request ID: {} with status: {}",
               requestId,
               result.getStatus());
-          return result.summarize();
+          policy.onCompleted(state);
+          metrics.recordCompleted(attempt, elapsed);
+          DetectionResult summary = result.summarize();
+          remember(requestId, summary);
+          return summary;
+        }
+
+        if (attempt == maxAttempts) {
+          break;
+        }
+        Duration delay = policy.nextDelay(state);
+        if (timeout != null && elapsed.plus(delay).compareTo(timeout) >= 0) {
+          break;
         }
 
         logger.debug(
             "Detection still processing for request ID: {}, result: {}", requestId, result);
 
-        Thread.sleep(pollingInterval.toMillis());
+        Thread.sleep(delay.toMillis());
 
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
         throw new RealityDefenderException("Polling interrupted", "INTERRUPTED", e);
       } catch (Exception e) {
         if (e instanceof RealityDefenderException) {
-          throw e;
+          throw (RealityDefenderException) e;
         }
         throw new RealityDefenderException("Failed to get results", "RESULTS_FAILED", e);
       }
     }
 
+    metrics.recordTimeout();
     throw new RealityDefenderException("Timeout waiting for results", "TIMEOUT");
   }
 
+  /** Blocks until a result future completes, cancelling it if the caller is interrupted. */
+  private static DetectionResult await(CompletableFuture<DetectionResult> future)
+      throws RealityDefenderException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RealityDefenderException("Polling interrupted", "INTERRUPTED", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RealityDefenderException) {
+        throw (RealityDefenderException) e.getCause();
+      }
+      throw new RealityDefenderException("Failed to get results", "RESULTS_FAILED", e.getCause());
+    }
+  }
+
   /**
-   * Gets the detection result for a request ID asynchronously.
+   * Gets the detection result for a request ID asynchronously. No thread is held while waiting:
+   * status checks are sent from the polling scheduler and completed on the HTTP dispatcher.
    *
    * @param requestId the request ID from upload
    * @return a CompletableFuture containing the detection result
    */
   public CompletableFuture<DetectionResult> getResultAsync(String requestId) {
-    return getResultAsync(requestId, DEFAULT_POLLING_INTERVAL, this.maxAttempts);
+    logger.info("Getting results asynchronously for request ID: {}", requestId);
+
+    return deliver(pollCached(requestId, pollingPolicy, Integer.MAX_VALUE, timeout));
   }
 
   /**
@@ -231,14 +802,32 @@ public class DetectionService implements Closeable {
    */
   public CompletableFuture<DetectionResult> getResultAsync(
       String requestId, Duration pollingInterval, Integer maxAttempts) {
-    return CompletableFuture.supplyAsync(
-        () -> {
-          try {
-            return getResult(requestId, pollingInterval, maxAttempts);
-          } catch (RealityDefenderException | JsonProcessingException e) {
-            throw new RuntimeException(e);
-          }
-        });
+    logger.info("Getting results asynchronously for request ID: {}", requestId);
+
+    return deliver(pollCached(requestId, PollingPolicy.fixed(pollingInterval), maxAttempts, null));
+  }
+
+  /**
+   * Resumes polling the requests that the result store recorded as uploaded but not finished,
+   * typically after a restart. Finished requests are not polled again: their results are served
+   * from the store. The polls share the status poller, so resuming many requests at once stays
+   * within the configured status poll concurrency.
+   *
+   * @return a future per pending request ID, in upload order; empty if there is no result store
+   */
+  public Map<String, CompletableFuture<DetectionResult>> resumePending() {
+    if (resultStore == null) {
+      return Collections.emptyMap();
+    }
+    List<String> pending = resultStore.getPendingRequestIds();
+    logger.info("Resuming polling for {} pending requests", pending.size());
+
+    Map<String, CompletableFuture<DetectionResult>> results = new LinkedHashMap<>();
+    for (String requestId : pending) {
+      results.put(
+          requestId, deliver(pollCached(requestId, pollingPolicy, Integer.MAX_VALUE, timeout)));
+    }
+    return results;
   }
 
   /**
@@ -251,7 +840,8 @@ public class DetectionService implements Closeable {
   public DetectionResult detectFile(File file)
       throws RealityDefenderException, JsonProcessingException {
     UploadResponse uploadResponse = upload(file);
-    return getResult(uploadResponse.getRequestId());
+    return pollUntilProcessed(
+        uploadResponse.getRequestId(), pollingPolicy, file.length(), Integer.MAX_VALUE, timeout);
   }
 
   /**
@@ -261,11 +851,142 @@ public class DetectionService implements Closeable {
    * @return a CompletableFuture containing the detection result
    */
   public CompletableFuture<DetectionResult> detectFileAsync(File file) {
-    return uploadAsync(file)
-        .thenCompose(
-            uploadResponse ->
-                getResultAsync(
-                    uploadResponse.getRequestId(), DEFAULT_POLLING_INTERVAL, this.maxAttempts));
+    logger.info("Uploading file asynchronously: {}", file.getName());
+
+    return deliver(
+        uploadOnceAsync(UploadSource.of(file), () -> httpClient.uploadFileAsync(file))
+            .thenCompose(
+                uploadResponse ->
+                    cacheResult(
+                        uploadResponse.getRequestId(),
+                        statusPoller.poll(
+                            uploadResponse.getRequestId(),
+                            pollingPolicy,
+                            file.length(),
+                            Integer.MAX_VALUE,
+                            timeout,
+                            null))));
+  }
+
+  /**
+   * Detects a batch of files with the default limits.
+   *
+   * @param paths the files to analyze
+   * @return the running batch, yielding outcomes in completion order
+   */
+  public BatchDetection detectFiles(Collection<Path> paths) {
+    return detectFiles(paths, null);
+  }
+
+  /**
+   * Detects a batch of files, uploading and polling them with bounded parallelism.
+   *
+   * <p>No thread is blocked while files are in flight: uploads run on the HTTP dispatcher, waits
+   * between polls are scheduled on the polling scheduler, and the configured limits only decide
+   * when queued work starts. Each file's outcome is delivered as soon as it is known, and a failed
+   * file does not affect the others.
+   *
+   * @param paths the files to analyze
+   * @param options limits and polling settings, or null for the defaults
+   * @return the running batch, yielding outcomes in completion order
+   */
+  public BatchDetection detectFiles(Collection<Path> paths, BatchDetectionOptions options) {
+    logger.info("Detecting batch of {} files", paths.size());
+
+    BatchDetection batch = new BatchDetection(paths.size());
+    Function<Path, CompletableFuture<DetectionResult>> detector =
+        newBatchDetector(options, batch.scope());
+    for (Path path : paths) {
+      batch.track(path, detector.apply(path));
+    }
+    return batch;
+  }
+
+  /**
+   * Publishes the outcomes of a batch of detections with the default limits.
+   *
+   * @param paths the files to analyze
+   * @return a publisher of outcomes in completion order
+   */
+  public Flow.Publisher<DetectionOutcome> publishDetections(Collection<Path> paths) {
+    return publishDetections(paths, null);
+  }
+
+  /**
+   * Publishes the outcomes of a batch of detections, in completion order, to a backpressured
+   * subscriber such as a Reactor pipeline.
+   *
+   * <p>A file is only uploaded once the subscriber has requested its outcome, on top of the
+   * configured upload and poll limits, so a slow subscriber throttles the batch instead of
+   * buffering outcomes. Each subscription runs the batch again; cancelling it cancels the files in
+   * flight. A failed file is published as a failed outcome and does not end the stream.
+   *
+   * @param paths the files to analyze
+   * @param options limits and polling settings, or null for the defaults
+   * @return a publisher of outcomes in completion order
+   */
+  public Flow.Publisher<DetectionOutcome> publishDetections(
+      Collection<Path> paths, BatchDetectionOptions options) {
+    return new BatchPublisher(
+        paths,
+        scope -> {
+          Function<Path, CompletableFuture<DetectionResult>> detector =
+              newBatchDetector(options, scope);
+          return path -> deliver(detector.apply(path));
+        });
+  }
+
+  /**
+   * Creates the function that detects one file of a batch, sharing upload and poll limits across
+   * the batch and registering every stage in a scope so that closing the scope cancels it.
+   */
+  private Function<Path, CompletableFuture<DetectionResult>> newBatchDetector(
+      BatchDetectionOptions options, CancellationScope scope) {
+    if (options == null) {
+      options = BatchDetectionOptions.builder().build();
+    }
+    AsyncLimiter uploads =
+        new AsyncLimiter(
+            options.getMaxConcurrentUploads() != null
+                ? options.getMaxConcurrentUploads()
+                : DEFAULT_BATCH_UPLOADS);
+    AsyncLimiter polls =
+        new AsyncLimiter(
+            options.getMaxConcurrentPolls() != null
+                ? options.getMaxConcurrentPolls()
+                : DEFAULT_BATCH_POLLS);
+    PollingPolicy policy =
+        options.getPollingInterval() != null
+            ? PollingPolicy.fixed(options.getPollingInterval())
+            : pollingPolicy;
+    int attempts = options.getMaxAttempts() != null ? options.getMaxAttempts() : Integer.MAX_VALUE;
+    Duration waitLimit = options.getMaxAttempts() != null ? null : timeout;
+
+    return path ->
+        scope
+            .register(
+                uploads.submit(
+                    () -> {
+                      if (scope.isClosed()) {
+                        return CompletableFuture.failedFuture(
+                            new RealityDefenderException("Detection cancelled", "CANCELLED"));
+                      }
+                      UploadSource source = UploadSource.of(path);
+                      return uploadOnceAsync(
+                          source, () -> scope.register(httpClient.uploadAsync(source, null)));
+                    }))
+            .thenCompose(
+                upload ->
+                    scope.register(
+                        cacheResult(
+                            upload.getRequestId(),
+                            statusPoller.poll(
+                                upload.getRequestId(),
+                                policy,
+                                path.toFile().length(),
+                                attempts,
+                                waitLimit,
+                                polls))));
   }
 
   /**
@@ -283,53 +1004,39 @@ public class DetectionService implements Closeable {
       Duration timeout,
       Consumer<DetectionResult> onResult,
       Consumer<RealityDefenderException> onError) {
+    pollForResults(requestId, PollingPolicy.fixed(pollingInterval), timeout, onResult, onError);
+  }
 
-    logger.info("Starting polling for request ID: {}", requestId);
-
-    final long startTime = System.currentTimeMillis();
-    final long timeoutMillis = timeout.toMillis();
-
-    Runnable pollTask =
-        new Runnable() {
-          @Override
-          public void run() {
-            try {
-              if (System.currentTimeMillis() - startTime >= timeoutMillis) {
-                onError.accept(
-                    new RealityDefenderException("Timeout waiting for results", "TIMEOUT"));
-                return;
-              }
+  /**
+   * Polls for results with callbacks, spacing status checks with a polling policy.
+   *
+   * @param requestId the request ID to poll for
+   * @param policy decides the delay between status checks
+   * @param timeout the maximum time to wait
+   * @param onResult callback for when results are available
+   * @param onError callback for when an error occurs
+   */
+  public void pollForResults(
+      String requestId,
+      PollingPolicy policy,
+      Duration timeout,
+      Consumer<DetectionResult> onResult,
+      Consumer<RealityDefenderException> onError) {
 
-              JsonNode response = httpClient.getResults(requestId);
-              DetectionResult result = objectMapper.treeToValue(response, DetectionResult.class);
+    logger.info("Starting polling for request ID: {}", requestId);
 
-              if (isProcessed(result.getStatus())) {
-                logger.info(
-                    "Polling completed for request ID: {} with status: {}",
-                    requestId,
-                    result.getStatus());
-                onResult.accept(result.summarize());
+    deliver(pollCached(requestId, policy, Integer.MAX_VALUE, timeout))
+        .whenComplete(
+            (result, error) -> {
+              if (error == null) {
+                onResult.accept(result);
+              } else if (error instanceof RealityDefenderException) {
+                onError.accept((RealityDefenderException) error);
               } else {
-                logger.debug(
-                    "Still processing for request ID: {}, status: {}",
-                    requestId,
-                    result.getStatus());
-                // Schedule next poll
-                scheduler.schedule(this, pollingInterval.toMillis(), TimeUnit.MILLISECONDS);
+                onError.accept(
+                    new RealityDefenderException("Polling failed", "POLLING_ERROR", error));
               }
-
-            } catch (Exception e) {
-              RealityDefenderException rde =
-                  (e instanceof RealityDefenderException)
-                      ? (RealityDefenderException) e
-                      : new RealityDefenderException("Polling failed", "POLLING_ERROR", e);
-              onError.accept(rde);
-            }
-          }
-        };
-
-    // Start polling immediately
-    scheduler.execute(pollTask);
+            });
   }
 
   /**
@@ -342,12 +1049,36 @@ public class DetectionService implements Closeable {
    */
   public CompletableFuture<DetectionResult> pollForResultsAsync(
       String requestId, Duration pollingInterval, Duration timeout) {
-    CompletableFuture<DetectionResult> future = new CompletableFuture<>();
+    return pollForResultsAsync(requestId, PollingPolicy.fixed(pollingInterval), timeout);
+  }
 
-    pollForResults(
-        requestId, pollingInterval, timeout, future::complete, future::completeExceptionally);
+  /**
+   * Polls for results asynchronously, spacing status checks with a polling policy.
+   *
+   * @param requestId the request ID to poll for
+   * @param policy decides the delay between status checks
+   * @param timeout the maximum time to wait
+   * @return a CompletableFuture that completes when results are available
+   */
+  public CompletableFuture<DetectionResult> pollForResultsAsync(
+      String requestId, PollingPolicy policy, Duration timeout) {
+    logger.info("Starting polling for request ID: {}", requestId);
 
-    return future;
+    return deliver(pollCached(requestId, policy, Integer.MAX_VALUE, timeout));
+  }
+
+  /**
+   * Answers a request from the result cache or store, or polls it on the shared status poller and
+   * caches the terminal result.
+   */
+  private CompletableFuture<DetectionResult> pollCached(
+      String requestId, PollingPolicy policy, int maxAttempts, Duration timeout) {
+    DetectionResult cached = cachedResult(requestId);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return cacheResult(
+        requestId, statusPoller.poll(requestId, policy, -1, maxAttempts, timeout, null));
   }
 
   /**
@@ -361,10 +1092,14 @@ public class DetectionService implements Closeable {
       throws RealityDefenderException, JsonProcessingException {
     logger.debug("Checking status for request ID: {}", requestId);
 
+    DetectionResult cached = cachedResult(requestId);
+    if (cached != null) {
+      return cached;
+    }
     try {
-      JsonNode response = httpClient.getResults(requestId);
-      DetectionResult result = objectMapper.treeToValue(response, DetectionResult.class);
-      return result.summarize();
+      DetectionResult result = fetchStatus(requestId).summarize();
+      remember(requestId, result);
+      return result;
     } catch (Exception e) {
       if (e instanceof RealityDefenderException) {
         throw e;
@@ -380,14 +1115,123 @@ public class DetectionService implements Closeable {
    * @return a CompletableFuture containing the current detection result
    */
   public CompletableFuture<DetectionResult> checkStatusAsync(String requestId) {
-    return CompletableFuture.supplyAsync(
-        () -> {
-          try {
-            return checkStatus(requestId);
-          } catch (RealityDefenderException | JsonProcessingException e) {
-            throw new RuntimeException(e);
-          }
-        });
+    logger.debug("Checking status asynchronously for request ID: {}", requestId);
+
+    DetectionResult cached = cachedResult(requestId);
+    if (cached != null) {
+      return deliver(CompletableFuture.completedFuture(cached));
+    }
+    return deliver(
+        cacheResult(requestId, fetchStatusAsync(requestId).thenApply(DetectionResult::summarize)));
+  }
+
+  /**
+   * Gets the raw status of a request, sharing the request with concurrent status checks and polls
+   * of the same ID.
+   */
+  private DetectionResult fetchStatus(String requestId) throws RealityDefenderException {
+    return statusRequests.join(requestId, () -> httpClient.getDetectionResult(requestId));
+  }
+
+  /** Gets the raw status of a request asynchronously, sharing it like {@link #fetchStatus}. */
+  private CompletableFuture<DetectionResult> fetchStatusAsync(String requestId) {
+    return statusRequests.submit(requestId, () -> httpClient.getDetectionResultAsync(requestId));
+  }
+
+  /**
+   * Looks a request up in the result cache, then in the result store, warming the cache with a
+   * stored result.
+   */
+  private DetectionResult cachedResult(String requestId) {
+    DetectionResult result = resultCache != null ? resultCache.get(requestId) : null;
+    if (result == null && resultStore != null) {
+      try {
+        result = resultStore.get(requestId);
+      } catch (IOException e) {
+        logger.warn("Failed to read stored result for request ID: {}", requestId, e);
+      }
+      if (result != null && resultCache != null) {
+        resultCache.put(requestId, result);
+      }
+    }
+    return result;
+  }
+
+  /** Caches and stores the result of a future once it completes, if it is terminal. */
+  private CompletableFuture<DetectionResult> cacheResult(
+      String requestId, CompletableFuture<DetectionResult> future) {
+    if (resultCache != null || resultStore != null) {
+      future.thenAccept(result -> remember(requestId, result));
+    }
+    return future;
+  }
+
+  /** Caches and stores a result if it is terminal. */
+  private void remember(String requestId, DetectionResult result) {
+    if (!isProcessed(result.getStatus())) {
+      return;
+    }
+    if (resultCache != null) {
+      resultCache.put(requestId, result);
+    }
+    if (resultStore != null) {
+      try {
+        resultStore.putResult(requestId, result);
+      } catch (IOException e) {
+        logger.warn("Failed to store result for request ID: {}", requestId, e);
+      }
+    }
+  }
+
+  /**
+   * Records an upload in the result store, if there is one. A failure to record is logged rather
+   * than failing the upload, which has already happened.
+   */
+  private void storeUpload(String requestId, String fileName) {
+    if (resultStore != null) {
+      try {
+        resultStore.putUpload(requestId, fileName);
+      } catch (IOException e) {
+        logger.warn("Failed to store upload for request ID: {}", requestId, e);
+      }
+    }
+  }
+
+  /**
+   * Drops a request from the result cache and store, for example once feedback changes its record.
+   */
+  private void invalidateCachedResult(String requestId) {
+    if (requestId == null) {
+      return;
+    }
+    if (resultCache != null) {
+      resultCache.invalidate(requestId);
+    }
+    if (resultStore != null) {
+      try {
+        resultStore.invalidate(requestId);
+      } catch (IOException e) {
+        logger.warn("Failed to invalidate stored result for request ID: {}", requestId, e);
+      }
+    }
+  }
+
+  /**
+   * Binds a JSON response to a model class inside a future continuation.
+   *
+   * @param response the JSON response
+   * @param type the model class
+   * @param message message used when binding fails
+   * @param code error code used when binding fails
+   * @return the bound model
+   * @throws CompletionException wrapping a {@link RealityDefenderException} if binding fails
+   */
+  private <T> T convert(JsonNode response, Class<T> type, String message, String code) {
+    try {
+      return objectMapper.treeToValue(response, type);
+    } catch (Exception e) {
+      throw new CompletionException(new RealityDefenderException(message, code, e));
+    }
   }
 
   /**
@@ -431,10 +1275,8 @@ public class DetectionService implements Closeable {
 
     for (int attempt = 0; attempt < maxAttempts; attempt++) {
       try {
-        JsonNode response = httpClient.getResults(pageNumber, size, name, startDate, endDate);
-        logger.debug("HTTP response received successfully, parsing to DetectionResultList...");
         DetectionResultList resultList =
-            objectMapper.treeToValue(response, DetectionResultList.class);
+            httpClient.getDetectionResultList(pageNumber, size, name, startDate, endDate);
         logger.debug(
             "DetectionResultList parsed successfully: {} items",
             resultList.getCurrentPageItemsCount());
@@ -474,20 +1316,272 @@ public class DetectionService implements Closeable {
   }
 
   /**
-   * Gets paginated detection results with optional filters asynchronously.
+   * Gets paginated detection results with optional filters asynchronously. No thread is held while
+   * waiting: pages are fetched on the HTTP dispatcher and retries, when polling is enabled, are
+   * scheduled on the polling scheduler.
    *
    * @param options options for filtering and pagination
    * @return a CompletableFuture containing paginated list of detection results
    */
   public CompletableFuture<DetectionResultList> getResultsAsync(GetResultsOptions options) {
-    return CompletableFuture.supplyAsync(
-        () -> {
+    GetResultsOptions resolved = options != null ? options : GetResultsOptions.builder().build();
+    int pageNumber = resolved.getPageNumber() != null ? resolved.getPageNumber() : 0;
+    int maxAttempts = resolved.getMaxAttempts() != null ? resolved.getMaxAttempts() : 1;
+    Duration pollingInterval =
+        resolved.getPollingInterval() != null
+            ? resolved.getPollingInterval()
+            : Duration.ofSeconds(2);
+
+    logger.info("Getting paginated results asynchronously for page: {}", pageNumber);
+
+    CompletableFuture<DetectionResultList> result = new CompletableFuture<>();
+    fetchResultsPage(resolved, pageNumber, maxAttempts, pollingInterval, 1, result);
+    return deliver(result);
+  }
+
+  /**
+   * Publishes every detection result matching the filters, walking the paginated results list from
+   * the requested page to the last one.
+   *
+   * <p>Pages are fetched on demand: the next page is requested only once the subscriber has asked
+   * for more results than the pages fetched so far hold, so at most one page is buffered. Polling
+   * options are ignored; each page is fetched once. A failed page ends the stream with its error.
+   *
+   * @param options filters and the first page, or null for every result
+   * @return a publisher of summarized detection results in list order
+   */
+  public Flow.Publisher<DetectionResult> publishResults(GetResultsOptions options) {
+    GetResultsOptions resolved = options != null ? options : GetResultsOptions.builder().build();
+    int firstPage = resolved.getPageNumber() != null ? resolved.getPageNumber() : 0;
+
+    IntFunction<CompletableFuture<DetectionResultList>> fetchPage = newPageFetcher(resolved);
+    return new ResultsPublisher(firstPage, pageNumber -> deliver(fetchPage.apply(pageNumber)));
+  }
+
+  /**
+   * Streams every detection result matching the filters, fetching pages lazily with the default
+   * prefetch depth.
+   *
+   * @param options filters and the first page, or null for every result
+   * @return a lazy stream of summarized detection results in list order
+   */
+  public Stream<DetectionResult> streamResults(GetResultsOptions options) {
+    return streamResults(options, DEFAULT_PREFETCH_PAGES);
+  }
+
+  /**
+   * Streams every detection result matching the filters, walking the paginated results list from
+   * the requested page to the last one.
+   *
+   * <p>Pages are fetched lazily, with the next {@code prefetchPages} pages kept in flight while the
+   * current one is consumed, so long walks are bound by bandwidth rather than round-trips. Short-
+   * circuiting operations stop fetching, and closing the stream cancels the pages still in flight.
+   * A parallel stream splits the walk into page ranges. Polling options are ignored; each page is
+   * fetched once. A failed page throws a {@link CompletionException} wrapping a {@link
+   * RealityDefenderException} from the terminal operation.
+   *
+   * @param options filters and the first page, or null for every result
+   * @param prefetchPages the number of pages kept in flight, at least 1
+   * @return a lazy stream of summarized detection results in list order
+   */
+  public Stream<DetectionResult> streamResults(GetResultsOptions options, int prefetchPages) {
+    GetResultsOptions resolved = options != null ? options : GetResultsOptions.builder().build();
+    int firstPage = resolved.getPageNumber() != null ? resolved.getPageNumber() : 0;
+    CancellationScope scope = new CancellationScope();
+
+    logger.info("Streaming results from page: {}", firstPage);
+
+    return StreamSupport.stream(
+            new ResultsSpliterator(newPageFetcher(resolved), firstPage, prefetchPages, scope),
+            false)
+        .onClose(scope::close);
+  }
+
+  /**
+   * Exports every result of a date range to a sink, blocking until the export completes.
+   *
+   * @param options the date range, filters and request budget
+   * @param sink receives the results as they are fetched
+   * @return the export totals
+   * @throws RealityDefenderException if a page cannot be fetched or the sink fails
+   */
+  public ExportSummary exportResults(ExportOptions options, ResultSink sink)
+      throws RealityDefenderException {
+    CompletableFuture<ExportSummary> export = exportResultsAsync(options, sink);
+    try {
+      return export.get();
+    } catch (InterruptedException e) {
+      export.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RealityDefenderException("Export interrupted", "INTERRUPTED", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RealityDefenderException) {
+        throw (RealityDefenderException) e.getCause();
+      }
+      throw new RealityDefenderException("Failed to export results", "EXPORT_FAILED", e.getCause());
+    }
+  }
+
+  /**
+   * Exports every result of a date range to a sink, splitting the range into shards of {@link
+   * ExportOptions#getShardDays()} days that are walked concurrently.
+   *
+   * <p>Each shard is a short paginated walk, so results added while the export runs shift far fewer
+   * pages than in a single walk over the whole range. Page requests across all shards share the
+   * {@link ExportOptions#getMaxConcurrentRequests() request budget}. Results are written to the
+   * sink as pages arrive rather than collected, and results whose request ID was already written
+   * are skipped. The first failed page or sink write fails the export and cancels the rest.
+   *
+   * @param options the date range, filters and request budget
+   * @param sink receives the results as they are fetched
+   * @return a future completed with the export totals; cancelling it stops the export
+   */
+  public CompletableFuture<ExportSummary> exportResultsAsync(
+      ExportOptions options, ResultSink sink) {
+    int shardDays = options.getShardDays() != null ? options.getShardDays() : 1;
+    int maxRequests =
+        options.getMaxConcurrentRequests() != null
+            ? options.getMaxConcurrentRequests()
+            : DEFAULT_EXPORT_REQUESTS;
+
+    List<IntFunction<CompletableFuture<DetectionResultList>>> shards = new ArrayList<>();
+    for (LocalDate from = options.getStartDate();
+        !from.isAfter(options.getEndDate());
+        from = from.plusDays(shardDays)) {
+      LocalDate to = from.plusDays(shardDays - 1L);
+      GetResultsOptions.Builder shard =
+          GetResultsOptions.builder()
+              .name(options.getName())
+              .startDate(from)
+              .endDate(to.isAfter(options.getEndDate()) ? options.getEndDate() : to);
+      if (options.getPageSize() != null) {
+        shard.size(options.getPageSize());
+      }
+      shards.add(newPageFetcher(shard.build()));
+    }
+
+    logger.info(
+        "Exporting results from {} to {} in {} shards",
+        options.getStartDate(),
+        options.getEndDate(),
+        shards.size());
+
+    return deliver(new ResultsExport(shards, maxRequests, sink).start());
+  }
+
+  /** Creates the function that fetches one summarized page of results matching the filters. */
+  private IntFunction<CompletableFuture<DetectionResultList>> newPageFetcher(
+      GetResultsOptions options) {
+    return pageNumber -> {
+      logger.debug("Fetching results page: {}", pageNumber);
+      return httpClient
+          .getDetectionResultListAsync(
+              pageNumber,
+              options.getSize(),
+              options.getName(),
+              options.getStartDate(),
+              options.getEndDate())
+          .thenApply(DetectionResultList::summarize);
+    };
+  }
+
+  private void fetchResultsPage(
+      GetResultsOptions options,
+      int pageNumber,
+      int maxAttempts,
+      Duration pollingInterval,
+      int attempt,
+      CompletableFuture<DetectionResultList> result) {
+    if (result.isDone()) {
+      return;
+    }
+    httpClient
+        .getDetectionResultListAsync(
+            pageNumber,
+            options.getSize(),
+            options.getName(),
+            options.getStartDate(),
+            options.getEndDate())
+        .whenComplete(
+            (resultList, error) -> {
+              if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                result.completeExceptionally(
+                    cause instanceof RealityDefenderException
+                        ? cause
+                        : new RealityDefenderException(
+                            "Failed to get results", "RESULTS_FAILED", cause));
+                return;
+              }
+              try {
+                if (maxAttempts <= 1
+                    || resultList.getItems().stream()
+                        .noneMatch(item -> isAnalyzing(item.getStatus()))) {
+                  result.complete(resultList.summarize());
+                } else if (attempt < maxAttempts) {
+                  logger.debug(
+                      "Some results still analyzing, retrying in {} ms",
+                      pollingInterval.toMillis());
+                  try {
+                    scheduler.schedule(
+                        () ->
+                            fetchResultsPage(
+                                options,
+                                pageNumber,
+                                maxAttempts,
+                                pollingInterval,
+                                attempt + 1,
+                                result),
+                        pollingInterval.toMillis(),
+                        TimeUnit.MILLISECONDS);
+                  } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(
+                        new RealityDefenderException("Client closed", "CLIENT_CLOSED", e));
+                  }
+                } else {
+                  result.completeExceptionally(
+                      new RealityDefenderException("Timeout waiting for results", "TIMEOUT"));
+                }
+              } catch (RuntimeException e) {
+                result.completeExceptionally(
+                    new RealityDefenderException("Failed to get results", "RESULTS_FAILED", e));
+              }
+            });
+  }
+
+  /**
+   * Hands the completion of a future to the configured executor, so that callbacks attached by the
+   * caller run there rather than on SDK threads. Without an executor the future is returned as is.
+   * Cancelling the returned future cancels the original one.
+   */
+  private <T> CompletableFuture<T> deliver(CompletableFuture<T> future) {
+    if (executor == null) {
+      return future;
+    }
+    CompletableFuture<T> delivered = new CompletableFuture<>();
+    future.whenComplete(
+        (value, error) -> {
+          Runnable complete =
+              () -> {
+                if (error != null) {
+                  delivered.completeExceptionally(error);
+                } else {
+                  delivered.complete(value);
+                }
+              };
           try {
-            return getResults(options);
-          } catch (RealityDefenderException | JsonProcessingException e) {
-            throw new RuntimeException(e);
+            executor.execute(complete);
+          } catch (RejectedExecutionException e) {
+            complete.run();
+          }
+        });
+    delivered.whenComplete(
+        (value, error) -> {
+          if (delivered.isCancelled()) {
+            future.cancel(true);
           }
         });
+    return delivered;
   }
 
   /**
@@ -500,10 +1594,14 @@ public class DetectionService implements Closeable {
     return STATUS_ANALYZING.equalsIgnoreCase(status) || STATUS_DOWNLOADING.equalsIgnoreCase(status);
   }
 
-  /** Shuts down the internal scheduler. */
+  /**
+   * Fails every asynchronous wait still pending with code {@code CLIENT_CLOSED}, and shuts down the
+   * internal scheduler unless it belongs to a shared runtime.
+   */
   @Override
   public void close() {
-    if (scheduler != null && !scheduler.isShutdown()) {
+    statusPoller.close();
+    if (ownsScheduler && scheduler != null && !scheduler.isShutdown()) {
       scheduler.shutdown();
       try {
         if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
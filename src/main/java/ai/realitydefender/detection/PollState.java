@@ -0,0 +1,99 @@
+package ai.realitydefender.detection;
+
+import java.time.Duration;
+
+/** What is known about a pending detection when deciding when to poll it next. */
+public final class PollState {
+
+  private final String requestId;
+  private final int attempts;
+  private final Duration elapsed;
+  private final String mediaType;
+  private final long fileSize;
+  private final String status;
+
+  PollState(
+      String requestId,
+      int attempts,
+      Duration elapsed,
+      String mediaType,
+      long fileSize,
+      String status) {
+    this.requestId = requestId;
+    this.attempts = attempts;
+    this.elapsed = elapsed;
+    this.mediaType = mediaType;
+    this.fileSize = fileSize;
+    this.status = status;
+  }
+
+  public String getRequestId() {
+    return requestId;
+  }
+
+  /**
+   * Gets the number of status checks made so far.
+   *
+   * @return the number of polls, at least 1
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Gets the time since the first status check.
+   *
+   * @return the elapsed time
+   */
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  /**
+   * Gets the media type reported by the last status check.
+   *
+   * @return the media type, such as {@code IMAGE} or {@code VIDEO}, or null if not reported
+   */
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Gets the size of the uploaded file.
+   *
+   * @return the size in bytes, or -1 if unknown
+   */
+  public long getFileSize() {
+    return fileSize;
+  }
+
+  /**
+   * Gets the status reported by the last status check.
+   *
+   * @return the status
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  @Override
+  public String toString() {
+    return "PollState{"
+        + "requestId='"
+        + requestId
+        + '\''
+        + ", attempts="
+        + attempts
+        + ", elapsed="
+        + elapsed
+        + ", mediaType='"
+        + mediaType
+        + '\''
+        + ", fileSize="
+        + fileSize
+        + ", status='"
+        + status
+        + '\''
+        + '}';
+  }
+}
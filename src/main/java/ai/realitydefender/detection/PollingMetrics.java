@@ -0,0 +1,93 @@
+package ai.realitydefender.detection;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counters describing how well a {@link PollingPolicy} is doing. Safe to read at any time. */
+public final class PollingMetrics {
+
+  private final LongAdder polls = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder timedOut = new LongAdder();
+  private final LongAdder pollsToResult = new LongAdder();
+  private final LongAdder nanosToResult = new LongAdder();
+
+  PollingMetrics() {}
+
+  void recordPoll() {
+    polls.increment();
+  }
+
+  void recordCompleted(int attempts, Duration elapsed) {
+    completed.increment();
+    pollsToResult.add(attempts);
+    nanosToResult.add(elapsed.toNanos());
+  }
+
+  void recordTimeout() {
+    timedOut.increment();
+  }
+
+  /**
+   * Gets the number of status checks made.
+   *
+   * @return the number of polls
+   */
+  public long getPolls() {
+    return polls.sum();
+  }
+
+  /**
+   * Gets the number of detections that reached a terminal status.
+   *
+   * @return the number of completed detections
+   */
+  public long getCompleted() {
+    return completed.sum();
+  }
+
+  /**
+   * Gets the number of detections given up on because of the timeout or attempt limit.
+   *
+   * @return the number of timed out detections
+   */
+  public long getTimedOut() {
+    return timedOut.sum();
+  }
+
+  /**
+   * Gets the average number of status checks a completed detection needed.
+   *
+   * @return the average number of polls per result, or 0 if none completed yet
+   */
+  public double getAveragePollsPerResult() {
+    long count = completed.sum();
+    return count == 0 ? 0 : (double) pollsToResult.sum() / count;
+  }
+
+  /**
+   * Gets the average time from the first status check to the result.
+   *
+   * @return the average time to result, or zero if none completed yet
+   */
+  public Duration getAverageTimeToResult() {
+    long count = completed.sum();
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(nanosToResult.sum() / count);
+  }
+
+  @Override
+  public String toString() {
+    return "PollingMetrics{"
+        + "polls="
+        + getPolls()
+        + ", completed="
+        + getCompleted()
+        + ", timedOut="
+        + getTimedOut()
+        + ", averagePollsPerResult="
+        + getAveragePollsPerResult()
+        + ", averageTimeToResult="
+        + getAverageTimeToResult()
+        + '}';
+  }
+}
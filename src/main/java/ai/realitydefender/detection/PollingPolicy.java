@@ -0,0 +1,73 @@
+package ai.realitydefender.detection;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides how long to wait between status checks of a pending detection.
+ *
+ * <p>The first check is made right away; after each check that finds the detection still
+ * processing, {@link #nextDelay(PollState)} gives the wait before the next one. Policies are shared
+ * by every detection of a client and must be thread-safe. Each policy keeps its own {@link
+ * PollingMetrics}, so alternatives can be compared side by side.
+ */
+public abstract class PollingPolicy {
+
+  private final PollingMetrics metrics = new PollingMetrics();
+
+  /**
+   * Returns the delay before the next status check of an unfinished detection.
+   *
+   * @param state the detection's polling state after the last check
+   * @return the delay before the next check
+   */
+  public abstract Duration nextDelay(PollState state);
+
+  /**
+   * Called when a detection reaches a terminal status, so the policy can learn from it. Does
+   * nothing by default.
+   *
+   * @param state the detection's polling state after the final check
+   */
+  public void onCompleted(PollState state) {}
+
+  /**
+   * Gets the metrics of every detection polled with this policy.
+   *
+   * @return the metrics
+   */
+  public final PollingMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Creates a policy that always waits the same interval.
+   *
+   * @param interval the delay between status checks
+   * @return the policy
+   */
+  public static PollingPolicy fixed(Duration interval) {
+    Objects.requireNonNull(interval, "Interval cannot be null");
+    return new PollingPolicy() {
+      @Override
+      public Duration nextDelay(PollState state) {
+        return interval;
+      }
+
+      @Override
+      public String toString() {
+        return "PollingPolicy.fixed(" + interval + ")";
+      }
+    };
+  }
+
+  /**
+   * Creates a builder for a policy that starts fast, backs off with jitter and learns how long each
+   * kind of media takes.
+   *
+   * @return a new builder
+   */
+  public static AdaptivePollingPolicy.Builder adaptive() {
+    return AdaptivePollingPolicy.builder();
+  }
+}
@@ -0,0 +1,247 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.models.DetectionResult;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * An in-process cache of terminal detection results, keyed by request ID.
+ *
+ * <p>Once a detection is processed its summarized result no longer changes, so repeated status
+ * checks and result lookups for the same request can be answered locally. Only terminal results are
+ * stored; pending requests always go to the API. The cache holds at most {@link
+ * Builder#maximumSize(int) maximumSize} results, evicting the least recently used first, and drops
+ * results older than the {@link Builder#ttl(Duration) time to live}.
+ *
+ * <p>A cache belongs to one API key. Results are keyed by request ID alone and served without
+ * asking the API, so a client reading another key's cache would get results it is not authorized to
+ * see. The first client that uses a cache ties it to a SHA-256 hash of its key, and building a
+ * client with any other key against it fails. {@link
+ * ai.realitydefender.RealityDefender#newBuilder()} does not carry it over to a client with a
+ * different key.
+ *
+ * <pre>{@code
+ * ResultCache cache = ResultCache.builder().maximumSize(50_000).ttl(Duration.ofHours(6)).build();
+ * RealityDefender client = RealityDefender.builder().apiKey(apiKey).resultCache(cache).build();
+ * }</pre>
+ */
+public final class ResultCache {
+
+  /** The default maximum number of results kept. */
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  /** The default time a result is kept after it was cached. */
+  public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+  private final int maximumSize;
+  private final long ttlNanos;
+  private final LongSupplier ticker;
+  private final CacheMetrics metrics = new CacheMetrics();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private String keyHash;
+
+  private ResultCache(Builder builder) {
+    this.maximumSize = builder.maximumSize;
+    this.ttlNanos = builder.ttl.toNanos();
+    this.ticker = builder.ticker;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Ties the cache to an API key. A cache that no client has used yet takes this one.
+   *
+   * @param apiKey the API key of the client using the cache
+   * @throws IllegalArgumentException if the cache belongs to another API key
+   */
+  void bind(String apiKey) {
+    String hash = ApiKeyHash.of(apiKey);
+    lock.lock();
+    try {
+      if (keyHash == null) {
+        keyHash = hash;
+      } else if (!keyHash.equals(hash)) {
+        throw new IllegalArgumentException("Result cache belongs to another API key");
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the cached result of a request, counting a hit or a miss.
+   *
+   * @param requestId the request ID
+   * @return the cached result, or null if it is not cached or has expired
+   */
+  public DetectionResult get(String requestId) {
+    DetectionResult result = null;
+    lock.lock();
+    try {
+      Entry entry = entries.get(requestId);
+      if (entry != null) {
+        if (ticker.getAsLong() - entry.expiresAt >= 0) {
+          entries.remove(requestId);
+          metrics.recordEviction();
+        } else {
+          result = entry.result;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (result != null) {
+      metrics.recordHit();
+    } else {
+      metrics.recordMiss();
+    }
+    return result;
+  }
+
+  /** Caches a terminal result, evicting the least recently used results beyond the maximum size. */
+  void put(String requestId, DetectionResult result) {
+    if (requestId == null || result == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      entries.put(requestId, new Entry(result, ticker.getAsLong() + ttlNanos));
+      Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+      while (entries.size() > maximumSize && eldest.hasNext()) {
+        eldest.next();
+        eldest.remove();
+        metrics.recordEviction();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the result of a request, so that the next lookup goes to the API. Called by the client
+   * when feedback is posted for the request.
+   *
+   * @param requestId the request ID
+   */
+  public void invalidate(String requestId) {
+    lock.lock();
+    try {
+      if (entries.remove(requestId) != null) {
+        metrics.recordInvalidations(1);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Removes every cached result. */
+  public void invalidateAll() {
+    lock.lock();
+    try {
+      metrics.recordInvalidations(entries.size());
+      entries.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of results currently cached, including expired ones not yet dropped.
+   *
+   * @return the number of cached results
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the hit, miss and eviction counters of this cache.
+   *
+   * @return the metrics
+   */
+  public CacheMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public String toString() {
+    return "ResultCache{"
+        + "maximumSize="
+        + maximumSize
+        + ", ttl="
+        + Duration.ofNanos(ttlNanos)
+        + ", metrics="
+        + metrics
+        + '}';
+  }
+
+  private static final class Entry {
+    final DetectionResult result;
+    final long expiresAt;
+
+    Entry(DetectionResult result, long expiresAt) {
+      this.result = result;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  public static final class Builder {
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Duration ttl = DEFAULT_TTL;
+    private LongSupplier ticker = System::nanoTime;
+
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of results kept.
+     *
+     * @param maximumSize the maximum size, at least 1
+     * @return this builder
+     */
+    public Builder maximumSize(int maximumSize) {
+      if (maximumSize < 1) {
+        throw new IllegalArgumentException("maximumSize must be at least 1: " + maximumSize);
+      }
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets how long a result is kept after it was cached.
+     *
+     * @param ttl the time to live, positive
+     * @return this builder
+     */
+    public Builder ttl(Duration ttl) {
+      Objects.requireNonNull(ttl, "TTL cannot be null");
+      if (ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalArgumentException("TTL must be positive: " + ttl);
+      }
+      this.ttl = ttl;
+      return this;
+    }
+
+    /** Sets the nanosecond clock, for tests. */
+    Builder ticker(LongSupplier ticker) {
+      this.ticker = ticker;
+      return this;
+    }
+
+    public ResultCache build() {
+      return new ResultCache(this);
+    }
+  }
+}
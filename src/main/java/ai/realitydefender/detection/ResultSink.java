@@ -0,0 +1,63 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.core.RealityDefenderRuntime;
+import ai.realitydefender.models.DetectionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Receives the results of an export one at a time, as they are fetched. Calls are serialized, so
+ * implementations need no locking of their own, but they run on SDK threads and should not block
+ * for long.
+ */
+public interface ResultSink {
+
+  /**
+   * Writes one result.
+   *
+   * @param result the summarized result
+   * @throws IOException if the result cannot be written, which fails the export
+   */
+  void accept(DetectionResult result) throws IOException;
+
+  /**
+   * Flushes buffered results once the export has fetched every page.
+   *
+   * @throws IOException if flushing fails, which fails the export
+   */
+  default void flush() throws IOException {}
+
+  /**
+   * Creates a sink writing one JSON document per line (NDJSON). The writer is flushed at the end of
+   * the export but left open.
+   *
+   * @param writer the writer to append to
+   * @return a new sink
+   */
+  static ResultSink ndjson(Writer writer) {
+    return ndjson(writer, RealityDefenderRuntime.defaultObjectMapper());
+  }
+
+  /**
+   * Creates a sink writing one JSON document per line (NDJSON) with a given mapper.
+   *
+   * @param writer the writer to append to
+   * @param objectMapper the mapper that serializes results
+   * @return a new sink
+   */
+  static ResultSink ndjson(Writer writer, ObjectMapper objectMapper) {
+    return new ResultSink() {
+      @Override
+      public void accept(DetectionResult result) throws IOException {
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.write('\n');
+      }
+
+      @Override
+      public void flush() throws IOException {
+        writer.flush();
+      }
+    };
+  }
+}
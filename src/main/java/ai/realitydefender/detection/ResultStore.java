@@ -0,0 +1,467 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.core.RealityDefenderRuntime;
+import ai.realitydefender.models.DetectionResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A local, append-only store of uploads and their terminal detection results, so that a restarted
+ * client knows which requests are still running and answers finished ones without the API.
+ *
+ * <p>The store is a single file with one JSON record per line. An upload appends the request ID and
+ * file name; a terminal result appends the summarized result. Only an index of request IDs to file
+ * offsets is kept in memory, and results are read back from the file on demand. Records are never
+ * rewritten in place, so a crash loses at most the record being written, which is dropped when the
+ * store is next opened. Superseded records stay in the file until {@link #compact()} rewrites it.
+ *
+ * <p>A store belongs to one API key. The first client that uses it records a SHA-256 hash of its
+ * key in the file, never the key itself, and a client with any other key is refused, so that one
+ * tenant cannot resume or read back the requests of another.
+ *
+ * <pre>{@code
+ * try (ResultStore store = ResultStore.open(Paths.get("detections.log"))) {
+ *   RealityDefender client = RealityDefender.builder().apiKey(apiKey).resultStore(store).build();
+ *   client.resumePending().forEach((requestId, result) -> result.thenAccept(this::handle));
+ * }
+ * }</pre>
+ */
+public final class ResultStore implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResultStore.class);
+
+  private static final String TYPE_UPLOAD = "upload";
+  private static final String TYPE_RESULT = "result";
+  private static final String TYPE_REMOVE = "remove";
+  private static final String TYPE_KEY = "key";
+
+  private final Path file;
+  private final ObjectMapper objectMapper;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+  private FileChannel channel;
+  private long end;
+  private long liveBytes;
+  private String keyHash;
+  private int keyLength;
+
+  private ResultStore(Path file, ObjectMapper objectMapper) {
+    this.file = file;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Opens a store, creating the file if it does not exist and replaying it otherwise. An incomplete
+   * last record, left by a crash, is truncated.
+   *
+   * @param file the store file
+   * @return the open store
+   * @throws IOException if the file cannot be opened or read
+   */
+  public static ResultStore open(Path file) throws IOException {
+    Objects.requireNonNull(file, "File cannot be null");
+    ResultStore store = new ResultStore(file, RealityDefenderRuntime.defaultObjectMapper());
+    store.channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      store.replay();
+    } catch (IOException | RuntimeException e) {
+      store.channel.close();
+      throw e;
+    }
+    return store;
+  }
+
+  /** Rebuilds the index from the file, truncating a torn last record. */
+  private void replay() throws IOException {
+    InputStream in = Channels.newInputStream(channel.position(0));
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    long offset = 0;
+    long position = 0;
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      for (int i = 0; i < read; i++) {
+        line.write(buffer[i]);
+        position++;
+        if (buffer[i] == '\n') {
+          apply(line.toByteArray(), offset);
+          line.reset();
+          offset = position;
+        }
+      }
+    }
+    if (offset < position) {
+      logger.warn("Dropping incomplete record at offset {} of {}", offset, file);
+      channel.truncate(offset);
+    }
+    end = offset;
+    logger.info("Opened result store {} with {} requests", file, entries.size());
+  }
+
+  private void apply(byte[] record, long offset) {
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(record);
+    } catch (IOException e) {
+      logger.warn("Skipping unreadable record at offset {} of {}", offset, file, e);
+      return;
+    }
+    String type = node.path("type").asText();
+    if (TYPE_KEY.equals(type)) {
+      liveBytes += record.length - keyLength;
+      keyHash = node.path("keyHash").asText(null);
+      keyLength = record.length;
+      return;
+    }
+    String requestId = node.path("requestId").asText(null);
+    if (requestId == null) {
+      return;
+    }
+    if (TYPE_REMOVE.equals(type)) {
+      remove(requestId);
+    } else if (TYPE_UPLOAD.equals(type)) {
+      if (!entries.containsKey(requestId)) {
+        index(requestId, node.path("fileName").asText(null), offset, record.length, false);
+      }
+    } else if (TYPE_RESULT.equals(type)) {
+      index(requestId, node.path("fileName").asText(null), offset, record.length, true);
+    }
+  }
+
+  private void index(String requestId, String fileName, long offset, int length, boolean done) {
+    remove(requestId);
+    entries.put(requestId, new Entry(fileName, offset, length, done));
+    liveBytes += length;
+  }
+
+  private void remove(String requestId) {
+    Entry previous = entries.remove(requestId);
+    if (previous != null) {
+      liveBytes -= previous.length;
+    }
+  }
+
+  /**
+   * Ties the store to an API key. A store that has no key yet, new or written before keys were
+   * recorded, takes this one.
+   *
+   * @param apiKey the API key of the client using the store
+   * @throws IllegalArgumentException if the store belongs to another API key
+   * @throws IOException if the key cannot be recorded
+   */
+  void bind(String apiKey) throws IOException {
+    String hash = ApiKeyHash.of(apiKey);
+    lock.lock();
+    try {
+      if (keyHash == null) {
+        keyLength = append(keyRecord(hash));
+        liveBytes += keyLength;
+        keyHash = hash;
+      } else if (!keyHash.equals(hash)) {
+        throw new IllegalArgumentException("Result store " + file + " belongs to another API key");
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the stored result of a finished request.
+   *
+   * @param requestId the request ID
+   * @return the summarized result, or null if the request is unknown or still pending
+   * @throws IOException if the result cannot be read back
+   */
+  public DetectionResult get(String requestId) throws IOException {
+    byte[] record;
+    lock.lock();
+    try {
+      Entry entry = entries.get(requestId);
+      if (entry == null || !entry.done) {
+        return null;
+      }
+      record = read(channel, entry);
+    } finally {
+      lock.unlock();
+    }
+    return objectMapper.treeToValue(
+        objectMapper.readTree(record).get(TYPE_RESULT), DetectionResult.class);
+  }
+
+  /**
+   * Gets the name of the file uploaded for a request.
+   *
+   * @param requestId the request ID
+   * @return the file name, or null if the request is unknown or was not uploaded by this client
+   */
+  public String getFileName(String requestId) {
+    lock.lock();
+    try {
+      Entry entry = entries.get(requestId);
+      return entry != null ? entry.fileName : null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the requests that were uploaded but have no terminal result yet, oldest first.
+   *
+   * @return the pending request IDs
+   */
+  public List<String> getPendingRequestIds() {
+    lock.lock();
+    try {
+      List<String> pending = new ArrayList<>();
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        if (!entry.getValue().done) {
+          pending.add(entry.getKey());
+        }
+      }
+      return pending;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Records an upload, unless the request is already known. */
+  void putUpload(String requestId, String fileName) throws IOException {
+    if (requestId == null) {
+      return;
+    }
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put("type", TYPE_UPLOAD).put("requestId", requestId).put("fileName", fileName);
+    lock.lock();
+    try {
+      if (!entries.containsKey(requestId)) {
+        long offset = end;
+        int length = append(node);
+        index(requestId, fileName, offset, length, false);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Records the terminal result of a request, replacing any earlier one. */
+  void putResult(String requestId, DetectionResult result) throws IOException {
+    if (requestId == null || result == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      Entry previous = entries.get(requestId);
+      String fileName = previous != null ? previous.fileName : null;
+      ObjectNode node = objectMapper.createObjectNode();
+      node.put("type", TYPE_RESULT).put("requestId", requestId).put("fileName", fileName);
+      node.set(TYPE_RESULT, objectMapper.valueToTree(result));
+      long offset = end;
+      int length = append(node);
+      index(requestId, fileName, offset, length, true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Forgets a request, so that the next lookup goes to the API. Called by the client when feedback
+   * is posted for the request.
+   *
+   * @param requestId the request ID
+   * @throws IOException if the removal cannot be recorded
+   */
+  public void invalidate(String requestId) throws IOException {
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put("type", TYPE_REMOVE).put("requestId", requestId);
+    lock.lock();
+    try {
+      if (entries.containsKey(requestId)) {
+        append(node);
+        remove(requestId);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Appends one record and returns its length. Must hold the lock. */
+  private int append(ObjectNode node) throws IOException {
+    ByteBuffer record = encode(node);
+    int length = record.remaining();
+    long position = end;
+    while (record.hasRemaining()) {
+      position += channel.write(record, position);
+    }
+    end = position;
+    return length;
+  }
+
+  private ByteBuffer encode(ObjectNode node) throws IOException {
+    byte[] json = objectMapper.writeValueAsBytes(node);
+    ByteBuffer record = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n');
+    record.flip();
+    return record;
+  }
+
+  private ObjectNode keyRecord(String hash) {
+    ObjectNode node = objectMapper.createObjectNode();
+    return node.put("type", TYPE_KEY).put("keyHash", hash);
+  }
+
+  private static byte[] read(FileChannel channel, Entry entry) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(entry.length);
+    long position = entry.offset;
+    while (record.hasRemaining()) {
+      int read = channel.read(record, position);
+      if (read < 0) {
+        throw new IOException("Record truncated at offset " + entry.offset);
+      }
+      position += read;
+    }
+    return record.array();
+  }
+
+  /**
+   * Gets the number of requests known to the store, pending or finished.
+   *
+   * @return the number of requests
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of bytes held by superseded records, which {@link #compact()} would free.
+   *
+   * @return the reclaimable bytes
+   */
+  public long getReclaimableBytes() {
+    lock.lock();
+    try {
+      return end - liveBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Rewrites the file with the API key record and only the latest record of each request. The new
+   * file is written next to the old one and moved over it atomically, so the store stays intact if
+   * compaction fails. Lookups and writes wait while the store is compacted.
+   *
+   * @throws IOException if the file cannot be rewritten
+   */
+  public void compact() throws IOException {
+    Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+    lock.lock();
+    try {
+      long before = end;
+      List<Entry> moved = new ArrayList<>(entries.size());
+      long position = 0;
+      try (FileChannel out =
+          FileChannel.open(
+              compacted,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        if (keyHash != null) {
+          ByteBuffer record = encode(keyRecord(keyHash));
+          while (record.hasRemaining()) {
+            position += out.write(record, position);
+          }
+        }
+        for (Entry entry : entries.values()) {
+          ByteBuffer record = ByteBuffer.wrap(read(channel, entry));
+          moved.add(new Entry(entry.fileName, position, entry.length, entry.done));
+          while (record.hasRemaining()) {
+            position += out.write(record, position);
+          }
+        }
+        out.force(true);
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(compacted);
+        throw e;
+      }
+      channel.close();
+      try {
+        Files.move(
+            compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      }
+      int i = 0;
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        entry.setValue(moved.get(i++));
+      }
+      end = position;
+      liveBytes = position;
+      logger.info("Compacted result store {} from {} to {} bytes", file, before, end);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Flushes the file to disk and closes it.
+   *
+   * @throws IOException if the file cannot be flushed or closed
+   */
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      if (channel.isOpen()) {
+        channel.force(true);
+        channel.close();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ResultStore{" + "file=" + file + ", requests=" + size() + '}';
+  }
+
+  private static final class Entry {
+    final String fileName;
+    final long offset;
+    final int length;
+    final boolean done;
+
+    Entry(String fileName, long offset, int length, boolean done) {
+      this.fileName = fileName;
+      this.offset = offset;
+      this.length = length;
+      this.done = done;
+    }
+  }
+}
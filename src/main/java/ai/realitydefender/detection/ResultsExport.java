@@ -0,0 +1,160 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import ai.realitydefender.models.ExportSummary;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports the results of several shards of the results list concurrently. Each shard is walked from
+ * its first page, which tells how many pages follow; the remaining pages are then requested
+ * together. All page requests share one limiter, so the export never has more than the budget in
+ * flight however many shards there are.
+ *
+ * <p>Results are handed to the sink as pages arrive, never collected, and a result whose request ID
+ * was already written is skipped: pages and shards can overlap when results are added during the
+ * export or fall on a shard boundary.
+ */
+final class ResultsExport {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResultsExport.class);
+
+  private final List<IntFunction<CompletableFuture<DetectionResultList>>> shards;
+  private final AsyncLimiter requests;
+  private final ResultSink sink;
+  private final CancellationScope scope = new CancellationScope();
+  private final CompletableFuture<ExportSummary> result = new CompletableFuture<>();
+  private final Set<String> seen = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock sinkLock = new ReentrantLock();
+  private final AtomicInteger outstanding = new AtomicInteger();
+  private final AtomicInteger pages = new AtomicInteger();
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong duplicates = new AtomicLong();
+
+  /**
+   * @param shards for each shard, the function that fetches one of its pages by number
+   * @param maxConcurrentRequests the page requests allowed in flight across all shards
+   * @param sink receives the results
+   */
+  ResultsExport(
+      List<IntFunction<CompletableFuture<DetectionResultList>>> shards,
+      int maxConcurrentRequests,
+      ResultSink sink) {
+    this.shards = shards;
+    this.requests = new AsyncLimiter(maxConcurrentRequests);
+    this.sink = sink;
+  }
+
+  /**
+   * Starts the export.
+   *
+   * @return a future completed with the totals once every page is written; cancelling it stops the
+   *     requests in flight
+   */
+  CompletableFuture<ExportSummary> start() {
+    result.whenComplete(
+        (summary, error) -> {
+          if (error != null) {
+            scope.close();
+          }
+        });
+    outstanding.addAndGet(shards.size());
+    for (IntFunction<CompletableFuture<DetectionResultList>> shard : shards) {
+      fetch(shard, 0);
+    }
+    if (shards.isEmpty()) {
+      finish();
+    }
+    return result;
+  }
+
+  private void fetch(IntFunction<CompletableFuture<DetectionResultList>> shard, int page) {
+    scope
+        .register(requests.submit(() -> shard.apply(page)))
+        .whenComplete(
+            (resultList, error) -> {
+              if (error != null) {
+                result.completeExceptionally(toException(error));
+                return;
+              }
+              pages.incrementAndGet();
+              int more =
+                  page == 0 && !resultList.getItems().isEmpty()
+                      ? resultList.getTotalPages() - 1
+                      : 0;
+              if (more > 0) {
+                outstanding.addAndGet(more);
+              }
+              if (!write(resultList.getItems())) {
+                return;
+              }
+              for (int next = 1; next <= more; next++) {
+                fetch(shard, next);
+              }
+              if (outstanding.decrementAndGet() == 0) {
+                finish();
+              }
+            });
+  }
+
+  /** Writes the results of one page that were not written before. */
+  private boolean write(List<DetectionResult> items) {
+    sinkLock.lock();
+    try {
+      if (result.isDone()) {
+        return false;
+      }
+      for (DetectionResult item : items) {
+        if (item.getRequestId() != null && !seen.add(item.getRequestId())) {
+          duplicates.incrementAndGet();
+          continue;
+        }
+        sink.accept(item);
+        written.incrementAndGet();
+      }
+      return true;
+    } catch (IOException | RuntimeException e) {
+      result.completeExceptionally(
+          new RealityDefenderException("Failed to write results", "EXPORT_FAILED", e));
+      return false;
+    } finally {
+      sinkLock.unlock();
+    }
+  }
+
+  private void finish() {
+    sinkLock.lock();
+    try {
+      sink.flush();
+    } catch (IOException | RuntimeException e) {
+      result.completeExceptionally(
+          new RealityDefenderException("Failed to write results", "EXPORT_FAILED", e));
+      return;
+    } finally {
+      sinkLock.unlock();
+    }
+    ExportSummary summary =
+        new ExportSummary(shards.size(), pages.get(), written.get(), duplicates.get());
+    logger.info("Export completed: {}", summary);
+    result.complete(summary);
+  }
+
+  private static Throwable toException(Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    return cause instanceof RealityDefenderException
+        ? cause
+        : new RealityDefenderException("Failed to get results", "RESULTS_FAILED", cause);
+  }
+}
@@ -0,0 +1,81 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.IntFunction;
+
+/**
+ * Publishes every result of the paginated results list, one page after another. The next page is
+ * fetched only once the subscriber has requested more results than the pages fetched so far hold,
+ * so a slow subscriber never has more than one page buffered for it.
+ */
+final class ResultsPublisher implements Flow.Publisher<DetectionResult> {
+
+  private final int firstPage;
+  private final IntFunction<CompletableFuture<DetectionResultList>> fetchPage;
+
+  /**
+   * @param firstPage the number of the first page to publish
+   * @param fetchPage fetches one page of results by number
+   */
+  ResultsPublisher(int firstPage, IntFunction<CompletableFuture<DetectionResultList>> fetchPage) {
+    this.firstPage = firstPage;
+    this.fetchPage = fetchPage;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super DetectionResult> subscriber) {
+    Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+    new Subscription(subscriber).start();
+  }
+
+  private final class Subscription extends DemandSubscription<DetectionResult> {
+
+    private int nextPage = firstPage;
+    private volatile CompletableFuture<DetectionResultList> inFlight;
+
+    Subscription(Flow.Subscriber<? super DetectionResult> subscriber) {
+      super(subscriber);
+    }
+
+    @Override
+    void produce() {
+      if (!reserve(1)) {
+        return;
+      }
+      int page = nextPage++;
+      CompletableFuture<DetectionResultList> fetch = fetchPage.apply(page);
+      inFlight = fetch;
+      fetch.whenComplete(
+          (resultList, error) -> {
+            if (error != null) {
+              fail(toException(error));
+              return;
+            }
+            List<DetectionResult> items = resultList.getItems();
+            complete(items, items.isEmpty() || page + 1 >= resultList.getTotalPages());
+          });
+    }
+
+    @Override
+    void onCancel() {
+      CompletableFuture<DetectionResultList> fetch = inFlight;
+      if (fetch != null) {
+        fetch.cancel(true);
+      }
+    }
+  }
+
+  private static Throwable toException(Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    return cause instanceof RealityDefenderException
+        ? cause
+        : new RealityDefenderException("Failed to get results", "RESULTS_FAILED", cause);
+  }
+}
@@ -0,0 +1,165 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Walks the paginated results list lazily, keeping the next pages in flight while the current one
+ * is consumed, so that a long walk costs about one round-trip per {@code prefetch} pages.
+ *
+ * <p>The first page is fetched on its own to learn the page count. Splitting hands the first half
+ * of the remaining pages, with the pages already fetched, to a new spliterator, which lets parallel
+ * streams walk separate page ranges. Every fetch is registered in a shared scope so that closing
+ * the stream cancels the pages still in flight after an early exit.
+ */
+final class ResultsSpliterator implements Spliterator<DetectionResult> {
+
+  private final IntFunction<CompletableFuture<DetectionResultList>> fetchPage;
+  private final int prefetch;
+  private final CancellationScope scope;
+  private final ArrayDeque<CompletableFuture<DetectionResultList>> window = new ArrayDeque<>();
+  private Iterator<DetectionResult> current = Collections.emptyIterator();
+  // The next page to fetch; the pages in the window are the ones just before it.
+  private int nextPage;
+  private int endPage;
+  private int pageSize;
+
+  /**
+   * @param fetchPage fetches one page of results by number
+   * @param firstPage the number of the first page to walk
+   * @param prefetch the number of pages kept in flight
+   * @param scope the scope in which page fetches are registered
+   */
+  ResultsSpliterator(
+      IntFunction<CompletableFuture<DetectionResultList>> fetchPage,
+      int firstPage,
+      int prefetch,
+      CancellationScope scope) {
+    this(fetchPage, firstPage, -1, prefetch, scope);
+  }
+
+  private ResultsSpliterator(
+      IntFunction<CompletableFuture<DetectionResultList>> fetchPage,
+      int nextPage,
+      int endPage,
+      int prefetch,
+      CancellationScope scope) {
+    if (prefetch < 1) {
+      throw new IllegalArgumentException("Prefetch must be at least 1: " + prefetch);
+    }
+    this.fetchPage = fetchPage;
+    this.nextPage = nextPage;
+    this.endPage = endPage;
+    this.prefetch = prefetch;
+    this.scope = scope;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super DetectionResult> action) {
+    while (!current.hasNext()) {
+      if (!advancePage()) {
+        return false;
+      }
+    }
+    action.accept(current.next());
+    return true;
+  }
+
+  @Override
+  public Spliterator<DetectionResult> trySplit() {
+    if (endPage < 0 && !advancePage()) {
+      return null;
+    }
+    int first = nextPage - window.size();
+    int mid = first + (endPage - first) / 2;
+    if (mid <= first) {
+      return null;
+    }
+    ResultsSpliterator prefix = new ResultsSpliterator(fetchPage, first, mid, prefetch, scope);
+    prefix.current = current;
+    prefix.pageSize = pageSize;
+    while (!window.isEmpty() && prefix.nextPage < mid) {
+      prefix.window.add(window.poll());
+      prefix.nextPage++;
+    }
+    nextPage = Math.max(nextPage, mid);
+    current = Collections.emptyIterator();
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    if (endPage < 0) {
+      return Long.MAX_VALUE;
+    }
+    return (long) (endPage - nextPage + window.size()) * pageSize;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+
+  /**
+   * Makes the next fetched page current, first topping up the pages in flight.
+   *
+   * @return false once every page of the range has been consumed
+   */
+  private boolean advancePage() {
+    fill();
+    CompletableFuture<DetectionResultList> fetch = window.poll();
+    if (fetch == null) {
+      return false;
+    }
+    DetectionResultList page = await(fetch);
+    List<DetectionResult> items = page.getItems();
+    if (endPage < 0) {
+      endPage = Math.max(nextPage, page.getTotalPages());
+    }
+    if (items.isEmpty()) {
+      window.forEach(pending -> pending.cancel(true));
+      window.clear();
+      endPage = nextPage;
+    }
+    pageSize = Math.max(pageSize, items.size());
+    current = items.iterator();
+    fill();
+    return true;
+  }
+
+  /** Starts fetches up to the prefetch depth, or only the first page while the count is unknown. */
+  private void fill() {
+    int limit = endPage < 0 ? 1 : prefetch;
+    while (window.size() < limit && (endPage < 0 ? window.isEmpty() : nextPage < endPage)) {
+      window.add(scope.register(fetchPage.apply(nextPage++)));
+    }
+  }
+
+  private DetectionResultList await(CompletableFuture<DetectionResultList> fetch) {
+    try {
+      return fetch.get();
+    } catch (InterruptedException e) {
+      scope.close();
+      Thread.currentThread().interrupt();
+      throw new CompletionException(
+          new RealityDefenderException("Interrupted waiting for results", "INTERRUPTED", e));
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw new CompletionException(
+          cause instanceof RealityDefenderException
+              ? cause
+              : new RealityDefenderException("Failed to get results", "RESULTS_FAILED", cause));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is in flight, further calls for the
+ * same key wait for its outcome instead of starting their own. The key is forgotten as soon as the
+ * call completes, so nothing is cached; a call that starts afterwards goes out again.
+ *
+ * <p>Blocking and asynchronous callers share the same calls. Each asynchronous caller gets its own
+ * copy of the shared future, so cancelling it leaves the call running for the others.
+ */
+final class SingleFlight<K, V> {
+
+  /** A blocking call. */
+  interface Call<V> {
+    V call() throws RealityDefenderException;
+  }
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Starts an asynchronous call, or joins the one in flight for the same key.
+   *
+   * @param key identifies identical calls
+   * @param call starts the call
+   * @return a future completed with the outcome of the shared call
+   */
+  CompletableFuture<V> submit(K key, Supplier<CompletableFuture<V>> call) {
+    CompletableFuture<V> shared = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+    if (existing != null) {
+      return existing.copy();
+    }
+    CompletableFuture<V> started;
+    try {
+      started = call.get();
+    } catch (RuntimeException e) {
+      started = CompletableFuture.failedFuture(e);
+    }
+    started.whenComplete(
+        (value, error) -> {
+          inFlight.remove(key, shared);
+          if (error != null) {
+            shared.completeExceptionally(
+                error instanceof CompletionException ? error.getCause() : error);
+          } else {
+            shared.complete(value);
+          }
+        });
+    return shared.copy();
+  }
+
+  /**
+   * Runs a blocking call on the calling thread, or waits for the one in flight for the same key.
+   *
+   * @param key identifies identical calls
+   * @param call the call
+   * @return the outcome of the shared call
+   * @throws RealityDefenderException if the shared call fails, or the wait is interrupted
+   */
+  V join(K key, Call<V> call) throws RealityDefenderException {
+    CompletableFuture<V> shared = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+    if (existing != null) {
+      return await(existing);
+    }
+    try {
+      V value = call.call();
+      shared.complete(value);
+      return value;
+    } catch (RealityDefenderException | RuntimeException | Error e) {
+      shared.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, shared);
+    }
+  }
+
+  /** Gets the number of keys with a call in flight, for tests. */
+  int inFlight() {
+    return inFlight.size();
+  }
+
+  private static <V> V await(CompletableFuture<V> shared) throws RealityDefenderException {
+    try {
+      return shared.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RealityDefenderException("Interrupted waiting for request", "INTERRUPTED", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RealityDefenderException) {
+        throw (RealityDefenderException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RealityDefenderException("Request failed", "REQUEST_FAILED", cause);
+    }
+  }
+}
@@ -0,0 +1,470 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.client.HttpClient;
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls many detection requests from a single timer.
+ *
+ * <p>Every outstanding request ID sits in one queue ordered by when it is next due, and only one
+ * wake-up is scheduled at a time, for the earliest due entry. When it fires, every entry that has
+ * come due is dispatched as one wave through an {@link AsyncLimiter}, so at most {@code
+ * maxConcurrentPolls} status requests are in flight however many detections are pending. Entries
+ * that are still processing go back into the queue after the delay their {@link PollingPolicy} asks
+ * for.
+ *
+ * <p>Entries due within a quarter of their last delay join the current wave, so requests started
+ * around the same time keep being polled together. A wave of at least {@link #BULK_THRESHOLD}
+ * requests sharing a batch limiter is first resolved from the paginated results list: one page
+ * answers up to {@link #PAGE_SIZE} requests. The list is not bounded by a start date, since a
+ * request resumed after a restart or answered from the upload index may have been made long before
+ * it is polled. Page fetches go through the wave's batch limiter like individual polls, so a
+ * batch's concurrency cap holds on both paths. Only the requests not found on the scanned pages
+ * fall back to individual status requests.
+ *
+ * <p>The queue is guarded by a {@link ReentrantLock} rather than a monitor, so that virtual threads
+ * contending for it park instead of pinning their carrier threads.
+ *
+ * <p>Once the poller is {@linkplain #close() closed}, or its scheduler stops accepting wake-ups,
+ * every request still waiting fails with code {@code CLIENT_CLOSED} instead of never completing.
+ */
+final class StatusPoller {
+
+  private static final Logger logger = LoggerFactory.getLogger(StatusPoller.class);
+
+  /** Minimum number of due requests for a wave to be resolved from the results list. */
+  static final int BULK_THRESHOLD = 16;
+
+  /** Number of results requested per page when scanning the results list. */
+  static final int PAGE_SIZE = 100;
+
+  /** Pages scanned beyond the minimum needed to cover a wave, for results from other clients. */
+  static final int EXTRA_PAGES = 2;
+
+  private final HttpClient httpClient;
+  private final Function<String, CompletableFuture<DetectionResult>> fetchStatus;
+  private final ScheduledExecutorService scheduler;
+  private final Predicate<String> isProcessed;
+  private final AsyncLimiter limiter;
+  private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private ScheduledFuture<?> wakeup;
+  private long wakeupAt;
+  private long sequence;
+  private boolean closed;
+
+  StatusPoller(
+      HttpClient httpClient,
+      ScheduledExecutorService scheduler,
+      int maxConcurrentPolls,
+      Predicate<String> isProcessed) {
+    this(
+        httpClient,
+        httpClient::getDetectionResultAsync,
+        scheduler,
+        maxConcurrentPolls,
+        isProcessed);
+  }
+
+  /**
+   * @param httpClient the client that fetches pages of the results list
+   * @param fetchStatus fetches the status of one request
+   * @param scheduler the timer that schedules waves
+   * @param maxConcurrentPolls the status requests allowed in flight
+   * @param isProcessed decides whether a status is terminal
+   */
+  StatusPoller(
+      HttpClient httpClient,
+      Function<String, CompletableFuture<DetectionResult>> fetchStatus,
+      ScheduledExecutorService scheduler,
+      int maxConcurrentPolls,
+      Predicate<String> isProcessed) {
+    this.httpClient = httpClient;
+    this.fetchStatus = fetchStatus;
+    this.scheduler = scheduler;
+    this.isProcessed = isProcessed;
+    this.limiter = new AsyncLimiter(maxConcurrentPolls);
+  }
+
+  /**
+   * Polls a request until it reaches a terminal status. The first poll is sent right away.
+   * Cancelling the returned future removes the request from the next wave.
+   *
+   * @param requestId the request ID to poll
+   * @param policy decides the delay between polls of this request
+   * @param fileSize the size of the uploaded file, or -1 if unknown
+   * @param maxAttempts the maximum number of polls, or {@link Integer#MAX_VALUE} for no limit
+   * @param timeout the maximum time to wait, or null for no limit; polling stops as soon as the
+   *     next poll would come after it
+   * @param batchLimiter an extra limiter the polls of this request also go through, or null
+   * @return a future completed with the summarized result, or failed with {@code TIMEOUT}
+   */
+  CompletableFuture<DetectionResult> poll(
+      String requestId,
+      PollingPolicy policy,
+      long fileSize,
+      int maxAttempts,
+      Duration timeout,
+      AsyncLimiter batchLimiter) {
+    Entry entry =
+        new Entry(
+            requestId,
+            policy,
+            fileSize,
+            maxAttempts,
+            timeout != null ? timeout.toNanos() : -1,
+            batchLimiter);
+    lock.lock();
+    try {
+      if (closed) {
+        entry.result.completeExceptionally(closedError(null));
+        return entry.result;
+      }
+    } finally {
+      lock.unlock();
+    }
+    dispatch(entry);
+    return entry.result;
+  }
+
+  /**
+   * Stops polling. Requests waiting for their next poll, and requests whose poll is in flight once
+   * it completes, fail with code {@code CLIENT_CLOSED}. Later calls to {@link #poll} fail at once.
+   */
+  void close() {
+    List<Entry> pending;
+    lock.lock();
+    try {
+      closed = true;
+      if (wakeup != null) {
+        wakeup.cancel(false);
+        wakeup = null;
+      }
+      pending = drain();
+    } finally {
+      lock.unlock();
+    }
+    fail(pending, null);
+  }
+
+  /** Gets the number of requests waiting for their next poll, for tests. */
+  int pending() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void dispatch(Entry entry) {
+    if (!isLive(entry)) {
+      return;
+    }
+    CompletableFuture<DetectionResult> response =
+        entry.batchLimiter != null
+            ? entry.batchLimiter.submit(() -> limiter.submit(() -> send(entry)))
+            : limiter.submit(() -> send(entry));
+    response.whenComplete((result, error) -> handle(entry, result, error));
+  }
+
+  private CompletableFuture<DetectionResult> send(Entry entry) {
+    if (entry.result.isDone()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return fetchStatus.apply(entry.requestId);
+  }
+
+  private void handle(Entry entry, DetectionResult response, Throwable error) {
+    if (entry.result.isDone()) {
+      return;
+    }
+    if (error != null) {
+      Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+      entry.result.completeExceptionally(
+          cause instanceof RealityDefenderException
+              ? cause
+              : new RealityDefenderException("Polling failed", "POLLING_ERROR", cause));
+      return;
+    }
+    PollingMetrics metrics = entry.policy.getMetrics();
+    metrics.recordPoll();
+    entry.attempts++;
+    long elapsed = System.nanoTime() - entry.startedAt;
+    PollState state =
+        new PollState(
+            entry.requestId,
+            entry.attempts,
+            Duration.ofNanos(elapsed),
+            response.getMediaType(),
+            entry.fileSize,
+            response.getStatus());
+    if (isProcessed.test(response.getStatus())) {
+      logger.info(
+          "Polling completed for request ID: {} with status: {}",
+          entry.requestId,
+          response.getStatus());
+      entry.policy.onCompleted(state);
+      metrics.recordCompleted(state.getAttempts(), state.getElapsed());
+      entry.result.complete(response.summarize());
+      return;
+    }
+    long delay = entry.attempts < entry.maxAttempts ? entry.policy.nextDelay(state).toNanos() : -1;
+    if (delay < 0 || (entry.timeoutNanos >= 0 && elapsed + delay >= entry.timeoutNanos)) {
+      metrics.recordTimeout();
+      entry.result.completeExceptionally(
+          new RealityDefenderException("Timeout waiting for results", "TIMEOUT"));
+      return;
+    }
+    logger.debug(
+        "Still processing for request ID: {}, status: {}, next poll in {} ms",
+        entry.requestId,
+        response.getStatus(),
+        TimeUnit.NANOSECONDS.toMillis(delay));
+    entry.lastDelayNanos = delay;
+    enqueue(entry, System.nanoTime() + delay);
+  }
+
+  private void enqueue(Entry entry, long dueAt) {
+    List<Entry> rejected = null;
+    RejectedExecutionException cause = null;
+    lock.lock();
+    try {
+      if (closed) {
+        rejected = List.of(entry);
+      } else {
+        entry.dueAt = dueAt;
+        entry.order = sequence++;
+        queue.add(entry);
+        if (wakeup == null || dueAt - wakeupAt < 0) {
+          cause = scheduleWakeup(dueAt);
+          if (cause != null) {
+            rejected = drain();
+          }
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (rejected != null) {
+      fail(rejected, cause);
+    }
+  }
+
+  /**
+   * Schedules the single wake-up for {@code dueAt}, replacing a later one. Caller holds the lock.
+   *
+   * @return null, or the rejection if the scheduler has shut down
+   */
+  private RejectedExecutionException scheduleWakeup(long dueAt) {
+    if (wakeup != null) {
+      wakeup.cancel(false);
+      wakeup = null;
+    }
+    try {
+      wakeup =
+          scheduler.schedule(
+              this::runWave, Math.max(0, dueAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+      wakeupAt = dueAt;
+      return null;
+    } catch (RejectedExecutionException e) {
+      return e;
+    }
+  }
+
+  /** Removes every queued entry. Caller holds the lock. */
+  private List<Entry> drain() {
+    List<Entry> drained = new ArrayList<>(queue);
+    queue.clear();
+    return drained;
+  }
+
+  private static void fail(List<Entry> entries, Throwable cause) {
+    if (!entries.isEmpty()) {
+      logger.debug("Polling stopped with {} requests pending", entries.size());
+    }
+    for (Entry entry : entries) {
+      entry.result.completeExceptionally(closedError(cause));
+    }
+  }
+
+  private static RealityDefenderException closedError(Throwable cause) {
+    return cause != null
+        ? new RealityDefenderException("Client closed", "CLIENT_CLOSED", cause)
+        : new RealityDefenderException("Client closed", "CLIENT_CLOSED");
+  }
+
+  private void runWave() {
+    List<Entry> due = new ArrayList<>();
+    List<Entry> rejected = null;
+    RejectedExecutionException cause = null;
+    lock.lock();
+    try {
+      wakeup = null;
+      long now = System.nanoTime();
+      while (!queue.isEmpty() && queue.peek().dueAt - now <= queue.peek().lastDelayNanos / 4) {
+        due.add(queue.poll());
+      }
+      if (!queue.isEmpty()) {
+        cause = scheduleWakeup(queue.peek().dueAt);
+        if (cause != null) {
+          rejected = drain();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (rejected != null) {
+      fail(rejected, cause);
+    }
+    due.removeIf(entry -> !isLive(entry));
+    if (due.isEmpty()) {
+      return;
+    }
+    Map<AsyncLimiter, List<Entry>> byBatch = new HashMap<>();
+    for (Entry entry : due) {
+      byBatch.computeIfAbsent(entry.batchLimiter, batch -> new ArrayList<>()).add(entry);
+    }
+    for (Map.Entry<AsyncLimiter, List<Entry>> batch : byBatch.entrySet()) {
+      resolve(batch.getValue(), batch.getKey());
+    }
+  }
+
+  /** Resolves due entries that share a batch limiter, from the results list if there are many. */
+  private void resolve(List<Entry> due, AsyncLimiter batchLimiter) {
+    if (due.size() < BULK_THRESHOLD) {
+      logger.debug("Dispatching {} due status polls", due.size());
+      for (Entry entry : due) {
+        dispatch(entry);
+      }
+      return;
+    }
+    logger.debug("Resolving {} due status polls from the results list", due.size());
+    Map<String, List<Entry>> byRequestId = new HashMap<>();
+    for (Entry entry : due) {
+      byRequestId.computeIfAbsent(entry.requestId, id -> new ArrayList<>()).add(entry);
+    }
+    int maxPages = (due.size() + PAGE_SIZE - 1) / PAGE_SIZE + EXTRA_PAGES;
+    // Dates are filtered in the server's zone, so widen the window by a day.
+    scanPage(byRequestId, 0, maxPages, LocalDate.now(ZoneOffset.UTC).plusDays(1), batchLimiter);
+  }
+
+  /** Completes entries that timed out; returns whether the entry still needs polling. */
+  private boolean isLive(Entry entry) {
+    if (entry.result.isDone()) {
+      return false;
+    }
+    if (entry.timeoutNanos >= 0 && System.nanoTime() - entry.startedAt >= entry.timeoutNanos) {
+      entry.policy.getMetrics().recordTimeout();
+      entry.result.completeExceptionally(
+          new RealityDefenderException("Timeout waiting for results", "TIMEOUT"));
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Matches one page of the results list against the unresolved requests of one batch, then moves
+   * on to the next page until every request is resolved or {@code maxPages} were scanned. Requests
+   * still missing afterwards, or when a page fails, are polled individually.
+   */
+  private void scanPage(
+      Map<String, List<Entry>> unresolved,
+      int page,
+      int maxPages,
+      LocalDate endDate,
+      AsyncLimiter batchLimiter) {
+    Supplier<CompletableFuture<DetectionResultList>> fetch =
+        () ->
+            limiter.submit(
+                () -> httpClient.getDetectionResultListAsync(page, PAGE_SIZE, null, null, endDate));
+    (batchLimiter != null ? batchLimiter.submit(fetch) : fetch.get())
+        .whenComplete(
+            (list, error) -> {
+              if (error != null) {
+                logger.debug("Results list scan failed, polling individually", error);
+              } else if (list.getItems() != null) {
+                for (DetectionResult item : list.getItems()) {
+                  List<Entry> entries = unresolved.remove(item.getRequestId());
+                  if (entries != null) {
+                    for (Entry entry : entries) {
+                      handle(entry, item, null);
+                    }
+                  }
+                }
+              }
+              boolean lastPage = list == null || page + 1 >= list.getTotalPages();
+              if (error == null && !unresolved.isEmpty() && !lastPage && page + 1 < maxPages) {
+                scanPage(unresolved, page + 1, maxPages, endDate, batchLimiter);
+                return;
+              }
+              if (!unresolved.isEmpty()) {
+                logger.debug(
+                    "Polling {} requests missing from the results list", unresolved.size());
+              }
+              for (List<Entry> entries : unresolved.values()) {
+                for (Entry entry : entries) {
+                  dispatch(entry);
+                }
+              }
+            });
+  }
+
+  private static final class Entry implements Comparable<Entry> {
+    final String requestId;
+    final PollingPolicy policy;
+    final long fileSize;
+    final int maxAttempts;
+    final long timeoutNanos;
+    final long startedAt = System.nanoTime();
+    final AsyncLimiter batchLimiter;
+    final CompletableFuture<DetectionResult> result = new CompletableFuture<>();
+    int attempts;
+    long lastDelayNanos;
+    long dueAt;
+    long order;
+
+    Entry(
+        String requestId,
+        PollingPolicy policy,
+        long fileSize,
+        int maxAttempts,
+        long timeoutNanos,
+        AsyncLimiter batchLimiter) {
+      this.requestId = requestId;
+      this.policy = policy;
+      this.fileSize = fileSize;
+      this.maxAttempts = maxAttempts;
+      this.timeoutNanos = timeoutNanos;
+      this.batchLimiter = batchLimiter;
+    }
+
+    @Override
+    public int compareTo(Entry other) {
+      int byDue = Long.compare(dueAt - other.dueAt, 0);
+      return byDue != 0 ? byDue : Long.compare(order, other.order);
+    }
+  }
+}
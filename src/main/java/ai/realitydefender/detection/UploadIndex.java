@@ -0,0 +1,393 @@
+package ai.realitydefender.detection;
+
+import ai.realitydefender.core.RealityDefenderRuntime;
+import ai.realitydefender.models.UploadResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of recently uploaded content, keyed by API key and SHA-256 digest, that lets the client
+ * skip uploading media it has already sent.
+ *
+ * <p>Before an upload the client hashes the media and looks the digest up here under its own API
+ * key; on a hit the earlier {@link UploadResponse} is returned without a network call, and the
+ * result is then answered by the {@link ResultCache} or {@link ResultStore} when one is configured.
+ * An upload is only reused within the {@link Builder#freshness(Duration) freshness} window, and the
+ * index keeps at most {@link Builder#maximumSize(int) maximumSize} digests, forgetting the least
+ * recently used first.
+ *
+ * <p>Uploads are only reused for the API key they were made with, so clients with different keys
+ * can share an index without one being handed another's request. Only a SHA-256 hash of each key is
+ * kept, in memory and in the file.
+ *
+ * <p>The index can be {@link Builder#file(Path) persisted} to a file, so that reposts are still
+ * recognized after a restart. Writing the file is best effort: a failure is logged and the index
+ * carries on in memory.
+ *
+ * <pre>{@code
+ * UploadIndex index = UploadIndex.builder().freshness(Duration.ofDays(1)).build();
+ * RealityDefender client = RealityDefender.builder().apiKey(apiKey).uploadIndex(index).build();
+ * }</pre>
+ */
+public final class UploadIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(UploadIndex.class);
+
+  /** The default maximum number of digests kept. */
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  /** The default time an upload can be reused for. */
+  public static final Duration DEFAULT_FRESHNESS = Duration.ofHours(24);
+
+  private final int maximumSize;
+  private final long freshnessMillis;
+  private final LongSupplier clock;
+  private final Path file;
+  private final ObjectMapper objectMapper = RealityDefenderRuntime.defaultObjectMapper();
+  private final CacheMetrics metrics = new CacheMetrics();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private int appended;
+
+  private UploadIndex(Builder builder) {
+    this.maximumSize = builder.maximumSize;
+    this.freshnessMillis = builder.freshness.toMillis();
+    this.clock = builder.clock;
+    this.file = builder.file;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the upload of some content made with an API key, counting a hit or a miss.
+   *
+   * @param apiKey the API key the content was uploaded with
+   * @param sha256 the lowercase hex SHA-256 digest of the content
+   * @return the earlier upload response, or null if the content was not uploaded with this key
+   *     within the freshness window
+   */
+  public UploadResponse get(String apiKey, String sha256) {
+    return find(ApiKeyHash.of(apiKey), sha256);
+  }
+
+  /** Gets the upload of some content under a hashed API key, counting a hit or a miss. */
+  UploadResponse find(String keyHash, String sha256) {
+    String key = key(keyHash, sha256);
+    UploadResponse response = null;
+    lock.lock();
+    try {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        if (!isFresh(entry, clock.getAsLong())) {
+          entries.remove(key);
+          metrics.recordEviction();
+        } else {
+          response = entry.response;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (response != null) {
+      metrics.recordHit();
+    } else {
+      metrics.recordMiss();
+    }
+    return response;
+  }
+
+  /** Records an upload under a hashed API key and the digest it carries, if any. */
+  void put(String keyHash, UploadResponse response) {
+    if (response == null || response.getSha256() == null || response.getRequestId() == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      Entry entry = new Entry(keyHash, response, clock.getAsLong());
+      entries.put(key(keyHash, response.getSha256()), entry);
+      evictEldest();
+      if (file != null) {
+        append(entry);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Forgets the uploads of some content under every API key, so that it is uploaded again next
+   * time.
+   *
+   * @param sha256 the lowercase hex SHA-256 digest of the content
+   */
+  public void invalidate(String sha256) {
+    lock.lock();
+    try {
+      int removed = 0;
+      Iterator<Entry> it = entries.values().iterator();
+      while (it.hasNext()) {
+        if (sha256.equals(it.next().response.getSha256())) {
+          it.remove();
+          removed++;
+        }
+      }
+      if (removed > 0) {
+        metrics.recordInvalidations(removed);
+        if (file != null) {
+          rewrite();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of digests currently indexed, including stale ones not yet dropped.
+   *
+   * @return the number of digests
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the hit, miss and eviction counters of this index.
+   *
+   * @return the metrics
+   */
+  public CacheMetrics getMetrics() {
+    return metrics;
+  }
+
+  private static String key(String keyHash, String sha256) {
+    return keyHash + ':' + sha256;
+  }
+
+  private boolean isFresh(Entry entry, long now) {
+    return now - entry.uploadedAt < freshnessMillis;
+  }
+
+  private void evictEldest() {
+    Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+    while (entries.size() > maximumSize && eldest.hasNext()) {
+      eldest.next();
+      eldest.remove();
+      metrics.recordEviction();
+    }
+  }
+
+  /**
+   * Reads the file, keeping the fresh entries, and rewrites it if anything was dropped. Entries
+   * without an API key hash, written before uploads were scoped by key, are dropped.
+   */
+  private void load() throws IOException {
+    if (!Files.exists(file)) {
+      return;
+    }
+    long now = clock.getAsLong();
+    int read = 0;
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        read++;
+        Entry entry;
+        try {
+          JsonNode node = objectMapper.readTree(line);
+          entry =
+              new Entry(
+                  node.path("keyHash").asText(null),
+                  new UploadResponse(
+                      node.path("requestId").asText(null),
+                      node.path("mediaId").asText(null),
+                      node.path("sha256").asText(null)),
+                  node.path("uploadedAt").asLong());
+        } catch (IOException e) {
+          logger.warn("Skipping unreadable upload index entry in {}", file, e);
+          continue;
+        }
+        if (entry.keyHash != null && entry.response.getSha256() != null && isFresh(entry, now)) {
+          String key = key(entry.keyHash, entry.response.getSha256());
+          entries.remove(key);
+          entries.put(key, entry);
+          evictEldest();
+        }
+      }
+    }
+    appended = read;
+    if (read != entries.size()) {
+      rewrite();
+    }
+    logger.info("Loaded {} uploads from {}", entries.size(), file);
+  }
+
+  /** Appends an entry, rewriting the file instead once it holds twice the live entries. */
+  private void append(Entry entry) {
+    if (++appended > 2 * Math.max(entries.size(), 1)) {
+      rewrite();
+      return;
+    }
+    try (Writer writer =
+        Files.newBufferedWriter(
+            file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      writer.write(toJson(entry));
+      writer.write('\n');
+    } catch (IOException e) {
+      logger.warn("Failed to persist upload index entry to {}", file, e);
+    }
+  }
+
+  /** Replaces the file with the live entries, oldest first. */
+  private void rewrite() {
+    Path replacement = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(replacement, StandardCharsets.UTF_8)) {
+        for (Entry entry : entries.values()) {
+          writer.write(toJson(entry));
+          writer.write('\n');
+        }
+      }
+      Files.move(
+          replacement, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      appended = entries.size();
+    } catch (IOException e) {
+      logger.warn("Failed to rewrite upload index {}", file, e);
+    }
+  }
+
+  private String toJson(Entry entry) throws IOException {
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put("keyHash", entry.keyHash)
+        .put("sha256", entry.response.getSha256())
+        .put("requestId", entry.response.getRequestId())
+        .put("mediaId", entry.response.getMediaId())
+        .put("uploadedAt", entry.uploadedAt);
+    return objectMapper.writeValueAsString(node);
+  }
+
+  @Override
+  public String toString() {
+    return "UploadIndex{"
+        + "maximumSize="
+        + maximumSize
+        + ", freshness="
+        + Duration.ofMillis(freshnessMillis)
+        + ", file="
+        + file
+        + ", metrics="
+        + metrics
+        + '}';
+  }
+
+  private static final class Entry {
+    final String keyHash;
+    final UploadResponse response;
+    final long uploadedAt;
+
+    Entry(String keyHash, UploadResponse response, long uploadedAt) {
+      this.keyHash = keyHash;
+      this.response = response;
+      this.uploadedAt = uploadedAt;
+    }
+  }
+
+  public static final class Builder {
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Duration freshness = DEFAULT_FRESHNESS;
+    private LongSupplier clock = System::currentTimeMillis;
+    private Path file;
+
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of digests kept.
+     *
+     * @param maximumSize the maximum size, at least 1
+     * @return this builder
+     */
+    public Builder maximumSize(int maximumSize) {
+      if (maximumSize < 1) {
+        throw new IllegalArgumentException("maximumSize must be at least 1: " + maximumSize);
+      }
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets how long after an upload the same content is answered with it instead of being uploaded
+     * and analyzed again.
+     *
+     * @param freshness the freshness window, positive
+     * @return this builder
+     */
+    public Builder freshness(Duration freshness) {
+      Objects.requireNonNull(freshness, "Freshness cannot be null");
+      if (freshness.isNegative() || freshness.isZero()) {
+        throw new IllegalArgumentException("Freshness must be positive: " + freshness);
+      }
+      this.freshness = freshness;
+      return this;
+    }
+
+    /**
+     * Persists the index to a file, loading the uploads recorded there that are still fresh.
+     *
+     * @param file the index file, or null to keep the index in memory only
+     * @return this builder
+     */
+    public Builder file(Path file) {
+      this.file = file;
+      return this;
+    }
+
+    /** Sets the wall clock in epoch milliseconds, for tests. */
+    Builder clock(LongSupplier clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    /**
+     * Builds the index, loading its file if one is set.
+     *
+     * @return the new index
+     * @throws UncheckedIOException if the file exists but cannot be read
+     */
+    public UploadIndex build() {
+      UploadIndex index = new UploadIndex(this);
+      if (file != null) {
+        try {
+          index.load();
+        } catch (IOException e) {
+          throw new UncheckedIOException("Failed to load upload index " + file, e);
+        }
+      }
+      return index;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package ai.realitydefender.models;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/** Options for detecting a batch of files with bounded parallelism. */
+public class BatchDetectionOptions {
+  private final Integer maxConcurrentUploads;
+  private final Integer maxConcurrentPolls;
+  private final Duration pollingInterval;
+  private final Integer maxAttempts;
+
+  private BatchDetectionOptions(Builder builder) {
+    this.maxConcurrentUploads = builder.maxConcurrentUploads;
+    this.maxConcurrentPolls = builder.maxConcurrentPolls;
+    this.pollingInterval = builder.pollingInterval;
+    this.maxAttempts = builder.maxAttempts;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the maximum number of files uploaded at the same time.
+   *
+   * @return the upload limit, or null for the default
+   */
+  public Integer getMaxConcurrentUploads() {
+    return maxConcurrentUploads;
+  }
+
+  /**
+   * Gets the maximum number of status requests in flight at the same time.
+   *
+   * @return the poll limit, or null for the default
+   */
+  public Integer getMaxConcurrentPolls() {
+    return maxConcurrentPolls;
+  }
+
+  public Duration getPollingInterval() {
+    return pollingInterval;
+  }
+
+  public Integer getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    BatchDetectionOptions that = (BatchDetectionOptions) o;
+    return Objects.equals(maxConcurrentUploads, that.maxConcurrentUploads)
+        && Objects.equals(maxConcurrentPolls, that.maxConcurrentPolls)
+        && Objects.equals(pollingInterval, that.pollingInterval)
+        && Objects.equals(maxAttempts, that.maxAttempts);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(maxConcurrentUploads, maxConcurrentPolls, pollingInterval, maxAttempts);
+  }
+
+  @Override
+  public String toString() {
+    return "BatchDetectionOptions{"
+        + "maxConcurrentUploads="
+        + maxConcurrentUploads
+        + ", maxConcurrentPolls="
+        + maxConcurrentPolls
+        + ", pollingInterval="
+        + pollingInterval
+        + ", maxAttempts="
+        + maxAttempts
+        + '}';
+  }
+
+  public static class Builder {
+    private Integer maxConcurrentUploads;
+    private Integer maxConcurrentPolls;
+    private Duration pollingInterval;
+    private Integer maxAttempts;
+
+    public Builder maxConcurrentUploads(int maxConcurrentUploads) {
+      this.maxConcurrentUploads = maxConcurrentUploads;
+      return this;
+    }
+
+    public Builder maxConcurrentPolls(int maxConcurrentPolls) {
+      this.maxConcurrentPolls = maxConcurrentPolls;
+      return this;
+    }
+
+    public Builder pollingInterval(Duration pollingInterval) {
+      this.pollingInterval = pollingInterval;
+      return this;
+    }
+
+    public Builder maxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    public BatchDetectionOptions build() {
+      if (maxConcurrentUploads != null && maxConcurrentUploads < 1) {
+        throw new IllegalArgumentException(
+            "maxConcurrentUploads must be at least 1: " + maxConcurrentUploads);
+      }
+      if (maxConcurrentPolls != null && maxConcurrentPolls < 1) {
+        throw new IllegalArgumentException(
+            "maxConcurrentPolls must be at least 1: " + maxConcurrentPolls);
+      }
+      return new BatchDetectionOptions(this);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package ai.realitydefender.models;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/** The outcome of detecting one file of a batch: either a result or the error that stopped it. */
+public class DetectionOutcome {
+
+  private final Path path;
+  private final DetectionResult result;
+  private final RealityDefenderException error;
+
+  private DetectionOutcome(Path path, DetectionResult result, RealityDefenderException error) {
+    this.path = path;
+    this.result = result;
+    this.error = error;
+  }
+
+  public static DetectionOutcome success(Path path, DetectionResult result) {
+    return new DetectionOutcome(
+        path, Objects.requireNonNull(result, "Result cannot be null"), null);
+  }
+
+  public static DetectionOutcome failure(Path path, RealityDefenderException error) {
+    return new DetectionOutcome(path, null, Objects.requireNonNull(error, "Error cannot be null"));
+  }
+
+  /**
+   * Gets the file this outcome belongs to.
+   *
+   * @return the file path
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Checks whether the file was analyzed.
+   *
+   * @return true if a result is available
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  /**
+   * Gets the summarized detection result.
+   *
+   * @return the result, or null if the detection failed
+   */
+  public DetectionResult getResult() {
+    return result;
+  }
+
+  /**
+   * Gets the error that stopped this file's detection.
+   *
+   * @return the error, or null if the detection succeeded
+   */
+  public RealityDefenderException getError() {
+    return error;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    DetectionOutcome that = (DetectionOutcome) o;
+    return Objects.equals(path, that.path)
+        && Objects.equals(result, that.result)
+        && Objects.equals(error, that.error);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(path, result, error);
+  }
+
+  @Override
+  public String toString() {
+    return "DetectionOutcome{"
+        + "path="
+        + path
+        + (isSuccess() ? ", result=" + result : ", error=" + error.getMessage())
+        + '}';
+  }
+}
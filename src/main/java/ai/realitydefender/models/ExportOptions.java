@@ -0,0 +1,170 @@
+package ai.realitydefender.models;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/** Options for exporting the results of a date range, split into shards fetched in parallel. */
+public class ExportOptions {
+  private final LocalDate startDate;
+  private final LocalDate endDate;
+  private final String name;
+  private final Integer pageSize;
+  private final Integer shardDays;
+  private final Integer maxConcurrentRequests;
+
+  private ExportOptions(Builder builder) {
+    this.startDate = builder.startDate;
+    this.endDate = builder.endDate;
+    this.name = builder.name;
+    this.pageSize = builder.pageSize;
+    this.shardDays = builder.shardDays;
+    this.maxConcurrentRequests = builder.maxConcurrentRequests;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the first day of the export.
+   *
+   * @return the start date, inclusive
+   */
+  public LocalDate getStartDate() {
+    return startDate;
+  }
+
+  /**
+   * Gets the last day of the export.
+   *
+   * @return the end date, inclusive
+   */
+  public LocalDate getEndDate() {
+    return endDate;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the number of results requested per page.
+   *
+   * @return the page size, or null for the API default
+   */
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Gets the number of days covered by each shard.
+   *
+   * @return the shard length in days, or null for the default of one day
+   */
+  public Integer getShardDays() {
+    return shardDays;
+  }
+
+  /**
+   * Gets the maximum number of page requests in flight across all shards.
+   *
+   * @return the request budget, or null for the default
+   */
+  public Integer getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ExportOptions that = (ExportOptions) o;
+    return Objects.equals(startDate, that.startDate)
+        && Objects.equals(endDate, that.endDate)
+        && Objects.equals(name, that.name)
+        && Objects.equals(pageSize, that.pageSize)
+        && Objects.equals(shardDays, that.shardDays)
+        && Objects.equals(maxConcurrentRequests, that.maxConcurrentRequests);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(startDate, endDate, name, pageSize, shardDays, maxConcurrentRequests);
+  }
+
+  @Override
+  public String toString() {
+    return "ExportOptions{"
+        + "startDate="
+        + startDate
+        + ", endDate="
+        + endDate
+        + ", name='"
+        + name
+        + '\''
+        + ", pageSize="
+        + pageSize
+        + ", shardDays="
+        + shardDays
+        + ", maxConcurrentRequests="
+        + maxConcurrentRequests
+        + '}';
+  }
+
+  public static class Builder {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String name;
+    private Integer pageSize;
+    private Integer shardDays;
+    private Integer maxConcurrentRequests;
+
+    public Builder startDate(LocalDate startDate) {
+      this.startDate = startDate;
+      return this;
+    }
+
+    public Builder endDate(LocalDate endDate) {
+      this.endDate = endDate;
+      return this;
+    }
+
+    public Builder name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    public Builder pageSize(int pageSize) {
+      this.pageSize = pageSize;
+      return this;
+    }
+
+    public Builder shardDays(int shardDays) {
+      this.shardDays = shardDays;
+      return this;
+    }
+
+    public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
+    public ExportOptions build() {
+      if (startDate == null || endDate == null) {
+        throw new IllegalArgumentException("startDate and endDate are required");
+      }
+      if (endDate.isBefore(startDate)) {
+        throw new IllegalArgumentException(
+            "endDate must not be before startDate: " + startDate + " > " + endDate);
+      }
+      if (shardDays != null && shardDays < 1) {
+        throw new IllegalArgumentException("shardDays must be at least 1: " + shardDays);
+      }
+      if (maxConcurrentRequests != null && maxConcurrentRequests < 1) {
+        throw new IllegalArgumentException(
+            "maxConcurrentRequests must be at least 1: " + maxConcurrentRequests);
+      }
+      return new ExportOptions(this);
+    }
+  }
+}
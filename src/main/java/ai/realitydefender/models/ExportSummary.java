@@ -0,0 +1,86 @@
+package ai.realitydefender.models;
+
+import java.util.Objects;
+
+/** Totals of a completed results export. */
+public class ExportSummary {
+
+  private final int shards;
+  private final int pages;
+  private final long written;
+  private final long duplicates;
+
+  public ExportSummary(int shards, int pages, long written, long duplicates) {
+    this.shards = shards;
+    this.pages = pages;
+    this.written = written;
+    this.duplicates = duplicates;
+  }
+
+  /**
+   * Gets the number of date shards the export was split into.
+   *
+   * @return the shard count
+   */
+  public int getShards() {
+    return shards;
+  }
+
+  /**
+   * Gets the number of result pages fetched across all shards.
+   *
+   * @return the page count
+   */
+  public int getPages() {
+    return pages;
+  }
+
+  /**
+   * Gets the number of distinct results written to the sink.
+   *
+   * @return the written result count
+   */
+  public long getWritten() {
+    return written;
+  }
+
+  /**
+   * Gets the number of results skipped because their request ID had already been written, for
+   * example when a result moved between pages or shards during the export.
+   *
+   * @return the duplicate count
+   */
+  public long getDuplicates() {
+    return duplicates;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ExportSummary that = (ExportSummary) o;
+    return shards == that.shards
+        && pages == that.pages
+        && written == that.written
+        && duplicates == that.duplicates;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(shards, pages, written, duplicates);
+  }
+
+  @Override
+  public String toString() {
+    return "ExportSummary{"
+        + "shards="
+        + shards
+        + ", pages="
+        + pages
+        + ", written="
+        + written
+        + ", duplicates="
+        + duplicates
+        + '}';
+  }
+}
@@ -9,13 +9,20 @@ public class UploadResponse {
 
   private final String requestId;
   private final String mediaId;
+  private final String sha256;
+
+  public UploadResponse(String requestId, String mediaId) {
+    this(requestId, mediaId, null);
+  }
 
   @JsonCreator
   public UploadResponse(
       @JsonProperty("request_id") String requestId,
-      @JsonProperty(value = "media_id", required = false, defaultValue = "") String mediaId) {
+      @JsonProperty(value = "media_id", required = false, defaultValue = "") String mediaId,
+      @JsonProperty(value = "sha256", required = false) String sha256) {
     this.requestId = requestId;
     this.mediaId = mediaId;
+    this.sha256 = sha256;
   }
 
   /**
@@ -36,17 +43,28 @@ public class UploadResponse {
     return mediaId;
   }
 
+  /**
+   * Gets the SHA-256 digest of the uploaded bytes, computed while they were sent.
+   *
+   * @return the lowercase hex digest, or null if none was computed (e.g. for social media links)
+   */
+  public String getSha256() {
+    return sha256;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     UploadResponse that = (UploadResponse) o;
-    return Objects.equals(requestId, that.requestId) && Objects.equals(mediaId, that.mediaId);
+    return Objects.equals(requestId, that.requestId)
+        && Objects.equals(mediaId, that.mediaId)
+        && Objects.equals(sha256, that.sha256);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(requestId, mediaId);
+    return Objects.hash(requestId, mediaId, sha256);
   }
 
   @Override
@@ -58,6 +76,9 @@ public class UploadResponse {
         + ", mediaId='"
         + mediaId
         + '\''
+        + ", sha256='"
+        + sha256
+        + '\''
         + '}';
   }
 }
@@ -0,0 +1,55 @@
+package ai.realitydefender.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads, which only exist from Java 21.
+ *
+ * <p>This is the Java 21 implementation, packaged in the {@code META-INF/versions/21} layer of the
+ * multi-release jar.
+ */
+public final class VirtualThreads {
+
+  private VirtualThreads() {}
+
+  /**
+   * Checks whether virtual threads are available on this JVM.
+   *
+   * @return true on Java 21 and later
+   */
+  public static boolean isSupported() {
+    return true;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @param namePrefix the prefix of the thread names, followed by a counter
+   * @return a new executor
+   */
+  public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+    return Executors.newThreadPerTaskExecutor(newThreadFactory(namePrefix));
+  }
+
+  /**
+   * Creates a factory of virtual threads, for executors that keep a fixed set of threads.
+   *
+   * @param namePrefix the prefix of the thread names, followed by a counter
+   * @return a new thread factory
+   */
+  public static ThreadFactory newThreadFactory(String namePrefix) {
+    return Thread.ofVirtual().name(namePrefix, 1).factory();
+  }
+
+  /**
+   * Checks whether a thread is a virtual thread.
+   *
+   * @param thread the thread to check
+   * @return true if the thread is virtual
+   */
+  public static boolean isVirtual(Thread thread) {
+    return thread.isVirtual();
+  }
+}
@@ -1,16 +1,26 @@
 package ai.realitydefender;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import ai.realitydefender.client.RateLimiter;
 import ai.realitydefender.core.RealityDefenderConfig;
+import ai.realitydefender.core.RealityDefenderRuntime;
 import ai.realitydefender.detection.DetectionService;
+import ai.realitydefender.detection.ResultCache;
+import ai.realitydefender.detection.ResultStore;
+import ai.realitydefender.detection.UploadIndex;
 import ai.realitydefender.exceptions.RealityDefenderException;
 import ai.realitydefender.models.DetectionResult;
 import ai.realitydefender.models.UploadResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -19,6 +29,7 @@ import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -58,6 +69,211 @@ class RealityDefenderTest {
     assertThat(client).isNotNull();
   }
 
+  @Test
+  void testBuilderWithConnectionTuning() {
+    RealityDefender client =
+        RealityDefender.builder()
+            .apiKey("test-key")
+            .connectTimeout(Duration.ofSeconds(5))
+            .readTimeout(Duration.ofSeconds(30))
+            .writeTimeout(Duration.ofMinutes(2))
+            .maxIdleConnections(20)
+            .keepAliveDuration(Duration.ofMinutes(1))
+            .maxRequests(128)
+            .maxRequestsPerHost(64)
+            .protocol(RealityDefenderConfig.Protocol.HTTP_1_1)
+            .build();
+
+    assertThat(client).isNotNull();
+    client.close();
+  }
+
+  @Test
+  void testBuilderRejectsInvalidConnectionTuning() {
+    assertThatThrownBy(() -> RealityDefender.builder().apiKey("test-key").maxRequests(0).build())
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testNewBuilderSharesRuntime() {
+    RealityDefender tenantA = RealityDefender.builder().apiKey("tenant-a").build();
+    RealityDefender tenantB = tenantA.newBuilder().apiKey("tenant-b").build();
+
+    RealityDefenderRuntime runtime = tenantA.getRuntime();
+    assertThat(tenantB.getRuntime()).isSameAs(runtime);
+
+    tenantA.close();
+    assertThat(runtime.isClosed()).isFalse();
+
+    tenantB.close();
+    assertThat(runtime.isClosed()).isTrue();
+  }
+
+  @Test
+  void testNewBuilderKeepsResultCacheOnlyForTheSameApiKey() {
+    ResultCache cache = ResultCache.builder().build();
+    RealityDefender tenantA =
+        RealityDefender.builder().apiKey("tenant-a").resultCache(cache).build();
+    RealityDefender sameKey = tenantA.newBuilder().timeout(Duration.ofSeconds(5)).build();
+    RealityDefender tenantB = tenantA.newBuilder().apiKey("tenant-b").build();
+    ResultCache own = ResultCache.builder().build();
+    RealityDefender tenantC = tenantA.newBuilder().apiKey("tenant-c").resultCache(own).build();
+
+    assertThat(sameKey.getConfig().getResultCache()).isSameAs(cache);
+    assertThat(tenantB.getConfig().getResultCache()).isNull();
+    assertThat(tenantC.getConfig().getResultCache()).isSameAs(own);
+    assertThatThrownBy(() -> tenantA.newBuilder().apiKey("tenant-d").resultCache(cache).build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("belongs to another API key");
+    assertThatThrownBy(
+            () -> RealityDefender.builder().apiKey("tenant-d").resultCache(cache).build())
+        .isInstanceOf(IllegalArgumentException.class);
+
+    tenantC.close();
+    tenantB.close();
+    sameKey.close();
+    tenantA.close();
+  }
+
+  @Test
+  void testNewBuilderKeepsResultStoreOnlyForTheSameApiKey(@TempDir Path tempDir)
+      throws IOException {
+    try (ResultStore store = ResultStore.open(tempDir.resolve("results.log"))) {
+      RealityDefender tenantA =
+          RealityDefender.builder().apiKey("tenant-a").resultStore(store).build();
+      RealityDefender sameKey = tenantA.newBuilder().timeout(Duration.ofSeconds(5)).build();
+      RealityDefender tenantB = tenantA.newBuilder().apiKey("tenant-b").build();
+
+      assertThat(sameKey.getConfig().getResultStore()).isSameAs(store);
+      assertThat(tenantB.getConfig().getResultStore()).isNull();
+      assertThatThrownBy(
+              () -> RealityDefender.builder().apiKey("tenant-b").resultStore(store).build())
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("belongs to another API key");
+      assertThatThrownBy(() -> tenantA.newBuilder().apiKey("tenant-b").resultStore(store).build())
+          .isInstanceOf(IllegalArgumentException.class);
+
+      tenantB.close();
+      sameKey.close();
+      tenantA.close();
+    }
+  }
+
+  @Test
+  void testDerivedClientsWithDifferentKeysUploadSameContentSeparately(@TempDir Path tempDir)
+      throws Exception {
+    WireMockServer server = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+    server.start();
+    try {
+      for (String key : Arrays.asList("tenant-a", "tenant-b")) {
+        server.stubFor(
+            post(urlEqualTo("/api/files/aws-presigned"))
+                .withHeader("X-API-KEY", equalTo(key))
+                .willReturn(
+                    okJson(
+                        "{\"code\": \"ok\", \"response\": {\"signedUrl\": \"http://localhost:"
+                            + server.port()
+                            + "/upload\"}, \"mediaId\": \"media-"
+                            + key
+                            + "\", \"requestId\": \"req-"
+                            + key
+                            + "\"}")));
+      }
+      server.stubFor(put(urlEqualTo("/upload")).willReturn(aResponse().withStatus(200)));
+      Path media = Files.write(tempDir.resolve("repost.jpg"), "same bytes".getBytes());
+
+      RealityDefender tenantA =
+          RealityDefender.builder()
+              .apiKey("tenant-a")
+              .baseUrl("http://localhost:" + server.port())
+              .uploadIndex(UploadIndex.builder().build())
+              .build();
+      RealityDefender tenantB = tenantA.newBuilder().apiKey("tenant-b").build();
+
+      UploadResponse first = tenantA.upload(media);
+      UploadResponse again = tenantA.upload(media);
+      UploadResponse other = tenantB.upload(media);
+
+      assertThat(first.getRequestId()).isEqualTo("req-tenant-a");
+      assertThat(again).isEqualTo(first);
+      assertThat(other.getRequestId()).isEqualTo("req-tenant-b");
+      server.verify(
+          1,
+          postRequestedFor(urlEqualTo("/api/files/aws-presigned"))
+              .withHeader("X-API-KEY", equalTo("tenant-a")));
+      server.verify(
+          1,
+          postRequestedFor(urlEqualTo("/api/files/aws-presigned"))
+              .withHeader("X-API-KEY", equalTo("tenant-b")));
+      server.verify(2, putRequestedFor(urlEqualTo("/upload")));
+
+      tenantB.close();
+      tenantA.close();
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  void testRejectedBuildReleasesTheRuntime(@TempDir Path tempDir) throws IOException {
+    RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+    try (ResultStore store = ResultStore.open(tempDir.resolve("results.log"))) {
+      RealityDefender tenantA =
+          RealityDefender.builder().apiKey("tenant-a").resultStore(store).runtime(runtime).build();
+
+      assertThatThrownBy(
+              () ->
+                  RealityDefender.builder()
+                      .apiKey("tenant-b")
+                      .resultStore(store)
+                      .runtime(runtime)
+                      .build())
+          .isInstanceOf(IllegalArgumentException.class);
+
+      tenantA.close();
+      assertThat(runtime.isClosed()).isFalse();
+    }
+
+    // Only the creator's reference is left: the rejected client gave its reference back.
+    runtime.close();
+    assertThat(runtime.isClosed()).isTrue();
+  }
+
+  @Test
+  void testNewBuilderKeepsRateLimiterOnlyForTheSameApiKey() {
+    RateLimiter limiter = RateLimiter.builder().build();
+    RealityDefender tenantA =
+        RealityDefender.builder().apiKey("tenant-a").rateLimiter(limiter).build();
+    RealityDefender sameKey = tenantA.newBuilder().timeout(Duration.ofSeconds(5)).build();
+    RealityDefender tenantB = tenantA.newBuilder().apiKey("tenant-b").build();
+    RateLimiter own = RateLimiter.builder().build();
+    RealityDefender tenantC = tenantA.newBuilder().apiKey("tenant-c").rateLimiter(own).build();
+
+    assertThat(sameKey.getConfig().getRateLimiter()).isSameAs(limiter);
+    assertThat(tenantB.getConfig().getRateLimiter()).isNull();
+    assertThat(tenantC.getConfig().getRateLimiter()).isSameAs(own);
+
+    tenantC.close();
+    tenantB.close();
+    sameKey.close();
+    tenantA.close();
+  }
+
+  @Test
+  void testBuilderWithExternalRuntime() {
+    RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+
+    RealityDefender client = RealityDefender.builder().apiKey("key").runtime(runtime).build();
+    assertThat(client.getRuntime()).isSameAs(runtime);
+
+    client.close();
+    client.close();
+    assertThat(runtime.isClosed()).isFalse();
+
+    runtime.close();
+    assertThat(runtime.isClosed()).isTrue();
+  }
+
   @Test
   void testBuilderThrowsExceptionWhenApiKeyIsNull() {
     assertThatThrownBy(() -> RealityDefender.builder().build())
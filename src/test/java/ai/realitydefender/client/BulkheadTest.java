@@ -0,0 +1,81 @@
+package ai.realitydefender.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+  private ScheduledExecutorService scheduler;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = Executors.newScheduledThreadPool(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void testCallsBeyondTheCapWaitForASlot() {
+    Bulkhead bulkhead = new Bulkhead(Endpoint.UPLOAD, 2, Duration.ofSeconds(10), scheduler);
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = new CompletableFuture<>();
+
+    CompletableFuture<String> a = bulkhead.submit(() -> first);
+    CompletableFuture<String> b = bulkhead.submit(() -> second);
+    CompletableFuture<String> c = bulkhead.submit(() -> CompletableFuture.completedFuture("third"));
+
+    assertEquals(2, bulkhead.getInFlight());
+    assertFalse(c.isDone());
+    first.complete("first");
+    assertEquals("first", a.join());
+    assertEquals("third", c.join());
+    assertFalse(b.isDone());
+    assertEquals(1, bulkhead.getInFlight());
+  }
+
+  @Test
+  void testWaitTimesOut() throws Exception {
+    Bulkhead bulkhead = new Bulkhead(Endpoint.UPLOAD, 1, Duration.ofMillis(50), scheduler);
+    bulkhead.enter();
+
+    CompletableFuture<String> queued =
+        bulkhead.submit(() -> CompletableFuture.completedFuture("never"));
+
+    ExecutionException error =
+        assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+    assertEquals("BULKHEAD_FULL", ((RealityDefenderException) error.getCause()).getCode());
+    bulkhead.release();
+    assertEquals(0, bulkhead.getInFlight());
+  }
+
+  @Test
+  void testCancelledWaiterGivesUpItsPlace() {
+    Bulkhead bulkhead = new Bulkhead(Endpoint.STATUS, 1, Duration.ofSeconds(10), scheduler);
+    CompletableFuture<String> held = new CompletableFuture<>();
+    CompletableFuture<String> running = bulkhead.submit(() -> held);
+    CompletableFuture<String> cancelled =
+        bulkhead.submit(() -> CompletableFuture.completedFuture("cancelled"));
+    CompletableFuture<String> next =
+        bulkhead.submit(() -> CompletableFuture.completedFuture("next"));
+
+    cancelled.cancel(false);
+    held.complete("held");
+
+    assertEquals("held", running.join());
+    assertEquals("next", next.join());
+    assertEquals(0, bulkhead.getInFlight());
+  }
+}
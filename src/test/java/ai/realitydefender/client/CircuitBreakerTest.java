@@ -0,0 +1,110 @@
+package ai.realitydefender.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void testOpensOnceFailureRateReachesThreshold() throws Exception {
+    CircuitBreaker breaker = breaker(CircuitBreakerPolicy.builder().minimumCalls(4));
+
+    breaker.acquire().record(null);
+    breaker.acquire().record(serverError());
+    breaker.acquire().record(null);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    breaker.acquire().record(serverError());
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    RealityDefenderException error = assertThrows(RealityDefenderException.class, breaker::acquire);
+    assertEquals("CIRCUIT_OPEN", error.getCode());
+  }
+
+  @Test
+  void testClientErrorsAndThrottlingDoNotCountAsFailures() throws Exception {
+    CircuitBreaker breaker = breaker(CircuitBreakerPolicy.builder().minimumCalls(2));
+
+    for (int i = 0; i < 10; i++) {
+      breaker.acquire().record(new RealityDefenderException("Not found", "NOT_FOUND", 404));
+      breaker.acquire().record(new RealityDefenderException("Slow down", "SERVER_ERROR", 429));
+      breaker.acquire().record(new CancellationException());
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  void testServerErrorsThatAreNotRetriedCountAsFailures() throws Exception {
+    CircuitBreaker breaker = breaker(CircuitBreakerPolicy.builder().minimumCalls(2));
+
+    breaker.acquire().record(new RealityDefenderException("Not implemented", "SERVER_ERROR", 501));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    breaker.acquire().record(new RealityDefenderException("Unsupported", "SERVER_ERROR", 505));
+
+    assertFalse(Retrier.isRetryable(new RealityDefenderException("Not implemented", "X", 501)));
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void testHalfOpenProbeClosesOrReopensTheCircuit() throws Exception {
+    CircuitBreaker breaker =
+        breaker(
+            CircuitBreakerPolicy.builder()
+                .minimumCalls(1)
+                .slidingWindowSize(1)
+                .openDuration(Duration.ofSeconds(1)));
+    breaker.acquire().record(connectionReset());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    CircuitBreaker.Attempt probe = breaker.acquire();
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertThrows(RealityDefenderException.class, breaker::acquire);
+    probe.record(serverError());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    breaker.acquire().record(null);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  void testOutcomesOfCallsAdmittedBeforeATransitionAreIgnored() throws Exception {
+    CircuitBreaker breaker =
+        breaker(
+            CircuitBreakerPolicy.builder()
+                .minimumCalls(1)
+                .slidingWindowSize(1)
+                .openDuration(Duration.ofSeconds(1)));
+    CircuitBreaker.Attempt slow = breaker.acquire();
+    breaker.acquire().record(serverError());
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    CircuitBreaker.Attempt probe = breaker.acquire();
+
+    slow.record(serverError());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    probe.record(null);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  private CircuitBreaker breaker(CircuitBreakerPolicy.Builder policy) {
+    return new CircuitBreaker(Endpoint.STATUS, policy.build(), now::get);
+  }
+
+  private static RealityDefenderException serverError() {
+    return new RealityDefenderException("API error", "SERVER_ERROR", 503);
+  }
+
+  private static RealityDefenderException connectionReset() {
+    return new RealityDefenderException(
+        "Failed to get results", "SERVER_ERROR", new IOException("Connection reset"));
+  }
+}
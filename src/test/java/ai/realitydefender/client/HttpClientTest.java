@@ -4,13 +4,30 @@ import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import ai.realitydefender.core.RealityDefenderConfig;
+import ai.realitydefender.core.RealityDefenderRuntime;
 import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -168,6 +185,88 @@ class HttpClientTest {
     assertEquals(500, exception.getStatusCode());
   }
 
+  @Test
+  void testRetryPolicyRetriesLookupsButNotPosts() throws Exception {
+    HttpClient retrying = new HttpClient(config.toBuilder().retryPolicy(fastRetries()).build());
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/flaky"))
+            .inScenario("flaky")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse().withStatus(503).withBody("{\"response\": \"Unavailable\"}"))
+            .willSetStateTo("recovered"));
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/flaky"))
+            .inScenario("flaky")
+            .whenScenarioStateIs("recovered")
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"requestId\": \"flaky\"}")));
+    wireMockServer.stubFor(
+        post(urlEqualTo("/api/files/social"))
+            .willReturn(aResponse().withStatus(503).withBody("{\"response\": \"Unavailable\"}")));
+
+    try {
+      assertEquals("flaky", retrying.getResults("flaky").get("requestId").asText());
+      assertThrows(
+          RealityDefenderException.class,
+          () -> retrying.postSocialMedia("https://www.youtube.com/watch?v=abc"));
+
+      wireMockServer.verify(2, getRequestedFor(urlEqualTo("/api/media/users/flaky")));
+      wireMockServer.verify(1, postRequestedFor(urlEqualTo("/api/files/social")));
+    } finally {
+      retrying.close();
+    }
+  }
+
+  @Test
+  void testRetryPolicyRestartsFailedUpload() throws Exception {
+    HttpClient retrying = new HttpClient(config.toBuilder().retryPolicy(fastRetries()).build());
+    File testFile = new File(tempDir, "test.jpg");
+    Files.write(testFile.toPath(), "test content".getBytes());
+    wireMockServer.stubFor(
+        post(urlEqualTo("/api/files/aws-presigned"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json; charset=UTF-8")
+                    .withBody(
+                        "{\"code\": \"ok\", \"response\": {\"signedUrl\": \"http://localhost:"
+                            + wireMockServer.port()
+                            + "/upload\"}, \"errno\": 0, \"mediaId\": \"media123\","
+                            + " \"requestId\": \"req456\"}")));
+    wireMockServer.stubFor(
+        put(urlEqualTo("/upload"))
+            .inScenario("upload")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse().withStatus(500).withBody("Internal Server Error"))
+            .willSetStateTo("recovered"));
+    wireMockServer.stubFor(
+        put(urlEqualTo("/upload"))
+            .inScenario("upload")
+            .whenScenarioStateIs("recovered")
+            .willReturn(aResponse().withStatus(200)));
+
+    try {
+      JsonNode response = retrying.uploadFileAsync(testFile).get(10, TimeUnit.SECONDS);
+
+      assertEquals("req456", response.get("request_id").asText());
+      wireMockServer.verify(1, postRequestedFor(urlEqualTo("/api/files/aws-presigned")));
+      wireMockServer.verify(
+          2, putRequestedFor(urlEqualTo("/upload")).withRequestBody(equalTo("test content")));
+    } finally {
+      retrying.close();
+    }
+  }
+
+  private static RetryPolicy fastRetries() {
+    return RetryPolicy.builder()
+        .initialBackoff(Duration.ofMillis(1))
+        .maxBackoff(Duration.ofMillis(10))
+        .build();
+  }
+
   @Test
   void testGetResultsSuccess() throws Exception {
     String requestId = "test-request-123";
@@ -391,6 +490,125 @@ class HttpClientTest {
     assertTrue(exception.getMessage().contains("Rate limit exceeded"));
   }
 
+  @Test
+  void testRateLimiterBacksOffWhenThrottled() throws Exception {
+    RateLimiter limiter = RateLimiter.builder().maxConcurrency(8).build();
+    HttpClient limited = new HttpClient(config.toBuilder().rateLimiter(limiter).build());
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/busy"))
+            .willReturn(
+                aResponse()
+                    .withStatus(429)
+                    .withHeader("Content-Type", "application/json; charset=UTF-8")
+                    .withBody("{\"response\": \"Rate limit exceeded.\"}")));
+    wireMockServer.stubFor(
+        post(urlEqualTo("/api/files/aws-presigned"))
+            .willReturn(
+                aResponse()
+                    .withStatus(400)
+                    .withHeader("Content-Type", "application/json; charset=UTF-8")
+                    .withBody(
+                        "{\"code\": \"upload-limit-reached\", \"response\": \"Limit reached\"}")));
+    File testFile = new File(tempDir, "test.jpg");
+    Files.write(testFile.toPath(), "test file content".getBytes());
+
+    try {
+      RealityDefenderException statusError =
+          assertThrows(RealityDefenderException.class, () -> limited.getResults("busy"));
+      ExecutionException uploadError =
+          assertThrows(ExecutionException.class, () -> limited.uploadFileAsync(testFile).get());
+
+      assertEquals("SERVER_ERROR", statusError.getCode());
+      assertEquals("UNAUTHORIZED", ((RealityDefenderException) uploadError.getCause()).getCode());
+      assertEquals(1, limiter.getThrottledCount(Endpoint.STATUS));
+      assertEquals(4, limiter.getConcurrencyLimit(Endpoint.STATUS));
+      assertEquals(1, limiter.getThrottledCount(Endpoint.PRESIGN));
+      assertEquals(0, limiter.getInFlight(Endpoint.PRESIGN));
+      assertEquals(8, limiter.getConcurrencyLimit(Endpoint.UPLOAD));
+    } finally {
+      limited.close();
+    }
+  }
+
+  @Test
+  void testCircuitBreakerFailsFastOnceEndpointKeepsFailing() throws Exception {
+    CircuitBreakerPolicy breakers =
+        CircuitBreakerPolicy.builder().minimumCalls(2).slidingWindowSize(2).build();
+    HttpClient guarded = new HttpClient(config.toBuilder().circuitBreakerPolicy(breakers).build());
+    wireMockServer.stubFor(
+        get(urlPathMatching("/api/media/users/.*"))
+            .willReturn(
+                aResponse()
+                    .withStatus(503)
+                    .withHeader("Content-Type", "application/json; charset=UTF-8")
+                    .withBody("{\"response\": \"Service unavailable\"}")));
+
+    try {
+      assertThrows(RealityDefenderException.class, () -> guarded.getResults("one"));
+      ExecutionException asyncError =
+          assertThrows(ExecutionException.class, () -> guarded.getResultsAsync("two").get());
+      assertEquals(503, ((RealityDefenderException) asyncError.getCause()).getStatusCode());
+      assertEquals(CircuitBreaker.State.OPEN, guarded.getCircuitState(Endpoint.STATUS));
+
+      RealityDefenderException error =
+          assertThrows(RealityDefenderException.class, () -> guarded.getResults("three"));
+      assertEquals("CIRCUIT_OPEN", error.getCode());
+      wireMockServer.verify(2, getRequestedFor(urlPathMatching("/api/media/users/.*")));
+      assertEquals(CircuitBreaker.State.CLOSED, guarded.getCircuitState(Endpoint.PRESIGN));
+    } finally {
+      guarded.close();
+    }
+  }
+
+  @Test
+  void testCircuitBreakerProbeEndingInErrorFreesTheProbe() throws Exception {
+    CircuitBreakerPolicy breakers =
+        CircuitBreakerPolicy.builder()
+            .minimumCalls(1)
+            .slidingWindowSize(1)
+            .openDuration(Duration.ofMillis(50))
+            .build();
+    AtomicBoolean failHard = new AtomicBoolean();
+    RealityDefenderRuntime runtime =
+        RealityDefenderRuntime.create(
+            new OkHttpClient.Builder()
+                .addInterceptor(
+                    chain -> {
+                      if (failHard.get()) {
+                        throw new AssertionError("interceptor failure");
+                      }
+                      return chain.proceed(chain.request());
+                    })
+                .build());
+    HttpClient guarded =
+        new HttpClient(config.toBuilder().circuitBreakerPolicy(breakers).build(), runtime);
+    wireMockServer.stubFor(
+        get(urlPathMatching("/api/media/users/.*"))
+            .willReturn(
+                aResponse()
+                    .withStatus(503)
+                    .withHeader("Content-Type", "application/json; charset=UTF-8")
+                    .withBody("{\"response\": \"Service unavailable\"}")));
+
+    try {
+      assertThrows(RealityDefenderException.class, () -> guarded.getResults("one"));
+      assertEquals(CircuitBreaker.State.OPEN, guarded.getCircuitState(Endpoint.STATUS));
+      Thread.sleep(100);
+
+      failHard.set(true);
+      assertThrows(AssertionError.class, () -> guarded.getResults("two"));
+      failHard.set(false);
+
+      RealityDefenderException error =
+          assertThrows(RealityDefenderException.class, () -> guarded.getResults("three"));
+      assertEquals(503, error.getStatusCode());
+      wireMockServer.verify(2, getRequestedFor(urlPathMatching("/api/media/users/.*")));
+    } finally {
+      guarded.close();
+      runtime.close();
+    }
+  }
+
   @Test
   void testUploadFileUnsupportedExtension() throws Exception {
     File testFile = new File(tempDir, "test.pdf");
@@ -716,6 +934,383 @@ class HttpClientTest {
             .withRequestBody(matchingJsonPath("$.socialLink", equalTo(testUrl))));
   }
 
+  @Test
+  void testUploadFileAsyncSuccess() throws Exception {
+    File testFile = new File(tempDir, "async.jpg");
+    Files.write(testFile.toPath(), "test file content".getBytes());
+
+    mockSuccessfulUpload();
+
+    JsonNode result = httpClient.uploadFileAsync(testFile).get(10, TimeUnit.SECONDS);
+
+    assertEquals("req456", result.get("request_id").asText());
+    assertEquals("media123", result.get("media_id").asText());
+    wireMockServer.verify(postRequestedFor(urlEqualTo("/api/files/aws-presigned")));
+    wireMockServer.verify(putRequestedFor(urlEqualTo("/upload")));
+  }
+
+  @Test
+  void testUploadFileReportsProgressAndDigest() throws Exception {
+    byte[] content = new byte[UploadRequestBody.CHUNK_SIZE * 3 + 17];
+    new Random(42).nextBytes(content);
+    File testFile = new File(tempDir, "large.png");
+    Files.write(testFile.toPath(), content);
+
+    mockSuccessfulUpload();
+
+    List<Long> progress = new CopyOnWriteArrayList<>();
+    JsonNode result =
+        httpClient
+            .uploadFileAsync(testFile, (written, total) -> progress.add(written))
+            .get(10, TimeUnit.SECONDS);
+
+    String expectedDigest =
+        UploadRequestBody.toHex(MessageDigest.getInstance("SHA-256").digest(content));
+    assertEquals(expectedDigest, result.get("sha256").asText());
+    assertEquals(4, progress.size());
+    assertEquals((long) content.length, progress.get(progress.size() - 1));
+    wireMockServer.verify(
+        putRequestedFor(urlEqualTo("/upload")).withRequestBody(binaryEqualTo(content)));
+  }
+
+  @Test
+  void testUploadFileMemoryMapped() throws Exception {
+    byte[] content = new byte[UploadRequestBody.CHUNK_SIZE + 99];
+    new Random(3).nextBytes(content);
+    File testFile = new File(tempDir, "mapped.mp4");
+    Files.write(testFile.toPath(), content);
+    mockSuccessfulUpload();
+
+    try (HttpClient mappedClient =
+        new HttpClient(config.toBuilder().memoryMapThreshold(content.length).build())) {
+      JsonNode result = mappedClient.uploadFile(testFile);
+
+      assertEquals(
+          UploadRequestBody.toHex(MessageDigest.getInstance("SHA-256").digest(content)),
+          result.get("sha256").asText());
+    }
+    wireMockServer.verify(
+        putRequestedFor(urlEqualTo("/upload")).withRequestBody(binaryEqualTo(content)));
+  }
+
+  @Test
+  void testUploadFromBytes() throws Exception {
+    byte[] content = "in-memory image".getBytes();
+    mockSuccessfulUpload();
+
+    JsonNode result = httpClient.upload(UploadSource.of(content, "frame.jpg"), null);
+
+    assertEquals("req456", result.get("request_id").asText());
+    wireMockServer.verify(
+        postRequestedFor(urlEqualTo("/api/files/aws-presigned"))
+            .withRequestBody(containing("frame.jpg")));
+    wireMockServer.verify(
+        putRequestedFor(urlEqualTo("/upload")).withRequestBody(binaryEqualTo(content)));
+  }
+
+  @Test
+  void testUploadFromDirectByteBufferAsync() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+    buffer.put("skip:audio-bytes".getBytes());
+    buffer.flip();
+    buffer.position(5);
+    mockSuccessfulUpload();
+
+    httpClient.uploadAsync(UploadSource.of(buffer, "clip.wav"), null).get(10, TimeUnit.SECONDS);
+
+    assertEquals(5, buffer.position());
+    wireMockServer.verify(
+        putRequestedFor(urlEqualTo("/upload"))
+            .withRequestBody(binaryEqualTo("audio-bytes".getBytes())));
+  }
+
+  @Test
+  void testUploadFromStreamSendsDeclaredLength() throws Exception {
+    ByteArrayInputStream stream = new ByteArrayInputStream("video-bytes|trailer".getBytes());
+    mockSuccessfulUpload();
+
+    httpClient.upload(UploadSource.of(stream, 11, "movie.mp4"), null);
+
+    assertEquals(8, stream.available());
+    wireMockServer.verify(
+        putRequestedFor(urlEqualTo("/upload"))
+            .withRequestBody(binaryEqualTo("video-bytes".getBytes())));
+  }
+
+  @Test
+  void testUploadFromMemoryValidatesSuppliedFileName() {
+    RealityDefenderException unsupported =
+        assertThrows(
+            RealityDefenderException.class,
+            () -> httpClient.upload(UploadSource.of(new byte[1], "payload.exe"), null));
+    assertEquals("invalid_file", unsupported.getCode());
+
+    RealityDefenderException tooLarge =
+        assertThrows(
+            RealityDefenderException.class,
+            () ->
+                httpClient.upload(
+                    UploadSource.of(new ByteArrayInputStream(new byte[0]), 5_242_881, "a.txt"),
+                    null));
+    assertEquals("file_too_large", tooLarge.getCode());
+    wireMockServer.verify(0, postRequestedFor(urlEqualTo("/api/files/aws-presigned")));
+  }
+
+  @Test
+  void testUploadAllAsync() throws Exception {
+    mockSuccessfulUpload();
+    List<UploadSource> sources = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      sources.add(UploadSource.of(("image-" + i).getBytes(), "image-" + i + ".png"));
+    }
+    sources.add(UploadSource.of(new byte[1], "notes.doc"));
+
+    List<CompletableFuture<JsonNode>> results = httpClient.uploadAllAsync(sources);
+
+    assertEquals(7, results.size());
+    for (int i = 0; i < 6; i++) {
+      assertEquals("req456", results.get(i).get(10, TimeUnit.SECONDS).get("request_id").asText());
+    }
+    ExecutionException invalid = assertThrows(ExecutionException.class, results.get(6)::get);
+    assertEquals("invalid_file", ((RealityDefenderException) invalid.getCause()).getCode());
+    wireMockServer.verify(6, postRequestedFor(urlEqualTo("/api/files/aws-presigned")));
+    wireMockServer.verify(6, putRequestedFor(urlEqualTo("/upload")));
+  }
+
+  @Test
+  void testUploadAllAsyncRefreshesExpiredSignedUrl() throws Exception {
+    wireMockServer.stubFor(
+        post(urlEqualTo("/api/files/aws-presigned"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        "{\"response\": {\"signedUrl\": \"http://localhost:"
+                            + wireMockServer.port()
+                            + "/upload?X-Amz-Date=20000101T000000Z&X-Amz-Expires=60\"},"
+                            + " \"mediaId\": \"m\", \"requestId\": \"r\"}")));
+    wireMockServer.stubFor(put(urlPathEqualTo("/upload")).willReturn(aResponse().withStatus(200)));
+
+    httpClient
+        .uploadAllAsync(List.of(UploadSource.of(new byte[4], "a.jpg")))
+        .get(0)
+        .get(10, TimeUnit.SECONDS);
+
+    // The first URL had already expired, so exactly one replacement is requested.
+    wireMockServer.verify(2, postRequestedFor(urlEqualTo("/api/files/aws-presigned")));
+    wireMockServer.verify(1, putRequestedFor(urlPathEqualTo("/upload")));
+  }
+
+  @Test
+  void testUploadAllAsyncPropagatesPresignFailurePerItem() throws Exception {
+    wireMockServer.stubFor(
+        post(urlEqualTo("/api/files/aws-presigned"))
+            .withRequestBody(containing("bad.jpg"))
+            .willReturn(aResponse().withStatus(401).withBody("{\"response\": \"nope\"}")));
+    wireMockServer.stubFor(
+        post(urlEqualTo("/api/files/aws-presigned"))
+            .withRequestBody(containing("good.jpg"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withBody(
+                        "{\"response\": {\"signedUrl\": \"http://localhost:"
+                            + wireMockServer.port()
+                            + "/upload\"}, \"requestId\": \"good\"}")));
+    wireMockServer.stubFor(put(urlEqualTo("/upload")).willReturn(aResponse().withStatus(200)));
+
+    List<CompletableFuture<JsonNode>> results =
+        httpClient.uploadAllAsync(
+            List.of(
+                UploadSource.of(new byte[1], "bad.jpg"), UploadSource.of(new byte[1], "good.jpg")));
+
+    ExecutionException failed = assertThrows(ExecutionException.class, results.get(0)::get);
+    assertEquals("UNAUTHORIZED", ((RealityDefenderException) failed.getCause()).getCode());
+    assertEquals("good", results.get(1).get(10, TimeUnit.SECONDS).get("request_id").asText());
+  }
+
+  @Test
+  void testUploadFileAsyncFileNotFound() {
+    File nonExistentFile = new File(tempDir, "nonexistent.jpg");
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class, () -> httpClient.uploadFileAsync(nonExistentFile).get());
+
+    assertInstanceOf(RealityDefenderException.class, exception.getCause());
+    assertEquals("INVALID_FILE", ((RealityDefenderException) exception.getCause()).getCode());
+    wireMockServer.verify(0, postRequestedFor(urlEqualTo("/api/files/aws-presigned")));
+  }
+
+  @Test
+  void testGetResultsAsyncSuccess() throws Exception {
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/req-async"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"requestId\": \"req-async\"}")));
+
+    JsonNode result = httpClient.getResultsAsync("req-async").get(10, TimeUnit.SECONDS);
+
+    assertEquals("req-async", result.get("requestId").asText());
+  }
+
+  @Test
+  void testGetResultsAsyncNotFound() {
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/missing"))
+            .willReturn(aResponse().withStatus(404).withBody("{\"response\": \"missing\"}")));
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> httpClient.getResultsAsync("missing").get());
+
+    RealityDefenderException cause = (RealityDefenderException) exception.getCause();
+    assertEquals("NOT_FOUND", cause.getCode());
+    assertEquals(404, cause.getStatusCode());
+  }
+
+  @Test
+  void testGetResultsAsyncConcurrentRequests() throws Exception {
+    wireMockServer.stubFor(
+        get(urlMatching("/api/media/users/req-.*"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withFixedDelay(50)
+                    .withBody("{\"overallStatus\": \"AUTHENTIC\"}")));
+
+    List<CompletableFuture<JsonNode>> futures = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      futures.add(httpClient.getResultsAsync("req-" + i));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+    for (CompletableFuture<JsonNode> future : futures) {
+      assertEquals("AUTHENTIC", future.get().get("overallStatus").asText());
+    }
+    wireMockServer.verify(50, getRequestedFor(urlMatching("/api/media/users/req-.*")));
+  }
+
+  @Test
+  void testPostSocialMediaAsyncServerError() {
+    wireMockServer.stubFor(
+        post(urlEqualTo("/api/files/social"))
+            .willReturn(aResponse().withStatus(500).withBody("{\"response\": \"boom\"}")));
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class,
+            () -> httpClient.postSocialMediaAsync("https://youtube.com/watch?v=x").get());
+
+    assertEquals("UPLOAD_FAILED", ((RealityDefenderException) exception.getCause()).getCode());
+  }
+
+  @Test
+  void testGetDetectionResult() throws Exception {
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/req-typed"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        "{\"requestId\": \"req-typed\", \"mediaType\": \"IMAGE\","
+                            + " \"resultsSummary\": {\"status\": \"FAKE\"},"
+                            + " \"unknownField\": {\"nested\": [1, 2, 3]}}")));
+
+    DetectionResult result = httpClient.getDetectionResult("req-typed");
+
+    assertEquals("req-typed", result.getRequestId());
+    assertEquals("MANIPULATED", result.summarize().getStatus());
+  }
+
+  @Test
+  void testGetDetectionResultAsyncNotFound() {
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/missing"))
+            .willReturn(aResponse().withStatus(404).withBody("{\"response\": \"missing\"}")));
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class, () -> httpClient.getDetectionResultAsync("missing").get());
+
+    RealityDefenderException cause = (RealityDefenderException) exception.getCause();
+    assertEquals("NOT_FOUND", cause.getCode());
+    assertEquals(404, cause.getStatusCode());
+  }
+
+  @Test
+  void testGetDetectionResultMalformedBody() {
+    wireMockServer.stubFor(
+        get(urlEqualTo("/api/media/users/req-bad"))
+            .willReturn(aResponse().withStatus(200).withBody("{\"requestId\": ")));
+
+    RealityDefenderException exception =
+        assertThrows(
+            RealityDefenderException.class, () -> httpClient.getDetectionResult("req-bad"));
+
+    assertEquals("PARSE_ERROR", exception.getCode());
+  }
+
+  @Test
+  void testGetDetectionResultList() throws Exception {
+    wireMockServer.stubFor(
+        get(urlPathEqualTo("/api/v2/media/users/pages/0"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        "{\"totalItems\": 2, \"totalPages\": 1, \"currentPage\": 0,"
+                            + " \"currentPageItemsCount\": 2, \"mediaList\": ["
+                            + "{\"requestId\": \"req-1\"}, {\"requestId\": \"req-2\"}]}")));
+
+    DetectionResultList page =
+        httpClient.getDetectionResultListAsync(0, 10, null, null, null).get(10, TimeUnit.SECONDS);
+
+    assertEquals(2, page.getTotalItems());
+    assertEquals(2, page.getItems().size());
+    assertEquals("req-2", page.getItems().get(1).getRequestId());
+  }
+
+  @Test
+  void testOkHttpClientFollowsConfig() {
+    RealityDefenderConfig tunedConfig =
+        RealityDefenderConfig.builder()
+            .apiKey("test-api-key")
+            .baseUrl("http://localhost:" + wireMockServer.port())
+            .timeout(Duration.ofSeconds(30))
+            .connectTimeout(Duration.ofSeconds(3))
+            .readTimeout(Duration.ofSeconds(7))
+            .writeTimeout(Duration.ofSeconds(11))
+            .maxRequests(200)
+            .maxRequestsPerHost(100)
+            .protocol(RealityDefenderConfig.Protocol.HTTP_1_1)
+            .build();
+
+    try (HttpClient tunedClient = new HttpClient(tunedConfig)) {
+      OkHttpClient okHttpClient = tunedClient.getOkHttpClient();
+
+      assertEquals(3_000, okHttpClient.connectTimeoutMillis());
+      assertEquals(7_000, okHttpClient.readTimeoutMillis());
+      assertEquals(11_000, okHttpClient.writeTimeoutMillis());
+      assertEquals(200, okHttpClient.dispatcher().getMaxRequests());
+      assertEquals(100, okHttpClient.dispatcher().getMaxRequestsPerHost());
+      assertEquals(List.of(Protocol.HTTP_1_1), okHttpClient.protocols());
+    }
+  }
+
+  @Test
+  void testOkHttpClientPrefersHttp2ByDefault() {
+    assertEquals(
+        List.of(Protocol.HTTP_2, Protocol.HTTP_1_1), httpClient.getOkHttpClient().protocols());
+  }
+
   private void mockSuccessfulUpload() {
     // Mock signed URL endpoint
     wireMockServer.stubFor(
@@ -0,0 +1,125 @@
+package ai.realitydefender.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+  private ScheduledExecutorService scheduler;
+  private final AtomicLong now = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    scheduler = Executors.newScheduledThreadPool(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void testTokenBucketAllowsBurstThenPaces() throws Exception {
+    RateLimiter limiter = RateLimiter.builder().rate(Endpoint.PRESIGN, 20, 2).build();
+
+    CompletableFuture<RateLimiter.Permit> first = limiter.acquire(Endpoint.PRESIGN, scheduler);
+    CompletableFuture<RateLimiter.Permit> second = limiter.acquire(Endpoint.PRESIGN, scheduler);
+    CompletableFuture<RateLimiter.Permit> third = limiter.acquire(Endpoint.PRESIGN, scheduler);
+    CompletableFuture<RateLimiter.Permit> status = limiter.acquire(Endpoint.STATUS, scheduler);
+
+    assertTrue(first.isDone());
+    assertTrue(second.isDone());
+    assertFalse(third.isDone());
+    assertTrue(status.isDone());
+    assertNotNull(third.get(5, TimeUnit.SECONDS));
+    assertEquals(3, limiter.getInFlight(Endpoint.PRESIGN));
+  }
+
+  @Test
+  void testThrottlingHalvesConcurrencyOncePerRoundTrip() {
+    RateLimiter limiter = RateLimiter.builder().maxConcurrency(8).clock(now::get).build();
+    List<RateLimiter.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      permits.add(limiter.acquire(Endpoint.UPLOAD, scheduler).join());
+    }
+    CompletableFuture<RateLimiter.Permit> queued = limiter.acquire(Endpoint.UPLOAD, scheduler);
+    assertFalse(queued.isDone());
+
+    now.addAndGet(1_000);
+    for (RateLimiter.Permit permit : permits.subList(0, 3)) {
+      permit.throttled(null);
+      permit.release();
+    }
+
+    assertEquals(4, limiter.getConcurrencyLimit(Endpoint.UPLOAD));
+    assertEquals(3, limiter.getThrottledCount(Endpoint.UPLOAD));
+    assertFalse(queued.isDone());
+
+    for (RateLimiter.Permit permit : permits.subList(3, 8)) {
+      permit.responded();
+      permit.release();
+    }
+    assertTrue(queued.isDone());
+    assertEquals(5, limiter.getConcurrencyLimit(Endpoint.UPLOAD));
+  }
+
+  @Test
+  void testRetryAfterHoldsEndpointBack() throws Exception {
+    RateLimiter limiter = RateLimiter.builder().build();
+    RateLimiter.Permit permit = limiter.acquire(Endpoint.STATUS, scheduler).join();
+    permit.throttled(Duration.ofMillis(100));
+    permit.release();
+
+    CompletableFuture<RateLimiter.Permit> next = limiter.acquire(Endpoint.STATUS, scheduler);
+    assertFalse(next.isDone());
+    assertNotNull(next.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testSlowResponsesReduceConcurrency() {
+    RateLimiter limiter =
+        RateLimiter.builder()
+            .maxConcurrency(10)
+            .latencyTarget(Endpoint.STATUS, Duration.ofMillis(500))
+            .clock(now::get)
+            .build();
+
+    now.addAndGet(1);
+    RateLimiter.Permit fast = limiter.acquire(Endpoint.STATUS, scheduler).join();
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    fast.responded();
+    fast.release();
+    assertEquals(10, limiter.getConcurrencyLimit(Endpoint.STATUS));
+
+    RateLimiter.Permit slow = limiter.acquire(Endpoint.STATUS, scheduler).join();
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    slow.responded();
+    slow.release();
+    assertEquals(9, limiter.getConcurrencyLimit(Endpoint.STATUS));
+  }
+
+  @Test
+  void testCancelledWaiterGivesUpItsPlace() {
+    RateLimiter limiter = RateLimiter.builder().maxConcurrency(1).build();
+    RateLimiter.Permit held = limiter.acquire(Endpoint.LIST, scheduler).join();
+    CompletableFuture<RateLimiter.Permit> cancelled = limiter.acquire(Endpoint.LIST, scheduler);
+    CompletableFuture<RateLimiter.Permit> next = limiter.acquire(Endpoint.LIST, scheduler);
+
+    cancelled.cancel(false);
+    held.release();
+
+    assertTrue(next.isDone());
+    assertEquals(1, limiter.getInFlight(Endpoint.LIST));
+  }
+}
@@ -0,0 +1,143 @@
+package ai.realitydefender.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RetrierTest {
+
+  private ScheduledExecutorService scheduler;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = Executors.newScheduledThreadPool(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void testRetriesTransientFailuresUntilSuccess() throws Exception {
+    Retrier retrier = new Retrier(fastRetries(3).build(), scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        retrier.call(
+            () -> {
+              if (attempts.incrementAndGet() < 3) {
+                throw new RealityDefenderException(
+                    "Failed to get results", "SERVER_ERROR", new IOException("Connection reset"));
+              }
+              return "done";
+            });
+
+    assertEquals("done", result);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  void testDoesNotRetryPermanentFailures() {
+    Retrier retrier = new Retrier(fastRetries(3).build(), scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+
+    RealityDefenderException error =
+        assertThrows(
+            RealityDefenderException.class,
+            () ->
+                retrier.call(
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw new RealityDefenderException("Resource not found", "NOT_FOUND", 404);
+                    }));
+
+    assertEquals("NOT_FOUND", error.getCode());
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void testAsyncCallFailsWithLastErrorOnceAttemptsRunOut() {
+    Retrier retrier = new Retrier(fastRetries(2).build(), scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+
+    CompletableFuture<String> result =
+        retrier.callAsync(
+            () ->
+                CompletableFuture.failedFuture(
+                    new RealityDefenderException(
+                        "API error " + attempts.incrementAndGet(), "SERVER_ERROR", 503)));
+
+    ExecutionException error =
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertEquals("API error 2", error.getCause().getMessage());
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  void testSlowLookupIsHedged() throws Exception {
+    Retrier retrier =
+        new Retrier(
+            fastRetries(1).hedgeStatusChecks(true).minHedgeDelay(Duration.ofMillis(20)).build(),
+            scheduler);
+    assertEquals(-1, retrier.hedgeDelayNanos());
+    for (int i = 0; i < Retrier.MIN_LATENCY_SAMPLES; i++) {
+      retrier.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(20), retrier.hedgeDelayNanos());
+
+    List<CompletableFuture<String>> sent = new ArrayList<>();
+    CompletableFuture<String> result =
+        retrier.hedge(
+            () -> {
+              CompletableFuture<String> lookup =
+                  sent.isEmpty()
+                      ? new CompletableFuture<>()
+                      : CompletableFuture.completedFuture("hedge");
+              sent.add(lookup);
+              return lookup;
+            });
+
+    assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+    assertEquals(2, sent.size());
+    assertTrue(sent.get(0).isCancelled());
+  }
+
+  @Test
+  void testBackoffGrowsExponentiallyUpToTheCap() {
+    RetryPolicy policy =
+        RetryPolicy.builder()
+            .initialBackoff(Duration.ofMillis(100))
+            .maxBackoff(Duration.ofMillis(350))
+            .build();
+
+    for (int i = 0; i < 50; i++) {
+      long first = policy.backoffMillis(1);
+      long second = policy.backoffMillis(2);
+      long capped = policy.backoffMillis(10);
+      assertTrue(first >= 50 && first <= 100, "first: " + first);
+      assertTrue(second >= 100 && second <= 200, "second: " + second);
+      assertTrue(capped >= 175 && capped <= 350, "capped: " + capped);
+    }
+  }
+
+  private static RetryPolicy.Builder fastRetries(int maxAttempts) {
+    return RetryPolicy.builder()
+        .maxAttempts(maxAttempts)
+        .initialBackoff(Duration.ofMillis(1))
+        .maxBackoff(Duration.ofMillis(5));
+  }
+}
@@ -0,0 +1,58 @@
+package ai.realitydefender.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.models.SignedUrlResponse;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class SignedUrlTest {
+
+  private static final Instant FETCHED_AT = Instant.parse("2024-05-01T12:00:00Z");
+
+  @Test
+  void testExpiryFromAmzParameters() {
+    SignedUrl signedUrl =
+        SignedUrl.of(
+            response(
+                "https://bucket.s3.amazonaws.com/key?X-Amz-Date=20240501T115500Z&X-Amz-Expires=900"),
+            FETCHED_AT,
+            Duration.ofHours(1));
+
+    assertEquals(Instant.parse("2024-05-01T12:10:00Z"), signedUrl.getExpiresAt());
+    assertTrue(signedUrl.isUsableAt(Instant.parse("2024-05-01T12:09:00Z")));
+    assertFalse(signedUrl.isUsableAt(Instant.parse("2024-05-01T12:09:45Z")));
+  }
+
+  @Test
+  void testExpiryFromGoogParameters() {
+    SignedUrl signedUrl =
+        SignedUrl.of(
+            response(
+                "https://storage.googleapis.com/b/o?X-Goog-Date=20240501T120000Z&X-Goog-Expires=60"),
+            FETCHED_AT,
+            Duration.ofHours(1));
+
+    assertEquals(Instant.parse("2024-05-01T12:01:00Z"), signedUrl.getExpiresAt());
+  }
+
+  @Test
+  void testFallbackTtlWhenUrlHasNoExpiry() {
+    SignedUrl plain =
+        SignedUrl.of(response("https://upload.example.com/abc"), FETCHED_AT, Duration.ofMinutes(5));
+    SignedUrl malformed =
+        SignedUrl.of(
+            response("https://upload.example.com/abc?X-Amz-Date=soon&X-Amz-Expires=60"),
+            FETCHED_AT,
+            Duration.ofMinutes(5));
+
+    assertEquals(FETCHED_AT.plus(Duration.ofMinutes(5)), plain.getExpiresAt());
+    assertEquals(FETCHED_AT.plus(Duration.ofMinutes(5)), malformed.getExpiresAt());
+  }
+
+  private static SignedUrlResponse response(String url) {
+    return new SignedUrlResponse(
+        "ok", new SignedUrlResponse.SignedUrlData(url), 0, "media", "request");
+  }
+}
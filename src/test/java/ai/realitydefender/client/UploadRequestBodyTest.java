@@ -0,0 +1,159 @@
+package ai.realitydefender.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UploadRequestBodyTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void testStreamsFileInChunksWithDigest() throws Exception {
+    byte[] content = new byte[UploadRequestBody.CHUNK_SIZE * 2 + 1];
+    new Random(7).nextBytes(content);
+    Path file = Files.write(tempDir.resolve("media.mp4"), content);
+
+    List<Long> progress = new ArrayList<>();
+    UploadRequestBody body =
+        UploadRequestBody.ofFile(
+            file,
+            content.length,
+            (written, total) -> {
+              assertEquals(content.length, total);
+              progress.add(written);
+            });
+
+    Buffer sink = new Buffer();
+    body.writeTo(sink);
+
+    assertArrayEquals(content, sink.readByteArray());
+    assertEquals(
+        List.of(
+            (long) UploadRequestBody.CHUNK_SIZE,
+            (long) UploadRequestBody.CHUNK_SIZE * 2,
+            (long) content.length),
+        progress);
+    assertEquals(
+        UploadRequestBody.toHex(MessageDigest.getInstance("SHA-256").digest(content)),
+        body.getSha256());
+    assertEquals("application/octet-stream", body.contentType().toString());
+    assertEquals(content.length, body.contentLength());
+  }
+
+  @Test
+  void testMappedBodyMatchesBufferedBody() throws Exception {
+    byte[] content = new byte[UploadRequestBody.CHUNK_SIZE * 5 + 3];
+    new Random(11).nextBytes(content);
+    Path file = Files.write(tempDir.resolve("video.mov"), content);
+
+    List<Long> progress = new ArrayList<>();
+    UploadRequestBody mapped =
+        UploadRequestBody.ofMappedFile(
+            file, content.length, (written, total) -> progress.add(written));
+    UploadRequestBody buffered = UploadRequestBody.ofFile(file, content.length, null);
+
+    Buffer mappedSink = new Buffer();
+    mapped.writeTo(mappedSink);
+    buffered.writeTo(new Buffer());
+
+    assertArrayEquals(content, mappedSink.readByteArray());
+    assertEquals(buffered.getSha256(), mapped.getSha256());
+    assertEquals(6, progress.size());
+    assertEquals((long) content.length, progress.get(5));
+  }
+
+  @Test
+  void testMappedBodySpansSeveralWindows() throws Exception {
+    byte[] content = new byte[(int) UploadRequestBody.MAP_WINDOW * 2 + 17];
+    new Random(17).nextBytes(content);
+    Path file = Files.write(tempDir.resolve("long.mp4"), content);
+
+    UploadRequestBody body = UploadRequestBody.ofMappedFile(file, content.length, null);
+    Buffer sink = new Buffer();
+    body.writeTo(sink);
+
+    assertArrayEquals(content, sink.readByteArray());
+    assertEquals(
+        UploadRequestBody.toHex(MessageDigest.getInstance("SHA-256").digest(content)),
+        body.getSha256());
+  }
+
+  @Test
+  void testSourceDigestMatchesUploadedDigest() throws Exception {
+    byte[] content = new byte[UploadRequestBody.CHUNK_SIZE * 3 + 5];
+    new Random(13).nextBytes(content);
+    Path file = Files.write(tempDir.resolve("repost.jpg"), content);
+    UploadRequestBody body = UploadRequestBody.ofFile(file, content.length, null);
+    body.writeTo(new Buffer());
+
+    assertEquals(body.getSha256(), UploadSource.of(file).computeSha256());
+    assertEquals(body.getSha256(), UploadSource.of(content, "repost.jpg").computeSha256());
+    assertNull(
+        UploadSource.of(new ByteArrayInputStream(content), content.length, "repost.jpg")
+            .computeSha256());
+  }
+
+  @Test
+  void testMappedBodyRejectsTruncatedFile() throws Exception {
+    Path file = Files.write(tempDir.resolve("short.mp4"), new byte[10]);
+
+    UploadRequestBody body = UploadRequestBody.ofMappedFile(file, 20, null);
+
+    assertThrows(IOException.class, () -> body.writeTo(new Buffer()));
+  }
+
+  @Test
+  void testDigestIsNullBeforeWrite() throws Exception {
+    Path file = Files.write(tempDir.resolve("empty.txt"), new byte[0]);
+
+    UploadRequestBody body = UploadRequestBody.ofFile(file, 0, null);
+
+    assertNull(body.getSha256());
+    body.writeTo(new Buffer());
+    assertEquals(
+        "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", body.getSha256());
+  }
+
+  @Test
+  void testStreamBodyIsOneShotAndLeavesStreamOpen() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    InputStream stream =
+        new ByteArrayInputStream("0123456789".getBytes()) {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+
+    UploadRequestBody body = UploadRequestBody.ofStream(stream, 4, null);
+    Buffer sink = new Buffer();
+    body.writeTo(sink);
+
+    assertTrue(body.isOneShot());
+    assertEquals("0123", sink.readUtf8());
+    assertFalse(closed.get());
+  }
+
+  @Test
+  void testRejectsFileThatChangedSize() throws Exception {
+    Path file = Files.write(tempDir.resolve("image.jpg"), new byte[10]);
+
+    UploadRequestBody body = UploadRequestBody.ofFile(file, 20, null);
+
+    assertThrows(IOException.class, () -> body.writeTo(new Buffer()));
+    assertNull(body.getSha256());
+  }
+}
@@ -0,0 +1,72 @@
+package ai.realitydefender.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the packaged multi-release jar. Failsafe puts the jar on the classpath instead of
+ * target/classes, so unlike the unit tests these load the {@code META-INF/versions/21} layer when
+ * running on Java 21 or later.
+ */
+class MultiReleaseJarIT {
+
+  private static final String LAYERED_CLASS =
+      "META-INF/versions/21/ai/realitydefender/core/VirtualThreads.class";
+
+  @Test
+  void testVirtualThreadsAreLoadedFromThePackagedJar() throws Exception {
+    Path location =
+        Path.of(VirtualThreads.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    assertTrue(location.toString().endsWith(".jar"), "Loaded from " + location);
+
+    try (JarFile jar = new JarFile(location.toFile())) {
+      assertEquals("true", jar.getManifest().getMainAttributes().getValue("Multi-Release"));
+      if (Runtime.version().feature() >= 21) {
+        assertNotNull(jar.getEntry(LAYERED_CLASS), "Jar was built without the Java 21 layer");
+        assertTrue(VirtualThreads.isSupported());
+      } else {
+        assertFalse(VirtualThreads.isSupported());
+      }
+    }
+  }
+
+  @Test
+  void testRuntimeRunsOnVirtualThreadsOnJava21() throws Exception {
+    assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(30))
+            .virtualThreads(true)
+            .build();
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config)) {
+      assertNotNull(runtime.getExecutor());
+      assertTrue(
+          VirtualThreads.isVirtual(
+              CompletableFuture.supplyAsync(Thread::currentThread, runtime.getExecutor()).get()));
+      assertTrue(
+          VirtualThreads.isVirtual(
+              runtime
+                  .getScheduler()
+                  .schedule(Thread::currentThread, 0, TimeUnit.MILLISECONDS)
+                  .get()));
+      assertTrue(
+          VirtualThreads.isVirtual(
+              runtime
+                  .getOkHttpClient()
+                  .dispatcher()
+                  .executorService()
+                  .submit(Thread::currentThread)
+                  .get()));
+    }
+  }
+}
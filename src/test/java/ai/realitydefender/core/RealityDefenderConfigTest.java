@@ -2,6 +2,7 @@ package ai.realitydefender.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import ai.realitydefender.detection.PollingPolicy;
 import java.time.Duration;
 import org.junit.jupiter.api.Test;
 
@@ -72,4 +73,105 @@ class RealityDefenderConfigTest {
     assertTrue(toString.contains("PT30S"));
     assertFalse(toString.contains("api-key")); // API key should not be in toString for security
   }
+
+  @Test
+  void testBuilderDefaults() {
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(30))
+            .build();
+
+    assertEquals(Duration.ofSeconds(30), config.getConnectTimeout());
+    assertEquals(Duration.ofSeconds(30), config.getReadTimeout());
+    assertEquals(Duration.ofSeconds(30), config.getWriteTimeout());
+    assertEquals(
+        RealityDefenderConfig.DEFAULT_MAX_IDLE_CONNECTIONS, config.getMaxIdleConnections());
+    assertEquals(RealityDefenderConfig.DEFAULT_KEEP_ALIVE_DURATION, config.getKeepAliveDuration());
+    assertEquals(RealityDefenderConfig.DEFAULT_MAX_REQUESTS, config.getMaxRequests());
+    assertEquals(
+        RealityDefenderConfig.DEFAULT_MAX_REQUESTS_PER_HOST, config.getMaxRequestsPerHost());
+    assertEquals(RealityDefenderConfig.Protocol.HTTP_2, config.getProtocol());
+    assertEquals(
+        RealityDefenderConfig.DEFAULT_MEMORY_MAP_THRESHOLD, config.getMemoryMapThreshold());
+    assertEquals(RealityDefenderConfig.DEFAULT_PRESIGN_CONCURRENCY, config.getPresignConcurrency());
+    assertEquals(RealityDefenderConfig.DEFAULT_SIGNED_URL_TTL, config.getSignedUrlTtl());
+    assertEquals(RealityDefenderConfig.DEFAULT_POLL_CONCURRENCY, config.getPollConcurrency());
+    assertNull(config.getPollingPolicy());
+    assertNull(config.getExecutor());
+    assertFalse(config.isVirtualThreads());
+    assertEquals(
+        new RealityDefenderConfig(
+            "api-key", "https://api.realitydefender.com", Duration.ofSeconds(30)),
+        config);
+  }
+
+  @Test
+  void testBuilderOverrides() {
+    PollingPolicy pollingPolicy = PollingPolicy.adaptive().build();
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(30))
+            .connectTimeout(Duration.ofSeconds(2))
+            .readTimeout(Duration.ofSeconds(10))
+            .writeTimeout(Duration.ofSeconds(90))
+            .maxIdleConnections(32)
+            .keepAliveDuration(Duration.ofMinutes(1))
+            .maxRequests(256)
+            .maxRequestsPerHost(128)
+            .protocol(RealityDefenderConfig.Protocol.HTTP_1_1)
+            .memoryMapThreshold(100_000_000)
+            .presignConcurrency(16)
+            .signedUrlTtl(Duration.ofMinutes(15))
+            .pollConcurrency(32)
+            .pollingPolicy(pollingPolicy)
+            .executor(Runnable::run)
+            .virtualThreads(true)
+            .build();
+
+    assertEquals(Duration.ofSeconds(2), config.getConnectTimeout());
+    assertEquals(Duration.ofSeconds(10), config.getReadTimeout());
+    assertEquals(Duration.ofSeconds(90), config.getWriteTimeout());
+    assertEquals(32, config.getMaxIdleConnections());
+    assertEquals(Duration.ofMinutes(1), config.getKeepAliveDuration());
+    assertEquals(256, config.getMaxRequests());
+    assertEquals(128, config.getMaxRequestsPerHost());
+    assertEquals(RealityDefenderConfig.Protocol.HTTP_1_1, config.getProtocol());
+    assertEquals(100_000_000, config.getMemoryMapThreshold());
+    assertEquals(16, config.getPresignConcurrency());
+    assertEquals(Duration.ofMinutes(15), config.getSignedUrlTtl());
+    assertEquals(32, config.getPollConcurrency());
+    assertSame(pollingPolicy, config.getPollingPolicy());
+    assertNotNull(config.getExecutor());
+    assertTrue(config.isVirtualThreads());
+    assertTrue(config.toString().contains("maxRequestsPerHost=128"));
+    assertEquals(config, config.toBuilder().build());
+  }
+
+  @Test
+  void testBuilderRejectsNonPositiveLimits() {
+    RealityDefenderConfig.Builder builder =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(30));
+
+    assertThrows(IllegalArgumentException.class, () -> builder.maxRequestsPerHost(0).build());
+    assertThrows(
+        IllegalArgumentException.class, () -> builder.maxRequestsPerHost(1).maxRequests(0).build());
+    assertThrows(
+        IllegalArgumentException.class, () -> builder.maxRequests(1).maxIdleConnections(0).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.maxIdleConnections(1).memoryMapThreshold(-1).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.memoryMapThreshold(0).presignConcurrency(0).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.presignConcurrency(1).pollConcurrency(0).build());
+  }
 }
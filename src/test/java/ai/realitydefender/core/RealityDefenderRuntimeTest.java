@@ -0,0 +1,149 @@
+package ai.realitydefender.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+class RealityDefenderRuntimeTest {
+
+  private final RealityDefenderConfig config =
+      RealityDefenderConfig.builder()
+          .apiKey("api-key")
+          .baseUrl("https://api.realitydefender.com")
+          .timeout(Duration.ofSeconds(30))
+          .maxRequests(100)
+          .maxRequestsPerHost(50)
+          .maxIdleConnections(10)
+          .build();
+
+  @Test
+  void testCreateFromConfig() {
+    RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+
+    assertEquals(100, runtime.getOkHttpClient().dispatcher().getMaxRequests());
+    assertEquals(50, runtime.getOkHttpClient().dispatcher().getMaxRequestsPerHost());
+    assertNotNull(runtime.getObjectMapper());
+    assertNotNull(runtime.getScheduler());
+    assertFalse(runtime.isClosed());
+
+    runtime.close();
+
+    assertTrue(runtime.isClosed());
+    assertTrue(runtime.getScheduler().isShutdown());
+    assertTrue(runtime.getOkHttpClient().dispatcher().executorService().isShutdown());
+  }
+
+  @Test
+  void testReferenceCounting() {
+    RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+
+    runtime.retain();
+    runtime.retain();
+
+    runtime.close();
+    runtime.close();
+    assertFalse(runtime.isClosed());
+    assertFalse(runtime.getScheduler().isShutdown());
+
+    runtime.close();
+    assertTrue(runtime.isClosed());
+    assertTrue(runtime.getScheduler().isShutdown());
+  }
+
+  @Test
+  void testRetainAfterCloseFails() {
+    RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+    runtime.close();
+
+    assertThrows(IllegalStateException.class, runtime::retain);
+  }
+
+  @Test
+  void testConfiguredExecutorIsUsedButNotShutDown() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      RealityDefenderRuntime runtime =
+          RealityDefenderRuntime.create(config.toBuilder().executor(executor).build());
+      assertSame(executor, runtime.getExecutor());
+
+      runtime.close();
+      assertFalse(executor.isShutdown());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testVirtualThreadsFollowJvmSupport() {
+    RealityDefenderRuntime runtime =
+        RealityDefenderRuntime.create(config.toBuilder().virtualThreads(true).build());
+
+    if (VirtualThreads.isSupported()) {
+      assertNotNull(runtime.getExecutor());
+      runtime.close();
+      assertTrue(((ExecutorService) runtime.getExecutor()).isShutdown());
+    } else {
+      assertNull(runtime.getExecutor());
+      runtime.close();
+    }
+  }
+
+  @Test
+  void testVirtualThreadsFallBackToPlatformThreadsBeforeJava21() throws Exception {
+    assumeFalse(VirtualThreads.isSupported(), "Runs against the Java 11 layer");
+    RealityDefenderConfig virtual = config.toBuilder().virtualThreads(true).build();
+    assertThrows(
+        UnsupportedOperationException.class, () -> VirtualThreads.newThreadPerTaskExecutor("x-"));
+    assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadFactory("x-"));
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(virtual)) {
+      assertNull(runtime.getExecutor());
+      Thread scheduled =
+          runtime.getScheduler().schedule(Thread::currentThread, 0, TimeUnit.MILLISECONDS).get();
+      assertFalse(VirtualThreads.isVirtual(scheduled));
+      assertTrue(scheduled.getName().startsWith("realitydefender-scheduler-"));
+      Thread dispatched =
+          runtime
+              .getOkHttpClient()
+              .dispatcher()
+              .executorService()
+              .submit(Thread::currentThread)
+              .get();
+      assertFalse(VirtualThreads.isVirtual(dispatched));
+    }
+    OkHttpClient client = RealityDefenderRuntime.buildOkHttpClient(virtual);
+    client.dispatcher().executorService().shutdown();
+  }
+
+  @Test
+  void testCreateFromExistingOkHttpClient() {
+    OkHttpClient okHttpClient = new OkHttpClient();
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(okHttpClient)) {
+      assertSame(okHttpClient, runtime.getOkHttpClient());
+    }
+  }
+
+  @Test
+  void testDerivedClientsSharePoolAndDispatcher() {
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config)) {
+      RealityDefenderConfig tenantConfig =
+          config.toBuilder().apiKey("tenant-key").readTimeout(Duration.ofSeconds(5)).build();
+
+      OkHttpClient derived =
+          RealityDefenderRuntime.applyClientSettings(
+                  runtime.getOkHttpClient().newBuilder(), tenantConfig)
+              .build();
+
+      assertSame(runtime.getOkHttpClient().connectionPool(), derived.connectionPool());
+      assertSame(runtime.getOkHttpClient().dispatcher(), derived.dispatcher());
+      assertEquals(5_000, derived.readTimeoutMillis());
+    }
+  }
+}
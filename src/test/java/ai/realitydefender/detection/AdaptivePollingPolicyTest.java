@@ -0,0 +1,99 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptivePollingPolicyTest {
+
+  private static final long MB = 1024 * 1024;
+
+  @Test
+  void testBacksOffInProportionToTimeWaited() {
+    AdaptivePollingPolicy policy =
+        PollingPolicy.adaptive()
+            .initialDelay(Duration.ofMillis(100))
+            .maxDelay(Duration.ofSeconds(10))
+            .jitter(0)
+            .build();
+
+    assertEquals(Duration.ofMillis(100), policy.nextDelay(state("IMAGE", -1, Duration.ZERO)));
+    assertEquals(
+        Duration.ofSeconds(1), policy.nextDelay(state("IMAGE", -1, Duration.ofSeconds(1))));
+    assertEquals(
+        Duration.ofSeconds(10), policy.nextDelay(state("IMAGE", -1, Duration.ofSeconds(20))));
+  }
+
+  @Test
+  void testWaitsForExpectedCompletionOfSameKindOfMedia() {
+    AdaptivePollingPolicy policy =
+        PollingPolicy.adaptive()
+            .initialDelay(Duration.ofMillis(100))
+            .maxDelay(Duration.ofMinutes(2))
+            .jitter(0)
+            .build();
+
+    policy.onCompleted(state("VIDEO", 300 * MB, Duration.ofSeconds(60)));
+
+    assertEquals(Duration.ofSeconds(60), policy.getExpectedDuration("video", 260 * MB));
+    assertEquals(
+        Duration.ofSeconds(50), policy.nextDelay(state("VIDEO", 270 * MB, Duration.ofSeconds(10))));
+    // Overdue: back off from the expected completion time rather than from the start.
+    assertEquals(
+        Duration.ofSeconds(4), policy.nextDelay(state("VIDEO", 270 * MB, Duration.ofSeconds(64))));
+    // Other media types and size classes are unaffected.
+    assertNull(policy.getExpectedDuration("VIDEO", 10 * MB));
+    assertEquals(Duration.ofMillis(100), policy.nextDelay(state("IMAGE", MB, Duration.ZERO)));
+  }
+
+  @Test
+  void testSmoothsObservedCompletionTimes() {
+    AdaptivePollingPolicy policy = PollingPolicy.adaptive().smoothing(0.5).build();
+
+    policy.onCompleted(state("AUDIO", -1, Duration.ofSeconds(10)));
+    policy.onCompleted(state("AUDIO", -1, Duration.ofSeconds(20)));
+
+    assertEquals(Duration.ofSeconds(15), policy.getExpectedDuration("AUDIO", -1));
+  }
+
+  @Test
+  void testJitterStaysWithinBounds() {
+    AdaptivePollingPolicy policy =
+        PollingPolicy.adaptive()
+            .initialDelay(Duration.ofSeconds(1))
+            .maxDelay(Duration.ofSeconds(1))
+            .jitter(0.5)
+            .build();
+
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (int i = 0; i < 1000; i++) {
+      long delay = policy.nextDelay(state("IMAGE", -1, Duration.ZERO)).toMillis();
+      min = Math.min(min, delay);
+      max = Math.max(max, delay);
+    }
+    assertTrue(min >= 500 && max <= 1500, "delays in [" + min + ", " + max + "]");
+    assertTrue(max - min > 100, "delays should be spread out");
+  }
+
+  @Test
+  void testRejectsInvalidSettings() {
+    assertThrows(
+        IllegalArgumentException.class, () -> PollingPolicy.adaptive().multiplier(1).build());
+    assertThrows(IllegalArgumentException.class, () -> PollingPolicy.adaptive().jitter(2).build());
+    assertThrows(
+        IllegalArgumentException.class, () -> PollingPolicy.adaptive().smoothing(0).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            PollingPolicy.adaptive()
+                .initialDelay(Duration.ofSeconds(5))
+                .maxDelay(Duration.ofSeconds(1))
+                .build());
+  }
+
+  private static PollState state(String mediaType, long fileSize, Duration elapsed) {
+    return new PollState("req-1", 1, elapsed, mediaType, fileSize, "PROCESSING");
+  }
+}
@@ -0,0 +1,77 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class AsyncLimiterTest {
+
+  @Test
+  void testStartsQueuedOperationsAsSlotsFree() {
+    AsyncLimiter limiter = new AsyncLimiter(2);
+    List<CompletableFuture<Integer>> started = new ArrayList<>();
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      results.add(
+          limiter.submit(
+              () -> {
+                CompletableFuture<Integer> operation = new CompletableFuture<>();
+                started.add(operation);
+                return operation;
+              }));
+    }
+    assertEquals(2, started.size());
+
+    started.get(1).complete(1);
+    assertEquals(3, started.size());
+    assertEquals(1, results.get(1).join());
+    assertFalse(results.get(0).isDone());
+  }
+
+  @Test
+  void testCancelledWaitingOperationNeverStarts() {
+    AsyncLimiter limiter = new AsyncLimiter(1);
+    CompletableFuture<String> first = new CompletableFuture<>();
+    limiter.submit(() -> first);
+    CompletableFuture<String> queued =
+        limiter.submit(
+            () -> {
+              throw new AssertionError("Cancelled operation must not start");
+            });
+    List<String> ran = new ArrayList<>();
+    limiter.submit(
+        () -> {
+          ran.add("third");
+          return CompletableFuture.completedFuture("third");
+        });
+
+    queued.cancel(false);
+    first.complete("first");
+
+    assertEquals(List.of("third"), ran);
+  }
+
+  @Test
+  void testSynchronousOperationsDoNotRecurse() {
+    AsyncLimiter limiter = new AsyncLimiter(1);
+    CompletableFuture<Void> gate = new CompletableFuture<>();
+    limiter.submit(() -> gate);
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      int value = i;
+      results.add(limiter.submit(() -> CompletableFuture.completedFuture(value)));
+    }
+
+    gate.complete(null);
+
+    assertEquals(99_999, results.get(99_999).join());
+  }
+
+  @Test
+  void testRejectsNonPositiveLimit() {
+    assertThrows(IllegalArgumentException.class, () -> new AsyncLimiter(0));
+  }
+}
@@ -4,17 +4,42 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import ai.realitydefender.client.HttpClient;
+import ai.realitydefender.client.UploadSource;
+import ai.realitydefender.core.RealityDefenderConfig;
+import ai.realitydefender.core.RealityDefenderRuntime;
 import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.BatchDetectionOptions;
+import ai.realitydefender.models.DetectionOutcome;
 import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import ai.realitydefender.models.ExportOptions;
+import ai.realitydefender.models.ExportSummary;
+import ai.realitydefender.models.GetResultsOptions;
 import ai.realitydefender.models.UploadResponse;
 import ai.realitydefender.models.UserFeedbackRequest;
 import ai.realitydefender.models.UserFeedbackResponse;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -60,13 +85,29 @@ class DetectionServiceTest {
     verify(httpClient).uploadFile(testFile);
   }
 
+  @Test
+  void testUploadBytes() throws Exception {
+    byte[] data = new byte[] {1, 2, 3};
+    when(httpClient.upload(any(UploadSource.class), isNull()))
+        .thenReturn(objectMapper.readTree("{\"request_id\": \"req-bytes\"}"));
+
+    UploadResponse result = detectionService.upload(data, "frame.png");
+
+    assertEquals("req-bytes", result.getRequestId());
+    verify(httpClient)
+        .upload(
+            argThat(source -> source != null && "frame.png".equals(source.getFileName())),
+            isNull());
+  }
+
   @Test
   void testUploadAsync() throws Exception {
     // Arrange
     String uploadResponseJson =
         "{\n" + "    \"request_id\": \"req-123\",\n" + "    \"media_id\": \"media-456\"\n" + "}";
     JsonNode uploadResponse = objectMapper.readTree(uploadResponseJson);
-    when(httpClient.uploadFile(testFile)).thenReturn(uploadResponse);
+    when(httpClient.uploadFileAsync(testFile))
+        .thenReturn(CompletableFuture.completedFuture(uploadResponse));
 
     // Act
     CompletableFuture<UploadResponse> future = detectionService.uploadAsync(testFile);
@@ -75,6 +116,8 @@ class DetectionServiceTest {
     // Assert
     assertEquals("req-123", result.getRequestId());
     assertEquals("media-456", result.getMediaId());
+    verify(httpClient).uploadFileAsync(testFile);
+    verify(httpClient, never()).uploadFile(testFile);
   }
 
   @Test
@@ -83,10 +126,10 @@ class DetectionServiceTest {
     String processingResponseJson = createDetectionResultJson("PROCESSING", "req-123", null);
     String completedResponseJson = createDetectionResultJson("FAKE", "req-123", createModelsJson());
 
-    JsonNode processingResponse = objectMapper.readTree(processingResponseJson);
-    JsonNode completedResponse = objectMapper.readTree(completedResponseJson);
+    DetectionResult processingResponse = toDetectionResult(processingResponseJson);
+    DetectionResult completedResponse = toDetectionResult(completedResponseJson);
 
-    when(httpClient.getResults("req-123"))
+    when(httpClient.getDetectionResult("req-123"))
         .thenReturn(processingResponse)
         .thenReturn(completedResponse);
 
@@ -102,7 +145,7 @@ class DetectionServiceTest {
     // Empty heatmap map from API is normalized to null on summarize().
     assertNull(result.getHeatmaps());
 
-    verify(httpClient, times(2)).getResults("req-123");
+    verify(httpClient, times(2)).getDetectionResult("req-123");
   }
 
   @Test
@@ -154,8 +197,8 @@ class DetectionServiceTest {
             .replace(
                 "\"modelMetadataUrl\": \"\"",
                 "\"modelMetadataUrl\": \"https://example.com/aggregation.json\"");
-    JsonNode completedResponse = objectMapper.readTree(completedResponseJson);
-    when(httpClient.getResults("req-assets")).thenReturn(completedResponse);
+    DetectionResult completedResponse = toDetectionResult(completedResponseJson);
+    when(httpClient.getDetectionResult("req-assets")).thenReturn(completedResponse);
 
     DetectionResult result = detectionService.getResult("req-assets");
 
@@ -179,8 +222,8 @@ class DetectionServiceTest {
             .replace(
                 "\"heatmaps\": {}",
                 "\"heatmaps\": {\"model1\": \"https://example.com/heatmap.png\"}");
-    JsonNode completedResponse = objectMapper.readTree(completedResponseJson);
-    when(httpClient.getResults("req-video")).thenReturn(completedResponse);
+    DetectionResult completedResponse = toDetectionResult(completedResponseJson);
+    when(httpClient.getDetectionResult("req-video")).thenReturn(completedResponse);
 
     DetectionResult result = detectionService.getResult("req-video");
 
@@ -191,8 +234,9 @@ class DetectionServiceTest {
   void testGetResultAsync() throws Exception {
     // Arrange
     String completedResponseJson = createDetectionResultJson("AUTHENTIC", "req-123", "[]");
-    JsonNode completedResponse = objectMapper.readTree(completedResponseJson);
-    when(httpClient.getResults("req-123")).thenReturn(completedResponse);
+    DetectionResult completedResponse = toDetectionResult(completedResponseJson);
+    when(httpClient.getDetectionResultAsync("req-123"))
+        .thenReturn(CompletableFuture.completedFuture(completedResponse));
 
     // Act
     CompletableFuture<DetectionResult> future = detectionService.getResultAsync("req-123");
@@ -213,8 +257,8 @@ class DetectionServiceTest {
 
     // Arrange detection response
     String detectionResponseJson = createDetectionResultJson("FAKE", "req-123", "[]");
-    JsonNode detectionResponse = objectMapper.readTree(detectionResponseJson);
-    when(httpClient.getResults("req-123")).thenReturn(detectionResponse);
+    DetectionResult detectionResponse = toDetectionResult(detectionResponseJson);
+    when(httpClient.getDetectionResult("req-123")).thenReturn(detectionResponse);
 
     // Act
     DetectionResult result = detectionService.detectFile(testFile);
@@ -223,7 +267,7 @@ class DetectionServiceTest {
     assertEquals("MANIPULATED", result.getStatus());
     assertEquals("req-123", result.getRequestId());
     verify(httpClient).uploadFile(testFile);
-    verify(httpClient).getResults("req-123");
+    verify(httpClient).getDetectionResult("req-123");
   }
 
   @Test
@@ -232,12 +276,14 @@ class DetectionServiceTest {
     String uploadResponseJson =
         "{\n" + "    \"request_id\": \"req-123\",\n" + "    \"media_id\": \"media-456\"\n" + "}";
     JsonNode uploadResponse = objectMapper.readTree(uploadResponseJson);
-    when(httpClient.uploadFile(testFile)).thenReturn(uploadResponse);
+    when(httpClient.uploadFileAsync(testFile))
+        .thenReturn(CompletableFuture.completedFuture(uploadResponse));
 
     // Arrange detection response
     String detectionResponseJson = createDetectionResultJson("AUTHENTIC", "req-123", "[]");
-    JsonNode detectionResponse = objectMapper.readTree(detectionResponseJson);
-    when(httpClient.getResults("req-123")).thenReturn(detectionResponse);
+    DetectionResult detectionResponse = toDetectionResult(detectionResponseJson);
+    when(httpClient.getDetectionResultAsync("req-123"))
+        .thenReturn(CompletableFuture.completedFuture(detectionResponse));
 
     // Act
     CompletableFuture<DetectionResult> future = detectionService.detectFileAsync(testFile);
@@ -252,8 +298,8 @@ class DetectionServiceTest {
   void testCheckStatus() throws Exception {
     // Arrange
     String responseJson = createDetectionResultJson("PROCESSING", "req-123", "[]");
-    JsonNode response = objectMapper.readTree(responseJson);
-    when(httpClient.getResults("req-123")).thenReturn(response);
+    DetectionResult response = toDetectionResult(responseJson);
+    when(httpClient.getDetectionResult("req-123")).thenReturn(response);
 
     // Act
     DetectionResult result = detectionService.checkStatus("req-123");
@@ -261,15 +307,16 @@ class DetectionServiceTest {
     // Assert
     assertEquals("PROCESSING", result.getStatus());
     assertEquals("req-123", result.getRequestId());
-    verify(httpClient).getResults("req-123");
+    verify(httpClient).getDetectionResult("req-123");
   }
 
   @Test
   void testPollForResultsWithCallbacks() throws Exception {
     // Arrange
     String completedResponseJson = createDetectionResultJson("FAKE", "req-123", "[]");
-    JsonNode completedResponse = objectMapper.readTree(completedResponseJson);
-    when(httpClient.getResults("req-123")).thenReturn(completedResponse);
+    DetectionResult completedResponse = toDetectionResult(completedResponseJson);
+    when(httpClient.getDetectionResultAsync("req-123"))
+        .thenReturn(CompletableFuture.completedFuture(completedResponse));
 
     // Act
     AtomicReference<DetectionResult> resultRef = new AtomicReference<>();
@@ -292,8 +339,9 @@ class DetectionServiceTest {
   void testPollForResultsAsync() throws Exception {
     // Arrange
     String completedResponseJson = createDetectionResultJson("FAKE", "req-123", "[]");
-    JsonNode completedResponse = objectMapper.readTree(completedResponseJson);
-    when(httpClient.getResults("req-123")).thenReturn(completedResponse);
+    DetectionResult completedResponse = toDetectionResult(completedResponseJson);
+    when(httpClient.getDetectionResultAsync("req-123"))
+        .thenReturn(CompletableFuture.completedFuture(completedResponse));
 
     // Act
     CompletableFuture<DetectionResult> future =
@@ -310,8 +358,9 @@ class DetectionServiceTest {
   void testCheckStatusAsync() throws Exception {
     // Arrange
     String responseJson = createDetectionResultJson("ANALYZING", "req-123", "[]");
-    JsonNode response = objectMapper.readTree(responseJson);
-    when(httpClient.getResults("req-123")).thenReturn(response);
+    DetectionResult response = toDetectionResult(responseJson);
+    when(httpClient.getDetectionResultAsync("req-123"))
+        .thenReturn(CompletableFuture.completedFuture(response));
 
     // Act
     CompletableFuture<DetectionResult> future = detectionService.checkStatusAsync("req-123");
@@ -330,8 +379,8 @@ class DetectionServiceTest {
 
     for (String status : processingStatuses) {
       String responseJson = createDetectionResultJson(status, "req-123", "[]");
-      JsonNode response = objectMapper.readTree(responseJson);
-      when(httpClient.getResults("req-123")).thenReturn(response);
+      DetectionResult response = toDetectionResult(responseJson);
+      when(httpClient.getDetectionResult("req-123")).thenReturn(response);
 
       DetectionResult result = detectionService.checkStatus("req-123");
       assertEquals(status, result.getStatus());
@@ -339,8 +388,8 @@ class DetectionServiceTest {
 
     for (String status : completedStatuses) {
       String responseJson = createDetectionResultJson(status, "req-123", "[]");
-      JsonNode response = objectMapper.readTree(responseJson);
-      when(httpClient.getResults("req-123")).thenReturn(response);
+      DetectionResult response = toDetectionResult(responseJson);
+      when(httpClient.getDetectionResult("req-123")).thenReturn(response);
 
       DetectionResult result = detectionService.checkStatus("req-123");
       assertEquals(status, result.getStatus());
@@ -361,8 +410,8 @@ class DetectionServiceTest {
   void testGetResultTimeout() throws Exception {
     // Arrange - Always return processing status
     String processingResponseJson = createDetectionResultJson("PROCESSING", "req-123", "[]");
-    JsonNode processingResponse = objectMapper.readTree(processingResponseJson);
-    when(httpClient.getResults("req-123")).thenReturn(processingResponse);
+    DetectionResult processingResponse = toDetectionResult(processingResponseJson);
+    when(httpClient.getDetectionResult("req-123")).thenReturn(processingResponse);
 
     // Act & Assert
     assertThrows(
@@ -440,7 +489,8 @@ class DetectionServiceTest {
     UserFeedbackRequest req =
         new UserFeedbackRequest("req-async", "SYNTHETIC", "FALSE_NEGATIVE", null);
     String json = "{\"id\": \"fb-async\", \"requestId\": \"req-async\"}";
-    when(httpClient.postUserFeedback(req)).thenReturn(objectMapper.readTree(json));
+    when(httpClient.postUserFeedbackAsync(req))
+        .thenReturn(CompletableFuture.completedFuture(objectMapper.readTree(json)));
 
     CompletableFuture<UserFeedbackResponse> future = detectionService.createUserFeedbackAsync(req);
 
@@ -458,6 +508,21 @@ class DetectionServiceTest {
     assertThrows(RealityDefenderException.class, () -> detectionService.createUserFeedback(req));
   }
 
+  @Test
+  void testCheckStatusAsyncPropagatesHttpClientError() {
+    when(httpClient.getDetectionResultAsync("req-err"))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new RealityDefenderException("Resource not found", "NOT_FOUND", 404)));
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class, () -> detectionService.checkStatusAsync("req-err").get());
+
+    assertInstanceOf(RealityDefenderException.class, exception.getCause());
+    assertEquals("NOT_FOUND", ((RealityDefenderException) exception.getCause()).getCode());
+  }
+
   // Helper methods to create JSON responses
   private String createDetectionResultJson(String status, String requestId, String modelsJson) {
     if (modelsJson == null) {
@@ -540,24 +605,24 @@ class DetectionServiceTest {
             httpClient, Duration.ofSeconds(10)); // Should result in maxAttempts = 5
 
     String processingResponseJson = createDetectionResultJson("PROCESSING", "req-123", "[]");
-    JsonNode processingResponse = objectMapper.readTree(processingResponseJson);
-    when(httpClient.getResults("req-123")).thenReturn(processingResponse);
+    DetectionResult processingResponse = toDetectionResult(processingResponseJson);
+    when(httpClient.getDetectionResult("req-123")).thenReturn(processingResponse);
 
     // Act & Assert - Short timeout service should timeout after fewer attempts (2 attempts)
     assertThrows(RealityDefenderException.class, () -> shortTimeoutService.getResult("req-123"));
 
     // Verify the number of calls matches expected maxAttempts for short timeout (2 calls)
-    verify(httpClient, times(2)).getResults("req-123");
+    verify(httpClient, times(2)).getDetectionResult("req-123");
 
     // Reset mock for next test
     reset(httpClient);
-    when(httpClient.getResults("req-456")).thenReturn(processingResponse);
+    when(httpClient.getDetectionResult("req-456")).thenReturn(processingResponse);
 
     // Act & Assert - Long timeout service should make more attempts (5 attempts)
     assertThrows(RealityDefenderException.class, () -> longTimeoutService.getResult("req-456"));
 
     // Verify the number of calls matches expected maxAttempts for long timeout (5 calls)
-    verify(httpClient, times(5)).getResults("req-456");
+    verify(httpClient, times(5)).getDetectionResult("req-456");
   }
 
   @Test
@@ -567,8 +632,8 @@ class DetectionServiceTest {
     Duration customPollingInterval = Duration.ofMillis(50);
 
     String processingResponseJson = createDetectionResultJson("PROCESSING", "req-789", "[]");
-    JsonNode processingResponse = objectMapper.readTree(processingResponseJson);
-    when(httpClient.getResults("req-789")).thenReturn(processingResponse);
+    DetectionResult processingResponse = toDetectionResult(processingResponseJson);
+    when(httpClient.getDetectionResult("req-789")).thenReturn(processingResponse);
 
     // Act - Call getResult with custom maxAttempts that should override the default instance
     // setting
@@ -577,15 +642,15 @@ class DetectionServiceTest {
         () -> detectionService.getResult("req-789", customPollingInterval, customMaxAttempts));
 
     // Assert - Verify exactly the custom number of attempts were made
-    verify(httpClient, times(customMaxAttempts)).getResults("req-789");
+    verify(httpClient, times(customMaxAttempts)).getDetectionResult("req-789");
 
     // Test that the custom maxAttempts works with eventual success
     reset(httpClient);
     String completedResponseJson = createDetectionResultJson("AUTHENTIC", "req-success", "[]");
-    JsonNode completedResponse = objectMapper.readTree(completedResponseJson);
+    DetectionResult completedResponse = toDetectionResult(completedResponseJson);
 
     // Mock to return processing twice, then success on third attempt
-    when(httpClient.getResults("req-success"))
+    when(httpClient.getDetectionResult("req-success"))
         .thenReturn(processingResponse)
         .thenReturn(processingResponse)
         .thenReturn(completedResponse);
@@ -597,6 +662,679 @@ class DetectionServiceTest {
     // Assert - Should complete successfully and make exactly 3 calls
     assertEquals("AUTHENTIC", result.getStatus());
     assertEquals("req-success", result.getRequestId());
-    verify(httpClient, times(3)).getResults("req-success");
+    verify(httpClient, times(3)).getDetectionResult("req-success");
+  }
+
+  @Test
+  void testDetectFilesDeliversOutcomesInCompletionOrder() throws Exception {
+    Path slow = tempDir.toPath().resolve("slow.jpg");
+    Path fast = tempDir.toPath().resolve("fast.jpg");
+    CompletableFuture<JsonNode> slowUpload = new CompletableFuture<>();
+    when(httpClient.uploadAsync(
+            argThat(source -> source != null && "slow.jpg".equals(source.getFileName())), isNull()))
+        .thenReturn(slowUpload);
+    when(httpClient.uploadAsync(
+            argThat(source -> source != null && "fast.jpg".equals(source.getFileName())), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                objectMapper.readTree("{\"request_id\": \"req-fast\"}")));
+    when(httpClient.getDetectionResultAsync("req-fast"))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-fast", "[]"))));
+    when(httpClient.getDetectionResultAsync("req-slow"))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                toDetectionResult(createDetectionResultJson("MANIPULATED", "req-slow", "[]"))));
+
+    try (BatchDetection batch = detectionService.detectFiles(Arrays.asList(slow, fast))) {
+      DetectionOutcome first = batch.next();
+      assertEquals(fast, first.getPath());
+      assertEquals("AUTHENTIC", first.getResult().getStatus());
+
+      slowUpload.complete(objectMapper.readTree("{\"request_id\": \"req-slow\"}"));
+      DetectionOutcome second = batch.next();
+      assertEquals(slow, second.getPath());
+      assertEquals("MANIPULATED", second.getResult().getStatus());
+      assertFalse(batch.hasNext());
+    }
+  }
+
+  @Test
+  void testDetectFilesIsolatesFailures() throws Exception {
+    Path good = tempDir.toPath().resolve("good.jpg");
+    Path bad = tempDir.toPath().resolve("bad.jpg");
+    when(httpClient.uploadAsync(
+            argThat(source -> source != null && "good.jpg".equals(source.getFileName())), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                objectMapper.readTree("{\"request_id\": \"req-good\"}")));
+    when(httpClient.uploadAsync(
+            argThat(source -> source != null && "bad.jpg".equals(source.getFileName())), isNull()))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new RealityDefenderException("Failed to upload file", "UPLOAD_FAILED")));
+    when(httpClient.getDetectionResultAsync("req-good"))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                toDetectionResult(createDetectionResultJson("PROCESSING", "req-good", "[]"))))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-good", "[]"))));
+
+    BatchDetectionOptions options =
+        BatchDetectionOptions.builder()
+            .pollingInterval(Duration.ofMillis(10))
+            .maxAttempts(5)
+            .build();
+    Map<Path, DetectionOutcome> outcomes;
+    try (BatchDetection batch = detectionService.detectFiles(Arrays.asList(bad, good), options)) {
+      outcomes =
+          batch.stream().collect(Collectors.toMap(DetectionOutcome::getPath, outcome -> outcome));
+    }
+
+    assertEquals(2, outcomes.size());
+    assertTrue(outcomes.get(good).isSuccess());
+    assertEquals("AUTHENTIC", outcomes.get(good).getResult().getStatus());
+    assertFalse(outcomes.get(bad).isSuccess());
+    assertEquals("UPLOAD_FAILED", outcomes.get(bad).getError().getCode());
+    verify(httpClient, times(2)).getDetectionResultAsync("req-good");
+  }
+
+  @Test
+  void testDetectFilesBoundsConcurrentUploads() throws Exception {
+    List<CompletableFuture<JsonNode>> uploads = new ArrayList<>();
+    when(httpClient.uploadAsync(any(UploadSource.class), isNull()))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<JsonNode> upload = new CompletableFuture<>();
+              uploads.add(upload);
+              return upload;
+            });
+    List<Path> paths = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      paths.add(tempDir.toPath().resolve("file" + i + ".jpg"));
+    }
+
+    BatchDetection batch =
+        detectionService.detectFiles(
+            paths, BatchDetectionOptions.builder().maxConcurrentUploads(2).build());
+    assertEquals(2, uploads.size());
+
+    uploads
+        .get(0)
+        .completeExceptionally(
+            new RealityDefenderException("Failed to upload file", "UPLOAD_FAILED"));
+    assertEquals(3, uploads.size());
+
+    batch.close();
+    assertEquals(3, uploads.size());
+    assertTrue(uploads.stream().allMatch(CompletableFuture::isDone));
+    assertEquals(
+        Arrays.asList("UPLOAD_FAILED", "CANCELLED", "CANCELLED", "CANCELLED", "CANCELLED"),
+        batch.stream().map(outcome -> outcome.getError().getCode()).collect(Collectors.toList()));
+  }
+
+  @Test
+  void testGetResultWithPollingPolicyRecordsMetrics() throws Exception {
+    DetectionResult processing =
+        toDetectionResult(createDetectionResultJson("PROCESSING", "req-123", "[]"));
+    DetectionResult completed =
+        toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-123", "[]"));
+    when(httpClient.getDetectionResult("req-123")).thenReturn(processing).thenReturn(completed);
+    AdaptivePollingPolicy policy =
+        PollingPolicy.adaptive().initialDelay(Duration.ofMillis(10)).jitter(0).build();
+
+    DetectionResult result = detectionService.getResult("req-123", policy, Duration.ofSeconds(5));
+
+    assertEquals("AUTHENTIC", result.getStatus());
+    assertEquals(2, policy.getMetrics().getPolls());
+    assertEquals(1, policy.getMetrics().getCompleted());
+    assertEquals(2.0, policy.getMetrics().getAveragePollsPerResult());
+    assertNotNull(policy.getExpectedDuration("IMAGE", -1));
+  }
+
+  @Test
+  void testGetResultStopsBeforeWaitingPastTimeout() throws Exception {
+    DetectionResult processing =
+        toDetectionResult(createDetectionResultJson("PROCESSING", "req-123", "[]"));
+    when(httpClient.getDetectionResult("req-123")).thenReturn(processing);
+    PollingPolicy policy = PollingPolicy.fixed(Duration.ofSeconds(10));
+
+    RealityDefenderException exception =
+        assertThrows(
+            RealityDefenderException.class,
+            () -> detectionService.getResult("req-123", policy, Duration.ofSeconds(5)));
+
+    assertEquals("TIMEOUT", exception.getCode());
+    verify(httpClient, times(1)).getDetectionResult("req-123");
+    assertEquals(1, policy.getMetrics().getTimedOut());
+  }
+
+  @Test
+  void testTenThousandConcurrentWaitsUseFewThreads() throws Exception {
+    DetectionResult processing =
+        toDetectionResult(createDetectionResultJson("PROCESSING", "req", "[]"));
+    DetectionResult completed =
+        toDetectionResult(createDetectionResultJson("AUTHENTIC", "req", "[]"));
+    AtomicBoolean finished = new AtomicBoolean();
+    HttpClient client = mock(HttpClient.class, withSettings().stubOnly());
+    when(client.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(finished.get() ? completed : processing));
+    when(client.getDetectionResultListAsync(anyInt(), anyInt(), any(), any(), any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(0, 0, 0, 0, Collections.emptyList())));
+    int threadsBefore = Thread.activeCount();
+
+    try (DetectionService service = new DetectionService(client, Duration.ofMinutes(1))) {
+      List<CompletableFuture<DetectionResult>> waits = new ArrayList<>();
+      for (int i = 0; i < 10_000; i++) {
+        waits.add(service.getResultAsync("req-" + i, Duration.ofMillis(50), 1_000));
+      }
+      // Let several polling waves go by while every detection is still processing.
+      Thread.sleep(300);
+
+      assertTrue(waits.stream().noneMatch(CompletableFuture::isDone));
+      int extraThreads = Thread.activeCount() - threadsBefore;
+      assertTrue(extraThreads < 10, "10k waits used " + extraThreads + " extra threads");
+
+      finished.set(true);
+      CompletableFuture.allOf(waits.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+      assertTrue(waits.stream().allMatch(wait -> "AUTHENTIC".equals(wait.join().getStatus())));
+    }
+  }
+
+  @Test
+  void testCloseFailsPendingAsyncWaits() throws Exception {
+    DetectionResult processing =
+        toDetectionResult(createDetectionResultJson("PROCESSING", "req-123", "[]"));
+    CompletableFuture<DetectionResult> inFlight = new CompletableFuture<>();
+    when(httpClient.getDetectionResultAsync("req-queued"))
+        .thenReturn(CompletableFuture.completedFuture(processing));
+    when(httpClient.getDetectionResultAsync("req-in-flight")).thenReturn(inFlight);
+    DetectionService service = new DetectionService(httpClient, Duration.ofSeconds(2));
+
+    CompletableFuture<DetectionResult> queued =
+        service.getResultAsync("req-queued", Duration.ofMinutes(1), 10);
+    CompletableFuture<DetectionResult> polling =
+        service.getResultAsync("req-in-flight", Duration.ofMinutes(1), 10);
+    service.close();
+    inFlight.complete(processing);
+
+    for (CompletableFuture<DetectionResult> wait : Arrays.asList(queued, polling)) {
+      ExecutionException thrown =
+          assertThrows(ExecutionException.class, () -> wait.get(5, TimeUnit.SECONDS));
+      assertEquals("CLIENT_CLOSED", ((RealityDefenderException) thrown.getCause()).getCode());
+    }
+    ExecutionException late =
+        assertThrows(
+            ExecutionException.class,
+            () -> service.getResultAsync("req-late").get(5, TimeUnit.SECONDS));
+    assertEquals("CLIENT_CLOSED", ((RealityDefenderException) late.getCause()).getCode());
+  }
+
+  @Test
+  void testAsyncResultsCompleteOnConfiguredExecutor() throws Exception {
+    CompletableFuture<DetectionResult> response = new CompletableFuture<>();
+    when(httpClient.getDetectionResultAsync("req-123")).thenReturn(response);
+    ExecutorService executor =
+        Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callbacks"));
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(2))
+            .executor(executor)
+            .build();
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+        DetectionService service = new DetectionService(httpClient, config, runtime)) {
+      CompletableFuture<String> callbackThread =
+          service.checkStatusAsync("req-123").thenApply(result -> Thread.currentThread().getName());
+      response.complete(toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-123", "[]")));
+
+      assertEquals("callbacks", callbackThread.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testGetResultsAsyncRetriesWhileAnalyzing() throws Exception {
+    DetectionResult analyzing =
+        toDetectionResult(createDetectionResultJson("ANALYZING", "req-1", "[]"));
+    DetectionResult completed =
+        toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-1", "[]"));
+    when(httpClient.getDetectionResultListAsync(eq(0), isNull(), isNull(), isNull(), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(1, 1, 0, 1, Collections.singletonList(analyzing))))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(1, 1, 0, 1, Collections.singletonList(completed))));
+    GetResultsOptions options =
+        GetResultsOptions.builder().maxAttempts(3).pollingInterval(Duration.ofMillis(10)).build();
+
+    DetectionResultList results =
+        detectionService.getResultsAsync(options).get(5, TimeUnit.SECONDS);
+
+    assertEquals("AUTHENTIC", results.getItems().get(0).getStatus());
+    verify(httpClient, times(2))
+        .getDetectionResultListAsync(eq(0), isNull(), isNull(), isNull(), isNull());
+    verify(httpClient, never()).getDetectionResultList(anyInt(), any(), any(), any(), any());
+  }
+
+  @Test
+  void testGetResultsAsyncTimesOutAfterMaxAttempts() throws Exception {
+    DetectionResult analyzing =
+        toDetectionResult(createDetectionResultJson("ANALYZING", "req-1", "[]"));
+    when(httpClient.getDetectionResultListAsync(eq(0), isNull(), isNull(), isNull(), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(1, 1, 0, 1, Collections.singletonList(analyzing))));
+    GetResultsOptions options =
+        GetResultsOptions.builder().maxAttempts(2).pollingInterval(Duration.ofMillis(10)).build();
+
+    ExecutionException thrown =
+        assertThrows(
+            ExecutionException.class,
+            () -> detectionService.getResultsAsync(options).get(5, TimeUnit.SECONDS));
+
+    assertEquals("TIMEOUT", ((RealityDefenderException) thrown.getCause()).getCode());
+    verify(httpClient, times(2))
+        .getDetectionResultListAsync(eq(0), isNull(), isNull(), isNull(), isNull());
+  }
+
+  @Test
+  void testPublishDetectionsStartsFilesOnlyOnDemand() throws Exception {
+    List<CompletableFuture<JsonNode>> uploads = new ArrayList<>();
+    when(httpClient.uploadAsync(any(UploadSource.class), isNull()))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<JsonNode> upload = new CompletableFuture<>();
+              uploads.add(upload);
+              return upload;
+            });
+    List<Path> paths = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      paths.add(tempDir.toPath().resolve("file" + i + ".jpg"));
+    }
+    RecordingSubscriber<DetectionOutcome> subscriber = new RecordingSubscriber<>();
+
+    detectionService.publishDetections(paths).subscribe(subscriber);
+    assertTrue(uploads.isEmpty());
+
+    subscriber.subscription.request(1);
+    assertEquals(1, uploads.size());
+
+    uploads
+        .get(0)
+        .completeExceptionally(
+            new RealityDefenderException("Failed to upload file", "UPLOAD_FAILED"));
+    assertEquals(1, subscriber.items.size());
+    assertEquals("UPLOAD_FAILED", subscriber.items.get(0).getError().getCode());
+    assertEquals(1, uploads.size());
+
+    subscriber.subscription.request(2);
+    assertEquals(3, uploads.size());
+
+    subscriber.subscription.cancel();
+    assertTrue(uploads.stream().allMatch(CompletableFuture::isDone));
+    assertEquals(1, subscriber.items.size());
+    assertFalse(subscriber.completed);
+  }
+
+  @Test
+  void testPublishDetectionsCompletesAfterLastOutcome() throws Exception {
+    when(httpClient.uploadAsync(any(UploadSource.class), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                objectMapper.readTree("{\"request_id\": \"req-1\"}")));
+    when(httpClient.getDetectionResultAsync("req-1"))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-1", "[]"))));
+    RecordingSubscriber<DetectionOutcome> subscriber = new RecordingSubscriber<>();
+
+    detectionService
+        .publishDetections(
+            Arrays.asList(tempDir.toPath().resolve("a.jpg"), tempDir.toPath().resolve("b.jpg")))
+        .subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    assertEquals(2, subscriber.items.size());
+    assertTrue(subscriber.items.stream().allMatch(DetectionOutcome::isSuccess));
+    assertTrue(subscriber.completed);
+  }
+
+  @Test
+  void testPublishResultsFetchesPagesOnDemand() throws Exception {
+    DetectionResult first =
+        toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-1", "[]"));
+    DetectionResult second =
+        toDetectionResult(createDetectionResultJson("MANIPULATED", "req-2", "[]"));
+    DetectionResult third =
+        toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-3", "[]"));
+    when(httpClient.getDetectionResultListAsync(eq(0), isNull(), isNull(), isNull(), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(3, 2, 0, 2, Arrays.asList(first, second))));
+    when(httpClient.getDetectionResultListAsync(eq(1), isNull(), isNull(), isNull(), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(3, 2, 1, 1, Collections.singletonList(third))));
+    RecordingSubscriber<DetectionResult> subscriber = new RecordingSubscriber<>();
+
+    detectionService.publishResults(null).subscribe(subscriber);
+    verify(httpClient, never()).getDetectionResultListAsync(anyInt(), any(), any(), any(), any());
+
+    subscriber.subscription.request(2);
+    assertEquals(
+        Arrays.asList("req-1", "req-2"),
+        subscriber.items.stream().map(DetectionResult::getRequestId).collect(Collectors.toList()));
+    verify(httpClient, never())
+        .getDetectionResultListAsync(eq(1), isNull(), isNull(), isNull(), isNull());
+    assertFalse(subscriber.completed);
+
+    subscriber.subscription.request(5);
+    assertEquals(3, subscriber.items.size());
+    assertEquals("req-3", subscriber.items.get(2).getRequestId());
+    assertTrue(subscriber.completed);
+  }
+
+  @Test
+  void testPublishResultsSignalsPageFailure() {
+    when(httpClient.getDetectionResultListAsync(eq(0), isNull(), isNull(), isNull(), isNull()))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new RealityDefenderException("Failed to get results", "RESULTS_FAILED")));
+    RecordingSubscriber<DetectionResult> subscriber = new RecordingSubscriber<>();
+
+    detectionService.publishResults(null).subscribe(subscriber);
+    subscriber.subscription.request(1);
+
+    assertEquals("RESULTS_FAILED", ((RealityDefenderException) subscriber.error).getCode());
+    assertFalse(subscriber.completed);
+  }
+
+  @Test
+  void testStreamResultsWalksPagesWithFilters() throws Exception {
+    DetectionResult first =
+        toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-1", "[]"));
+    DetectionResult second =
+        toDetectionResult(createDetectionResultJson("MANIPULATED", "req-2", "[]"));
+    when(httpClient.getDetectionResultListAsync(eq(0), eq(1), eq("clip"), isNull(), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(2, 2, 0, 1, Collections.singletonList(first))));
+    when(httpClient.getDetectionResultListAsync(eq(1), eq(1), eq("clip"), isNull(), isNull()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new DetectionResultList(2, 2, 1, 1, Collections.singletonList(second))));
+
+    List<String> ids;
+    try (Stream<DetectionResult> results =
+        detectionService.streamResults(GetResultsOptions.builder().size(1).name("clip").build())) {
+      ids = results.map(DetectionResult::getRequestId).collect(Collectors.toList());
+    }
+
+    assertEquals(Arrays.asList("req-1", "req-2"), ids);
+  }
+
+  @Test
+  void testExportResultsShardsDateRangeIntoNdjson() throws Exception {
+    LocalDate start = LocalDate.of(2024, 1, 1);
+    for (int day = 0; day < 3; day++) {
+      LocalDate date = start.plusDays(day);
+      DetectionResult result =
+          toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-" + day, "[]"));
+      when(httpClient.getDetectionResultListAsync(eq(0), isNull(), isNull(), eq(date), eq(date)))
+          .thenReturn(
+              CompletableFuture.completedFuture(
+                  new DetectionResultList(1, 1, 0, 1, Collections.singletonList(result))));
+    }
+    StringWriter out = new StringWriter();
+
+    ExportSummary summary =
+        detectionService.exportResults(
+            ExportOptions.builder().startDate(start).endDate(start.plusDays(2)).build(),
+            ResultSink.ndjson(out));
+
+    assertEquals(3, summary.getShards());
+    assertEquals(3, summary.getWritten());
+    List<String> ids = new ArrayList<>();
+    for (String line : out.toString().split("\n")) {
+      ids.add(objectMapper.readTree(line).get("requestId").asText());
+    }
+    Collections.sort(ids);
+    assertEquals(Arrays.asList("req-0", "req-1", "req-2"), ids);
+  }
+
+  @Test
+  void testResultCacheAnswersRepeatedTerminalLookups() throws Exception {
+    ResultCache cache = ResultCache.builder().build();
+    when(httpClient.getDetectionResult("req-pending"))
+        .thenReturn(toDetectionResult(createDetectionResultJson("ANALYZING", "req-pending", "[]")));
+    when(httpClient.getDetectionResult("req-done"))
+        .thenReturn(toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-done", "[]")));
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(2))
+            .resultCache(cache)
+            .build();
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+        DetectionService service = new DetectionService(httpClient, config, runtime)) {
+      service.checkStatus("req-pending");
+      service.checkStatus("req-pending");
+      service.checkStatus("req-done");
+      assertEquals("AUTHENTIC", service.checkStatus("req-done").getStatus());
+      assertEquals("AUTHENTIC", service.getResult("req-done").getStatus());
+      assertEquals(
+          "AUTHENTIC", service.checkStatusAsync("req-done").get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    verify(httpClient, times(2)).getDetectionResult("req-pending");
+    verify(httpClient, times(1)).getDetectionResult("req-done");
+    verify(httpClient, never()).getDetectionResultAsync(any());
+    assertEquals(3, cache.getMetrics().getHits());
+  }
+
+  @Test
+  void testUserFeedbackInvalidatesCachedResult() throws Exception {
+    ResultCache cache = ResultCache.builder().build();
+    when(httpClient.getDetectionResult("req-fb-1"))
+        .thenReturn(toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-fb-1", "[]")));
+    UserFeedbackRequest feedback =
+        new UserFeedbackRequest("req-fb-1", "FAKE", "CORRECTION", "actually manipulated");
+    when(httpClient.postUserFeedback(feedback))
+        .thenReturn(objectMapper.readTree("{\"id\": \"fb-1\", \"requestId\": \"req-fb-1\"}"));
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(2))
+            .resultCache(cache)
+            .build();
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+        DetectionService service = new DetectionService(httpClient, config, runtime)) {
+      service.checkStatus("req-fb-1");
+      service.createUserFeedback(feedback);
+      service.checkStatus("req-fb-1");
+    }
+
+    verify(httpClient, times(2)).getDetectionResult("req-fb-1");
+    assertEquals(1, cache.getMetrics().getInvalidations());
+  }
+
+  @Test
+  void testResultStoreResumesOnlyUnfinishedRequestsAfterRestart() throws Exception {
+    Path storeFile = tempDir.toPath().resolve("results.log");
+    when(httpClient.uploadFile(any(File.class)))
+        .thenReturn(objectMapper.readTree("{\"request_id\": \"req-done\"}"))
+        .thenReturn(objectMapper.readTree("{\"request_id\": \"req-open\"}"));
+    when(httpClient.getDetectionResult("req-done"))
+        .thenReturn(toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-done", "[]")));
+    when(httpClient.getDetectionResultAsync("req-open"))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                toDetectionResult(createDetectionResultJson("MANIPULATED", "req-open", "[]"))));
+
+    try (ResultStore store = ResultStore.open(storeFile);
+        RealityDefenderRuntime runtime = RealityDefenderRuntime.create(storeConfig(store));
+        DetectionService service = new DetectionService(httpClient, storeConfig(store), runtime)) {
+      service.getResult(service.upload(testFile).getRequestId());
+      service.upload(testFile);
+    }
+
+    try (ResultStore store = ResultStore.open(storeFile);
+        RealityDefenderRuntime runtime = RealityDefenderRuntime.create(storeConfig(store));
+        DetectionService service = new DetectionService(httpClient, storeConfig(store), runtime)) {
+      Map<String, CompletableFuture<DetectionResult>> resumed = service.resumePending();
+
+      assertEquals(Collections.singleton("req-open"), resumed.keySet());
+      assertEquals("MANIPULATED", resumed.get("req-open").get(5, TimeUnit.SECONDS).getStatus());
+      assertEquals("AUTHENTIC", service.getResult("req-done").getStatus());
+      assertTrue(store.getPendingRequestIds().isEmpty());
+      assertEquals("test-image.jpg", store.getFileName("req-open"));
+    }
+
+    verify(httpClient, times(1)).getDetectionResult("req-done");
+    verify(httpClient, never()).getDetectionResultAsync("req-done");
+  }
+
+  @Test
+  void testUploadIndexSkipsRepeatedUploadsOfSameContent() throws Exception {
+    String sha256 = UploadSource.of(testFile).computeSha256();
+    when(httpClient.uploadFile(testFile))
+        .thenReturn(
+            objectMapper.readTree(
+                "{\"request_id\": \"req-1\", \"media_id\": \"m-1\", \"sha256\": \""
+                    + sha256
+                    + "\"}"));
+    UploadIndex index = UploadIndex.builder().build();
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(2))
+            .uploadIndex(index)
+            .build();
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+        DetectionService service = new DetectionService(httpClient, config, runtime)) {
+      UploadResponse first = service.upload(testFile);
+      UploadResponse second = service.upload(testFile);
+      UploadResponse third = service.uploadAsync(testFile).get(5, TimeUnit.SECONDS);
+      List<UploadResponse> batch = new ArrayList<>();
+      for (CompletableFuture<UploadResponse> future :
+          service.uploadAllAsync(Collections.singletonList(UploadSource.of(testFile)))) {
+        batch.add(future.get(5, TimeUnit.SECONDS));
+      }
+
+      assertEquals("req-1", first.getRequestId());
+      assertEquals(first, second);
+      assertEquals(first, third);
+      assertEquals(Collections.singletonList(first), batch);
+    }
+
+    verify(httpClient, times(1)).uploadFile(testFile);
+    verify(httpClient, never()).uploadFileAsync(any());
+    verify(httpClient, never()).uploadAllAsync(any());
+    assertEquals(3, index.getMetrics().getHits());
+  }
+
+  @Test
+  void testConcurrentStatusChecksShareOneRequest() throws Exception {
+    CompletableFuture<DetectionResult> response = new CompletableFuture<>();
+    when(httpClient.getDetectionResultAsync("req-123")).thenReturn(response);
+
+    List<CompletableFuture<DetectionResult>> checks = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      checks.add(detectionService.checkStatusAsync("req-123"));
+    }
+    CompletableFuture<DetectionResult> result = detectionService.getResultAsync("req-123");
+    response.complete(toDetectionResult(createDetectionResultJson("AUTHENTIC", "req-123", "[]")));
+
+    for (CompletableFuture<DetectionResult> check : checks) {
+      assertEquals("AUTHENTIC", check.get(5, TimeUnit.SECONDS).getStatus());
+    }
+    assertEquals("AUTHENTIC", result.get(5, TimeUnit.SECONDS).getStatus());
+    verify(httpClient, times(1)).getDetectionResultAsync("req-123");
+  }
+
+  @Test
+  void testConcurrentUploadsOfSameContentShareOneUpload() throws Exception {
+    String sha256 = UploadSource.of(testFile).computeSha256();
+    CompletableFuture<JsonNode> upload = new CompletableFuture<>();
+    when(httpClient.uploadFileAsync(testFile)).thenReturn(upload);
+    RealityDefenderConfig config =
+        RealityDefenderConfig.builder()
+            .apiKey("api-key")
+            .baseUrl("https://api.realitydefender.com")
+            .timeout(Duration.ofSeconds(2))
+            .uploadIndex(UploadIndex.builder().build())
+            .build();
+
+    try (RealityDefenderRuntime runtime = RealityDefenderRuntime.create(config);
+        DetectionService service = new DetectionService(httpClient, config, runtime)) {
+      CompletableFuture<UploadResponse> first = service.uploadAsync(testFile);
+      CompletableFuture<UploadResponse> second = service.uploadAsync(testFile);
+      verify(httpClient, timeout(5000)).uploadFileAsync(testFile);
+
+      upload.complete(
+          objectMapper.readTree("{\"request_id\": \"req-1\", \"sha256\": \"" + sha256 + "\"}"));
+
+      assertEquals("req-1", first.get(5, TimeUnit.SECONDS).getRequestId());
+      assertEquals("req-1", second.get(5, TimeUnit.SECONDS).getRequestId());
+    }
+    verify(httpClient, times(1)).uploadFileAsync(testFile);
+  }
+
+  private static RealityDefenderConfig storeConfig(ResultStore store) {
+    return RealityDefenderConfig.builder()
+        .apiKey("api-key")
+        .baseUrl("https://api.realitydefender.com")
+        .timeout(Duration.ofSeconds(2))
+        .resultStore(store)
+        .build();
+  }
+
+  /** Records the signals of a publisher; demand is requested by the test. */
+  private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+    final List<T> items = new ArrayList<>();
+    Flow.Subscription subscription;
+    Throwable error;
+    boolean completed;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
+  private static DetectionResult toDetectionResult(String json) throws Exception {
+    return RealityDefenderRuntime.defaultObjectMapper().readValue(json, DetectionResult.class);
   }
 }
@@ -0,0 +1,93 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.models.DetectionResult;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ResultCacheTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void testCountsHitsAndMisses() {
+    ResultCache cache = ResultCache.builder().build();
+    DetectionResult result = result("req-1");
+
+    assertNull(cache.get("req-1"));
+    cache.put("req-1", result);
+
+    assertSame(result, cache.get("req-1"));
+    assertEquals(1, cache.getMetrics().getHits());
+    assertEquals(1, cache.getMetrics().getMisses());
+    assertEquals(0.5, cache.getMetrics().getHitRate());
+  }
+
+  @Test
+  void testEvictsLeastRecentlyUsedBeyondMaximumSize() {
+    ResultCache cache = ResultCache.builder().maximumSize(2).build();
+    cache.put("req-1", result("req-1"));
+    cache.put("req-2", result("req-2"));
+    cache.get("req-1");
+
+    cache.put("req-3", result("req-3"));
+
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get("req-1"));
+    assertNull(cache.get("req-2"));
+    assertNotNull(cache.get("req-3"));
+    assertEquals(1, cache.getMetrics().getEvictions());
+  }
+
+  @Test
+  void testExpiresResultsAfterTtl() {
+    ResultCache cache = ResultCache.builder().ttl(Duration.ofMinutes(5)).ticker(now::get).build();
+    cache.put("req-1", result("req-1"));
+
+    now.addAndGet(Duration.ofMinutes(4).toNanos());
+    assertNotNull(cache.get("req-1"));
+
+    now.addAndGet(Duration.ofMinutes(1).toNanos());
+    assertNull(cache.get("req-1"));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getMetrics().getEvictions());
+  }
+
+  @Test
+  void testInvalidateRemovesResults() {
+    ResultCache cache = ResultCache.builder().build();
+    cache.put("req-1", result("req-1"));
+    cache.put("req-2", result("req-2"));
+    cache.put("req-3", result("req-3"));
+
+    cache.invalidate("req-1");
+    assertNull(cache.get("req-1"));
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+    assertEquals(3, cache.getMetrics().getInvalidations());
+  }
+
+  @Test
+  void testCacheBelongsToTheFirstApiKey() {
+    ResultCache cache = ResultCache.builder().build();
+
+    cache.bind("tenant-a");
+    cache.bind("tenant-a");
+
+    assertThrows(IllegalArgumentException.class, () -> cache.bind("tenant-b"));
+  }
+
+  @Test
+  void testBuilderRejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> ResultCache.builder().maximumSize(0));
+    assertThrows(IllegalArgumentException.class, () -> ResultCache.builder().ttl(Duration.ZERO));
+  }
+
+  private static DetectionResult result(String requestId) {
+    return new DetectionResult(requestId, null, null, Collections.emptyList());
+  }
+}
@@ -0,0 +1,140 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.models.DetectionResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultStoreTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void testReopenedStoreKeepsUploadsAndResults() throws Exception {
+    Path file = tempDir.resolve("results.log");
+    try (ResultStore store = ResultStore.open(file)) {
+      store.putUpload("req-1", "one.jpg");
+      store.putUpload("req-2", "two.mp4");
+      store.putUpload("req-3", "three.wav");
+      store.putResult("req-2", result("req-2", "MANIPULATED", 87));
+    }
+
+    try (ResultStore store = ResultStore.open(file)) {
+      assertEquals(3, store.size());
+      assertEquals(Arrays.asList("req-1", "req-3"), store.getPendingRequestIds());
+      assertNull(store.get("req-1"));
+      DetectionResult stored = store.get("req-2");
+      assertEquals("req-2", stored.getRequestId());
+      assertEquals("MANIPULATED", stored.getStatus());
+      assertEquals(0.87, stored.getScore(), 1e-9);
+      assertEquals("two.mp4", store.getFileName("req-2"));
+    }
+  }
+
+  @Test
+  void testDropsIncompleteLastRecord() throws Exception {
+    Path file = tempDir.resolve("results.log");
+    try (ResultStore store = ResultStore.open(file)) {
+      store.putUpload("req-1", "one.jpg");
+    }
+    long intact = Files.size(file);
+    Files.write(
+        file,
+        "{\"type\":\"result\",\"requestId\":\"req-1\",\"res".getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+
+    try (ResultStore store = ResultStore.open(file)) {
+      assertEquals(intact, Files.size(file));
+      assertEquals(Collections.singletonList("req-1"), store.getPendingRequestIds());
+      store.putResult("req-1", result("req-1", "AUTHENTIC", 3));
+    }
+    try (ResultStore store = ResultStore.open(file)) {
+      assertEquals("AUTHENTIC", store.get("req-1").getStatus());
+    }
+  }
+
+  @Test
+  void testInvalidateForgetsRequest() throws Exception {
+    Path file = tempDir.resolve("results.log");
+    try (ResultStore store = ResultStore.open(file)) {
+      store.putUpload("req-1", "one.jpg");
+      store.putResult("req-1", result("req-1", "AUTHENTIC", 3));
+      store.invalidate("req-1");
+      assertNull(store.get("req-1"));
+    }
+    try (ResultStore store = ResultStore.open(file)) {
+      assertEquals(0, store.size());
+    }
+  }
+
+  @Test
+  void testCompactKeepsOnlyLatestRecords() throws Exception {
+    Path file = tempDir.resolve("results.log");
+    try (ResultStore store = ResultStore.open(file)) {
+      for (int i = 0; i < 20; i++) {
+        store.putUpload("req-" + i, "file-" + i + ".jpg");
+        if (i % 2 == 0) {
+          store.putResult("req-" + i, result("req-" + i, "AUTHENTIC", i));
+        }
+      }
+      store.invalidate("req-0");
+      long before = Files.size(file);
+      assertTrue(store.getReclaimableBytes() > 0);
+
+      store.compact();
+
+      assertEquals(0, store.getReclaimableBytes());
+      assertTrue(Files.size(file) < before);
+      assertEquals(19, store.size());
+      assertEquals("AUTHENTIC", store.get("req-2").getStatus());
+      store.putResult("req-1", result("req-1", "MANIPULATED", 90));
+    }
+
+    try (ResultStore store = ResultStore.open(file)) {
+      assertEquals(19, store.size());
+      assertEquals(9, store.getPendingRequestIds().size());
+      assertEquals("MANIPULATED", store.get("req-1").getStatus());
+      assertEquals("file-18.jpg", store.getFileName("req-18"));
+      assertNull(store.getFileName("req-0"));
+    }
+  }
+
+  @Test
+  void testStoreBelongsToTheFirstApiKey() throws Exception {
+    Path file = tempDir.resolve("results.log");
+    try (ResultStore store = ResultStore.open(file)) {
+      store.bind("tenant-a");
+      store.putUpload("req-1", "one.jpg");
+      store.bind("tenant-a");
+      assertThrows(IllegalArgumentException.class, () -> store.bind("tenant-b"));
+      store.compact();
+    }
+
+    assertFalse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).contains("tenant-a"));
+    try (ResultStore store = ResultStore.open(file)) {
+      assertThrows(IllegalArgumentException.class, () -> store.bind("tenant-b"));
+      store.bind("tenant-a");
+      assertEquals(Collections.singletonList("req-1"), store.getPendingRequestIds());
+      assertEquals(0, store.getReclaimableBytes());
+    }
+  }
+
+  private static DetectionResult result(String requestId, String status, int finalScore) {
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("finalScore", finalScore);
+    return new DetectionResult(
+        requestId,
+        new DetectionResult.ResultsSummary(status, metadata),
+        null,
+        Collections.emptyList());
+  }
+}
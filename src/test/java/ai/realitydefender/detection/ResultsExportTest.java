@@ -0,0 +1,108 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import ai.realitydefender.models.ExportSummary;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+
+class ResultsExportTest {
+
+  private final List<String> written = new ArrayList<>();
+  private final ResultSink sink = result -> written.add(result.getRequestId());
+
+  @Test
+  void testWritesEveryPageOfEveryShard() throws Exception {
+    IntFunction<CompletableFuture<DetectionResultList>> first =
+        pages(Arrays.asList("a1", "a2"), Collections.singletonList("a3"));
+    IntFunction<CompletableFuture<DetectionResultList>> second =
+        pages(Collections.singletonList("b1"));
+
+    ExportSummary summary =
+        new ResultsExport(Arrays.asList(first, second), 2, sink).start().get(5, TimeUnit.SECONDS);
+
+    assertEquals(new ExportSummary(2, 3, 4, 0), summary);
+    assertEquals(Arrays.asList("a1", "a2", "a3", "b1"), written);
+  }
+
+  @Test
+  void testSkipsResultsAlreadyWritten() throws Exception {
+    IntFunction<CompletableFuture<DetectionResultList>> first =
+        pages(Arrays.asList("a1", "a2"), Arrays.asList("a2", "a3"));
+    IntFunction<CompletableFuture<DetectionResultList>> second =
+        pages(Collections.singletonList("a3"));
+
+    ExportSummary summary =
+        new ResultsExport(Arrays.asList(first, second), 4, sink).start().get(5, TimeUnit.SECONDS);
+
+    assertEquals(3, summary.getWritten());
+    assertEquals(2, summary.getDuplicates());
+    assertEquals(Arrays.asList("a1", "a2", "a3"), written);
+  }
+
+  @Test
+  void testBoundsRequestsInFlight() {
+    List<CompletableFuture<DetectionResultList>> started = new ArrayList<>();
+    IntFunction<CompletableFuture<DetectionResultList>> shard =
+        page -> {
+          CompletableFuture<DetectionResultList> fetch = new CompletableFuture<>();
+          started.add(fetch);
+          return fetch;
+        };
+
+    CompletableFuture<ExportSummary> export =
+        new ResultsExport(Arrays.asList(shard, shard, shard), 2, sink).start();
+    assertEquals(2, started.size());
+
+    started.get(0).complete(new DetectionResultList(0, 0, 0, 0, Collections.emptyList()));
+    assertEquals(3, started.size());
+
+    export.cancel(true);
+    assertTrue(started.stream().allMatch(CompletableFuture::isDone));
+  }
+
+  @Test
+  void testSinkFailureFailsTheExport() {
+    ResultSink failing =
+        result -> {
+          throw new IOException("disk full");
+        };
+
+    ExecutionException thrown =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                new ResultsExport(
+                        Collections.singletonList(pages(Collections.singletonList("a1"))),
+                        1,
+                        failing)
+                    .start()
+                    .get(5, TimeUnit.SECONDS));
+
+    assertEquals("EXPORT_FAILED", ((RealityDefenderException) thrown.getCause()).getCode());
+  }
+
+  /** Serves the given pages of request IDs for one shard. */
+  @SafeVarargs
+  private static IntFunction<CompletableFuture<DetectionResultList>> pages(List<String>... pages) {
+    return page -> {
+      List<DetectionResult> items = new ArrayList<>();
+      for (String requestId : pages[page]) {
+        items.add(new DetectionResult(requestId, null, null, Collections.emptyList()));
+      }
+      return CompletableFuture.completedFuture(
+          new DetectionResultList(0, pages.length, page, items.size(), items));
+    };
+  }
+}
@@ -0,0 +1,146 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+
+class ResultsSpliteratorTest {
+
+  private static final int PAGE_SIZE = 3;
+
+  /** Pages fetched so far, by number; each holds {@link #PAGE_SIZE} results named by position. */
+  private final Map<Integer, CompletableFuture<DetectionResultList>> fetched =
+      new ConcurrentHashMap<>();
+
+  private CompletableFuture<DetectionResultList> page(int pageNumber, int totalPages) {
+    List<DetectionResult> items = new ArrayList<>();
+    for (int i = 0; i < PAGE_SIZE && pageNumber < totalPages; i++) {
+      items.add(result("req-" + (pageNumber * PAGE_SIZE + i)));
+    }
+    CompletableFuture<DetectionResultList> fetch =
+        CompletableFuture.completedFuture(
+            new DetectionResultList(
+                totalPages * PAGE_SIZE, totalPages, pageNumber, items.size(), items));
+    fetched.put(pageNumber, fetch);
+    return fetch;
+  }
+
+  @Test
+  void testWalksEveryPageInOrder() {
+    ResultsSpliterator spliterator =
+        new ResultsSpliterator(page -> page(page, 4), 0, 2, new CancellationScope());
+
+    List<String> ids =
+        StreamSupport.stream(spliterator, false)
+            .map(DetectionResult::getRequestId)
+            .collect(Collectors.toList());
+
+    assertEquals(
+        IntStream.range(0, 12).mapToObj(i -> "req-" + i).collect(Collectors.toList()), ids);
+    assertEquals(4, fetched.size());
+  }
+
+  @Test
+  void testPrefetchesOnlyTheConfiguredPagesAhead() {
+    ResultsSpliterator spliterator =
+        new ResultsSpliterator(page -> page(page, 10), 0, 2, new CancellationScope());
+
+    assertTrue(spliterator.tryAdvance(result -> {}));
+
+    // The first page alone, then two pages in flight behind it.
+    assertEquals(3, fetched.size());
+    assertTrue(fetched.keySet().containsAll(List.of(0, 1, 2)));
+  }
+
+  @Test
+  void testEarlyExitStopsFetching() {
+    List<String> ids =
+        StreamSupport.stream(
+                new ResultsSpliterator(page -> page(page, 100), 0, 2, new CancellationScope()),
+                false)
+            .limit(4)
+            .map(DetectionResult::getRequestId)
+            .collect(Collectors.toList());
+
+    assertEquals(List.of("req-0", "req-1", "req-2", "req-3"), ids);
+    assertTrue(fetched.size() <= 4);
+  }
+
+  @Test
+  void testClosingScopeCancelsPagesInFlight() {
+    CompletableFuture<DetectionResultList> pending = new CompletableFuture<>();
+    CancellationScope scope = new CancellationScope();
+    ResultsSpliterator spliterator =
+        new ResultsSpliterator(page -> page == 0 ? page(0, 5) : pending, 0, 1, scope);
+
+    assertTrue(spliterator.tryAdvance(result -> {}));
+    scope.close();
+
+    assertTrue(pending.isCancelled());
+  }
+
+  @Test
+  void testSplitsIntoPageRanges() {
+    ResultsSpliterator spliterator =
+        new ResultsSpliterator(page -> page(page, 8), 0, 1, new CancellationScope());
+
+    Spliterator<DetectionResult> prefix = spliterator.trySplit();
+
+    assertNotNull(prefix);
+    List<String> first = new ArrayList<>();
+    prefix.forEachRemaining(result -> first.add(result.getRequestId()));
+    List<String> second = new ArrayList<>();
+    spliterator.forEachRemaining(result -> second.add(result.getRequestId()));
+    assertEquals(
+        IntStream.range(0, 12).mapToObj(i -> "req-" + i).collect(Collectors.toList()), first);
+    assertEquals(
+        IntStream.range(12, 24).mapToObj(i -> "req-" + i).collect(Collectors.toList()), second);
+  }
+
+  @Test
+  void testParallelStreamCoversEveryPage() {
+    long count =
+        StreamSupport.stream(
+                new ResultsSpliterator(page -> page(page, 20), 0, 2, new CancellationScope()), true)
+            .map(DetectionResult::getRequestId)
+            .distinct()
+            .count();
+
+    assertEquals(60, count);
+  }
+
+  @Test
+  void testFailedPageSurfacesAsCompletionException() {
+    ResultsSpliterator spliterator =
+        new ResultsSpliterator(
+            page ->
+                CompletableFuture.failedFuture(
+                    new RealityDefenderException("Failed to get results", "RESULTS_FAILED")),
+            0,
+            2,
+            new CancellationScope());
+
+    CompletionException thrown =
+        assertThrows(CompletionException.class, () -> spliterator.tryAdvance(result -> {}));
+
+    assertEquals("RESULTS_FAILED", ((RealityDefenderException) thrown.getCause()).getCode());
+  }
+
+  private static DetectionResult result(String requestId) {
+    return new DetectionResult(requestId, null, null, Collections.emptyList());
+  }
+}
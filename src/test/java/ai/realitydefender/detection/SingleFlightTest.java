@@ -0,0 +1,141 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.exceptions.RealityDefenderException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  @Test
+  void testConcurrentCallsShareOneAsyncCall() {
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    AtomicInteger calls = new AtomicInteger();
+    CompletableFuture<String> call = new CompletableFuture<>();
+
+    CompletableFuture<String> first =
+        flights.submit(
+            "req-1",
+            () -> {
+              calls.incrementAndGet();
+              return call;
+            });
+    CompletableFuture<String> second =
+        flights.submit(
+            "req-1",
+            () -> {
+              calls.incrementAndGet();
+              return new CompletableFuture<>();
+            });
+    assertEquals(1, flights.inFlight());
+
+    call.complete("done");
+
+    assertEquals("done", first.join());
+    assertEquals("done", second.join());
+    assertEquals(1, calls.get());
+    assertEquals(0, flights.inFlight());
+  }
+
+  @Test
+  void testCancellingOneCallerKeepsCallForOthers() {
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    CompletableFuture<String> call = new CompletableFuture<>();
+    CompletableFuture<String> first = flights.submit("req-1", () -> call);
+    CompletableFuture<String> second = flights.submit("req-1", () -> call);
+
+    first.cancel(true);
+    call.complete("done");
+
+    assertFalse(call.isCancelled());
+    assertEquals("done", second.join());
+  }
+
+  @Test
+  void testCompletedCallIsNotReused() {
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    AtomicInteger calls = new AtomicInteger();
+
+    flights.submit("req-1", () -> CompletableFuture.completedFuture("a" + calls.incrementAndGet()));
+    String second =
+        flights
+            .submit("req-1", () -> CompletableFuture.completedFuture("a" + calls.incrementAndGet()))
+            .join();
+
+    assertEquals("a2", second);
+  }
+
+  @Test
+  void testBlockingCallerJoinsAsyncCallAndSharesFailure() throws Exception {
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    CompletableFuture<String> call = new CompletableFuture<>();
+    flights.submit("req-1", () -> call);
+
+    CompletableFuture<RealityDefenderException> joined = new CompletableFuture<>();
+    Thread joiner =
+        new Thread(
+            () -> {
+              try {
+                flights.join("req-1", () -> fail("call should be shared"));
+                joined.complete(null);
+              } catch (RealityDefenderException e) {
+                joined.complete(e);
+              } catch (Throwable e) {
+                joined.completeExceptionally(e);
+              }
+            });
+    joiner.start();
+    // Only fail the call once the joiner is parked on it, or it would start its own.
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (joiner.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    call.completeExceptionally(new RealityDefenderException("Not found", "NOT_FOUND"));
+
+    assertEquals("NOT_FOUND", joined.get(5, TimeUnit.SECONDS).getCode());
+  }
+
+  @Test
+  void testBlockingCallFailureReachesWaitingCaller() throws Exception {
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> leader =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return flights.join(
+                    "req-1",
+                    () -> {
+                      started.countDown();
+                      awaitQuietly(release);
+                      throw new RealityDefenderException("Server error", "SERVER_ERROR");
+                    });
+              } catch (RealityDefenderException e) {
+                return e.getCode();
+              }
+            });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<String> follower = flights.submit("req-1", CompletableFuture::new);
+    release.countDown();
+
+    assertEquals("SERVER_ERROR", leader.get(5, TimeUnit.SECONDS));
+    ExecutionException error =
+        assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+    assertEquals("SERVER_ERROR", ((RealityDefenderException) error.getCause()).getCode());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,301 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import ai.realitydefender.client.HttpClient;
+import ai.realitydefender.core.RealityDefenderRuntime;
+import ai.realitydefender.exceptions.RealityDefenderException;
+import ai.realitydefender.models.DetectionResult;
+import ai.realitydefender.models.DetectionResultList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StatusPollerTest {
+
+  private static final ObjectMapper MAPPER = RealityDefenderRuntime.defaultObjectMapper();
+
+  @Mock private HttpClient httpClient;
+
+  private ScheduledThreadPoolExecutor scheduler;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void testBoundsStatusRequestsInFlight() throws Exception {
+    List<CompletableFuture<DetectionResult>> inFlight = new ArrayList<>();
+    when(httpClient.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<DetectionResult> response = new CompletableFuture<>();
+              inFlight.add(response);
+              return response;
+            });
+    StatusPoller poller = newPoller(3);
+
+    List<CompletableFuture<DetectionResult>> results = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      results.add(
+          poller.poll("req-" + i, PollingPolicy.fixed(Duration.ofMillis(10)), -1, 5, null, null));
+    }
+    assertEquals(3, inFlight.size());
+
+    inFlight.get(0).complete(result("req-0", "AUTHENTIC"));
+    assertEquals(4, inFlight.size());
+    assertEquals("AUTHENTIC", results.get(0).get(1, TimeUnit.SECONDS).getStatus());
+  }
+
+  @Test
+  void testPendingRequestsShareOneTimer() throws Exception {
+    when(httpClient.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "PROCESSING")));
+    StatusPoller poller = newPoller(8);
+
+    List<CompletableFuture<DetectionResult>> results = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      results.add(
+          poller.poll("req-" + i, PollingPolicy.fixed(Duration.ofMinutes(1)), -1, 5, null, null));
+    }
+
+    assertEquals(1000, poller.pending());
+    assertEquals(1, scheduler.getQueue().size());
+    assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+  }
+
+  @Test
+  void testDuePollsCompleteInLaterWaves() throws Exception {
+    when(httpClient.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "PROCESSING")))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "PROCESSING")))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "FAKE")));
+    StatusPoller poller = newPoller(2);
+
+    DetectionResult result =
+        poller
+            .poll("req-1", PollingPolicy.fixed(Duration.ofMillis(10)), -1, 5, null, null)
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals("MANIPULATED", result.getStatus());
+    verify(httpClient, times(3)).getDetectionResultAsync("req-1");
+    assertEquals(0, poller.pending());
+  }
+
+  @Test
+  void testFailsAfterMaxAttempts() throws Exception {
+    when(httpClient.getDetectionResultAsync("req-1"))
+        .thenReturn(CompletableFuture.completedFuture(result("req-1", "PROCESSING")));
+    StatusPoller poller = newPoller(2);
+
+    ExecutionException thrown =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                poller
+                    .poll("req-1", PollingPolicy.fixed(Duration.ofMillis(10)), -1, 3, null, null)
+                    .get(5, TimeUnit.SECONDS));
+
+    assertEquals("TIMEOUT", ((RealityDefenderException) thrown.getCause()).getCode());
+    verify(httpClient, times(3)).getDetectionResultAsync("req-1");
+  }
+
+  @Test
+  void testCancelledRequestIsNotPolledAgain() throws Exception {
+    when(httpClient.getDetectionResultAsync("req-1"))
+        .thenReturn(CompletableFuture.completedFuture(result("req-1", "PROCESSING")));
+    StatusPoller poller = newPoller(2);
+
+    CompletableFuture<DetectionResult> future =
+        poller.poll(
+            "req-1", PollingPolicy.fixed(Duration.ofMillis(10)), -1, Integer.MAX_VALUE, null, null);
+    future.cancel(false);
+    Thread.sleep(100);
+
+    verify(httpClient, times(1)).getDetectionResultAsync("req-1");
+    assertEquals(0, poller.pending());
+  }
+
+  @Test
+  void testPendingPollFailsOnceSchedulerShutsDown() throws Exception {
+    CompletableFuture<DetectionResult> response = new CompletableFuture<>();
+    when(httpClient.getDetectionResultAsync("req-1")).thenReturn(response);
+    StatusPoller poller = newPoller(2);
+
+    CompletableFuture<DetectionResult> future =
+        poller.poll("req-1", PollingPolicy.fixed(Duration.ofMillis(10)), -1, 5, null, null);
+    scheduler.shutdownNow();
+    response.complete(result("req-1", "PROCESSING"));
+
+    ExecutionException thrown =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertEquals("CLIENT_CLOSED", ((RealityDefenderException) thrown.getCause()).getCode());
+    assertEquals(0, poller.pending());
+  }
+
+  @Test
+  void testCloseFailsQueuedPolls() throws Exception {
+    when(httpClient.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "PROCESSING")));
+    StatusPoller poller = newPoller(2);
+    CompletableFuture<DetectionResult> queued =
+        poller.poll("req-1", PollingPolicy.fixed(Duration.ofMinutes(1)), -1, 5, null, null);
+    assertEquals(1, poller.pending());
+
+    poller.close();
+
+    ExecutionException thrown =
+        assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+    assertEquals("CLIENT_CLOSED", ((RealityDefenderException) thrown.getCause()).getCode());
+    assertEquals(0, poller.pending());
+    CompletableFuture<DetectionResult> late =
+        poller.poll("req-2", PollingPolicy.fixed(Duration.ofMinutes(1)), -1, 5, null, null);
+    assertTrue(late.isCompletedExceptionally());
+    verify(httpClient, never()).getDetectionResultAsync("req-2");
+  }
+
+  @Test
+  void testResolvesLargeWaveFromResultsList() throws Exception {
+    Set<String> polled = ConcurrentHashMap.newKeySet();
+    when(httpClient.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation -> {
+              String requestId = invocation.getArgument(0);
+              String status = polled.add(requestId) ? "PROCESSING" : "AUTHENTIC";
+              return CompletableFuture.completedFuture(result(requestId, status));
+            });
+    when(httpClient.getDetectionResultListAsync(
+            anyInt(), eq(StatusPoller.PAGE_SIZE), isNull(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(page(0, 20, "AUTHENTIC")))
+        .thenReturn(CompletableFuture.completedFuture(page(20, 30, "PROCESSING")))
+        .thenReturn(CompletableFuture.completedFuture(page(0, 0, "AUTHENTIC")));
+    StatusPoller poller = newPoller(4);
+
+    List<CompletableFuture<DetectionResult>> results = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      results.add(
+          poller.poll("req-" + i, PollingPolicy.fixed(Duration.ofMillis(200)), -1, 10, null, null));
+    }
+    CompletableFuture.allOf(results.subList(0, 20).toArray(new CompletableFuture[0]))
+        .get(5, TimeUnit.SECONDS);
+    CompletableFuture.allOf(results.subList(30, 40).toArray(new CompletableFuture[0]))
+        .get(5, TimeUnit.SECONDS);
+
+    // One scan covers the wave: two pages with matches, one more page of slack. The scan has no
+    // start date, so requests made before polling started are still found.
+    verify(httpClient, times(3))
+        .getDetectionResultListAsync(anyInt(), anyInt(), isNull(), isNull(), any());
+    // Only the ten requests missing from every page were polled individually a second time.
+    verify(httpClient, times(50)).getDetectionResultAsync(anyString());
+    assertTrue(results.subList(20, 30).stream().noneMatch(CompletableFuture::isDone));
+    assertEquals("AUTHENTIC", results.get(0).join().getStatus());
+  }
+
+  @Test
+  void testResultsListScanGoesThroughBatchLimiter() throws Exception {
+    when(httpClient.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "PROCESSING")));
+    CompletableFuture<DetectionResultList> scan = new CompletableFuture<>();
+    when(httpClient.getDetectionResultListAsync(anyInt(), anyInt(), isNull(), isNull(), any()))
+        .thenReturn(scan);
+    StatusPoller poller = newPoller(4);
+    AsyncLimiter batch = new AsyncLimiter(1);
+
+    List<CompletableFuture<DetectionResult>> results = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      results.add(
+          poller.poll("req-" + i, PollingPolicy.fixed(Duration.ofMillis(50)), -1, 10, null, batch));
+    }
+    verify(httpClient, timeout(5000))
+        .getDetectionResultListAsync(anyInt(), anyInt(), isNull(), isNull(), any());
+
+    // The page fetch holds the batch's only slot until it completes.
+    CompletableFuture<String> next =
+        batch.submit(() -> CompletableFuture.completedFuture("started"));
+    assertFalse(next.isDone());
+
+    scan.complete(page(0, 20, "AUTHENTIC"));
+    assertEquals("started", next.get(5, TimeUnit.SECONDS));
+    CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+    verify(httpClient, times(20)).getDetectionResultAsync(anyString());
+  }
+
+  @Test
+  void testSmallWavePollsIndividually() throws Exception {
+    when(httpClient.getDetectionResultAsync(anyString()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "PROCESSING")))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(result(invocation.getArgument(0), "AUTHENTIC")));
+    StatusPoller poller = newPoller(4);
+
+    poller
+        .poll("req-1", PollingPolicy.fixed(Duration.ofMillis(10)), -1, 5, null, null)
+        .get(5, TimeUnit.SECONDS);
+
+    verify(httpClient, never())
+        .getDetectionResultListAsync(anyInt(), anyInt(), any(), any(), any());
+  }
+
+  private StatusPoller newPoller(int maxConcurrentPolls) {
+    return new StatusPoller(
+        httpClient,
+        scheduler,
+        maxConcurrentPolls,
+        status -> !"PROCESSING".equals(status) && !"ANALYZING".equals(status));
+  }
+
+  private static DetectionResultList page(int from, int to, String status) throws Exception {
+    List<DetectionResult> items = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      items.add(result("req-" + i, status));
+    }
+    return new DetectionResultList(1000, 10, 0, items.size(), items);
+  }
+
+  private static DetectionResult result(String requestId, String status) throws Exception {
+    return MAPPER.readValue(
+        "{\"requestId\": \""
+            + requestId
+            + "\", \"resultsSummary\": {\"status\": \""
+            + status
+            + "\"}, \"models\": []}",
+        DetectionResult.class);
+  }
+}
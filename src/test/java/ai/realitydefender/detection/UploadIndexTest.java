@@ -0,0 +1,112 @@
+package ai.realitydefender.detection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.realitydefender.models.UploadResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UploadIndexTest {
+
+  @TempDir Path tempDir;
+
+  private static final String KEY = ApiKeyHash.of("api-key");
+
+  private final AtomicLong now = new AtomicLong(1_000_000);
+
+  @Test
+  void testReusesUploadsWithinFreshnessWindow() {
+    UploadIndex index =
+        UploadIndex.builder().freshness(Duration.ofMinutes(10)).clock(now::get).build();
+    UploadResponse upload = upload("req-1", "aa");
+    index.put(KEY, upload);
+
+    now.addAndGet(Duration.ofMinutes(9).toMillis());
+    assertSame(upload, index.find(KEY, "aa"));
+
+    now.addAndGet(Duration.ofMinutes(1).toMillis());
+    assertNull(index.find(KEY, "aa"));
+    assertEquals(0, index.size());
+    assertEquals(1, index.getMetrics().getHits());
+    assertEquals(1, index.getMetrics().getEvictions());
+  }
+
+  @Test
+  void testIgnoresUploadsWithoutDigest() {
+    UploadIndex index = UploadIndex.builder().build();
+    index.put(KEY, new UploadResponse("req-1", "media-1"));
+
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  void testEvictsLeastRecentlyUsedBeyondMaximumSize() {
+    UploadIndex index = UploadIndex.builder().maximumSize(2).build();
+    index.put(KEY, upload("req-1", "aa"));
+    index.put(KEY, upload("req-2", "bb"));
+    index.find(KEY, "aa");
+
+    index.put(KEY, upload("req-3", "cc"));
+
+    assertNotNull(index.find(KEY, "aa"));
+    assertNull(index.find(KEY, "bb"));
+    assertNotNull(index.find(KEY, "cc"));
+  }
+
+  @Test
+  void testPersistedIndexSurvivesRebuild() throws Exception {
+    Path file = tempDir.resolve("uploads.ndjson");
+    UploadIndex index =
+        UploadIndex.builder().freshness(Duration.ofHours(1)).file(file).clock(now::get).build();
+    index.put(KEY, upload("req-old", "aa"));
+    now.addAndGet(Duration.ofMinutes(30).toMillis());
+    index.put(KEY, upload("req-new", "bb"));
+    index.put(KEY, upload("req-gone", "cc"));
+    index.invalidate("cc");
+    Files.write(
+        file,
+        "{\"sha256\":\"dd\",\"req".getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+
+    now.addAndGet(Duration.ofMinutes(40).toMillis());
+    UploadIndex reloaded =
+        UploadIndex.builder().freshness(Duration.ofHours(1)).file(file).clock(now::get).build();
+
+    assertEquals(1, reloaded.size());
+    assertEquals(upload("req-new", "bb"), reloaded.find(KEY, "bb"));
+    assertEquals(1, Files.readAllLines(file).size());
+  }
+
+  @Test
+  void testReusesUploadsOnlyForTheSameApiKey() {
+    UploadIndex index = UploadIndex.builder().build();
+    UploadResponse upload = upload("req-1", "aa");
+    index.put(KEY, upload);
+
+    assertSame(upload, index.get("api-key", "aa"));
+    assertNull(index.get("other-key", "aa"));
+    index.put(ApiKeyHash.of("other-key"), upload("req-2", "aa"));
+    assertEquals(2, index.size());
+
+    index.invalidate("aa");
+    assertEquals(0, index.size());
+    assertEquals(2, index.getMetrics().getInvalidations());
+  }
+
+  @Test
+  void testBuilderRejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> UploadIndex.builder().maximumSize(0));
+    assertThrows(
+        IllegalArgumentException.class, () -> UploadIndex.builder().freshness(Duration.ZERO));
+  }
+
+  private static UploadResponse upload(String requestId, String sha256) {
+    return new UploadResponse(requestId, "media-" + requestId, sha256);
+  }
+}
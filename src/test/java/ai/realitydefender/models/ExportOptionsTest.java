@@ -0,0 +1,59 @@
+package ai.realitydefender.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class ExportOptionsTest {
+
+  @Test
+  void testBuilderWithAllOptions() {
+    LocalDate startDate = LocalDate.of(2024, 1, 1);
+    LocalDate endDate = LocalDate.of(2024, 3, 31);
+
+    ExportOptions options =
+        ExportOptions.builder()
+            .startDate(startDate)
+            .endDate(endDate)
+            .name("audit")
+            .pageSize(100)
+            .shardDays(7)
+            .maxConcurrentRequests(16)
+            .build();
+
+    assertEquals(startDate, options.getStartDate());
+    assertEquals(endDate, options.getEndDate());
+    assertEquals("audit", options.getName());
+    assertEquals(100, options.getPageSize());
+    assertEquals(7, options.getShardDays());
+    assertEquals(16, options.getMaxConcurrentRequests());
+  }
+
+  @Test
+  void testBuilderRequiresDateRange() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ExportOptions.builder().startDate(LocalDate.of(2024, 1, 1)).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ExportOptions.builder()
+                .startDate(LocalDate.of(2024, 2, 1))
+                .endDate(LocalDate.of(2024, 1, 1))
+                .build());
+  }
+
+  @Test
+  void testBuilderRejectsInvalidLimits() {
+    ExportOptions.Builder builder =
+        ExportOptions.builder()
+            .startDate(LocalDate.of(2024, 1, 1))
+            .endDate(LocalDate.of(2024, 1, 2));
+
+    assertThrows(IllegalArgumentException.class, () -> builder.shardDays(0).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.shardDays(1).maxConcurrentRequests(0).build());
+  }
+}
@@ -2,6 +2,7 @@ package ai.realitydefender.models;
 
 import static org.assertj.core.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
 class UploadResponseTest {
@@ -17,6 +18,18 @@ class UploadResponseTest {
     assertThat(response.getMediaId()).isEqualTo(mediaId);
   }
 
+  @Test
+  void testDeserializesDigest() throws Exception {
+    UploadResponse response =
+        new ObjectMapper()
+            .readValue(
+                "{\"request_id\": \"r\", \"media_id\": \"m\", \"sha256\": \"abc\"}",
+                UploadResponse.class);
+
+    assertThat(response.getSha256()).isEqualTo("abc");
+    assertThat(new UploadResponse("r", "m").getSha256()).isNull();
+  }
+
   @Test
   void testDefaultConstructor() {
     UploadResponse response = new UploadResponse(null, null);